@@ -2,6 +2,8 @@ package org.apereo.cas.authentication.adaptive;
 
 import org.apereo.cas.authentication.adaptive.geo.GeoLocationRequest;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * This is {@link AdaptiveAuthenticationPolicy}.
  *
@@ -18,4 +20,28 @@ public interface AdaptiveAuthenticationPolicy {
      * @return true/false
      */
     boolean apply(String userAgent, GeoLocationRequest location);
+
+    /**
+     * Apply the strategy to figure out whether this authentication attempt can proceed,
+     * allowing checks that take longer, such as locating the client, to complete in the background.
+     * Anything that is needed from the current request is read before this method returns.
+     *
+     * @param userAgent the user agent
+     * @param location  the location
+     * @return true/false, once known
+     */
+    default CompletableFuture<Boolean> applyAsync(final String userAgent, final GeoLocationRequest location) {
+        return CompletableFuture.completedFuture(apply(userAgent, location));
+    }
+
+    /**
+     * Gets how long to wait, in milliseconds, for the outcome of {@link #applyAsync(String, GeoLocationRequest)}.
+     * Requests whose outcome is not known by then are denied. Policies that settle before
+     * {@link #applyAsync(String, GeoLocationRequest)} returns need not wait at all.
+     *
+     * @return the timeout in milliseconds
+     */
+    default long getAsyncTimeoutMillis() {
+        return 0;
+    }
 }
@@ -1,5 +1,10 @@
 package org.apereo.cas.logout;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
 /**
  * This is {@link SingleLogoutServiceMessageHandler} which defines how a logout message
  * for a service that supports SLO should be handled.
@@ -17,4 +22,19 @@ public interface SingleLogoutServiceMessageHandler {
      * @return the logout request
      */
     LogoutRequest handle(SingleLogoutService singleLogoutService, String ticketId);
+
+    /**
+     * Handle logout for all slo services that take part in a single logout operation.
+     * The default implementation handles each service one after the other.
+     *
+     * @param singleLogoutServices the services, keyed by the ticket id issued to each
+     * @return the logout requests
+     */
+    default Collection<LogoutRequest> handle(final Map<String, SingleLogoutService> singleLogoutServices) {
+        return singleLogoutServices.entrySet()
+                .stream()
+                .map(entry -> handle(entry.getValue(), entry.getKey()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
 }
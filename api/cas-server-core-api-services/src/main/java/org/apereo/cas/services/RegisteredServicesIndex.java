@@ -0,0 +1,40 @@
+package org.apereo.cas.services;
+
+import org.apereo.cas.authentication.principal.Service;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Defines the lookup structure the services manager uses to match
+ * incoming services against the registered service definitions.
+ * Implementations are rebuilt whenever the registered services change
+ * and must be safe for concurrent lookups while a rebuild takes place.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public interface RegisteredServicesIndex {
+
+    /**
+     * Rebuild the index from the given collection of registered services.
+     *
+     * @param services the registered services
+     */
+    void rebuild(Collection<RegisteredService> services);
+
+    /**
+     * Find the first registered service, in evaluation order, that matches the given service.
+     *
+     * @param service the service
+     * @return the registered service, or null if none matches.
+     */
+    RegisteredService findServiceBy(Service service);
+
+    /**
+     * Gets the indexed services sorted in their evaluation order.
+     *
+     * @return the services
+     */
+    List<RegisteredService> getServices();
+}
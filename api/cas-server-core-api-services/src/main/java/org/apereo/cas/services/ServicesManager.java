@@ -5,6 +5,7 @@ import org.apereo.cas.authentication.principal.Service;
 import com.google.common.base.Predicate;
 
 import java.util.Collection;
+import java.util.function.Function;
 
 /**
  * Manages the storage, retrieval, and matching of Services wishing to use CAS
@@ -63,6 +64,25 @@ public interface ServicesManager {
      */
     RegisteredService findServiceBy(long id);
 
+    /**
+     * Find a RegisteredService by a key other than its id, such as the client id of an OAuth service.
+     * Of services that share a key, the first in evaluation order is found. By default, all services
+     * are scanned; implementations may instead look up services in an index they keep for the function.
+     *
+     * @param key         the key to match with.
+     * @param keyResolver resolves the key of a registered service, or null if it has none.
+     * @return the RegisteredService that has the key, or null if there is none.
+     */
+    default RegisteredService findServiceBy(final String key, final Function<RegisteredService, String> keyResolver) {
+        if (key == null) {
+            return null;
+        }
+        return getAllServices().stream()
+                .filter(r -> key.equals(keyResolver.apply(r)))
+                .findFirst()
+                .orElse(null);
+    }
+
     /**
      * Retrieve the collection of all registered services.
      *
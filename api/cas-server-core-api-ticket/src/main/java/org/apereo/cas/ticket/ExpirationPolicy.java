@@ -1,6 +1,7 @@
 package org.apereo.cas.ticket;
 
 import java.io.Serializable;
+import java.time.ZonedDateTime;
 
 /**
  * Strategy that determines if the ticket is expired. Implementations of the
@@ -37,4 +38,17 @@ public interface ExpirationPolicy extends Serializable {
      * by the implementation.
      */
     Long getTimeToIdle();
+
+    /**
+     * Describes the time at which the ticket is considered expired by this policy,
+     * unless it is used again before then. Ticket registries may index tickets by
+     * this time, and remove those whose expiration time has passed without
+     * having to examine them one at a time.
+     *
+     * @param ticketState The snapshot of the current ticket state
+     * @return the expiration time, or null if it cannot be known in advance.
+     */
+    default ZonedDateTime getExpirationTime(final TicketState ticketState) {
+        return null;
+    }
 }
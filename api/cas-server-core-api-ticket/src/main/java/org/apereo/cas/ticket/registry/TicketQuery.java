@@ -0,0 +1,126 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+
+import java.util.function.Predicate;
+
+/**
+ * This is {@link TicketQuery} that describes which tickets to go through
+ * with {@link TicketRegistry#stream(TicketQuery)}. The ticket type is passed on
+ * to the underlying store where it can be, so that tickets of other types are never
+ * fetched; the filter is evaluated against each ticket as it is read. Tickets are read
+ * from the store in pages of the given size, where the store supports it.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public final class TicketQuery {
+
+    /**
+     * Default number of tickets read from the store at a time.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 500;
+
+    private final Class<? extends Ticket> type;
+
+    private final Predicate<Ticket> filter;
+
+    private final int pageSize;
+
+    private TicketQuery(final Class<? extends Ticket> type, final Predicate<Ticket> filter, final int pageSize) {
+        this.type = type;
+        this.filter = filter;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Query for all tickets.
+     *
+     * @return the ticket query
+     */
+    public static TicketQuery all() {
+        return ofType(Ticket.class);
+    }
+
+    /**
+     * Query for tickets of the given type.
+     *
+     * @param type the ticket type
+     * @return the ticket query
+     */
+    public static TicketQuery ofType(final Class<? extends Ticket> type) {
+        return new TicketQuery(type, ticket -> true, DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Narrow this query down to tickets that also match the given filter.
+     *
+     * @param predicate the filter
+     * @return the ticket query
+     */
+    public TicketQuery filter(final Predicate<Ticket> predicate) {
+        return new TicketQuery(this.type, this.filter.and(predicate), this.pageSize);
+    }
+
+    /**
+     * Narrow this query down to tickets that have expired.
+     *
+     * @return the ticket query
+     */
+    public TicketQuery expired() {
+        return filter(Ticket::isExpired);
+    }
+
+    /**
+     * Narrow this query down to tickets that have not expired.
+     *
+     * @return the ticket query
+     */
+    public TicketQuery unexpired() {
+        return filter(ticket -> !ticket.isExpired());
+    }
+
+    /**
+     * Read tickets from the store in pages of the given size.
+     *
+     * @param size the page size
+     * @return the ticket query
+     */
+    public TicketQuery pageSize(final int size) {
+        return new TicketQuery(this.type, this.filter, size);
+    }
+
+    /**
+     * Whether the ticket is of the type and matches the filter of this query.
+     *
+     * @param ticket the ticket
+     * @return true/false
+     */
+    public boolean matches(final Ticket ticket) {
+        return this.type.isInstance(ticket) && this.filter.test(ticket);
+    }
+
+    /**
+     * Whether tickets stored as the given class may match the type of this query.
+     * Stores that keep tickets apart by class use this to skip over those that never match.
+     *
+     * @param storedType the class tickets are stored as
+     * @return true/false
+     */
+    public boolean mayMatch(final Class<?> storedType) {
+        return this.type.isAssignableFrom(storedType) || storedType.isAssignableFrom(this.type) || this.type.isInterface();
+    }
+
+    public Class<? extends Ticket> getType() {
+        return this.type;
+    }
+
+    public int getPageSize() {
+        return this.pageSize;
+    }
+
+    @Override
+    public String toString() {
+        return "TicketQuery[type=" + this.type.getSimpleName() + ", pageSize=" + this.pageSize + ']';
+    }
+}
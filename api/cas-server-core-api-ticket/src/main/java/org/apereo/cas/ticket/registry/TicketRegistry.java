@@ -1,6 +1,9 @@
 package org.apereo.cas.ticket.registry;
 
 import java.util.Collection;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apereo.cas.ticket.Ticket;
 
@@ -23,6 +26,16 @@ public interface TicketRegistry {
      */
     void addTicket(Ticket ticket);
 
+    /**
+     * Add tickets to the registry. Registries backed by a remote store
+     * should override this to send all tickets in one go.
+     *
+     * @param tickets the tickets to add
+     */
+    default void addTickets(final Collection<? extends Ticket> tickets) {
+        tickets.forEach(this::addTicket);
+    }
+
     /**
      * Retrieve a ticket from the registry. If the ticket retrieved does not
      * match the expected class, an InvalidTicketException is thrown.
@@ -51,6 +64,17 @@ public interface TicketRegistry {
      */
     int deleteTicket(String ticketId);
 
+    /**
+     * Remove tickets from the registry, along with their children
+     * as {@link #deleteTicket(String)} does.
+     *
+     * @param ticketIds the ids of the tickets to delete
+     * @return the number of tickets deleted including children.
+     */
+    default int deleteTickets(final Collection<String> ticketIds) {
+        return ticketIds.stream().mapToInt(this::deleteTicket).sum();
+    }
+
     /**
      * Retrieve all tickets from the registry.
      *
@@ -59,6 +83,53 @@ public interface TicketRegistry {
      */
     Collection<Ticket> getTickets();
 
+    /**
+     * Retrieve all tickets of the given type from the registry.
+     * Registries that keep tickets grouped by type should override this
+     * to avoid going through tickets of unrelated types.
+     *
+     * @param ticketType the ticket type
+     * @param <T>        the generic ticket type to return that extends {@link Ticket}
+     * @return collection of tickets of the given type currently stored in the registry.
+     */
+    default <T extends Ticket> Collection<T> getTickets(final Class<T> ticketType) {
+        return getTickets().stream()
+                .filter(ticketType::isInstance)
+                .map(ticketType::cast)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Go through the tickets that match the query, as they are read from the registry.
+     * Unlike {@link #getTickets()}, registries that override this do not hold all tickets
+     * in memory at once; the default implementation is based on {@link #getTickets()} and
+     * {@link #getTickets(Class)}. Tickets added or removed while the stream is consumed
+     * may or may not be seen.
+     *
+     * @param query the query
+     * @return the tickets that match the query
+     */
+    default Stream<Ticket> stream(final TicketQuery query) {
+        final Collection<? extends Ticket> tickets = query.getType() == Ticket.class ? getTickets() : getTickets(query.getType());
+        return tickets.stream()
+                .filter(query::matches)
+                .map(Ticket.class::cast);
+    }
+
+    /**
+     * Retrieve tickets by their ids. Registries backed by a remote store
+     * should override this to fetch all tickets in one go.
+     *
+     * @param ticketIds the ids of the tickets we wish to retrieve
+     * @return the tickets that were found; ids of tickets that are not in the registry are skipped.
+     */
+    default Collection<Ticket> getTickets(final Collection<String> ticketIds) {
+        return ticketIds.stream()
+                .map(this::getTicket)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Update the received ticket.
      *
@@ -10,10 +10,22 @@ import org.apereo.inspektr.common.web.ClientInfoHolder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
 /**
  * This is {@link DefaultAdaptiveAuthenticationPolicy}.
+ * Rules are compiled once, when the adaptive authentication properties are set.
+ * IP addresses are matched against the rejected address pattern as well as
+ * against the rejected address ranges given in CIDR notation.
+ * When given an executor, the client is located in the background
+ * while the rest of the authentication attempt proceeds; if the executor
+ * does not take the task, the client is located on the calling thread.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -23,22 +35,71 @@ public class DefaultAdaptiveAuthenticationPolicy implements AdaptiveAuthenticati
     
     private GeoLocationService geoLocationService;
     
-    private AdaptiveAuthenticationProperties adaptiveAuthenticationProperties;
+    private Pattern rejectedIpAddresses;
+
+    private IpAddressRangeMatcher rejectedIpAddressRanges = new IpAddressRangeMatcher(Collections.emptySet());
+
+    private Pattern rejectedBrowsers;
+
+    private Pattern rejectedCountries;
+
+    private ExecutorService geoLocationExecutor;
+
+    private long asyncTimeoutMillis;
     
     public void setGeoLocationService(final GeoLocationService geoLocationService) {
         this.geoLocationService = geoLocationService;
     }
 
+    public void setGeoLocationExecutor(final ExecutorService geoLocationExecutor) {
+        this.geoLocationExecutor = geoLocationExecutor;
+    }
+
+    /**
+     * Sets the adaptive authentication properties, and compiles the rules they define.
+     *
+     * @param a the adaptive authentication properties
+     */
     public void setAdaptiveAuthenticationProperties(final AdaptiveAuthenticationProperties a) {
-        this.adaptiveAuthenticationProperties = a;
+        this.rejectedIpAddresses = compile(a.getRejectIpAddresses());
+        this.rejectedBrowsers = compile(a.getRejectBrowsers());
+        this.rejectedCountries = compile(a.getRejectCountries());
+        this.rejectedIpAddressRanges = new IpAddressRangeMatcher(StringUtils.isBlank(a.getRejectIpAddressRanges())
+                ? Collections.emptySet() : Arrays.asList(a.getRejectIpAddressRanges().split(",")));
+        this.asyncTimeoutMillis = TimeUnit.SECONDS.toMillis(a.getGeoLocationTimeoutSeconds());
+        LOGGER.debug("Compiled adaptive authentication rules with [{}] rejected IP address range(s)", this.rejectedIpAddressRanges.size());
     }
 
     @Override
     public boolean apply(final String userAgent, final GeoLocationRequest location) {
+        return evaluate(userAgent, location, false).join();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> applyAsync(final String userAgent, final GeoLocationRequest location) {
+        return evaluate(userAgent, location, this.geoLocationExecutor != null);
+    }
+
+    @Override
+    public long getAsyncTimeoutMillis() {
+        return this.asyncTimeoutMillis;
+    }
+
+    /**
+     * Stop locating clients in the background.
+     * Clients that are already queued are still located.
+     */
+    public void shutdown() {
+        if (this.geoLocationExecutor != null) {
+            this.geoLocationExecutor.shutdown();
+        }
+    }
+
+    private CompletableFuture<Boolean> evaluate(final String userAgent, final GeoLocationRequest location, final boolean async) {
         final ClientInfo clientInfo = ClientInfoHolder.getClientInfo();
         if (clientInfo == null || StringUtils.isBlank(userAgent)) {
             LOGGER.warn("No client IP or user-agent was provided. Skipping adaptive authentication policy...");
-            return true;
+            return CompletableFuture.completedFuture(Boolean.TRUE);
         }
         
         final String clientIp = clientInfo.getClientIpAddress();
@@ -46,12 +107,12 @@ public class DefaultAdaptiveAuthenticationPolicy implements AdaptiveAuthenticati
 
         if (isClientIpAddressRejected(clientIp)) {
             LOGGER.warn("Client IP {} is rejected for authentication", clientIp);
-            return false;
+            return CompletableFuture.completedFuture(Boolean.FALSE);
         }
         
         if (isUserAgentRejected(userAgent)) {
             LOGGER.warn("User agent {} is rejected for authentication", userAgent);
-            return false;
+            return CompletableFuture.completedFuture(Boolean.FALSE);
         }
 
         LOGGER.debug("User agent {} is authorized to proceed", userAgent);
@@ -59,38 +120,52 @@ public class DefaultAdaptiveAuthenticationPolicy implements AdaptiveAuthenticati
         if (this.geoLocationService != null
             && location != null
             && StringUtils.isNotBlank(clientIp)
-            && StringUtils.isNotBlank(this.adaptiveAuthenticationProperties.getRejectCountries())) {
-            
-            final GeoLocationResponse loc = this.geoLocationService.locate(clientIp, location);
-            if (loc != null) {
-                LOGGER.debug("Determined geolocation to be {}", loc);
-                if (isGeoLocationCountryRejected(loc)) {
-                    LOGGER.warn("Client {} is rejected for authentication", clientIp);
-                    return false;
+            && this.rejectedCountries != null) {
+
+            if (async) {
+                try {
+                    LOGGER.debug("Locating client {} in the background", clientIp);
+                    return CompletableFuture.supplyAsync(() -> isGeoLocationAuthorized(clientIp, location), this.geoLocationExecutor);
+                } catch (final RejectedExecutionException e) {
+                    LOGGER.debug("Client {} cannot be located in the background; locating it now", clientIp);
                 }
-            } else {
-                LOGGER.info("Could not determine geolocation for {}", clientIp);
             }
+            return CompletableFuture.completedFuture(isGeoLocationAuthorized(clientIp, location));
         }
 
         LOGGER.debug("Adaptive authentication policy has authorized client {} to proceed.", clientIp);
-        return true;
+        return CompletableFuture.completedFuture(Boolean.TRUE);
     }
-    
 
+    private boolean isGeoLocationAuthorized(final String clientIp, final GeoLocationRequest location) {
+        final GeoLocationResponse loc = this.geoLocationService.locate(clientIp, location);
+        if (loc != null) {
+            LOGGER.debug("Determined geolocation to be {}", loc);
+            if (isGeoLocationCountryRejected(loc)) {
+                LOGGER.warn("Client {} is rejected for authentication", clientIp);
+                return false;
+            }
+        } else {
+            LOGGER.info("Could not determine geolocation for {}", clientIp);
+        }
+        LOGGER.debug("Adaptive authentication policy has authorized client {} to proceed.", clientIp);
+        return true;
+    }
 
     private boolean isClientIpAddressRejected(final String clientIp) {
-        return StringUtils.isNotBlank(this.adaptiveAuthenticationProperties.getRejectIpAddresses())
-                && Pattern.compile(this.adaptiveAuthenticationProperties.getRejectIpAddresses()).matcher(clientIp).find();
+        return this.rejectedIpAddressRanges.matches(clientIp)
+                || this.rejectedIpAddresses != null && this.rejectedIpAddresses.matcher(clientIp).find();
     }
     
     private boolean isGeoLocationCountryRejected(final GeoLocationResponse finalLoc) {
-        return StringUtils.isNotBlank(this.adaptiveAuthenticationProperties.getRejectCountries())
-                && Pattern.compile(this.adaptiveAuthenticationProperties.getRejectCountries()).matcher(finalLoc.buildAddress()).find();
+        return this.rejectedCountries != null && this.rejectedCountries.matcher(finalLoc.buildAddress()).find();
     }
     
     private boolean isUserAgentRejected(final String userAgent) {
-        return StringUtils.isNotBlank(this.adaptiveAuthenticationProperties.getRejectBrowsers())
-                && Pattern.compile(this.adaptiveAuthenticationProperties.getRejectBrowsers()).matcher(userAgent).find();
+        return this.rejectedBrowsers != null && this.rejectedBrowsers.matcher(userAgent).find();
+    }
+
+    private static Pattern compile(final String pattern) {
+        return StringUtils.isNotBlank(pattern) ? Pattern.compile(pattern) : null;
     }
 }
@@ -0,0 +1,110 @@
+package org.apereo.cas.authentication.adaptive;
+
+import com.google.common.net.InetAddresses;
+import org.apache.commons.lang3.StringUtils;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.util.Collection;
+
+/**
+ * This is {@link IpAddressRangeMatcher} that matches IP addresses against a set of ranges
+ * in CIDR notation, such as {@code 10.0.0.0/8} or {@code 2001:db8::/32}. Single addresses
+ * may be given without a prefix length. Ranges are kept in a binary trie keyed by the bits of the address,
+ * so that a match costs at most one step per bit regardless of how many ranges there are.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class IpAddressRangeMatcher {
+
+    private final Node ipv4 = new Node();
+
+    private final Node ipv6 = new Node();
+
+    private int size;
+
+    /**
+     * Instantiates a new matcher.
+     *
+     * @param ranges the ranges
+     */
+    public IpAddressRangeMatcher(final Collection<String> ranges) {
+        ranges.stream().filter(StringUtils::isNotBlank).map(String::trim).forEach(this::add);
+    }
+
+    /**
+     * Whether the address falls within any of the ranges.
+     *
+     * @param ipAddress the ip address
+     * @return true/false; false if the address is not an IP address
+     */
+    public boolean matches(final String ipAddress) {
+        if (this.size == 0 || StringUtils.isBlank(ipAddress) || !InetAddresses.isInetAddress(ipAddress)) {
+            return false;
+        }
+        final InetAddress address = InetAddresses.forString(ipAddress);
+        final byte[] bytes = address.getAddress();
+        Node node = root(address);
+        for (int i = 0; node != null; i++) {
+            if (node.terminal) {
+                return true;
+            }
+            if (i == bytes.length * Byte.SIZE) {
+                return false;
+            }
+            node = node.children[bit(bytes, i)];
+        }
+        return false;
+    }
+
+    /**
+     * Number of ranges.
+     *
+     * @return the count
+     */
+    public int size() {
+        return this.size;
+    }
+
+    private void add(final String range) {
+        final String[] parts = range.split("/");
+        if (parts.length > 2 || !InetAddresses.isInetAddress(parts[0])) {
+            throw new IllegalArgumentException("Invalid IP address range " + range);
+        }
+        final InetAddress address = InetAddresses.forString(parts[0]);
+        final byte[] bytes = address.getAddress();
+        final int bits = bytes.length * Byte.SIZE;
+        final int prefixLength = parts.length == 2 ? Integer.parseInt(parts[1]) : bits;
+        if (prefixLength < 0 || prefixLength > bits) {
+            throw new IllegalArgumentException("Invalid prefix length in IP address range " + range);
+        }
+
+        Node node = root(address);
+        for (int i = 0; i < prefixLength && !node.terminal; i++) {
+            final int bit = bit(bytes, i);
+            if (node.children[bit] == null) {
+                node.children[bit] = new Node();
+            }
+            node = node.children[bit];
+        }
+        node.terminal = true;
+        this.size++;
+    }
+
+    private Node root(final InetAddress address) {
+        return address instanceof Inet4Address ? this.ipv4 : this.ipv6;
+    }
+
+    private static int bit(final byte[] bytes, final int index) {
+        return (bytes[index / Byte.SIZE] >> (Byte.SIZE - 1 - index % Byte.SIZE)) & 1;
+    }
+
+    /**
+     * Node of the trie; terminal nodes end a range, and cover everything below them.
+     */
+    private static class Node {
+        private final Node[] children = new Node[2];
+        private boolean terminal;
+    }
+}
@@ -0,0 +1,76 @@
+package org.apereo.cas.authentication.adaptive.geo;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetAddress;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * This is {@link CachingGeoLocationService} that remembers where addresses were located,
+ * so that clients seen recently are not located again by the underlying service.
+ * Addresses that could not be located are remembered as well.
+ * Locations found by coordinates alone are not cached.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class CachingGeoLocationService implements GeoLocationService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CachingGeoLocationService.class);
+
+    private final GeoLocationService geoLocationService;
+
+    private final Cache<String, Optional<GeoLocationResponse>> cache;
+
+    /**
+     * Instantiates a new caching geo location service.
+     *
+     * @param geoLocationService the service that locates addresses
+     * @param cacheSize          the maximum number of addresses cached
+     * @param timeToLiveSeconds  how long locations are cached
+     */
+    public CachingGeoLocationService(final GeoLocationService geoLocationService,
+                                     final long cacheSize, final long timeToLiveSeconds) {
+        this.geoLocationService = geoLocationService;
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(timeToLiveSeconds, TimeUnit.SECONDS)
+                .build();
+    }
+
+    @Override
+    public GeoLocationResponse locate(final InetAddress address) {
+        return locate(address.getHostAddress(), () -> this.geoLocationService.locate(address));
+    }
+
+    @Override
+    public GeoLocationResponse locate(final String ipAddress) {
+        return locate(ipAddress, () -> this.geoLocationService.locate(ipAddress));
+    }
+
+    @Override
+    public GeoLocationResponse locate(final Double latitude, final Double longitude) {
+        return this.geoLocationService.locate(latitude, longitude);
+    }
+
+    @Override
+    public GeoLocationResponse locate(final String ip, final GeoLocationRequest request) {
+        final String key = request == null ? ip : ip + '@' + request.getLatitude() + ',' + request.getLongitude();
+        return locate(key, () -> this.geoLocationService.locate(ip, request));
+    }
+
+    private GeoLocationResponse locate(final String key, final Supplier<GeoLocationResponse> locator) {
+        final Optional<GeoLocationResponse> cached = this.cache.getIfPresent(key);
+        if (cached != null) {
+            LOGGER.debug("Found cached geolocation for [{}]", key);
+            return cached.orElse(null);
+        }
+        final GeoLocationResponse location = locator.get();
+        this.cache.put(key, Optional.ofNullable(location));
+        return location;
+    }
+}
@@ -28,6 +28,7 @@ import org.apereo.cas.authentication.RequiredHandlerAuthenticationPolicyFactory;
 import org.apereo.cas.authentication.SuccessfulHandlerMetaDataPopulator;
 import org.apereo.cas.authentication.adaptive.AdaptiveAuthenticationPolicy;
 import org.apereo.cas.authentication.adaptive.DefaultAdaptiveAuthenticationPolicy;
+import org.apereo.cas.authentication.adaptive.geo.CachingGeoLocationService;
 import org.apereo.cas.authentication.adaptive.geo.GeoLocationService;
 import org.apereo.cas.authentication.handler.support.HttpBasedServiceCredentialsAuthenticationHandler;
 import org.apereo.cas.authentication.handler.support.JaasAuthenticationHandler;
@@ -39,6 +40,7 @@ import org.apereo.cas.authentication.principal.PrincipalResolver;
 import org.apereo.cas.authentication.principal.RememberMeAuthenticationMetaDataPopulator;
 import org.apereo.cas.authentication.support.PasswordPolicyConfiguration;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.core.authentication.AdaptiveAuthenticationProperties;
 import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.util.http.HttpClient;
@@ -62,6 +64,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 
 /**
@@ -362,10 +368,24 @@ public class CasCoreAuthenticationConfiguration {
 
 
     @Bean
+    @RefreshScope
     public AdaptiveAuthenticationPolicy adaptiveAuthenticationPolicy() {
+        final AdaptiveAuthenticationProperties adaptive = casProperties.getAuthn().getAdaptive();
         final DefaultAdaptiveAuthenticationPolicy p = new DefaultAdaptiveAuthenticationPolicy();
-        p.setGeoLocationService(this.geoLocationService);
-        p.setAdaptiveAuthenticationProperties(casProperties.getAuthn().getAdaptive());
+        if (this.geoLocationService != null) {
+            p.setGeoLocationService(new CachingGeoLocationService(this.geoLocationService,
+                    adaptive.getGeoLocationCacheSize(), adaptive.getGeoLocationCacheTimeToLiveSeconds()));
+        }
+        if (adaptive.getGeoLocationThreads() > 0) {
+            final AtomicInteger count = new AtomicInteger();
+            p.setGeoLocationExecutor(new ThreadPoolExecutor(adaptive.getGeoLocationThreads(), adaptive.getGeoLocationThreads(),
+                    0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(adaptive.getGeoLocationQueueSize()), r -> {
+                final Thread thread = new Thread(r, "GeoLocation-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }));
+        }
+        p.setAdaptiveAuthenticationProperties(adaptive);
         return p;
     }
 }
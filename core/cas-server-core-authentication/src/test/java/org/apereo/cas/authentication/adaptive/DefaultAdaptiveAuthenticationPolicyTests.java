@@ -0,0 +1,131 @@
+package org.apereo.cas.authentication.adaptive;
+
+import org.apereo.cas.authentication.adaptive.geo.GeoLocationRequest;
+import org.apereo.cas.authentication.adaptive.geo.GeoLocationResponse;
+import org.apereo.cas.authentication.adaptive.geo.GeoLocationService;
+import org.apereo.cas.configuration.model.core.authentication.AdaptiveAuthenticationProperties;
+import org.apereo.inspektr.common.web.ClientInfo;
+import org.apereo.inspektr.common.web.ClientInfoHolder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.net.InetAddress;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link DefaultAdaptiveAuthenticationPolicyTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class DefaultAdaptiveAuthenticationPolicyTests {
+
+    private static final String USER_AGENT = "Mozilla/5.0";
+
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    private final CountDownLatch firstLookupStarted = new CountDownLatch(1);
+
+    private final CountDownLatch firstLookup = new CountDownLatch(1);
+
+    private ThreadPoolExecutor executor;
+
+    private DefaultAdaptiveAuthenticationPolicy policy;
+
+    @Before
+    public void setUp() {
+        ClientInfoHolder.setClientInfo(new ClientInfo(new MockHttpServletRequest()));
+
+        final AdaptiveAuthenticationProperties properties = new AdaptiveAuthenticationProperties();
+        properties.setRejectCountries("Mordor");
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(1));
+        this.policy = new DefaultAdaptiveAuthenticationPolicy();
+        this.policy.setGeoLocationService(new BlockingGeoLocationService());
+        this.policy.setGeoLocationExecutor(this.executor);
+        this.policy.setAdaptiveAuthenticationProperties(properties);
+    }
+
+    @After
+    public void tearDown() {
+        this.firstLookup.countDown();
+        this.executor.shutdownNow();
+        ClientInfoHolder.clear();
+    }
+
+    @Test
+    public void verifyQueuedClientsAreLocatedAfterShutdown() throws Exception {
+        final CompletableFuture<Boolean> running = this.policy.applyAsync(USER_AGENT, new GeoLocationRequest());
+        final CompletableFuture<Boolean> queued = this.policy.applyAsync(USER_AGENT, new GeoLocationRequest());
+        this.policy.shutdown();
+
+        this.firstLookup.countDown();
+        assertTrue(running.get(10, TimeUnit.SECONDS));
+        assertTrue(queued.get(10, TimeUnit.SECONDS));
+        assertEquals(2, this.lookups.get());
+    }
+
+    @Test
+    public void verifyClientIsLocatedOnCallingThreadWhenQueueIsFull() throws Exception {
+        this.policy.applyAsync(USER_AGENT, new GeoLocationRequest());
+        assertTrue(this.firstLookupStarted.await(10, TimeUnit.SECONDS));
+        this.policy.applyAsync(USER_AGENT, new GeoLocationRequest());
+
+        final CompletableFuture<Boolean> rejected = this.policy.applyAsync(USER_AGENT, new GeoLocationRequest());
+        assertTrue(rejected.isDone());
+        assertTrue(rejected.get());
+    }
+
+    @Test
+    public void verifyClientIsLocatedOnCallingThreadAfterShutdown() throws Exception {
+        this.firstLookup.countDown();
+        this.policy.shutdown();
+
+        final CompletableFuture<Boolean> rejected = this.policy.applyAsync(USER_AGENT, new GeoLocationRequest());
+        assertTrue(rejected.isDone());
+        assertTrue(rejected.get());
+    }
+
+    /**
+     * Holds up the first lookup until it is released.
+     */
+    private class BlockingGeoLocationService implements GeoLocationService {
+        @Override
+        public GeoLocationResponse locate(final InetAddress address) {
+            return locate(address.getHostAddress());
+        }
+
+        @Override
+        public GeoLocationResponse locate(final String ipAddress) {
+            if (lookups.incrementAndGet() == 1) {
+                firstLookupStarted.countDown();
+                try {
+                    firstLookup.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            final GeoLocationResponse response = new GeoLocationResponse();
+            response.addAddress("Shire");
+            return response;
+        }
+
+        @Override
+        public GeoLocationResponse locate(final Double latitude, final Double longitude) {
+            return null;
+        }
+
+        @Override
+        public GeoLocationResponse locate(final String ip, final GeoLocationRequest request) {
+            return locate(ip);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package org.apereo.cas.authentication.adaptive;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test for {@link IpAddressRangeMatcher} class.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class IpAddressRangeMatcherTests {
+
+    private final IpAddressRangeMatcher matcher = new IpAddressRangeMatcher(
+            Arrays.asList("10.0.0.0/8", " 192.168.1.0/24", "172.16.5.4", "2001:db8::/32"));
+
+    @Test
+    public void verifyAddressesWithinRangesMatch() {
+        assertEquals(4, this.matcher.size());
+        assertTrue(this.matcher.matches("10.1.2.3"));
+        assertTrue(this.matcher.matches("192.168.1.255"));
+        assertTrue(this.matcher.matches("172.16.5.4"));
+        assertTrue(this.matcher.matches("2001:db8:1::1"));
+        assertTrue(this.matcher.matches("::ffff:10.0.0.1"));
+    }
+
+    @Test
+    public void verifyAddressesOutsideRangesDoNotMatch() {
+        assertFalse(this.matcher.matches("11.0.0.1"));
+        assertFalse(this.matcher.matches("192.168.2.1"));
+        assertFalse(this.matcher.matches("172.16.5.5"));
+        assertFalse(this.matcher.matches("2001:db9::1"));
+        assertFalse(this.matcher.matches("not-an-address"));
+        assertFalse(this.matcher.matches(null));
+        assertFalse(new IpAddressRangeMatcher(Collections.emptySet()).matches("10.0.0.1"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void verifyInvalidPrefixLength() {
+        new IpAddressRangeMatcher(Collections.singleton("10.0.0.0/33"));
+    }
+}
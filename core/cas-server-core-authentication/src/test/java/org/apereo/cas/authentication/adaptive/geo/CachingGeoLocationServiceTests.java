@@ -0,0 +1,62 @@
+package org.apereo.cas.authentication.adaptive.geo;
+
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test for {@link CachingGeoLocationService} class.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class CachingGeoLocationServiceTests {
+
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    private final CachingGeoLocationService service = new CachingGeoLocationService(new GeoLocationService() {
+        @Override
+        public GeoLocationResponse locate(final InetAddress address) {
+            return locate(address.getHostAddress());
+        }
+
+        @Override
+        public GeoLocationResponse locate(final String ipAddress) {
+            lookups.incrementAndGet();
+            if (ipAddress.startsWith("10.")) {
+                return null;
+            }
+            final GeoLocationResponse response = new GeoLocationResponse();
+            response.addAddress("United States");
+            return response;
+        }
+
+        @Override
+        public GeoLocationResponse locate(final Double latitude, final Double longitude) {
+            return null;
+        }
+
+        @Override
+        public GeoLocationResponse locate(final String ip, final GeoLocationRequest request) {
+            return locate(ip);
+        }
+    }, 100, 60);
+
+    @Test
+    public void verifyLocationsAreCached() {
+        final GeoLocationResponse location = this.service.locate("8.8.8.8");
+        assertNotNull(location);
+        assertSame(location, this.service.locate("8.8.8.8"));
+        assertEquals(1, this.lookups.get());
+    }
+
+    @Test
+    public void verifyUnknownLocationsAreCached() {
+        assertNull(this.service.locate("10.0.0.1", new GeoLocationRequest()));
+        assertNull(this.service.locate("10.0.0.1", new GeoLocationRequest()));
+        assertEquals(1, this.lookups.get());
+    }
+}
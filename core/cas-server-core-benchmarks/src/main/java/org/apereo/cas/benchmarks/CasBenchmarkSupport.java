@@ -0,0 +1,213 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.CentralAuthenticationServiceImpl;
+import org.apereo.cas.authentication.AcceptUsersAuthenticationHandler;
+import org.apereo.cas.authentication.Authentication;
+import org.apereo.cas.authentication.BasicCredentialMetaData;
+import org.apereo.cas.authentication.CredentialMetaData;
+import org.apereo.cas.authentication.DefaultAuthenticationBuilder;
+import org.apereo.cas.authentication.DefaultHandlerResult;
+import org.apereo.cas.authentication.UsernamePasswordCredential;
+import org.apereo.cas.authentication.principal.DefaultPrincipalFactory;
+import org.apereo.cas.authentication.principal.WebApplicationService;
+import org.apereo.cas.authentication.principal.WebApplicationServiceFactory;
+import org.apereo.cas.services.DefaultServicesManagerImpl;
+import org.apereo.cas.services.InMemoryServiceRegistryDaoImpl;
+import org.apereo.cas.services.RegexRegisteredService;
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.ticket.DefaultProxyGrantingTicketFactory;
+import org.apereo.cas.ticket.DefaultProxyTicketFactory;
+import org.apereo.cas.ticket.DefaultServiceTicketFactory;
+import org.apereo.cas.ticket.DefaultTicketFactory;
+import org.apereo.cas.ticket.DefaultTicketGrantingTicketFactory;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.registry.DefaultTicketRegistry;
+import org.apereo.cas.ticket.support.MultiTimeUseOrTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.support.TicketGrantingTicketExpirationPolicy;
+import org.apereo.cas.util.DefaultUniqueTicketIdGenerator;
+import org.apereo.cas.util.cipher.DefaultTicketCipherExecutor;
+import org.apereo.cas.validation.DefaultValidationServiceSelectionStrategy;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * This is {@link CasBenchmarkSupport} that assembles the CAS components under test
+ * the same way the default configuration does, without a Spring application context.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public final class CasBenchmarkSupport {
+
+    /**
+     * Principal id used for all authentications.
+     */
+    public static final String USERNAME = "casuser";
+
+    private static final String ENCRYPTION_KEY = "1234567890123456";
+
+    private static final String SIGNING_KEY = "szxK-5_eJjs-aUj-64MpUZ-GPPzGLhYPLGl0wrYjYNVAGva2P0lLe6UGKGM7k8dWxsOVGutZWgvmY3l5oVPO3w";
+
+    private static final int SIGNING_KEY_SIZE = 512;
+
+    private static final int ENCRYPTION_KEY_SIZE = 16;
+
+    private static final int TICKET_ID_LENGTH = 50;
+
+    private static final long TGT_MAX_TIME_TO_LIVE = 28_800;
+
+    private static final long TGT_TIME_TO_KILL = 7_200;
+
+    private static final int ST_NUMBER_OF_USES = 1;
+
+    private static final long ST_TIME_TO_KILL = 10;
+
+    private static final WebApplicationServiceFactory SERVICE_FACTORY = new WebApplicationServiceFactory();
+
+    private CasBenchmarkSupport() {
+    }
+
+    /**
+     * Build a ticket registry holding the given number of ticket-granting tickets.
+     *
+     * @param size      the number of tickets to put into the registry
+     * @param encrypted whether tickets are encrypted and signed in the registry
+     * @return the ticket registry
+     */
+    public static DefaultTicketRegistry newTicketRegistry(final int size, final boolean encrypted) {
+        final DefaultTicketRegistry registry = new DefaultTicketRegistry();
+        if (encrypted) {
+            registry.setCipherExecutor(new DefaultTicketCipherExecutor(ENCRYPTION_KEY, SIGNING_KEY, "AES",
+                    SIGNING_KEY_SIZE, ENCRYPTION_KEY_SIZE));
+        }
+        final Authentication authentication = newAuthentication();
+        final DefaultUniqueTicketIdGenerator idGenerator = new DefaultUniqueTicketIdGenerator(TICKET_ID_LENGTH);
+        IntStream.range(0, size).forEach(i -> registry.addTicket(new TicketGrantingTicketImpl(
+                idGenerator.getNewTicketId(TicketGrantingTicket.PREFIX), authentication, newTicketGrantingTicketExpirationPolicy())));
+        return registry;
+    }
+
+    /**
+     * Build a services manager with the given number of regex services,
+     * each matching the urls of {@link #getServiceUrl(int)} for one index.
+     *
+     * @param count the number of services
+     * @return the services manager
+     */
+    public static DefaultServicesManagerImpl newServicesManager(final int count) {
+        final List<RegisteredService> services = IntStream.range(0, count)
+                .mapToObj(i -> {
+                    final RegexRegisteredService service = new RegexRegisteredService();
+                    service.setId(i);
+                    service.setName("Service " + i);
+                    service.setServiceId("^https://app" + i + "\\.example\\.org/.*");
+                    service.setEvaluationOrder(i);
+                    return service;
+                })
+                .collect(Collectors.toList());
+        final InMemoryServiceRegistryDaoImpl dao = new InMemoryServiceRegistryDaoImpl();
+        dao.setRegisteredServices(new ArrayList<>(services));
+        final DefaultServicesManagerImpl servicesManager = new DefaultServicesManagerImpl(dao);
+        servicesManager.load();
+        return servicesManager;
+    }
+
+    /**
+     * Build the central authentication service on top of the given components.
+     *
+     * @param registry        the ticket registry
+     * @param servicesManager the services manager
+     * @return the central authentication service
+     */
+    public static CentralAuthenticationServiceImpl newCentralAuthenticationService(final DefaultTicketRegistry registry,
+                                                                                   final DefaultServicesManagerImpl servicesManager) {
+        final DefaultTicketGrantingTicketFactory tgtFactory = new DefaultTicketGrantingTicketFactory();
+        tgtFactory.setTicketGrantingTicketExpirationPolicy(newTicketGrantingTicketExpirationPolicy());
+        tgtFactory.setTicketGrantingTicketUniqueTicketIdGenerator(new DefaultUniqueTicketIdGenerator(TICKET_ID_LENGTH));
+
+        final DefaultProxyGrantingTicketFactory pgtFactory = new DefaultProxyGrantingTicketFactory();
+        pgtFactory.setTicketGrantingTicketExpirationPolicy(newTicketGrantingTicketExpirationPolicy());
+        pgtFactory.setTicketGrantingTicketUniqueTicketIdGenerator(new DefaultUniqueTicketIdGenerator(TICKET_ID_LENGTH));
+
+        final MultiTimeUseOrTimeoutExpirationPolicy serviceTicketExpirationPolicy =
+                new MultiTimeUseOrTimeoutExpirationPolicy(ST_NUMBER_OF_USES, ST_TIME_TO_KILL);
+
+        final DefaultServiceTicketFactory stFactory = new DefaultServiceTicketFactory();
+        stFactory.setServiceTicketExpirationPolicy(serviceTicketExpirationPolicy);
+        stFactory.setUniqueTicketIdGeneratorsForService(Collections.emptyMap());
+
+        final DefaultProxyTicketFactory ptFactory = new DefaultProxyTicketFactory();
+        ptFactory.setProxyTicketExpirationPolicy(serviceTicketExpirationPolicy);
+        ptFactory.setUniqueTicketIdGeneratorsForService(Collections.emptyMap());
+
+        final DefaultTicketFactory ticketFactory = new DefaultTicketFactory();
+        ticketFactory.setTicketGrantingTicketFactory(tgtFactory);
+        ticketFactory.setProxyGrantingTicketFactory(pgtFactory);
+        ticketFactory.setServiceTicketFactory(stFactory);
+        ticketFactory.setProxyTicketFactory(ptFactory);
+        ticketFactory.initialize();
+
+        final CentralAuthenticationServiceImpl cas = new CentralAuthenticationServiceImpl();
+        cas.setTicketRegistry(registry);
+        cas.setServicesManager(servicesManager);
+        cas.setTicketFactory(ticketFactory);
+        cas.setValidationServiceSelectionStrategies(Collections.singletonList(new DefaultValidationServiceSelectionStrategy()));
+        cas.setPrincipalFactory(new DefaultPrincipalFactory());
+        cas.setApplicationEventPublisher(new ApplicationEventPublisher() {
+            @Override
+            public void publishEvent(final ApplicationEvent event) {
+            }
+
+            @Override
+            public void publishEvent(final Object event) {
+            }
+        });
+        return cas;
+    }
+
+    /**
+     * Build an authentication of {@link #USERNAME} by password.
+     *
+     * @return the authentication
+     */
+    public static Authentication newAuthentication() {
+        final CredentialMetaData meta = new BasicCredentialMetaData(new UsernamePasswordCredential());
+        return DefaultAuthenticationBuilder.newInstance()
+                .setPrincipal(new DefaultPrincipalFactory().createPrincipal(USERNAME))
+                .addCredential(meta)
+                .addSuccess(AcceptUsersAuthenticationHandler.class.getSimpleName(),
+                        new DefaultHandlerResult(new AcceptUsersAuthenticationHandler(), meta))
+                .build();
+    }
+
+    /**
+     * Url of a page of the application registered with the given index.
+     *
+     * @param index the index of the registered service
+     * @return the url
+     */
+    public static String getServiceUrl(final int index) {
+        return "https://app" + index + ".example.org/login";
+    }
+
+    /**
+     * Build the service of the application registered with the given index.
+     *
+     * @param index the index of the registered service
+     * @return the service
+     */
+    public static WebApplicationService newService(final int index) {
+        return SERVICE_FACTORY.createService(getServiceUrl(index));
+    }
+
+    private static TicketGrantingTicketExpirationPolicy newTicketGrantingTicketExpirationPolicy() {
+        return new TicketGrantingTicketExpirationPolicy(TGT_MAX_TIME_TO_LIVE, TGT_TIME_TO_KILL);
+    }
+}
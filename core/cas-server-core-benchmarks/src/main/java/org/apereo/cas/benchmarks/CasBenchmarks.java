@@ -0,0 +1,56 @@
+package org.apereo.cas.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.util.Arrays;
+
+/**
+ * This is {@link CasBenchmarks} that runs the benchmarks of this module once per requested
+ * thread count, writing the results of each run as JSON so that runs can be compared.
+ * <p>
+ * The benchmarks to run and the thread counts are controlled by the system properties
+ * {@code cas.benchmarks.include} (a regular expression, all benchmarks by default) and
+ * {@code cas.benchmarks.threads} (a comma-separated list, {@code 1,4} by default).
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public final class CasBenchmarks {
+
+    private CasBenchmarks() {
+    }
+
+    /**
+     * Run the benchmarks.
+     *
+     * @param args the directory the results are written to
+     * @throws RunnerException if a benchmark fails to run
+     */
+    public static void main(final String[] args) throws RunnerException {
+        final File directory = new File(args.length > 0 ? args[0] : "build/reports/jmh");
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IllegalArgumentException("Unable to create " + directory);
+        }
+
+        final String include = System.getProperty("cas.benchmarks.include", CasBenchmarks.class.getPackage().getName());
+        final int[] threads = Arrays.stream(System.getProperty("cas.benchmarks.threads", "1,4").split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+
+        for (final int count : threads) {
+            final Options options = new OptionsBuilder()
+                    .include(include)
+                    .threads(count)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(new File(directory, "results-" + count + "-threads.json").getAbsolutePath())
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
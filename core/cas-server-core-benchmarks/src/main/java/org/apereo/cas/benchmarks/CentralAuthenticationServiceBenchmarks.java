@@ -0,0 +1,155 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.CentralAuthenticationServiceImpl;
+import org.apereo.cas.authentication.Authentication;
+import org.apereo.cas.authentication.AuthenticationException;
+import org.apereo.cas.authentication.AuthenticationResult;
+import org.apereo.cas.authentication.DefaultAuthenticationResult;
+import org.apereo.cas.authentication.principal.WebApplicationService;
+import org.apereo.cas.services.DefaultServicesManagerImpl;
+import org.apereo.cas.ticket.AbstractTicketException;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.validation.Assertion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link CentralAuthenticationServiceBenchmarks} that measures the protocol operations
+ * of {@link CentralAuthenticationServiceImpl} against the default ticket registry, with and
+ * without ticket encryption, for registries holding a varying number of sessions.
+ * The registry is rebuilt before each iteration so that tickets created by one
+ * iteration do not slow down the next.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CentralAuthenticationServiceBenchmarks {
+
+    /**
+     * Components shared by all threads.
+     */
+    @State(Scope.Benchmark)
+    public static class Environment {
+        @Param({"1000", "100000"})
+        private int registrySize;
+
+        @Param({"false", "true"})
+        private boolean encrypted;
+
+        private DefaultServicesManagerImpl servicesManager;
+
+        private CentralAuthenticationServiceImpl cas;
+
+        /**
+         * Build the services manager and the central authentication service.
+         */
+        @Setup(Level.Trial)
+        public void setupTrial() {
+            this.servicesManager = CasBenchmarkSupport.newServicesManager(1);
+            this.cas = CasBenchmarkSupport.newCentralAuthenticationService(
+                    CasBenchmarkSupport.newTicketRegistry(0, this.encrypted), this.servicesManager);
+        }
+
+        /**
+         * Start each iteration with a registry of the configured size.
+         */
+        @Setup(Level.Iteration)
+        public void setupIteration() {
+            this.cas.setTicketRegistry(CasBenchmarkSupport.newTicketRegistry(this.registrySize, this.encrypted));
+        }
+    }
+
+    /**
+     * The session of each thread.
+     */
+    @State(Scope.Thread)
+    public static class Session {
+        private final WebApplicationService service = CasBenchmarkSupport.newService(0);
+
+        private final Authentication authentication = CasBenchmarkSupport.newAuthentication();
+
+        private AuthenticationResult authenticationResult;
+
+        private String ticketGrantingTicketId;
+
+        /**
+         * Log in once per iteration, after the registry is rebuilt.
+         *
+         * @param environment the environment
+         * @throws AbstractTicketException if the ticket cannot be created
+         * @throws AuthenticationException if the authentication is refused
+         */
+        @Setup(Level.Iteration)
+        public void setup(final Environment environment) throws AbstractTicketException, AuthenticationException {
+            this.authenticationResult = new DefaultAuthenticationResult(this.authentication, this.service);
+            this.ticketGrantingTicketId = environment.cas.createTicketGrantingTicket(this.authenticationResult).getId();
+        }
+    }
+
+    /**
+     * Log in.
+     *
+     * @param environment the environment
+     * @param session     the session
+     * @return the ticket-granting ticket
+     * @throws AbstractTicketException if the ticket cannot be created
+     * @throws AuthenticationException if the authentication is refused
+     */
+    @Benchmark
+    public TicketGrantingTicket createTicketGrantingTicket(final Environment environment, final Session session)
+            throws AbstractTicketException, AuthenticationException {
+        return environment.cas.createTicketGrantingTicket(session.authenticationResult);
+    }
+
+    /**
+     * Access an application with an existing session.
+     *
+     * @param environment the environment
+     * @param session     the session
+     * @return the service ticket
+     * @throws AbstractTicketException if the ticket cannot be granted
+     * @throws AuthenticationException if the authentication is refused
+     */
+    @Benchmark
+    public ServiceTicket grantServiceTicket(final Environment environment, final Session session)
+            throws AbstractTicketException, AuthenticationException {
+        return environment.cas.grantServiceTicket(session.ticketGrantingTicketId, session.service, session.authenticationResult);
+    }
+
+    /**
+     * Access an application with an existing session, and validate the service ticket.
+     * Service tickets can only be validated once, so this includes granting the ticket;
+     * the cost of validation is the difference to {@link #grantServiceTicket(Environment, Session)}.
+     *
+     * @param environment the environment
+     * @param session     the session
+     * @return the assertion
+     * @throws AbstractTicketException if the ticket cannot be granted or is not valid
+     * @throws AuthenticationException if the authentication is refused
+     */
+    @Benchmark
+    public Assertion validateServiceTicket(final Environment environment, final Session session)
+            throws AbstractTicketException, AuthenticationException {
+        final ServiceTicket serviceTicket = environment.cas.grantServiceTicket(session.ticketGrantingTicketId,
+                session.service, session.authenticationResult);
+        return environment.cas.validateServiceTicket(serviceTicket.getId(), session.service);
+    }
+}
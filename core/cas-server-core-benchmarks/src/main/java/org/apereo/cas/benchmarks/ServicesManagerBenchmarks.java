@@ -0,0 +1,99 @@
+package org.apereo.cas.benchmarks;
+
+import com.google.common.cache.CacheBuilder;
+import org.apereo.cas.authentication.principal.WebApplicationService;
+import org.apereo.cas.services.DefaultServicesManagerImpl;
+import org.apereo.cas.services.PrefixTreeRegisteredServicesIndex;
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.services.SortedRegisteredServicesIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * This is {@link ServicesManagerBenchmarks} that measures how fast a registered service is found
+ * for a service url, for a varying number of regex services, with either index and with
+ * and without the cache of lookups. Lookups are spread over all registered services.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServicesManagerBenchmarks {
+
+    @Param({"10", "100", "1000"})
+    private int serviceCount;
+
+    @Param({"prefix", "sorted"})
+    private String index;
+
+    @Param({"false", "true"})
+    private boolean cached;
+
+    private DefaultServicesManagerImpl servicesManager;
+
+    private WebApplicationService[] services;
+
+    /**
+     * Register the services.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        this.servicesManager = CasBenchmarkSupport.newServicesManager(this.serviceCount);
+        this.servicesManager.setServicesIndex("sorted".equals(this.index)
+                ? new SortedRegisteredServicesIndex() : new PrefixTreeRegisteredServicesIndex());
+        if (this.cached) {
+            this.servicesManager.setServicesCache(CacheBuilder.newBuilder().maximumSize(this.serviceCount).build());
+        }
+        this.services = IntStream.range(0, this.serviceCount)
+                .mapToObj(CasBenchmarkSupport::newService)
+                .toArray(WebApplicationService[]::new);
+    }
+
+    /**
+     * Find the registered service of a service url.
+     *
+     * @param cursor the lookup cursor of the thread
+     * @return the registered service
+     */
+    @Benchmark
+    public RegisteredService findServiceBy(final Cursor cursor) {
+        return this.servicesManager.findServiceBy(this.services[cursor.next(this.services.length)]);
+    }
+
+    /**
+     * Position of a thread in the list of services to look up.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int position;
+
+        /**
+         * Next position.
+         *
+         * @param length the number of services
+         * @return the position
+         */
+        public int next(final int length) {
+            this.position = (this.position + 1) % length;
+            return this.position;
+        }
+    }
+}
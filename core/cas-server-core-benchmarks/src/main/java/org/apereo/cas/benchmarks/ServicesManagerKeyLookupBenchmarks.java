@@ -0,0 +1,76 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.services.DefaultServicesManagerImpl;
+import org.apereo.cas.services.RegisteredService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * This is {@link ServicesManagerKeyLookupBenchmarks} that measures how fast a registered service is found
+ * by a key other than its id, the way OAuth services are found by client id, for a varying number
+ * of services, with the key either indexed by the services manager or found by scanning all services.
+ * Services are keyed by name here. Lookups are spread over all registered services.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServicesManagerKeyLookupBenchmarks {
+
+    private static final Function<RegisteredService, String> NAME_RESOLVER = RegisteredService::getName;
+
+    @Param({"100", "1000", "10000"})
+    private int serviceCount;
+
+    @Param({"false", "true"})
+    private boolean indexed;
+
+    private DefaultServicesManagerImpl servicesManager;
+
+    private String[] names;
+
+    /**
+     * Register the services.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        this.servicesManager = CasBenchmarkSupport.newServicesManager(this.serviceCount);
+        if (this.indexed) {
+            this.servicesManager.setKeyResolvers(Collections.singletonMap("name", NAME_RESOLVER));
+        }
+        this.names = IntStream.range(0, this.serviceCount)
+                .mapToObj(i -> "Service " + i)
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Find a registered service by name.
+     *
+     * @param cursor the lookup cursor of the thread
+     * @return the registered service
+     */
+    @Benchmark
+    public RegisteredService findServiceByKey(final ServicesManagerBenchmarks.Cursor cursor) {
+        return this.servicesManager.findServiceBy(this.names[cursor.next(this.names.length)], NAME_RESOLVER);
+    }
+}
@@ -0,0 +1,59 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.UniqueTicketIdGenerator;
+import org.apereo.cas.util.DefaultUniqueTicketIdGenerator;
+import org.apereo.cas.util.HostNameBasedUniqueTicketIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link UniqueTicketIdGeneratorBenchmarks} that measures how fast ticket ids are generated.
+ * A single generator is shared by all threads, as it is in CAS.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UniqueTicketIdGeneratorBenchmarks {
+
+    private final UniqueTicketIdGenerator defaultGenerator = new DefaultUniqueTicketIdGenerator(50);
+
+    private final UniqueTicketIdGenerator hostNameBasedGenerator =
+            new HostNameBasedUniqueTicketIdGenerator.TicketGrantingTicketIdGenerator(50, null);
+
+    /**
+     * Generate a service ticket id.
+     *
+     * @return the ticket id
+     */
+    @Benchmark
+    public String defaultGenerator() {
+        return this.defaultGenerator.getNewTicketId(ServiceTicket.PREFIX);
+    }
+
+    /**
+     * Generate a ticket-granting ticket id with the host name as suffix.
+     *
+     * @return the ticket id
+     */
+    @Benchmark
+    public String hostNameBasedGenerator() {
+        return this.hostNameBasedGenerator.getNewTicketId(TicketGrantingTicket.PREFIX);
+    }
+}
@@ -14,6 +14,13 @@ public class AdaptiveAuthenticationProperties {
     private String rejectCountries;
     private String rejectBrowsers;
     private String rejectIpAddresses;
+    private String rejectIpAddressRanges;
+
+    private long geoLocationCacheSize = 10000;
+    private long geoLocationCacheTimeToLiveSeconds = 3600;
+    private int geoLocationThreads;
+    private int geoLocationQueueSize = 1000;
+    private long geoLocationTimeoutSeconds = 10;
 
     private Map requireMultifactor = new HashMap<>();
     
@@ -25,6 +32,54 @@ public class AdaptiveAuthenticationProperties {
         this.rejectIpAddresses = rejectIpAddresses;
     }
 
+    public String getRejectIpAddressRanges() {
+        return rejectIpAddressRanges;
+    }
+
+    public void setRejectIpAddressRanges(final String rejectIpAddressRanges) {
+        this.rejectIpAddressRanges = rejectIpAddressRanges;
+    }
+
+    public long getGeoLocationCacheSize() {
+        return geoLocationCacheSize;
+    }
+
+    public void setGeoLocationCacheSize(final long geoLocationCacheSize) {
+        this.geoLocationCacheSize = geoLocationCacheSize;
+    }
+
+    public long getGeoLocationCacheTimeToLiveSeconds() {
+        return geoLocationCacheTimeToLiveSeconds;
+    }
+
+    public void setGeoLocationCacheTimeToLiveSeconds(final long geoLocationCacheTimeToLiveSeconds) {
+        this.geoLocationCacheTimeToLiveSeconds = geoLocationCacheTimeToLiveSeconds;
+    }
+
+    public int getGeoLocationThreads() {
+        return geoLocationThreads;
+    }
+
+    public void setGeoLocationThreads(final int geoLocationThreads) {
+        this.geoLocationThreads = geoLocationThreads;
+    }
+
+    public int getGeoLocationQueueSize() {
+        return geoLocationQueueSize;
+    }
+
+    public void setGeoLocationQueueSize(final int geoLocationQueueSize) {
+        this.geoLocationQueueSize = geoLocationQueueSize;
+    }
+
+    public long getGeoLocationTimeoutSeconds() {
+        return geoLocationTimeoutSeconds;
+    }
+
+    public void setGeoLocationTimeoutSeconds(final long geoLocationTimeoutSeconds) {
+        this.geoLocationTimeoutSeconds = geoLocationTimeoutSeconds;
+    }
+
     public String getRejectCountries() {
         return rejectCountries;
     }
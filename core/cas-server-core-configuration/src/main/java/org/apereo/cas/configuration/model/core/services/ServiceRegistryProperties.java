@@ -8,6 +8,8 @@ import org.apereo.cas.configuration.support.AbstractConfigProperties;
 import org.springframework.boot.context.properties.NestedConfigurationProperty;
 import org.springframework.core.io.ClassPathResource;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Configuration properties class for service.registry.
  *
@@ -38,6 +40,12 @@ public class ServiceRegistryProperties extends AbstractConfigProperties {
 
     private boolean watcherEnabled = true;
 
+    private boolean cacheEnabled;
+
+    private long cacheSize = 10_000;
+
+    private long cacheTimeToLiveSeconds = TimeUnit.MINUTES.toSeconds(5);
+
     /**
      * Instantiates a new Service registry properties.
      */
@@ -77,6 +85,30 @@ public class ServiceRegistryProperties extends AbstractConfigProperties {
         this.repeatInterval = repeatInterval;
     }
 
+    public boolean isCacheEnabled() {
+        return cacheEnabled;
+    }
+
+    public void setCacheEnabled(final boolean cacheEnabled) {
+        this.cacheEnabled = cacheEnabled;
+    }
+
+    public long getCacheSize() {
+        return cacheSize;
+    }
+
+    public void setCacheSize(final long cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    public long getCacheTimeToLiveSeconds() {
+        return cacheTimeToLiveSeconds;
+    }
+
+    public void setCacheTimeToLiveSeconds(final long cacheTimeToLiveSeconds) {
+        this.cacheTimeToLiveSeconds = cacheTimeToLiveSeconds;
+    }
+
     public JpaServiceRegistryProperties getJpa() {
         return jpa;
     }
@@ -11,6 +11,8 @@ public class SloProperties {
     
     private boolean asynchronous = true;
     private boolean disabled;
+    private Dispatcher dispatcher = new Dispatcher();
+    private Retry retry = new Retry();
 
     public boolean isAsynchronous() {
         return asynchronous;
@@ -27,4 +29,161 @@ public class SloProperties {
     public void setDisabled(final boolean disabled) {
         this.disabled = disabled;
     }
+
+    public Dispatcher getDispatcher() {
+        return dispatcher;
+    }
+
+    public void setDispatcher(final Dispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    public Retry getRetry() {
+        return retry;
+    }
+
+    public void setRetry(final Retry retry) {
+        this.retry = retry;
+    }
+
+    public static class Dispatcher {
+        private boolean enabled;
+        private int poolSize = 10;
+        private int queueCapacity = 1000;
+        private int maxConcurrentRequestsPerHost = 2;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        public void setPoolSize(final int poolSize) {
+            this.poolSize = poolSize;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(final int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getMaxConcurrentRequestsPerHost() {
+            return maxConcurrentRequestsPerHost;
+        }
+
+        public void setMaxConcurrentRequestsPerHost(final int maxConcurrentRequestsPerHost) {
+            this.maxConcurrentRequestsPerHost = maxConcurrentRequestsPerHost;
+        }
+    }
+
+    public static class Retry {
+        private boolean enabled;
+        private int capacity = 10_000;
+        private int workers = 4;
+        private int maxAttempts = 5;
+        private long initialBackoff = 1000;
+        private long maxBackoff = 300_000;
+        private double backoffMultiplier = 2;
+        private int circuitBreakerFailureThreshold = 5;
+        private long circuitBreakerOpenDuration = 60_000;
+        private int deadLetterCapacity = 1000;
+        private String storeFile;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(final int capacity) {
+            this.capacity = capacity;
+        }
+
+        public int getWorkers() {
+            return workers;
+        }
+
+        public void setWorkers(final int workers) {
+            this.workers = workers;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(final int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public long getInitialBackoff() {
+            return initialBackoff;
+        }
+
+        public void setInitialBackoff(final long initialBackoff) {
+            this.initialBackoff = initialBackoff;
+        }
+
+        public long getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(final long maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+
+        public double getBackoffMultiplier() {
+            return backoffMultiplier;
+        }
+
+        public void setBackoffMultiplier(final double backoffMultiplier) {
+            this.backoffMultiplier = backoffMultiplier;
+        }
+
+        public int getCircuitBreakerFailureThreshold() {
+            return circuitBreakerFailureThreshold;
+        }
+
+        public void setCircuitBreakerFailureThreshold(final int circuitBreakerFailureThreshold) {
+            this.circuitBreakerFailureThreshold = circuitBreakerFailureThreshold;
+        }
+
+        public long getCircuitBreakerOpenDuration() {
+            return circuitBreakerOpenDuration;
+        }
+
+        public void setCircuitBreakerOpenDuration(final long circuitBreakerOpenDuration) {
+            this.circuitBreakerOpenDuration = circuitBreakerOpenDuration;
+        }
+
+        public int getDeadLetterCapacity() {
+            return deadLetterCapacity;
+        }
+
+        public void setDeadLetterCapacity(final int deadLetterCapacity) {
+            this.deadLetterCapacity = deadLetterCapacity;
+        }
+
+        public String getStoreFile() {
+            return storeFile;
+        }
+
+        public void setStoreFile(final String storeFile) {
+            this.storeFile = storeFile;
+        }
+    }
 }
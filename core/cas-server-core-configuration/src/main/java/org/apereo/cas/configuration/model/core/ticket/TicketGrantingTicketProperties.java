@@ -12,11 +12,21 @@ public class TicketGrantingTicketProperties {
     private int maxTimeToLiveInSeconds = 28_800;
     private int timeToKillInSeconds = 7_200;
     private boolean onlyTrackMostRecentSession = true;
+    private int updateConflictRetries = 3;
 
     private HardTimeout hardTimeout = new HardTimeout();
     private ThrottledTimeout throttledTimeout = new ThrottledTimeout();
     private Timeout timeout = new Timeout();
     private RememberMe rememberMe = new RememberMe();
+    private WriteBehind writeBehind = new WriteBehind();
+
+    public WriteBehind getWriteBehind() {
+        return writeBehind;
+    }
+
+    public void setWriteBehind(final WriteBehind writeBehind) {
+        this.writeBehind = writeBehind;
+    }
 
     public RememberMe getRememberMe() {
         return rememberMe;
@@ -66,6 +76,14 @@ public class TicketGrantingTicketProperties {
         this.onlyTrackMostRecentSession = onlyTrackMostRecentSession;
     }
 
+    public int getUpdateConflictRetries() {
+        return updateConflictRetries;
+    }
+
+    public void setUpdateConflictRetries(final int updateConflictRetries) {
+        this.updateConflictRetries = updateConflictRetries;
+    }
+
     public int getMaxTimeToLiveInSeconds() {
         return maxTimeToLiveInSeconds;
     }
@@ -147,4 +165,34 @@ public class TicketGrantingTicketProperties {
             this.timeToKillInSeconds = timeToKillInSeconds;
         }
     }
+
+    public static class WriteBehind {
+        private boolean enabled;
+        private long flushInterval = 2000;
+        private int maxPendingUpdates = 10_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(final long flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+
+        public int getMaxPendingUpdates() {
+            return maxPendingUpdates;
+        }
+
+        public void setMaxPendingUpdates(final int maxPendingUpdates) {
+            this.maxPendingUpdates = maxPendingUpdates;
+        }
+    }
 }
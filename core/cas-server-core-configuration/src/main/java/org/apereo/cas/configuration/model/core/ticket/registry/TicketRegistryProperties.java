@@ -18,6 +18,17 @@ import org.springframework.boot.context.properties.NestedConfigurationProperty;
  */
 public class TicketRegistryProperties {
 
+    public enum TicketSerializerTypes {
+        /**
+         * Standard java serialization.
+         */
+        JAVA,
+        /**
+         * Compact binary form produced by Kryo.
+         */
+        KRYO
+    }
+
     @NestedConfigurationProperty
     private InfinispanProperties infinispan = new InfinispanProperties();
     
@@ -42,6 +53,16 @@ public class TicketRegistryProperties {
     
     private InMemory inMemory = new InMemory();
     private Cleaner cleaner = new Cleaner();
+    private NearCache nearCache = new NearCache();
+    private TicketSerializerTypes serializer = TicketSerializerTypes.JAVA;
+
+    public TicketSerializerTypes getSerializer() {
+        return serializer;
+    }
+
+    public void setSerializer(final TicketSerializerTypes serializer) {
+        this.serializer = serializer;
+    }
 
     public InMemory getInMemory() {
         return inMemory;
@@ -59,6 +80,14 @@ public class TicketRegistryProperties {
         this.cleaner = cleaner;
     }
 
+    public NearCache getNearCache() {
+        return nearCache;
+    }
+
+    public void setNearCache(final NearCache nearCache) {
+        this.nearCache = nearCache;
+    }
+
     public CouchbaseTicketRegistryProperties getCouchbase() {
         return couchbase;
     }
@@ -160,9 +189,54 @@ public class TicketRegistryProperties {
         private boolean enabled = true;
         private long startDelay = 10000;
         private long repeatInterval = 60000;
+        private boolean incremental;
+        private int batchSize = 10_000;
+        private boolean expiryEvents;
+        private int expiryEventsQueueSize = 100_000;
+        private long expiryEventsScanInterval = 900_000;
 
         private String appId = "cas-ticket-registry-cleaner";
 
+        public boolean isExpiryEvents() {
+            return expiryEvents;
+        }
+
+        public void setExpiryEvents(final boolean expiryEvents) {
+            this.expiryEvents = expiryEvents;
+        }
+
+        public int getExpiryEventsQueueSize() {
+            return expiryEventsQueueSize;
+        }
+
+        public void setExpiryEventsQueueSize(final int expiryEventsQueueSize) {
+            this.expiryEventsQueueSize = expiryEventsQueueSize;
+        }
+
+        public long getExpiryEventsScanInterval() {
+            return expiryEventsScanInterval;
+        }
+
+        public void setExpiryEventsScanInterval(final long expiryEventsScanInterval) {
+            this.expiryEventsScanInterval = expiryEventsScanInterval;
+        }
+
+        public boolean isIncremental() {
+            return incremental;
+        }
+
+        public void setIncremental(final boolean incremental) {
+            this.incremental = incremental;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(final int batchSize) {
+            this.batchSize = batchSize;
+        }
+
         public String getAppId() {
             return appId;
         }
@@ -195,4 +269,34 @@ public class TicketRegistryProperties {
             this.repeatInterval = repeatInterval;
         }
     }
+
+    public static class NearCache {
+        private boolean enabled;
+        private long timeToLiveSeconds = 5;
+        private long maximumSize = 10_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getTimeToLiveSeconds() {
+            return timeToLiveSeconds;
+        }
+
+        public void setTimeToLiveSeconds(final long timeToLiveSeconds) {
+            this.timeToLiveSeconds = timeToLiveSeconds;
+        }
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(final long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+    }
 }
@@ -16,7 +16,7 @@ public class JpaTicketRegistryProperties extends AbstractJpaProperties {
     /** Default lock timeout is 1 hour. */
     public static final int DEFAULT_LOCK_TIMEOUT = 3600;
     
-    private boolean jpaLockingTgtEnabled = true;
+    private boolean jpaLockingTgtEnabled;
     
     private int jpaLockingTimeout = DEFAULT_LOCK_TIMEOUT;
 
@@ -15,6 +15,8 @@ public class MemcachedTicketRegistryProperties {
     private String failureMode = "Redistribute";
     private String locatorType = "ARRAY_MOD";
     private String hashAlgorithm = "FNV1_64_HASH";
+    private boolean kryoRegistrationRequired;
+    private int kryoPoolSize = 16;
 
     @NestedConfigurationProperty
     private CryptographyProperties crypto = new CryptographyProperties();
@@ -58,7 +60,20 @@ public class MemcachedTicketRegistryProperties {
     public void setHashAlgorithm(final String hashAlgorithm) {
         this.hashAlgorithm = hashAlgorithm;
     }
-}
 
+    public boolean isKryoRegistrationRequired() {
+        return kryoRegistrationRequired;
+    }
 
+    public void setKryoRegistrationRequired(final boolean kryoRegistrationRequired) {
+        this.kryoRegistrationRequired = kryoRegistrationRequired;
+    }
 
+    public int getKryoPoolSize() {
+        return kryoPoolSize;
+    }
+
+    public void setKryoPoolSize(final int kryoPoolSize) {
+        this.kryoPoolSize = kryoPoolSize;
+    }
+}
@@ -1,5 +1,7 @@
 package org.apereo.cas.configuration.model.support.oauth;
 
+import org.apereo.cas.configuration.model.core.util.CryptographyProperties;
+
 /**
  * This is {@link OAuthProperties}.
  *
@@ -61,6 +63,7 @@ public class OAuthProperties {
     public static class AccessToken {
         private long maxTimeToLiveInSeconds = 28800;
         private long timeToKillInSeconds = 7200;
+        private Jwt jwt = new Jwt();
 
         public long getMaxTimeToLiveInSeconds() {
             return maxTimeToLiveInSeconds;
@@ -77,6 +80,66 @@ public class OAuthProperties {
         public void setTimeToKillInSeconds(final long timeToKillInSeconds) {
             this.timeToKillInSeconds = timeToKillInSeconds;
         }
+
+        public Jwt getJwt() {
+            return jwt;
+        }
+
+        public void setJwt(final Jwt jwt) {
+            this.jwt = jwt;
+        }
+    }
+
+    /**
+     * Self-contained access tokens, issued as signed and optionally encrypted JWTs
+     * that are not kept in the ticket registry.
+     */
+    public static class Jwt {
+        private boolean enabled;
+        private boolean encryptionEnabled;
+        private long revocationCacheTimeToLiveInSeconds = 30;
+        private long revocationCacheSize = 10000;
+        private CryptographyProperties crypto = new CryptographyProperties();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public boolean isEncryptionEnabled() {
+            return encryptionEnabled;
+        }
+
+        public void setEncryptionEnabled(final boolean encryptionEnabled) {
+            this.encryptionEnabled = encryptionEnabled;
+        }
+
+        public long getRevocationCacheTimeToLiveInSeconds() {
+            return revocationCacheTimeToLiveInSeconds;
+        }
+
+        public void setRevocationCacheTimeToLiveInSeconds(final long revocationCacheTimeToLiveInSeconds) {
+            this.revocationCacheTimeToLiveInSeconds = revocationCacheTimeToLiveInSeconds;
+        }
+
+        public long getRevocationCacheSize() {
+            return revocationCacheSize;
+        }
+
+        public void setRevocationCacheSize(final long revocationCacheSize) {
+            this.revocationCacheSize = revocationCacheSize;
+        }
+
+        public CryptographyProperties getCrypto() {
+            return crypto;
+        }
+
+        public void setCrypto(final CryptographyProperties crypto) {
+            this.crypto = crypto;
+        }
     }
 
     public static class RefreshToken {
@@ -15,6 +15,8 @@ public class OidcProperties {
     private String issuer = "http://localhost:8080/cas/oidc";
     private int skew = 5;
     private Resource jwksFile = new FileSystemResource("/etc/cas/keystore.jwks");
+    private long jwksCacheInSeconds = 60;
+    private long jwksCacheSize = 1000;
 
     public String getIssuer() {
         return issuer;
@@ -39,4 +41,20 @@ public class OidcProperties {
     public void setJwksFile(final Resource jwksFile) {
         this.jwksFile = jwksFile;
     }
+
+    public long getJwksCacheInSeconds() {
+        return jwksCacheInSeconds;
+    }
+
+    public void setJwksCacheInSeconds(final long jwksCacheInSeconds) {
+        this.jwksCacheInSeconds = jwksCacheInSeconds;
+    }
+
+    public long getJwksCacheSize() {
+        return jwksCacheSize;
+    }
+
+    public void setJwksCacheSize(final long jwksCacheSize) {
+        this.jwksCacheSize = jwksCacheSize;
+    }
 }
@@ -73,6 +73,8 @@ public class SamlIdPProperties {
         private boolean failFast = true;
         private boolean requireValidMetadata = true;
         private long cacheExpirationMinutes = 30;
+        private long cacheMaximumSize = 500;
+        private boolean backupEnabled = true;
         private File location = new File("/etc/cas/saml");
         private String privateKeyAlgName = "RSA";
         private String basicAuthnUsername;
@@ -103,6 +105,26 @@ public class SamlIdPProperties {
             this.cacheExpirationMinutes = cacheExpirationMinutes;
         }
 
+        public long getCacheMaximumSize() {
+            return cacheMaximumSize;
+        }
+
+        public void setCacheMaximumSize(final long cacheMaximumSize) {
+            this.cacheMaximumSize = cacheMaximumSize;
+        }
+
+        public boolean isBackupEnabled() {
+            return backupEnabled;
+        }
+
+        public void setBackupEnabled(final boolean backupEnabled) {
+            this.backupEnabled = backupEnabled;
+        }
+
+        public File getBackupLocation() {
+            return new File(getLocation(), "/metadata-backups");
+        }
+
         public File getLocation() {
             return location;
         }
@@ -38,6 +38,11 @@ public class SpnegoProperties {
     private String kerberosDebug;
     private boolean useSubjectCredsOnly;
     private int dnsTimeout = 2000;
+    private int dnsResolverThreads = 10;
+    private int dnsResolverQueueSize = 1000;
+    private long dnsCacheSize = 10000;
+    private long dnsCacheTimeToLiveSeconds = 300;
+    private long dnsCacheNegativeTimeToLiveSeconds = 30;
     private String hostNamePatternString = ".+";
     private String ipsToCheckPattern = "127.+";
     private String alternativeRemoteHostAttribute = "alternateRemoteHeader";
@@ -127,6 +132,46 @@ public class SpnegoProperties {
         this.dnsTimeout = dnsTimeout;
     }
 
+    public int getDnsResolverThreads() {
+        return dnsResolverThreads;
+    }
+
+    public void setDnsResolverThreads(final int dnsResolverThreads) {
+        this.dnsResolverThreads = dnsResolverThreads;
+    }
+
+    public int getDnsResolverQueueSize() {
+        return dnsResolverQueueSize;
+    }
+
+    public void setDnsResolverQueueSize(final int dnsResolverQueueSize) {
+        this.dnsResolverQueueSize = dnsResolverQueueSize;
+    }
+
+    public long getDnsCacheSize() {
+        return dnsCacheSize;
+    }
+
+    public void setDnsCacheSize(final long dnsCacheSize) {
+        this.dnsCacheSize = dnsCacheSize;
+    }
+
+    public long getDnsCacheTimeToLiveSeconds() {
+        return dnsCacheTimeToLiveSeconds;
+    }
+
+    public void setDnsCacheTimeToLiveSeconds(final long dnsCacheTimeToLiveSeconds) {
+        this.dnsCacheTimeToLiveSeconds = dnsCacheTimeToLiveSeconds;
+    }
+
+    public long getDnsCacheNegativeTimeToLiveSeconds() {
+        return dnsCacheNegativeTimeToLiveSeconds;
+    }
+
+    public void setDnsCacheNegativeTimeToLiveSeconds(final long dnsCacheNegativeTimeToLiveSeconds) {
+        this.dnsCacheNegativeTimeToLiveSeconds = dnsCacheNegativeTimeToLiveSeconds;
+    }
+
     public String getIpsToCheckPattern() {
         return ipsToCheckPattern;
     }
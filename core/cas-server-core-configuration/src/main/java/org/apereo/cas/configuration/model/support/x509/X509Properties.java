@@ -68,6 +68,7 @@ public class X509Properties {
     private int revocationPolicyThreshold = 172_800;
     private boolean checkAll;
     private int refreshIntervalSeconds = 3_600;
+    private int crlRefreshAheadSeconds = 300;
     private String principalDescriptor;
     private boolean throwOnFetchFailure;
     private PrincipalTypes principalType;
@@ -275,6 +276,14 @@ public class X509Properties {
         this.refreshIntervalSeconds = refreshIntervalSeconds;
     }
 
+    public int getCrlRefreshAheadSeconds() {
+        return crlRefreshAheadSeconds;
+    }
+
+    public void setCrlRefreshAheadSeconds(final int crlRefreshAheadSeconds) {
+        this.crlRefreshAheadSeconds = crlRefreshAheadSeconds;
+    }
+
     public boolean isCheckAll() {
         return checkAll;
     }
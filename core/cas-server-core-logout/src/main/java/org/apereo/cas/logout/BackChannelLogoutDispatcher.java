@@ -0,0 +1,282 @@
+package org.apereo.cas.logout;
+
+import com.codahale.metrics.MetricRegistry;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link BackChannelLogoutDispatcher} that sends back-channel logout requests
+ * concurrently on a bounded pool of threads. Requests are grouped by the host of their
+ * logout url, and the number of requests in flight to any one host is capped across
+ * all logout operations, so that a burst of logouts does not flood a single application.
+ * Requests beyond that cap wait in a queue of their host rather than on a pool thread,
+ * so that a slow application does not hold up logouts to others.
+ * When the pool and its queue are saturated, requests stay in the queue of their host,
+ * and are handed to the pool again as soon as any request completes; they are never
+ * sent by the calling thread. Once the dispatcher has been shut down, requests that
+ * are not yet with the pool are not sent, and are marked as failed.
+ * The dispatcher waits for all requests of a batch to complete so that each
+ * request carries its final status.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class BackChannelLogoutDispatcher implements DisposableBean {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BackChannelLogoutDispatcher.class);
+
+    private static final String PENDING_REQUESTS_HISTOGRAM = "slo.dispatch.pending";
+    private static final String LATENCY_TIMER = "slo.dispatch.latency";
+    private static final String FAILURES_METER = "slo.dispatch.failures";
+    private static final String REJECTIONS_METER = "slo.dispatch.failures.rejected";
+
+    private final ThreadPoolExecutor executor;
+
+    private final int maxConcurrentRequestsPerHost;
+
+    private final Map<String, HostQueue> hostQueues = new ConcurrentHashMap<>();
+
+    /**
+     * Queues of hosts whose requests the pool did not take, to be drained when a request completes.
+     */
+    private final Queue<HostQueue> stalledQueues = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger pendingRequests = new AtomicInteger();
+
+    @Autowired(required = false)
+    private MetricRegistry metricRegistry;
+
+    /**
+     * Instantiates a new back channel logout dispatcher.
+     *
+     * @param poolSize                     the number of threads sending logout requests
+     * @param queueCapacity                the number of logout requests that may wait for a thread
+     * @param maxConcurrentRequestsPerHost the maximum number of logout requests in flight to a single host
+     */
+    public BackChannelLogoutDispatcher(final int poolSize, final int queueCapacity, final int maxConcurrentRequestsPerHost) {
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 1, TimeUnit.MINUTES,
+                new LinkedBlockingQueue<>(queueCapacity));
+        this.executor.allowCoreThreadTimeOut(true);
+        this.maxConcurrentRequestsPerHost = maxConcurrentRequestsPerHost;
+    }
+
+    /**
+     * Send the logout requests and record the outcome of each as its status.
+     *
+     * @param logoutRequests the logout requests
+     * @param sender         sends a single logout request, returning whether it was delivered
+     */
+    public void dispatch(final Collection<LogoutRequest> logoutRequests, final Predicate<LogoutRequest> sender) {
+        if (logoutRequests.isEmpty()) {
+            return;
+        }
+        final Map<String, List<LogoutRequest>> requestsByHost = logoutRequests.stream()
+                .collect(Collectors.groupingBy(BackChannelLogoutDispatcher::getHost));
+        LOGGER.debug("Dispatching [{}] back-channel logout request(s) to [{}] host(s)", logoutRequests.size(), requestsByHost.size());
+
+        final CompletableFuture<?>[] futures = requestsByHost.entrySet()
+                .stream()
+                .flatMap(entry -> entry.getValue().stream().map(request -> submit(entry.getKey(), request, sender)))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(futures).join();
+    }
+
+    /**
+     * Number of logout requests that are either queued or in flight.
+     *
+     * @return the count
+     */
+    public int getPendingRequests() {
+        return this.pendingRequests.get();
+    }
+
+    @Override
+    public void destroy() {
+        this.executor.shutdown();
+    }
+
+    private CompletableFuture<Void> submit(final String host, final LogoutRequest request, final Predicate<LogoutRequest> sender) {
+        final int pending = this.pendingRequests.incrementAndGet();
+        if (this.metricRegistry != null) {
+            this.metricRegistry.histogram(PENDING_REQUESTS_HISTOGRAM).update(pending);
+        }
+        final QueuedRequest queued = new QueuedRequest(request, sender);
+        final HostQueue queue = this.hostQueues.computeIfAbsent(host, k -> new HostQueue());
+        queue.add(queued);
+        drain(queue);
+        return queued.future;
+    }
+
+    /**
+     * Hand queued requests of the host to the pool, then those of hosts the pool turned away before.
+     * When the pool turns requests away again, they stay queued; they are handed over once more when
+     * a request that the pool already holds completes. If the pool holds none, draining goes on here,
+     * since no request would be left to complete.
+     */
+    private void drain(final HostQueue first) {
+        for (HostQueue queue = first; queue != null; queue = this.stalledQueues.poll()) {
+            if (!handOver(queue)) {
+                if (this.executor.isShutdown()) {
+                    queue.cancelAll();
+                } else {
+                    this.stalledQueues.add(queue);
+                    if (!this.executor.getQueue().isEmpty()) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Hand queued requests of the host to the pool, as long as fewer than the allowed number are in flight.
+     *
+     * @return false if the pool did not take a request
+     */
+    private boolean handOver(final HostQueue queue) {
+        for (QueuedRequest queued = queue.poll(this.maxConcurrentRequestsPerHost); queued != null;
+             queued = queue.poll(this.maxConcurrentRequestsPerHost)) {
+            final QueuedRequest next = queued;
+            try {
+                this.executor.execute(() -> {
+                    try {
+                        next.send();
+                    } finally {
+                        queue.done();
+                        drain(queue);
+                    }
+                });
+            } catch (final RejectedExecutionException e) {
+                LOGGER.debug("Logout request to [{}] is left queued; the pool is saturated or shut down", next.request.getLogoutUrl());
+                queue.putBack(next);
+                if (this.metricRegistry != null) {
+                    this.metricRegistry.meter(REJECTIONS_METER).mark();
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void send(final LogoutRequest request, final Predicate<LogoutRequest> sender) {
+        final long startTime = System.nanoTime();
+        boolean sent = false;
+        try {
+            sent = sender.test(request);
+        } catch (final Exception e) {
+            LOGGER.error(e.getMessage(), e);
+        } finally {
+            this.pendingRequests.decrementAndGet();
+        }
+
+        if (sent) {
+            request.setStatus(LogoutRequestStatus.SUCCESS);
+        } else {
+            request.setStatus(LogoutRequestStatus.FAILURE);
+            LOGGER.warn("Logout message not sent to [{}]; Continuing processing...", request.getService().getId());
+        }
+        if (this.metricRegistry != null) {
+            this.metricRegistry.timer(LATENCY_TIMER).update(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            if (!sent) {
+                this.metricRegistry.meter(FAILURES_METER).mark();
+            }
+        }
+    }
+
+    private static String getHost(final LogoutRequest request) {
+        return request.getLogoutUrl() == null ? StringUtils.EMPTY : StringUtils.lowerCase(request.getLogoutUrl().getHost());
+    }
+
+    /**
+     * A logout request waiting to be sent, and the future that completes once it has been.
+     */
+    private class QueuedRequest {
+        private final LogoutRequest request;
+        private final Predicate<LogoutRequest> sender;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        QueuedRequest(final LogoutRequest request, final Predicate<LogoutRequest> sender) {
+            this.request = request;
+            this.sender = sender;
+        }
+
+        void send() {
+            try {
+                BackChannelLogoutDispatcher.this.send(this.request, this.sender);
+            } finally {
+                this.future.complete(null);
+            }
+        }
+
+        void cancel() {
+            pendingRequests.decrementAndGet();
+            this.request.setStatus(LogoutRequestStatus.FAILURE);
+            LOGGER.warn("Logout message not sent to [{}] as the dispatcher is shut down", this.request.getService().getId());
+            if (metricRegistry != null) {
+                metricRegistry.meter(FAILURES_METER).mark();
+            }
+            this.future.complete(null);
+        }
+    }
+
+    /**
+     * Requests waiting to be sent to a single host, and the number of requests in flight to it.
+     */
+    private static class HostQueue {
+        private final Deque<QueuedRequest> requests = new ArrayDeque<>();
+        private int inFlight;
+
+        synchronized void add(final QueuedRequest request) {
+            this.requests.add(request);
+        }
+
+        synchronized QueuedRequest poll(final int maxInFlight) {
+            if (this.inFlight >= maxInFlight || this.requests.isEmpty()) {
+                return null;
+            }
+            this.inFlight++;
+            return this.requests.poll();
+        }
+
+        /**
+         * Return a request that was polled but could not be handed to the pool to the head of the queue.
+         */
+        synchronized void putBack(final QueuedRequest request) {
+            this.inFlight--;
+            this.requests.addFirst(request);
+        }
+
+        synchronized void done() {
+            this.inFlight--;
+        }
+
+        void cancelAll() {
+            for (QueuedRequest request = take(); request != null; request = take()) {
+                request.cancel();
+            }
+        }
+
+        private synchronized QueuedRequest take() {
+            return this.requests.poll();
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package org.apereo.cas.logout;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This is {@link BackChannelLogoutRetryJournal} that records logout messages of the
+ * {@link BackChannelLogoutRetryQueue} in a file as they are accepted and as they are done with,
+ * one JSON object per line, so that messages still pending when CAS stops, for whatever reason,
+ * are delivered once it starts again. The journal is rewritten with only the pending messages
+ * when it is opened, when it is closed, and whenever enough messages are done with.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class BackChannelLogoutRetryJournal implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BackChannelLogoutRetryJournal.class);
+
+    private static final String OPERATION_ADD = "add";
+    private static final String OPERATION_DONE = "done";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final File file;
+
+    private final Map<String, BackChannelLogoutRetryQueue.Entry> pending = new LinkedHashMap<>();
+
+    private int compactionThreshold = 1000;
+
+    private int obsoleteRecords;
+
+    private Writer writer;
+
+    /**
+     * Instantiates a new journal.
+     *
+     * @param file the journal file
+     */
+    public BackChannelLogoutRetryJournal(final File file) {
+        this.file = file;
+    }
+
+    /**
+     * Read the messages that were pending when the journal was last used, and start recording.
+     *
+     * @return the pending messages
+     * @throws IOException if the journal cannot be written
+     */
+    public synchronized List<BackChannelLogoutRetryQueue.Entry> open() throws IOException {
+        if (this.file.exists()) {
+            replay();
+        }
+        compact();
+        LOGGER.info("Loaded [{}] pending logout message(s) from [{}]", this.pending.size(), this.file);
+        return new ArrayList<>(this.pending.values());
+    }
+
+    /**
+     * Record that the message was accepted.
+     *
+     * @param entry the message
+     */
+    public synchronized void add(final BackChannelLogoutRetryQueue.Entry entry) {
+        this.pending.put(entry.getId(), entry);
+        write(toRecord(OPERATION_ADD, entry));
+    }
+
+    /**
+     * Record that the message was delivered or given up on.
+     *
+     * @param entry the message
+     */
+    public synchronized void done(final BackChannelLogoutRetryQueue.Entry entry) {
+        if (this.pending.remove(entry.getId()) == null) {
+            return;
+        }
+        final Map<String, Object> record = new LinkedHashMap<>();
+        record.put("op", OPERATION_DONE);
+        record.put("id", entry.getId());
+        write(record);
+        this.obsoleteRecords += 2;
+        if (this.obsoleteRecords >= this.compactionThreshold) {
+            try {
+                compact();
+            } catch (final IOException e) {
+                LOGGER.error("Unable to compact [{}]: [{}]", this.file, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Number of messages recorded as pending.
+     *
+     * @return the count
+     */
+    public synchronized int getPendingCount() {
+        return this.pending.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (this.writer != null) {
+            compact();
+            this.writer.close();
+            this.writer = null;
+            LOGGER.info("Stored [{}] pending logout message(s) in [{}]", this.pending.size(), this.file);
+        }
+    }
+
+    public void setCompactionThreshold(final int compactionThreshold) {
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    private void replay() throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(this.file), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                try {
+                    final JsonNode record = this.mapper.readTree(line);
+                    final String id = record.get("id").asText();
+                    if (OPERATION_DONE.equals(record.get("op").asText())) {
+                        this.pending.remove(id);
+                    } else {
+                        this.pending.put(id, new BackChannelLogoutRetryQueue.Entry(id,
+                                record.get("ticketId").asText(), record.get("serviceId").asText(),
+                                new URL(record.get("logoutUrl").asText()), record.get("message").asText(),
+                                record.get("creationTime").asLong(), record.get("attempts").asInt()));
+                    }
+                } catch (final Exception e) {
+                    LOGGER.warn("Skipping unreadable record in [{}]: [{}]", this.file, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Rewrite the journal with only the pending messages, and keep appending to it.
+     */
+    private void compact() throws IOException {
+        if (this.writer != null) {
+            this.writer.close();
+        }
+        final File temp = new File(this.file.getPath() + ".tmp");
+        try (Writer out = newWriter(temp, false)) {
+            for (final BackChannelLogoutRetryQueue.Entry entry : this.pending.values()) {
+                out.write(this.mapper.writeValueAsString(toRecord(OPERATION_ADD, entry)));
+                out.write('\n');
+            }
+        }
+        Files.move(temp.toPath(), this.file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        this.writer = newWriter(this.file, true);
+        this.obsoleteRecords = 0;
+    }
+
+    private void write(final Map<String, Object> record) {
+        if (this.writer == null) {
+            return;
+        }
+        try {
+            this.writer.write(this.mapper.writeValueAsString(record));
+            this.writer.write('\n');
+            this.writer.flush();
+        } catch (final IOException e) {
+            LOGGER.error("Unable to record logout message [{}] in [{}]: [{}]", record.get("id"), this.file, e.getMessage());
+        }
+    }
+
+    private static Map<String, Object> toRecord(final String operation, final BackChannelLogoutRetryQueue.Entry entry) {
+        final Map<String, Object> record = new LinkedHashMap<>();
+        record.put("op", operation);
+        record.put("id", entry.getId());
+        record.put("ticketId", entry.getTicketId());
+        record.put("serviceId", entry.getServiceId());
+        record.put("logoutUrl", entry.getLogoutUrl().toExternalForm());
+        record.put("message", entry.getMessage());
+        record.put("creationTime", entry.getCreationTime());
+        record.put("attempts", entry.getAttempts());
+        return record;
+    }
+
+    private static Writer newWriter(final File file, final boolean append) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, append), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,424 @@
+package org.apereo.cas.logout;
+
+import org.apereo.cas.util.http.HttpClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.io.File;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This is {@link BackChannelLogoutRetryQueue} that acts as an outbox for back-channel
+ * logout messages. Messages are accepted into a bounded in-memory queue and delivered
+ * synchronously by a pool of worker threads, so the logout operation itself never waits
+ * on application endpoints while delivery failures remain visible.
+ * <p>
+ * Failed deliveries are retried with exponential backoff. Each endpoint has a circuit breaker
+ * that opens after a number of consecutive failures; messages for an endpoint whose
+ * circuit is open are held back until the circuit closes, without counting against their attempts.
+ * Messages that exhaust their attempts are kept as dead letters for reporting.
+ * If a file is configured, messages are recorded in a {@link BackChannelLogoutRetryJournal} as they are accepted
+ * and as they are done with, so that messages pending when CAS stops, including those being delivered at the time,
+ * are delivered again on startup.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class BackChannelLogoutRetryQueue implements InitializingBean, DisposableBean {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BackChannelLogoutRetryQueue.class);
+
+    private final DelayQueue<Entry> queue = new DelayQueue<>();
+
+    private final Deque<Entry> deadLetters = new ConcurrentLinkedDeque<>();
+
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    private final HttpClient httpClient;
+
+    private final int capacity;
+
+    private int workers = 4;
+
+    private int maxAttempts = 5;
+
+    private long initialBackoff = 1000;
+
+    private long maxBackoff = 300_000;
+
+    private double backoffMultiplier = 2;
+
+    private int circuitBreakerFailureThreshold = 5;
+
+    private long circuitBreakerOpenDuration = 60_000;
+
+    private int deadLetterCapacity = 1000;
+
+    private File storeFile;
+
+    private BackChannelLogoutRetryJournal journal;
+
+    private ExecutorService executor;
+
+    /**
+     * Instantiates a new back channel logout retry queue.
+     *
+     * @param httpClient the http client used to deliver messages
+     * @param capacity   the maximum number of messages waiting for delivery
+     */
+    public BackChannelLogoutRetryQueue(final HttpClient httpClient, final int capacity) {
+        this.httpClient = httpClient;
+        this.capacity = capacity;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        openJournal();
+        this.executor = Executors.newFixedThreadPool(this.workers);
+        for (int i = 0; i < this.workers; i++) {
+            this.executor.execute(this::deliverMessages);
+        }
+        LOGGER.debug("Started [{}] worker(s) to deliver back-channel logout messages", this.workers);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (this.executor != null) {
+            this.executor.shutdownNow();
+            this.executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        if (this.journal != null) {
+            this.journal.close();
+        }
+    }
+
+    /**
+     * Accept a logout message for delivery.
+     *
+     * @param request the logout request the message is for
+     * @param message the logout message
+     * @return true if the message was accepted, false if the queue is full.
+     */
+    public boolean submit(final LogoutRequest request, final String message) {
+        if (this.pendingCount.incrementAndGet() > this.capacity) {
+            this.pendingCount.decrementAndGet();
+            LOGGER.warn("Back-channel logout queue is full with [{}] pending messages; [{}] is not accepted",
+                    this.capacity, request.getLogoutUrl());
+            return false;
+        }
+        final Entry entry = new Entry(request.getTicketId(), request.getService().getId(), request.getLogoutUrl(), message);
+        if (this.journal != null) {
+            this.journal.add(entry);
+        }
+        this.queue.add(entry);
+        LOGGER.debug("Accepted logout message for [{}] to be sent to [{}]", request.getService().getId(), request.getLogoutUrl());
+        return true;
+    }
+
+    /**
+     * Number of messages waiting for delivery.
+     *
+     * @return the count
+     */
+    public int getPendingCount() {
+        return this.pendingCount.get();
+    }
+
+    /**
+     * Messages that could not be delivered after all attempts, most recent first.
+     *
+     * @return the dead letters
+     */
+    public List<Entry> getDeadLetters() {
+        return new ArrayList<>(this.deadLetters);
+    }
+
+    /**
+     * Endpoints whose circuit breaker is currently open.
+     *
+     * @return the endpoints
+     */
+    public List<String> getOpenCircuits() {
+        final long now = System.currentTimeMillis();
+        final List<String> endpoints = new ArrayList<>();
+        this.circuitBreakers.forEach((endpoint, breaker) -> {
+            if (breaker.getOpenUntil() > now) {
+                endpoints.add(endpoint);
+            }
+        });
+        return endpoints;
+    }
+
+    private void deliverMessages() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                final Entry entry = this.queue.take();
+                deliver(entry);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (final Exception e) {
+                LOGGER.error(e.getMessage(), e);
+            }
+        }
+    }
+
+    private void deliver(final Entry entry) {
+        final String endpoint = getEndpoint(entry.getLogoutUrl());
+        final CircuitBreaker breaker = this.circuitBreakers.computeIfAbsent(endpoint, k -> new CircuitBreaker());
+        final long openUntil = breaker.getOpenUntil();
+        if (openUntil > System.currentTimeMillis()) {
+            LOGGER.debug("Circuit for [{}] is open; holding back logout message for [{}]", endpoint, entry.getServiceId());
+            entry.setNextAttemptTime(openUntil);
+            this.queue.add(entry);
+            return;
+        }
+
+        entry.incrementAttempts();
+        boolean sent = false;
+        try {
+            sent = this.httpClient.sendMessageToEndPoint(new LogoutHttpMessage(entry.getLogoutUrl(), entry.getMessage(), false));
+            if (!sent) {
+                entry.setLastFailure("Logout message was not accepted by the endpoint");
+            }
+        } catch (final Exception e) {
+            LOGGER.debug(e.getMessage(), e);
+            entry.setLastFailure(e.getMessage());
+        }
+
+        if (sent) {
+            breaker.recordSuccess();
+            done(entry);
+            LOGGER.debug("Sent logout message for [{}] to [{}] after [{}] attempt(s)", entry.getServiceId(), entry.getLogoutUrl(),
+                    entry.getAttempts());
+            return;
+        }
+
+        if (breaker.recordFailure(this.circuitBreakerFailureThreshold, this.circuitBreakerOpenDuration)) {
+            LOGGER.warn("Opened circuit for [{}] after [{}] consecutive failures", endpoint, this.circuitBreakerFailureThreshold);
+        }
+        if (entry.getAttempts() >= this.maxAttempts) {
+            done(entry);
+            addDeadLetter(entry);
+            LOGGER.warn("Logout message for [{}] could not be sent to [{}] after [{}] attempt(s)", entry.getServiceId(),
+                    entry.getLogoutUrl(), entry.getAttempts());
+            return;
+        }
+        final long backoff = getBackoff(entry.getAttempts());
+        LOGGER.debug("Failed to send logout message to [{}]; retrying in [{}] ms", entry.getLogoutUrl(), backoff);
+        entry.setNextAttemptTime(System.currentTimeMillis() + backoff);
+        this.queue.add(entry);
+    }
+
+    private long getBackoff(final int attempts) {
+        final double backoff = this.initialBackoff * Math.pow(this.backoffMultiplier, attempts - 1);
+        return (long) Math.min(backoff, this.maxBackoff);
+    }
+
+    private void addDeadLetter(final Entry entry) {
+        this.deadLetters.addFirst(entry);
+        while (this.deadLetters.size() > this.deadLetterCapacity) {
+            this.deadLetters.pollLast();
+        }
+    }
+
+    private void done(final Entry entry) {
+        if (this.journal != null) {
+            this.journal.done(entry);
+        }
+        this.pendingCount.decrementAndGet();
+    }
+
+    private void openJournal() {
+        if (this.storeFile == null) {
+            return;
+        }
+        try {
+            final BackChannelLogoutRetryJournal journal = new BackChannelLogoutRetryJournal(this.storeFile);
+            journal.open().forEach(entry -> {
+                this.pendingCount.incrementAndGet();
+                this.queue.add(entry);
+            });
+            this.journal = journal;
+        } catch (final Exception e) {
+            LOGGER.error("Unable to open [{}]; pending logout messages will not be kept across restarts: [{}]",
+                    this.storeFile, e.getMessage());
+        }
+    }
+
+    private static String getEndpoint(final URL url) {
+        return url.getProtocol() + "://" + url.getAuthority();
+    }
+
+    public void setWorkers(final int workers) {
+        this.workers = workers;
+    }
+
+    public void setMaxAttempts(final int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public void setInitialBackoff(final long initialBackoff) {
+        this.initialBackoff = initialBackoff;
+    }
+
+    public void setMaxBackoff(final long maxBackoff) {
+        this.maxBackoff = maxBackoff;
+    }
+
+    public void setBackoffMultiplier(final double backoffMultiplier) {
+        this.backoffMultiplier = backoffMultiplier;
+    }
+
+    public void setCircuitBreakerFailureThreshold(final int circuitBreakerFailureThreshold) {
+        this.circuitBreakerFailureThreshold = circuitBreakerFailureThreshold;
+    }
+
+    public void setCircuitBreakerOpenDuration(final long circuitBreakerOpenDuration) {
+        this.circuitBreakerOpenDuration = circuitBreakerOpenDuration;
+    }
+
+    public void setDeadLetterCapacity(final int deadLetterCapacity) {
+        this.deadLetterCapacity = deadLetterCapacity;
+    }
+
+    public void setStoreFile(final File storeFile) {
+        this.storeFile = storeFile;
+    }
+
+    /**
+     * A logout message waiting for delivery, along with its delivery history.
+     */
+    public static class Entry implements Delayed {
+        private final String id;
+        private final String ticketId;
+        private final String serviceId;
+        private final URL logoutUrl;
+        private final String message;
+        private final long creationTime;
+        private volatile int attempts;
+        private volatile long nextAttemptTime;
+        private volatile String lastFailure;
+
+        Entry(final String ticketId, final String serviceId, final URL logoutUrl, final String message) {
+            this(UUID.randomUUID().toString(), ticketId, serviceId, logoutUrl, message, System.currentTimeMillis(), 0);
+        }
+
+        Entry(final String id, final String ticketId, final String serviceId, final URL logoutUrl,
+              final String message, final long creationTime, final int attempts) {
+            this.id = id;
+            this.ticketId = ticketId;
+            this.serviceId = serviceId;
+            this.logoutUrl = logoutUrl;
+            this.message = message;
+            this.creationTime = creationTime;
+            this.attempts = attempts;
+            this.nextAttemptTime = System.currentTimeMillis();
+        }
+
+        @Override
+        public long getDelay(final TimeUnit unit) {
+            return unit.convert(this.nextAttemptTime - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(final Delayed other) {
+            return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+        }
+
+        public String getId() {
+            return this.id;
+        }
+
+        public String getTicketId() {
+            return this.ticketId;
+        }
+
+        public String getServiceId() {
+            return this.serviceId;
+        }
+
+        public URL getLogoutUrl() {
+            return this.logoutUrl;
+        }
+
+        /**
+         * The logout message is not exposed for reporting; it carries the ticket id.
+         *
+         * @return the message
+         */
+        String getMessage() {
+            return this.message;
+        }
+
+        public long getCreationTime() {
+            return this.creationTime;
+        }
+
+        public int getAttempts() {
+            return this.attempts;
+        }
+
+        public long getNextAttemptTime() {
+            return this.nextAttemptTime;
+        }
+
+        public String getLastFailure() {
+            return this.lastFailure;
+        }
+
+        void incrementAttempts() {
+            this.attempts++;
+        }
+
+        void setNextAttemptTime(final long nextAttemptTime) {
+            this.nextAttemptTime = nextAttemptTime;
+        }
+
+        void setLastFailure(final String lastFailure) {
+            this.lastFailure = lastFailure;
+        }
+    }
+
+    /**
+     * Tracks consecutive delivery failures for an endpoint.
+     */
+    private static class CircuitBreaker {
+        private int consecutiveFailures;
+        private volatile long openUntil;
+
+        long getOpenUntil() {
+            return this.openUntil;
+        }
+
+        synchronized void recordSuccess() {
+            this.consecutiveFailures = 0;
+            this.openUntil = 0;
+        }
+
+        synchronized boolean recordFailure(final int threshold, final long openDuration) {
+            this.consecutiveFailures++;
+            if (this.consecutiveFailures >= threshold) {
+                this.consecutiveFailures = 0;
+                this.openUntil = System.currentTimeMillis() + openDuration;
+                return true;
+            }
+            return false;
+        }
+    }
+}
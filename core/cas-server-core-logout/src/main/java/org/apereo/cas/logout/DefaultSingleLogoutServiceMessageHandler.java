@@ -8,6 +8,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * This is {@link DefaultSingleLogoutServiceMessageHandler} which handles the processing of logout messages
@@ -30,6 +35,10 @@ public class DefaultSingleLogoutServiceMessageHandler implements SingleLogoutSer
     private SingleLogoutServiceLogoutUrlBuilder singleLogoutServiceLogoutUrlBuilder = 
             new DefaultSingleLogoutServiceLogoutUrlBuilder();
 
+    private BackChannelLogoutDispatcher backChannelLogoutDispatcher;
+
+    private BackChannelLogoutRetryQueue backChannelLogoutRetryQueue;
+
     /**
      * Instantiates a new Single logout service message handler.
      */
@@ -58,23 +67,9 @@ public class DefaultSingleLogoutServiceMessageHandler implements SingleLogoutSer
 
             final RegisteredService registeredService = this.servicesManager.findServiceBy(singleLogoutService);
             if (serviceSupportsSingleLogout(registeredService)) {
-                final URL logoutUrl = this.singleLogoutServiceLogoutUrlBuilder.determineLogoutUrl(registeredService, singleLogoutService);
-                final DefaultLogoutRequest logoutRequest = new DefaultLogoutRequest(ticketId, singleLogoutService, logoutUrl);
-                final LogoutType type = registeredService.getLogoutType() == null
-                        ? LogoutType.BACK_CHANNEL : registeredService.getLogoutType();
-
-                switch (type) {
-                    case BACK_CHANNEL:
-                        if (performBackChannelLogout(logoutRequest)) {
-                            logoutRequest.setStatus(LogoutRequestStatus.SUCCESS);
-                        } else {
-                            logoutRequest.setStatus(LogoutRequestStatus.FAILURE);
-                            LOGGER.warn("Logout message not sent to [{}]; Continuing processing...", singleLogoutService.getId());
-                        }
-                        break;
-                    default:
-                        logoutRequest.setStatus(LogoutRequestStatus.NOT_ATTEMPTED);
-                        break;
+                final LogoutRequest logoutRequest = createLogoutRequest(singleLogoutService, ticketId, registeredService);
+                if (isBackChannelLogout(registeredService)) {
+                    sendBackChannelLogout(logoutRequest);
                 }
                 return logoutRequest;
             }
@@ -82,8 +77,52 @@ public class DefaultSingleLogoutServiceMessageHandler implements SingleLogoutSer
         return null;
     }
 
+    /**
+     * Handle logout for all slo services of a single logout operation.
+     * Registered services are resolved once per distinct service, and back-channel
+     * logout requests are handed over to the {@link BackChannelLogoutDispatcher}, if one is defined.
+     *
+     * @param singleLogoutServices the services, keyed by the ticket id issued to each
+     * @return the logout requests
+     */
+    @Override
+    public Collection<LogoutRequest> handle(final Map<String, SingleLogoutService> singleLogoutServices) {
+        final Map<String, RegisteredService> registeredServices = new HashMap<>();
+        final List<LogoutRequest> logoutRequests = new ArrayList<>();
+        final List<LogoutRequest> backChannelRequests = new ArrayList<>();
+
+        singleLogoutServices.forEach((ticketId, singleLogoutService) -> {
+            if (!singleLogoutService.isLoggedOutAlready()) {
+                final RegisteredService registeredService;
+                if (registeredServices.containsKey(singleLogoutService.getId())) {
+                    registeredService = registeredServices.get(singleLogoutService.getId());
+                } else {
+                    registeredService = this.servicesManager.findServiceBy(singleLogoutService);
+                    registeredServices.put(singleLogoutService.getId(), registeredService);
+                }
+                if (serviceSupportsSingleLogout(registeredService)) {
+                    final LogoutRequest logoutRequest = createLogoutRequest(singleLogoutService, ticketId, registeredService);
+                    logoutRequests.add(logoutRequest);
+                    if (isBackChannelLogout(registeredService)) {
+                        backChannelRequests.add(logoutRequest);
+                    }
+                }
+            }
+        });
+        LOGGER.debug("Resolved [{}] registered service(s) for [{}] logout request(s)", registeredServices.size(), logoutRequests.size());
+
+        if (this.backChannelLogoutDispatcher != null) {
+            this.backChannelLogoutDispatcher.dispatch(backChannelRequests, this::performBackChannelLogout);
+        } else {
+            backChannelRequests.forEach(this::sendBackChannelLogout);
+        }
+        return logoutRequests;
+    }
+
     /**
      * Log out of a service through back channel.
+     * If a {@link BackChannelLogoutRetryQueue} is defined, the message is handed over to it
+     * for delivery and the logout is considered performed once the queue accepts it.
      *
      * @param request the logout request.
      * @return if the logout has been performed.
@@ -94,6 +133,9 @@ public class DefaultSingleLogoutServiceMessageHandler implements SingleLogoutSer
             final SingleLogoutService logoutService = request.getService();
             logoutService.setLoggedOutAlready(true);
 
+            if (this.backChannelLogoutRetryQueue != null && this.backChannelLogoutRetryQueue.submit(request, logoutRequest)) {
+                return true;
+            }
             LOGGER.debug("Sending logout request for [{}] to [{}]", logoutService.getId(), request.getLogoutUrl());
             final LogoutHttpMessage msg = new LogoutHttpMessage(request.getLogoutUrl(), logoutRequest, this.asynchronous);
             LOGGER.debug("Prepared logout message to send is [{}]", msg);
@@ -104,6 +146,25 @@ public class DefaultSingleLogoutServiceMessageHandler implements SingleLogoutSer
         return false;
     }
 
+    private void sendBackChannelLogout(final LogoutRequest logoutRequest) {
+        if (performBackChannelLogout(logoutRequest)) {
+            logoutRequest.setStatus(LogoutRequestStatus.SUCCESS);
+        } else {
+            logoutRequest.setStatus(LogoutRequestStatus.FAILURE);
+            LOGGER.warn("Logout message not sent to [{}]; Continuing processing...", logoutRequest.getService().getId());
+        }
+    }
+
+    private LogoutRequest createLogoutRequest(final SingleLogoutService singleLogoutService, final String ticketId,
+                                              final RegisteredService registeredService) {
+        final URL logoutUrl = this.singleLogoutServiceLogoutUrlBuilder.determineLogoutUrl(registeredService, singleLogoutService);
+        return new DefaultLogoutRequest(ticketId, singleLogoutService, logoutUrl);
+    }
+
+    private static boolean isBackChannelLogout(final RegisteredService registeredService) {
+        return registeredService.getLogoutType() == null || registeredService.getLogoutType() == LogoutType.BACK_CHANNEL;
+    }
+
     /**
      * Service supports back channel single logout?
      * Service must be found in the registry. enabled and logout type must not be {@link LogoutType#NONE}.
@@ -128,6 +189,14 @@ public class DefaultSingleLogoutServiceMessageHandler implements SingleLogoutSer
         this.logoutMessageBuilder = logoutMessageBuilder;
     }
 
+    public void setBackChannelLogoutDispatcher(final BackChannelLogoutDispatcher backChannelLogoutDispatcher) {
+        this.backChannelLogoutDispatcher = backChannelLogoutDispatcher;
+    }
+
+    public void setBackChannelLogoutRetryQueue(final BackChannelLogoutRetryQueue backChannelLogoutRetryQueue) {
+        this.backChannelLogoutRetryQueue = backChannelLogoutRetryQueue;
+    }
+
     public void setSingleLogoutServiceLogoutUrlBuilder(final SingleLogoutServiceLogoutUrlBuilder singleLogoutServiceLogoutUrlBuilder) {
         this.singleLogoutServiceLogoutUrlBuilder = singleLogoutServiceLogoutUrlBuilder;
     }
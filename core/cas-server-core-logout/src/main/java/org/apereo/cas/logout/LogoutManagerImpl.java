@@ -9,7 +9,9 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * This logout manager handles the Single Log Out process.
@@ -63,22 +65,28 @@ public class LogoutManagerImpl implements LogoutManager {
     }
 
     private void performLogoutForTicket(final TicketGrantingTicket ticket, final List<LogoutRequest> logoutRequests) {
+        final Map<String, SingleLogoutService> singleLogoutServices = new LinkedHashMap<>();
+        collectSingleLogoutServices(ticket, singleLogoutServices);
+        LOGGER.debug("Handling single logout callbacks for [{}] service(s) of [{}]", singleLogoutServices.size(), ticket.getId());
+        this.singleLogoutServiceMessageHandler.handle(singleLogoutServices).forEach(logoutRequest -> {
+            LOGGER.debug("Captured logout request [{}]", logoutRequest);
+            logoutRequests.add(logoutRequest);
+        });
+    }
+
+    private static void collectSingleLogoutServices(final TicketGrantingTicket ticket,
+                                                    final Map<String, SingleLogoutService> singleLogoutServices) {
         ticket.getServices().entrySet().stream().filter(entry -> entry.getValue() instanceof SingleLogoutService).forEach(entry -> {
             final Service service = entry.getValue();
-            LOGGER.debug("Handling single logout callback for {}", service);
-            final LogoutRequest logoutRequest = this.singleLogoutServiceMessageHandler.handle((SingleLogoutService) service,
-                    entry.getKey());
-            if (logoutRequest != null) {
-                LOGGER.debug("Captured logout request [{}]", logoutRequest);
-                logoutRequests.add(logoutRequest);
-            }
+            LOGGER.debug("Collecting single logout callback for {}", service);
+            singleLogoutServices.put(entry.getKey(), (SingleLogoutService) service);
         });
 
         final Collection<ProxyGrantingTicket> proxyGrantingTickets = ticket.getProxyGrantingTickets();
         if (proxyGrantingTickets.isEmpty()) {
             LOGGER.debug("There are no proxy-granting tickets associated with [{}] to process for single logout", ticket.getId());
         } else {
-            proxyGrantingTickets.stream().forEach(proxyGrantingTicket -> performLogoutForTicket(proxyGrantingTicket, logoutRequests));
+            proxyGrantingTickets.stream().forEach(proxyGrantingTicket -> collectSingleLogoutServices(proxyGrantingTicket, singleLogoutServices));
         }
     }
 
@@ -1,6 +1,10 @@
 package org.apereo.cas.logout.config;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.core.slo.SloProperties;
+import org.apereo.cas.logout.BackChannelLogoutDispatcher;
+import org.apereo.cas.logout.BackChannelLogoutRetryQueue;
 import org.apereo.cas.logout.DefaultSingleLogoutServiceLogoutUrlBuilder;
 import org.apereo.cas.logout.DefaultSingleLogoutServiceMessageHandler;
 import org.apereo.cas.logout.LogoutManager;
@@ -13,11 +17,14 @@ import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.util.http.HttpClient;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.io.File;
+
 /**
  * This is {@link CasCoreLogoutConfiguration}.
  *
@@ -54,9 +61,41 @@ public class CasCoreLogoutConfiguration {
         handler.setLogoutMessageBuilder(logoutBuilder());
         handler.setSingleLogoutServiceLogoutUrlBuilder(defaultSingleLogoutServiceLogoutUrlBuilder());
         handler.setServicesManager(servicesManager);
+        if (casProperties.getSlo().getDispatcher().isEnabled()) {
+            handler.setBackChannelLogoutDispatcher(backChannelLogoutDispatcher());
+        }
+        if (casProperties.getSlo().getRetry().isEnabled()) {
+            handler.setBackChannelLogoutRetryQueue(backChannelLogoutRetryQueue());
+        }
         return handler;
     }
 
+    @ConditionalOnProperty(prefix = "cas.slo.retry", name = "enabled", havingValue = "true")
+    @Bean
+    public BackChannelLogoutRetryQueue backChannelLogoutRetryQueue() {
+        final SloProperties.Retry retry = casProperties.getSlo().getRetry();
+        final BackChannelLogoutRetryQueue queue = new BackChannelLogoutRetryQueue(this.httpClient, retry.getCapacity());
+        queue.setWorkers(retry.getWorkers());
+        queue.setMaxAttempts(retry.getMaxAttempts());
+        queue.setInitialBackoff(retry.getInitialBackoff());
+        queue.setMaxBackoff(retry.getMaxBackoff());
+        queue.setBackoffMultiplier(retry.getBackoffMultiplier());
+        queue.setCircuitBreakerFailureThreshold(retry.getCircuitBreakerFailureThreshold());
+        queue.setCircuitBreakerOpenDuration(retry.getCircuitBreakerOpenDuration());
+        queue.setDeadLetterCapacity(retry.getDeadLetterCapacity());
+        if (StringUtils.isNotBlank(retry.getStoreFile())) {
+            queue.setStoreFile(new File(retry.getStoreFile()));
+        }
+        return queue;
+    }
+
+    @Bean
+    public BackChannelLogoutDispatcher backChannelLogoutDispatcher() {
+        final SloProperties.Dispatcher dispatcher = casProperties.getSlo().getDispatcher();
+        return new BackChannelLogoutDispatcher(dispatcher.getPoolSize(), dispatcher.getQueueCapacity(),
+                dispatcher.getMaxConcurrentRequestsPerHost());
+    }
+
     @RefreshScope
     @Bean
     public LogoutManager logoutManager() {
@@ -0,0 +1,145 @@
+package org.apereo.cas.logout;
+
+import com.codahale.metrics.MetricRegistry;
+import org.apereo.cas.services.TestUtils;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link BackChannelLogoutDispatcherTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+@RunWith(JUnit4.class)
+public class BackChannelLogoutDispatcherTests {
+
+    private static final long TIMEOUT = 5;
+
+    private final BackChannelLogoutDispatcher dispatcher = new BackChannelLogoutDispatcher(2, 100, 1);
+
+    @After
+    public void tearDown() {
+        this.dispatcher.destroy();
+    }
+
+    @Test
+    public void verifySlowHostDoesNotHoldUpOtherHosts() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<LogoutRequest> slow = Arrays.asList(newLogoutRequest("slow.example.org"),
+                newLogoutRequest("slow.example.org"), newLogoutRequest("slow.example.org"));
+        final CompletableFuture<Void> slowDispatch = CompletableFuture.runAsync(() -> this.dispatcher.dispatch(slow, r -> {
+            try {
+                return release.await(TIMEOUT, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                return false;
+            }
+        }));
+
+        final LogoutRequest fast = newLogoutRequest("fast.example.org");
+        final CompletableFuture<Void> fastDispatch = CompletableFuture.runAsync(() ->
+                this.dispatcher.dispatch(Collections.singletonList(fast), r -> true));
+        fastDispatch.get(TIMEOUT, TimeUnit.SECONDS);
+        assertEquals(LogoutRequestStatus.SUCCESS, fast.getStatus());
+        assertFalse(slowDispatch.isDone());
+
+        release.countDown();
+        slowDispatch.get(TIMEOUT, TimeUnit.SECONDS);
+        slow.forEach(r -> assertEquals(LogoutRequestStatus.SUCCESS, r.getStatus()));
+    }
+
+    @Test
+    public void verifyRequestsPerHostAreCapped() throws Exception {
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        final List<LogoutRequest> requests = Arrays.asList(newLogoutRequest("www.example.org"),
+                newLogoutRequest("www.example.org"), newLogoutRequest("www.example.org"), newLogoutRequest("www.example.org"));
+        this.dispatcher.dispatch(requests, r -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(10);
+            } catch (final InterruptedException e) {
+                return false;
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            return true;
+        });
+        assertEquals(1, maxInFlight.get());
+        assertEquals(0, this.dispatcher.getPendingRequests());
+        requests.forEach(r -> assertEquals(LogoutRequestStatus.SUCCESS, r.getStatus()));
+    }
+
+    @Test
+    public void verifySaturatedPoolLeavesRequestsQueued() throws Exception {
+        final BackChannelLogoutDispatcher saturated = new BackChannelLogoutDispatcher(1, 1, 10);
+        final MetricRegistry metricRegistry = new MetricRegistry();
+        ReflectionTestUtils.setField(saturated, "metricRegistry", metricRegistry);
+        try {
+            final CountDownLatch started = new CountDownLatch(1);
+            final CountDownLatch release = new CountDownLatch(1);
+            final Set<Thread> senders = ConcurrentHashMap.newKeySet();
+            final AtomicReference<Thread> caller = new AtomicReference<>();
+            final List<LogoutRequest> requests = Arrays.asList(newLogoutRequest("www.example.org"),
+                    newLogoutRequest("www.example.org"), newLogoutRequest("app.example.org"),
+                    newLogoutRequest("app.example.org"), newLogoutRequest("other.example.org"));
+
+            final CompletableFuture<Void> dispatch = CompletableFuture.runAsync(() -> {
+                caller.set(Thread.currentThread());
+                saturated.dispatch(requests, r -> {
+                    senders.add(Thread.currentThread());
+                    started.countDown();
+                    try {
+                        return release.await(TIMEOUT, TimeUnit.SECONDS);
+                    } catch (final InterruptedException e) {
+                        return false;
+                    }
+                });
+            });
+            assertTrue(started.await(TIMEOUT, TimeUnit.SECONDS));
+            assertFalse(dispatch.isDone());
+            assertEquals(requests.size(), saturated.getPendingRequests());
+
+            release.countDown();
+            dispatch.get(TIMEOUT, TimeUnit.SECONDS);
+            requests.forEach(r -> assertEquals(LogoutRequestStatus.SUCCESS, r.getStatus()));
+            assertEquals(1, senders.size());
+            assertFalse(senders.contains(caller.get()));
+            assertTrue(metricRegistry.meter("slo.dispatch.failures.rejected").getCount() > 0);
+        } finally {
+            saturated.destroy();
+        }
+    }
+
+    @Test
+    public void verifyRequestsAreNotSentAfterShutdown() throws Exception {
+        this.dispatcher.destroy();
+        final AtomicInteger sent = new AtomicInteger();
+        final List<LogoutRequest> requests = Arrays.asList(newLogoutRequest("www.example.org"), newLogoutRequest("app.example.org"));
+        this.dispatcher.dispatch(requests, r -> sent.incrementAndGet() > 0);
+        assertEquals(0, sent.get());
+        assertEquals(0, this.dispatcher.getPendingRequests());
+        requests.forEach(r -> assertEquals(LogoutRequestStatus.FAILURE, r.getStatus()));
+    }
+
+    private static LogoutRequest newLogoutRequest(final String host) throws Exception {
+        return new DefaultLogoutRequest("ST-1", TestUtils.getService("https://" + host), new URL("https://" + host + "/logout"));
+    }
+}
@@ -0,0 +1,152 @@
+package org.apereo.cas.logout;
+
+import org.apereo.cas.services.TestUtils;
+import org.apereo.cas.util.http.HttpClient;
+import org.apereo.cas.util.http.HttpMessage;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.File;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link BackChannelLogoutRetryQueueTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+@RunWith(JUnit4.class)
+public class BackChannelLogoutRetryQueueTests {
+
+    private static final long TIMEOUT = 5000;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final HttpClient client = mock(HttpClient.class);
+
+    private BackChannelLogoutRetryQueue queue;
+
+    @Before
+    public void setUp() {
+        this.queue = new BackChannelLogoutRetryQueue(this.client, 2);
+        this.queue.setWorkers(1);
+        this.queue.setMaxAttempts(3);
+        this.queue.setInitialBackoff(10);
+        this.queue.setMaxBackoff(50);
+        this.queue.setCircuitBreakerFailureThreshold(10);
+        this.queue.afterPropertiesSet();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.queue.destroy();
+    }
+
+    @Test
+    public void verifyRetriedUntilDelivered() throws Exception {
+        when(this.client.sendMessageToEndPoint(any(HttpMessage.class))).thenReturn(false, true);
+        assertTrue(this.queue.submit(newLogoutRequest(), "message"));
+        waitUntilDrained();
+        verify(this.client, times(2)).sendMessageToEndPoint(any(HttpMessage.class));
+        assertTrue(this.queue.getDeadLetters().isEmpty());
+    }
+
+    @Test
+    public void verifyDeadLetterAfterAllAttempts() throws Exception {
+        when(this.client.sendMessageToEndPoint(any(HttpMessage.class))).thenReturn(false);
+        assertTrue(this.queue.submit(newLogoutRequest(), "message"));
+        waitUntilDrained();
+        assertEquals(1, this.queue.getDeadLetters().size());
+        assertEquals(3, this.queue.getDeadLetters().get(0).getAttempts());
+    }
+
+    @Test
+    public void verifyCapacity() throws Exception {
+        this.queue.destroy();
+        this.queue = new BackChannelLogoutRetryQueue(this.client, 1);
+        assertTrue(this.queue.submit(newLogoutRequest(), "message"));
+        assertFalse(this.queue.submit(newLogoutRequest(), "message"));
+        assertEquals(1, this.queue.getPendingCount());
+    }
+
+    @Test
+    public void verifyPendingMessagesSurviveCrash() throws Exception {
+        when(this.client.sendMessageToEndPoint(any(HttpMessage.class))).thenReturn(false);
+        final File file = this.folder.newFile("slo.journal");
+        final BackChannelLogoutRetryQueue crashed = newJournaledQueue(file);
+        assertTrue(crashed.submit(newLogoutRequest(), "message"));
+
+        final BackChannelLogoutRetryQueue restarted = newJournaledQueue(file);
+        try {
+            assertEquals(1, restarted.getPendingCount());
+        } finally {
+            restarted.destroy();
+            crashed.destroy();
+        }
+    }
+
+    @Test
+    public void verifyDeliveredMessagesAreNotReloaded() throws Exception {
+        when(this.client.sendMessageToEndPoint(any(HttpMessage.class))).thenReturn(true);
+        final File file = this.folder.newFile("slo.journal");
+        this.queue.destroy();
+        this.queue = newJournaledQueue(file);
+        assertTrue(this.queue.submit(newLogoutRequest(), "message"));
+        waitUntilDrained();
+        this.queue.destroy();
+
+        this.queue = newJournaledQueue(file);
+        assertEquals(0, this.queue.getPendingCount());
+    }
+
+    @Test
+    public void verifyUnreadableJournalRecordsAreSkipped() throws Exception {
+        final File file = this.folder.newFile("slo.journal");
+        final BackChannelLogoutRetryJournal journal = new BackChannelLogoutRetryJournal(file);
+        journal.open();
+        journal.add(new BackChannelLogoutRetryQueue.Entry("ST-1", "https://www.example.org",
+                new URL("https://www.example.org/logout"), "message"));
+        Files.write(file.toPath(), "{\"op\":\"add\",\"id\":".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        final List<BackChannelLogoutRetryQueue.Entry> entries = new BackChannelLogoutRetryJournal(file).open();
+        assertEquals(1, entries.size());
+        assertEquals("ST-1", entries.get(0).getTicketId());
+        assertEquals("message", entries.get(0).getMessage());
+        journal.close();
+    }
+
+    private BackChannelLogoutRetryQueue newJournaledQueue(final File file) {
+        final BackChannelLogoutRetryQueue journaled = new BackChannelLogoutRetryQueue(this.client, 2);
+        journaled.setWorkers(1);
+        journaled.setMaxAttempts(3);
+        journaled.setInitialBackoff(TIMEOUT);
+        journaled.setStoreFile(file);
+        journaled.afterPropertiesSet();
+        return journaled;
+    }
+
+    private void waitUntilDrained() throws Exception {
+        final long end = System.currentTimeMillis() + TIMEOUT;
+        while (this.queue.getPendingCount() > 0 && System.currentTimeMillis() < end) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, this.queue.getPendingCount());
+    }
+
+    private static LogoutRequest newLogoutRequest() throws Exception {
+        return new DefaultLogoutRequest("ST-1", TestUtils.getService("https://www.example.org"), new URL("https://www.example.org/logout"));
+    }
+}
@@ -159,4 +159,37 @@ public class LogoutManagerImplTests {
         final Collection<LogoutRequest> logoutRequests = this.logoutManager.performLogout(tgt);
         assertEquals(1, logoutRequests.size());
     }
+
+    @Test
+    public void verifyLogoutDispatchedConcurrently() {
+        final BackChannelLogoutDispatcher dispatcher = new BackChannelLogoutDispatcher(4, 10, 1);
+        DefaultSingleLogoutServiceMessageHandler.class.cast(this.logoutManager.getSingleLogoutServiceMessageHandler())
+                .setBackChannelLogoutDispatcher(dispatcher);
+        this.services.put("id2", TestUtils.getService(URL));
+        this.services.put("id3", TestUtils.getService(URL));
+        try {
+            final Collection<LogoutRequest> logoutRequests = this.logoutManager.performLogout(tgt);
+            assertEquals(3, logoutRequests.size());
+            logoutRequests.forEach(r -> assertEquals(LogoutRequestStatus.SUCCESS, r.getStatus()));
+            assertEquals(0, dispatcher.getPendingRequests());
+            verify(servicesManager, times(1)).findServiceBy(any(Service.class));
+        } finally {
+            dispatcher.destroy();
+        }
+    }
+
+    @Test
+    public void verifyLogoutDispatchFailure() {
+        when(client.sendMessageToEndPoint(any(HttpMessage.class))).thenReturn(false);
+        final BackChannelLogoutDispatcher dispatcher = new BackChannelLogoutDispatcher(2, 10, 2);
+        DefaultSingleLogoutServiceMessageHandler.class.cast(this.logoutManager.getSingleLogoutServiceMessageHandler())
+                .setBackChannelLogoutDispatcher(dispatcher);
+        try {
+            final Collection<LogoutRequest> logoutRequests = this.logoutManager.performLogout(tgt);
+            assertEquals(1, logoutRequests.size());
+            assertEquals(LogoutRequestStatus.FAILURE, logoutRequests.iterator().next().getStatus());
+        } finally {
+            dispatcher.destroy();
+        }
+    }
 }
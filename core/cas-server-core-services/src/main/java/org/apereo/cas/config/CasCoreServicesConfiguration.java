@@ -1,6 +1,8 @@
 package org.apereo.cas.config;
 
 import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.apereo.cas.authentication.DefaultMultifactorTriggerSelectionStrategy;
 import org.apereo.cas.authentication.MultifactorTriggerSelectionStrategy;
 import org.apereo.cas.authentication.principal.PersistentIdGenerator;
@@ -11,10 +13,14 @@ import org.apereo.cas.authentication.support.CasAttributeEncoder;
 import org.apereo.cas.authentication.support.DefaultCasAttributeEncoder;
 import org.apereo.cas.authentication.support.NoOpCasAttributeEncoder;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.core.services.ServiceRegistryProperties;
 import org.apereo.cas.services.AbstractResourceBasedServiceRegistryDao;
 import org.apereo.cas.services.DefaultServicesManagerImpl;
 import org.apereo.cas.services.InMemoryServiceRegistryDaoImpl;
+import org.apereo.cas.services.PrefixTreeRegisteredServicesIndex;
+import org.apereo.cas.services.RegisteredService;
 import org.apereo.cas.services.RegisteredServiceCipherExecutor;
+import org.apereo.cas.services.RegisteredServicesIndex;
 import org.apereo.cas.services.ServiceRegistryDao;
 import org.apereo.cas.services.ServiceRegistryInitializer;
 import org.apereo.cas.services.ServicesManager;
@@ -23,6 +29,7 @@ import org.apereo.cas.util.services.RegisteredServiceJsonSerializer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.ApplicationContext;
@@ -33,7 +40,12 @@ import org.springframework.context.annotation.Lazy;
 import org.springframework.core.io.ClassPathResource;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 /**
  * This is {@link CasCoreServicesConfiguration}.
@@ -55,6 +67,9 @@ public class CasCoreServicesConfiguration {
 
     @Autowired
     private ApplicationEventPublisher eventPublisher;
+
+    @Autowired(required = false)
+    private Map<String, Function<RegisteredService, String>> registeredServiceKeyResolvers = new HashMap<>();
     
     @RefreshScope
     @Bean
@@ -104,9 +119,32 @@ public class CasCoreServicesConfiguration {
         final DefaultServicesManagerImpl impl = new DefaultServicesManagerImpl();
         impl.setServiceRegistryDao(serviceRegistryDao);
         impl.setServiceFactory(this.webApplicationServiceFactory());
+        impl.setServicesIndex(registeredServicesIndex());
+        impl.setKeyResolvers(this.registeredServiceKeyResolvers);
+
+        if (casProperties.getServiceRegistry().isCacheEnabled()) {
+            impl.setServicesCache(registeredServicesCache());
+        }
         return impl;
     }
 
+    @Bean
+    @ConditionalOnProperty(prefix = "cas.serviceRegistry", name = "cacheEnabled", havingValue = "true")
+    public Cache<String, Optional<RegisteredService>> registeredServicesCache() {
+        final ServiceRegistryProperties properties = casProperties.getServiceRegistry();
+        return CacheBuilder.newBuilder()
+                .maximumSize(properties.getCacheSize())
+                .expireAfterWrite(properties.getCacheTimeToLiveSeconds(), TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+    }
+
+    @ConditionalOnMissingBean(name = "registeredServicesIndex")
+    @Bean
+    public RegisteredServicesIndex registeredServicesIndex() {
+        return new PrefixTreeRegisteredServicesIndex();
+    }
+
     @ConditionalOnMissingBean(name = "serviceRegistryDao")
     @Bean
     public ServiceRegistryDao serviceRegistryDao() {
@@ -1,6 +1,7 @@
 package org.apereo.cas.services;
 
 import com.google.common.base.Predicate;
+import com.google.common.cache.Cache;
 import org.apereo.cas.authentication.principal.Service;
 import org.apereo.cas.authentication.principal.ServiceFactory;
 import org.apereo.cas.support.events.CasRegisteredServiceDeletedEvent;
@@ -19,8 +20,11 @@ import javax.annotation.PostConstruct;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Optional;
 import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -42,6 +46,14 @@ public class DefaultServicesManagerImpl implements ServicesManager {
 
     private Map<Long, RegisteredService> services = new ConcurrentHashMap<>();
 
+    private RegisteredServicesIndex servicesIndex = new PrefixTreeRegisteredServicesIndex();
+
+    private final Map<Function<RegisteredService, String>, RegisteredServicesKeyIndex> keyIndexes = new ConcurrentHashMap<>();
+
+    private Cache<String, Optional<RegisteredService>> servicesCache;
+
+    private final AtomicLong servicesCacheGeneration = new AtomicLong();
+
     public DefaultServicesManagerImpl() {
     }
 
@@ -62,6 +74,39 @@ public class DefaultServicesManagerImpl implements ServicesManager {
         this.serviceFactory = serviceFactory;
     }
 
+    public void setServicesIndex(final RegisteredServicesIndex servicesIndex) {
+        this.servicesIndex = servicesIndex;
+        rebuildIndexes();
+    }
+
+    /**
+     * Sets the functions, by name, that resolve keys services are indexed by, such as the client id of OAuth services.
+     * Finding a service by one of these functions looks it up in its index; any other function scans all services.
+     *
+     * @param keyResolvers the key resolvers, by name
+     */
+    public void setKeyResolvers(final Map<String, Function<RegisteredService, String>> keyResolvers) {
+        synchronized (this.keyIndexes) {
+            this.keyIndexes.clear();
+            keyResolvers.forEach((name, keyResolver) -> {
+                LOGGER.debug("Indexing services by [{}]", name);
+                this.keyIndexes.put(keyResolver, new RegisteredServicesKeyIndex(keyResolver));
+            });
+        }
+        rebuildIndexes();
+    }
+
+    /**
+     * Sets the cache that holds the outcome of matching service ids
+     * against registered services, including misses. The cache
+     * is expected to record stats if hit/miss metrics are to be reported.
+     *
+     * @param servicesCache the services cache
+     */
+    public void setServicesCache(final Cache<String, Optional<RegisteredService>> servicesCache) {
+        this.servicesCache = servicesCache;
+    }
+
     @Audit(action = "DELETE_SERVICE", actionResolverName = "DELETE_SERVICE_ACTION_RESOLVER",
             resourceResolverName = "DELETE_SERVICE_RESOURCE_RESOLVER")
     @Override
@@ -73,6 +118,8 @@ public class DefaultServicesManagerImpl implements ServicesManager {
 
         this.serviceRegistryDao.delete(r);
         this.services.remove(id);
+        rebuildIndexes();
+        invalidateServicesCache();
 
         publishEvent(new CasRegisteredServiceDeletedEvent(this, r));
         return r;
@@ -81,13 +128,26 @@ public class DefaultServicesManagerImpl implements ServicesManager {
 
     @Override
     public RegisteredService findServiceBy(final Service service) {
-        final TreeSet<RegisteredService> c = convertToTreeSet();
-        return c.stream().filter(r -> r.matches(service)).findFirst().orElse(null);
+        if (this.servicesCache == null || service == null || service.getId() == null) {
+            return this.servicesIndex.findServiceBy(service);
+        }
+        final Optional<RegisteredService> cached = this.servicesCache.getIfPresent(service.getId());
+        if (cached != null) {
+            return cached.orElse(null);
+        }
+        final long generation = this.servicesCacheGeneration.get();
+        final RegisteredService r = this.servicesIndex.findServiceBy(service);
+        this.servicesCache.put(service.getId(), Optional.ofNullable(r));
+        if (generation != this.servicesCacheGeneration.get()) {
+            LOGGER.trace("Services were modified while matching [{}]; result will not be cached", service.getId());
+            this.servicesCache.invalidate(service.getId());
+        }
+        return r;
     }
 
     @Override
     public Collection<RegisteredService> findServiceBy(final Predicate<RegisteredService> predicate) {
-        final Collection<RegisteredService> c = convertToTreeSet()
+        final Collection<RegisteredService> c = this.servicesIndex.getServices()
                 .stream()
                 .filter(predicate::apply)
                 .collect(Collectors.toSet());
@@ -105,6 +165,16 @@ public class DefaultServicesManagerImpl implements ServicesManager {
         }
     }
 
+    @Override
+    public RegisteredService findServiceBy(final String key, final Function<RegisteredService, String> keyResolver) {
+        final RegisteredServicesKeyIndex index = this.keyIndexes.get(keyResolver);
+        if (index == null) {
+            LOGGER.trace("Services are not indexed by the given key resolver; scanning all services for [{}]", key);
+            return ServicesManager.super.findServiceBy(key, keyResolver);
+        }
+        return index.findServiceBy(key);
+    }
+
     /**
      * Stuff services to tree set.
      *
@@ -116,7 +186,7 @@ public class DefaultServicesManagerImpl implements ServicesManager {
 
     @Override
     public Collection<RegisteredService> getAllServices() {
-        return Collections.unmodifiableCollection(convertToTreeSet());
+        return Collections.unmodifiableCollection(this.servicesIndex.getServices());
     }
 
     @Override
@@ -130,6 +200,8 @@ public class DefaultServicesManagerImpl implements ServicesManager {
     public synchronized RegisteredService save(final RegisteredService registeredService) {
         final RegisteredService r = this.serviceRegistryDao.save(registeredService);
         this.services.put(r.getId(), r);
+        rebuildIndexes();
+        invalidateServicesCache();
         publishEvent(new CasRegisteredServiceSavedEvent(this, r));
         return r;
     }
@@ -148,6 +220,8 @@ public class DefaultServicesManagerImpl implements ServicesManager {
                     LOGGER.debug("Adding registered service {}", r.getServiceId());
                     return r.getId();
                 }, r -> r, (r, s) -> s == null ? r : s == null ? r : s));
+        rebuildIndexes();
+        invalidateServicesCache();
         LOGGER.info("Loaded {} services from {}.", this.services.size(),
                 this.serviceRegistryDao);
     }
@@ -171,6 +245,42 @@ public class DefaultServicesManagerImpl implements ServicesManager {
     protected void handleRefreshEvent(final CasRegisteredServicesRefreshEvent event) {
         load();
     }
+
+    /**
+     * Handle registered service saved event.
+     *
+     * @param event the event
+     */
+    @EventListener
+    protected void handleRegisteredServiceSavedEvent(final CasRegisteredServiceSavedEvent event) {
+        invalidateServicesCache();
+    }
+
+    /**
+     * Handle registered service deleted event.
+     *
+     * @param event the event
+     */
+    @EventListener
+    protected void handleRegisteredServiceDeletedEvent(final CasRegisteredServiceDeletedEvent event) {
+        invalidateServicesCache();
+    }
+
+    private void rebuildIndexes() {
+        synchronized (this.keyIndexes) {
+            this.servicesIndex.rebuild(this.services.values());
+            final Collection<RegisteredService> sorted = this.servicesIndex.getServices();
+            this.keyIndexes.values().forEach(index -> index.rebuild(sorted));
+        }
+    }
+
+    private void invalidateServicesCache() {
+        if (this.servicesCache != null) {
+            LOGGER.debug("Invalidating [{}] cached service match(es)", this.servicesCache.size());
+            this.servicesCacheGeneration.incrementAndGet();
+            this.servicesCache.invalidateAll();
+        }
+    }
     
     private void publishEvent(final ApplicationEvent event) {
         if (this.eventPublisher != null) {
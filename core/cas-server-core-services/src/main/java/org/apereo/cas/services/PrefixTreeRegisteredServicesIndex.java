@@ -0,0 +1,261 @@
+package org.apereo.cas.services;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.authentication.principal.Service;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * This is {@link PrefixTreeRegisteredServicesIndex} that buckets registered services
+ * by the literal prefix of their service id pattern. The prefix is split on {@code /}
+ * so that the levels of the tree line up with the scheme, host and path segments of
+ * the service url. A lookup walks the tree along the incoming service id and only evaluates
+ * the patterns whose literal prefix the service id begins with, in the same evaluation
+ * order as the full collection of services. Services whose pattern has no usable literal
+ * prefix, or that do not match via regular expressions, are kept at the root and always
+ * evaluated.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class PrefixTreeRegisteredServicesIndex implements RegisteredServicesIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PrefixTreeRegisteredServicesIndex.class);
+
+    private static final char SEGMENT_SEPARATOR = '/';
+
+    private static final String REGEX_META_CHARACTERS = "\\[](){}.*+?^$|";
+
+    private static final char MAX_ASCII_CHARACTER = 127;
+
+    private volatile Snapshot snapshot = new Snapshot(Collections.emptyList(), new Node());
+
+    @Override
+    public void rebuild(final Collection<RegisteredService> services) {
+        final List<RegisteredService> sorted = Collections.unmodifiableList(new ArrayList<>(new TreeSet<>(services)));
+        final Node root = new Node();
+        for (int i = 0; i < sorted.size(); i++) {
+            final RegisteredService service = sorted.get(i);
+            final String prefix = isIndexable(service) ? getLiteralPrefix(service.getServiceId()) : StringUtils.EMPTY;
+            LOGGER.trace("Indexing registered service [{}] under literal prefix [{}]", service.getServiceId(), prefix);
+            root.add(prefix, new Entry(i, service));
+        }
+        this.snapshot = new Snapshot(sorted, root);
+        LOGGER.debug("Indexed [{}] registered services", sorted.size());
+    }
+
+    @Override
+    public RegisteredService findServiceBy(final Service service) {
+        final Snapshot current = this.snapshot;
+        if (service == null || service.getId() == null) {
+            return current.services.stream().filter(r -> r.matches(service)).findFirst().orElse(null);
+        }
+
+        final String id = toLowerCase(service.getId());
+        final List<Entry> candidates = new ArrayList<>();
+        Node node = current.root;
+        int offset = 0;
+        while (node != null) {
+            node.collect(id, offset, candidates);
+            final int separator = id.indexOf(SEGMENT_SEPARATOR, offset);
+            if (separator < 0) {
+                break;
+            }
+            node = node.children.get(id.substring(offset, separator));
+            offset = separator + 1;
+        }
+
+        candidates.sort(Comparator.comparingInt(e -> e.position));
+        LOGGER.trace("Evaluating [{}] candidate(s) out of [{}] registered services for [{}]",
+                candidates.size(), current.services.size(), service.getId());
+        return candidates.stream()
+                .map(e -> e.service)
+                .filter(r -> r.matches(service))
+                .findFirst()
+                .orElse(null);
+    }
+
+    @Override
+    public List<RegisteredService> getServices() {
+        return this.snapshot.services;
+    }
+
+    /**
+     * Only services that match via the stock regular expression matching logic
+     * can be placed into the tree; anything that overrides it gets evaluated every time.
+     *
+     * @param service the service
+     * @return true if the service can be indexed by its literal prefix
+     */
+    private static boolean isIndexable(final RegisteredService service) {
+        if (!(service instanceof RegexRegisteredService)) {
+            return false;
+        }
+        try {
+            return service.getClass().getMethod("matches", Service.class).getDeclaringClass() == RegexRegisteredService.class;
+        } catch (final NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Gets the lower-cased literal prefix that any string matching the given pattern
+     * must begin with. Matching is case insensitive for US-ASCII characters only,
+     * so the prefix stops at the first character outside that range.
+     *
+     * @param pattern the pattern
+     * @return the literal prefix, or an empty string if none can be determined.
+     */
+    static String getLiteralPrefix(final String pattern) {
+        if (StringUtils.isBlank(pattern) || hasTopLevelAlternation(pattern)) {
+            return StringUtils.EMPTY;
+        }
+
+        final StringBuilder builder = new StringBuilder();
+        int i = pattern.charAt(0) == '^' ? 1 : 0;
+        while (i < pattern.length()) {
+            final char c = pattern.charAt(i);
+            final char literal;
+            final int next;
+            if (c == '\\') {
+                if (i + 1 >= pattern.length() || Character.isLetterOrDigit(pattern.charAt(i + 1))) {
+                    break;
+                }
+                literal = pattern.charAt(i + 1);
+                next = i + 2;
+            } else if (REGEX_META_CHARACTERS.indexOf(c) >= 0) {
+                break;
+            } else {
+                literal = c;
+                next = i + 1;
+            }
+
+            if (literal > MAX_ASCII_CHARACTER) {
+                break;
+            }
+            if (next < pattern.length()) {
+                final char quantifier = pattern.charAt(next);
+                if (quantifier == '?' || quantifier == '*' || quantifier == '{') {
+                    break;
+                }
+                if (quantifier == '+') {
+                    builder.append(Character.toLowerCase(literal));
+                    break;
+                }
+            }
+            builder.append(Character.toLowerCase(literal));
+            i = next;
+        }
+        return builder.toString();
+    }
+
+    private static boolean hasTopLevelAlternation(final String pattern) {
+        int groupDepth = 0;
+        int classDepth = 0;
+        int i = 0;
+        while (i < pattern.length()) {
+            final char c = pattern.charAt(i);
+            if (c == '\\') {
+                if (i + 1 < pattern.length() && pattern.charAt(i + 1) == 'Q') {
+                    final int end = pattern.indexOf("\\E", i + 2);
+                    if (end < 0) {
+                        return false;
+                    }
+                    i = end + 1;
+                } else {
+                    i++;
+                }
+            } else if (classDepth > 0) {
+                if (c == '[') {
+                    classDepth++;
+                } else if (c == ']') {
+                    classDepth--;
+                }
+            } else if (c == '[') {
+                classDepth++;
+            } else if (c == '(') {
+                groupDepth++;
+            } else if (c == ')') {
+                groupDepth--;
+            } else if (c == '|' && groupDepth <= 0) {
+                return true;
+            }
+            i++;
+        }
+        return false;
+    }
+
+    private static String toLowerCase(final String value) {
+        final char[] chars = value.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            if (chars[i] >= 'A' && chars[i] <= 'Z') {
+                chars[i] = (char) (chars[i] + ('a' - 'A'));
+            }
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Immutable view of the index that is swapped atomically on every rebuild.
+     */
+    private static class Snapshot {
+        private final List<RegisteredService> services;
+        private final Node root;
+
+        Snapshot(final List<RegisteredService> services, final Node root) {
+            this.services = services;
+            this.root = root;
+        }
+    }
+
+    /**
+     * A node in the tree, keyed by a complete {@code /}-delimited segment.
+     */
+    private static class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private final List<Entry> entries = new ArrayList<>();
+
+        void add(final String prefix, final Entry entry) {
+            Node node = this;
+            int offset = 0;
+            int separator = prefix.indexOf(SEGMENT_SEPARATOR, offset);
+            while (separator >= 0) {
+                node = node.children.computeIfAbsent(prefix.substring(offset, separator), k -> new Node());
+                offset = separator + 1;
+                separator = prefix.indexOf(SEGMENT_SEPARATOR, offset);
+            }
+            entry.remainder = prefix.substring(offset);
+            node.entries.add(entry);
+        }
+
+        void collect(final String id, final int offset, final List<Entry> candidates) {
+            this.entries.stream()
+                    .filter(e -> id.startsWith(e.remainder, offset))
+                    .forEach(candidates::add);
+        }
+    }
+
+    /**
+     * A registered service along with its position in the evaluation order
+     * and the portion of its literal prefix that trails the last complete segment.
+     */
+    private static class Entry {
+        private final int position;
+        private final RegisteredService service;
+        private String remainder;
+
+        Entry(final int position, final RegisteredService service) {
+            this.position = position;
+            this.service = service;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.apereo.cas.services;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * This is {@link RegisteredServicesKeyIndex} that maps a key resolved from each registered service,
+ * such as the client id of an OAuth service, to that service. Services without a key are left out;
+ * of services that share a key, the first in the order given to {@link #rebuild(Collection)} is kept.
+ * Lookups are safe while a rebuild takes place, and see the services as they were before or after it.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class RegisteredServicesKeyIndex {
+
+    private final Function<RegisteredService, String> keyResolver;
+
+    private volatile Map<String, RegisteredService> services = Collections.emptyMap();
+
+    /**
+     * Instantiates a new key index.
+     *
+     * @param keyResolver resolves the key of a registered service, or null if it has none
+     */
+    public RegisteredServicesKeyIndex(final Function<RegisteredService, String> keyResolver) {
+        this.keyResolver = keyResolver;
+    }
+
+    /**
+     * Rebuild the index from the given registered services, sorted in their evaluation order.
+     *
+     * @param services the registered services
+     */
+    public void rebuild(final Collection<RegisteredService> services) {
+        final Map<String, RegisteredService> results = new HashMap<>(services.size());
+        services.forEach(r -> {
+            final String key = this.keyResolver.apply(r);
+            if (key != null) {
+                results.putIfAbsent(key, r);
+            }
+        });
+        this.services = results;
+    }
+
+    /**
+     * Find the registered service that has the given key.
+     *
+     * @param key the key
+     * @return the registered service, or null if none has the key.
+     */
+    public RegisteredService findServiceBy(final String key) {
+        return key == null ? null : this.services.get(key);
+    }
+
+    /**
+     * Gets the number of indexed services.
+     *
+     * @return the size
+     */
+    public int size() {
+        return this.services.size();
+    }
+}
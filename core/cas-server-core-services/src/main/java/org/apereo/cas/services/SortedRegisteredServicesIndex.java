@@ -0,0 +1,37 @@
+package org.apereo.cas.services;
+
+import org.apereo.cas.authentication.principal.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * This is {@link SortedRegisteredServicesIndex} that keeps a precomputed
+ * snapshot of services sorted by their evaluation order and matches
+ * the incoming service against each of them in turn.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class SortedRegisteredServicesIndex implements RegisteredServicesIndex {
+
+    private volatile List<RegisteredService> services = Collections.emptyList();
+
+    @Override
+    public void rebuild(final Collection<RegisteredService> services) {
+        this.services = Collections.unmodifiableList(new ArrayList<>(new TreeSet<>(services)));
+    }
+
+    @Override
+    public RegisteredService findServiceBy(final Service service) {
+        return this.services.stream().filter(r -> r.matches(service)).findFirst().orElse(null);
+    }
+
+    @Override
+    public List<RegisteredService> getServices() {
+        return this.services;
+    }
+}
@@ -13,6 +13,7 @@ import org.apereo.cas.services.DefaultRegisteredServiceAccessStrategyTests;
 import org.apereo.cas.services.DefaultRegisteredServiceUsernameProviderTests;
 import org.apereo.cas.services.DefaultServicesManagerImplTests;
 import org.apereo.cas.services.InMemoryServiceRegistryDaoImplTests;
+import org.apereo.cas.services.PrefixTreeRegisteredServicesIndexTests;
 import org.apereo.cas.services.PrincipalAttributeRegisteredServiceUsernameProviderTests;
 import org.apereo.cas.services.RegexRegisteredServiceTests;
 import org.apereo.cas.services.RegisteredServiceAuthenticationHandlerResolverTests;
@@ -39,6 +40,7 @@ import org.junit.runners.Suite;
         DefaultRegisteredServiceUsernameProviderTests.class,
         DefaultServicesManagerImplTests.class,
         InMemoryServiceRegistryDaoImplTests.class,
+        PrefixTreeRegisteredServicesIndexTests.class,
         PrincipalAttributeRegisteredServiceUsernameProviderTests.class,
         RegexRegisteredServiceTests.class,
         RegisteredServiceAuthenticationHandlerResolverTests.class,
@@ -1,5 +1,7 @@
 package org.apereo.cas.services;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.apereo.cas.authentication.principal.Principal;
 import org.apereo.cas.authentication.principal.Service;
 import org.junit.Assert;
@@ -9,6 +11,7 @@ import org.junit.Test;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import static org.junit.Assert.*;
 
@@ -195,6 +198,31 @@ public class DefaultServicesManagerImplTests {
 
     }
 
+    @Test
+    public void verifyCachedServiceMatches() {
+        final Cache<String, Optional<RegisteredService>> cache = CacheBuilder.newBuilder().recordStats().build();
+        this.defaultServicesManagerImpl.setServicesCache(cache);
+
+        final SimpleService service = new SimpleService("https://www.cached.org/app");
+        assertNull(this.defaultServicesManagerImpl.findServiceBy(service));
+        assertNull(this.defaultServicesManagerImpl.findServiceBy(service));
+        assertEquals(1, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+
+        final RegexRegisteredService r = new RegexRegisteredService();
+        r.setId(3000);
+        r.setName("cached");
+        r.setServiceId("^https://www.cached.org/.+");
+        this.defaultServicesManagerImpl.save(r);
+
+        assertEquals(r, this.defaultServicesManagerImpl.findServiceBy(service));
+        assertEquals(r, this.defaultServicesManagerImpl.findServiceBy(service));
+        assertEquals(2, cache.stats().hitCount());
+
+        this.defaultServicesManagerImpl.delete(r.getId());
+        assertNull(this.defaultServicesManagerImpl.findServiceBy(service));
+    }
+
     private static class SimpleService implements Service {
 
         /**
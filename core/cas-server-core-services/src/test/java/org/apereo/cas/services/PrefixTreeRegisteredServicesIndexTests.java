@@ -0,0 +1,100 @@
+package org.apereo.cas.services;
+
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.mock.MockService;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link PrefixTreeRegisteredServicesIndexTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class PrefixTreeRegisteredServicesIndexTests {
+
+    private final List<RegisteredService> services = new ArrayList<>();
+
+    private final PrefixTreeRegisteredServicesIndex index = new PrefixTreeRegisteredServicesIndex();
+
+    private final SortedRegisteredServicesIndex sortedIndex = new SortedRegisteredServicesIndex();
+
+    @Before
+    public void setUp() {
+        this.services.add(newService(1, "^https://app\\.example\\.org/portal/.*", 10));
+        this.services.add(newService(2, "^https://app\\.example\\.org/.*", 20));
+        this.services.add(newService(3, "^https?://www\\.example\\.org/.*", 5));
+        this.services.add(newService(4, "^(https|imaps)://mail\\.example\\.org/.*", 30));
+        this.services.add(newService(5, "https://app.example.org/portal/admin", 1));
+        this.services.add(newService(6, "^https://APP\\.example\\.org/sso", 15));
+        this.services.add(newService(7, "https://other\\.example\\.org/a|https://third\\.example\\.org/.*", 40));
+        this.services.add(newService(8, "^https://.*", 1000));
+
+        this.index.rebuild(this.services);
+        this.sortedIndex.rebuild(this.services);
+    }
+
+    @Test
+    public void verifyLiteralPrefix() {
+        assertEquals("https://app.example.org/portal/",
+                PrefixTreeRegisteredServicesIndex.getLiteralPrefix("^https://app\\.example\\.org/portal/.*"));
+        assertEquals("http", PrefixTreeRegisteredServicesIndex.getLiteralPrefix("^https?://www\\.example\\.org/.*"));
+        assertEquals("abc", PrefixTreeRegisteredServicesIndex.getLiteralPrefix("abc+d"));
+        assertEquals("", PrefixTreeRegisteredServicesIndex.getLiteralPrefix("^(https|imaps)://.*"));
+        assertEquals("", PrefixTreeRegisteredServicesIndex.getLiteralPrefix("a|b"));
+    }
+
+    @Test
+    public void verifySameMatchAsSortedEvaluation() {
+        final String[] ids = {
+                "https://app.example.org/portal/home",
+                "https://app.example.org/portal/admin",
+                "HTTPS://APP.EXAMPLE.ORG/PORTAL/ADMIN",
+                "https://app.example.org/sso",
+                "https://app.example.org/ssox",
+                "http://www.example.org/",
+                "https://www.example.org/x/y/z",
+                "imaps://mail.example.org/inbox",
+                "https://other.example.org/a",
+                "https://third.example.org/b",
+                "https://unknown.example.org",
+                "ftp://app.example.org/",
+                "app",
+                "",
+        };
+        for (final String id : ids) {
+            final Service service = new MockService(id);
+            assertEquals(id, this.sortedIndex.findServiceBy(service), this.index.findServiceBy(service));
+        }
+    }
+
+    @Test
+    public void verifyEvaluationOrderIsHonored() {
+        assertEquals(5, this.index.findServiceBy(new MockService("https://app.example.org/portal/admin")).getId());
+        assertEquals(1, this.index.findServiceBy(new MockService("https://app.example.org/portal/home")).getId());
+        assertEquals(8, this.index.findServiceBy(new MockService("https://unknown.example.org")).getId());
+        assertNull(this.index.findServiceBy(new MockService("ftp://app.example.org/")));
+    }
+
+    @Test
+    public void verifyRebuild() {
+        this.services.remove(4);
+        this.index.rebuild(this.services);
+        assertEquals(1, this.index.findServiceBy(new MockService("https://app.example.org/portal/admin")).getId());
+        assertEquals(this.services.size(), this.index.getServices().size());
+    }
+
+    private static RegisteredService newService(final long id, final String serviceId, final int order) {
+        final RegexRegisteredService r = new RegexRegisteredService();
+        r.setId(id);
+        r.setName("service" + id);
+        r.setServiceId(serviceId);
+        r.setEvaluationOrder(order);
+        return r;
+    }
+}
@@ -3,6 +3,7 @@ package org.apereo.cas.config;
 import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.model.core.ticket.TicketGrantingTicketProperties;
+import org.apereo.cas.configuration.model.core.ticket.registry.TicketRegistryProperties;
 import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.logout.LogoutManager;
 import org.apereo.cas.ticket.DefaultProxyGrantingTicketFactory;
@@ -22,12 +23,23 @@ import org.apereo.cas.ticket.proxy.support.Cas10ProxyHandler;
 import org.apereo.cas.ticket.proxy.support.Cas20ProxyHandler;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistry;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistryCleaner;
+import org.apereo.cas.ticket.registry.DefaultTicketRegistryInvalidationTopic;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistrySupport;
+import org.apereo.cas.ticket.registry.ExpiredTicketQueue;
+import org.apereo.cas.ticket.registry.ExpiryEventTicketRegistryCleaner;
+import org.apereo.cas.ticket.registry.IncrementalTicketRegistryCleaner;
+import org.apereo.cas.ticket.registry.NearCacheTicketRegistry;
 import org.apereo.cas.ticket.registry.NoOpLockingStrategy;
 import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.registry.TicketExpirationQueue;
 import org.apereo.cas.ticket.registry.TicketRegistryCleaner;
+import org.apereo.cas.ticket.registry.TicketRegistryInvalidationTopic;
 import org.apereo.cas.ticket.registry.TicketRegistrySupport;
+import org.apereo.cas.ticket.registry.WriteBehindTicketRegistry;
 import org.apereo.cas.ticket.registry.support.LockingStrategy;
+import org.apereo.cas.ticket.serialization.JavaTicketSerializer;
+import org.apereo.cas.ticket.serialization.KryoTicketSerializer;
+import org.apereo.cas.ticket.serialization.TicketSerializer;
 import org.apereo.cas.ticket.support.AlwaysExpiresExpirationPolicy;
 import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
 import org.apereo.cas.ticket.support.MultiTimeUseOrTimeoutExpirationPolicy;
@@ -45,6 +57,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
@@ -57,6 +70,7 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This is {@link CasCoreTicketsConfiguration}.
@@ -166,14 +180,50 @@ public class CasCoreTicketsConfiguration {
                 Beans.newTicketRegistryCipherExecutor(
                         casProperties.getTicket().getRegistry().getInMemory().getCrypto())
         );
+        r.setTicketSerializer(ticketSerializer());
+        if (casProperties.getTicket().getRegistry().getCleaner().isIncremental()) {
+            r.setExpirationQueue(ticketExpirationQueue());
+        }
+
+        final TicketRegistryProperties.NearCache nearCache = casProperties.getTicket().getRegistry().getNearCache();
+        if (nearCache.isEnabled()) {
+            return new NearCacheTicketRegistry(r, ticketRegistryInvalidationTopic(), ticketSerializer(),
+                    nearCache.getTimeToLiveSeconds(), nearCache.getMaximumSize());
+        }
         return r;
     }
 
+    @ConditionalOnMissingBean(name = "ticketRegistryInvalidationTopic")
+    @Bean
+    public TicketRegistryInvalidationTopic ticketRegistryInvalidationTopic() {
+        return new DefaultTicketRegistryInvalidationTopic();
+    }
+
+    @ConditionalOnMissingBean(name = "ticketSerializer")
+    @Bean
+    public TicketSerializer ticketSerializer() {
+        if (casProperties.getTicket().getRegistry().getSerializer() == TicketRegistryProperties.TicketSerializerTypes.KRYO) {
+            return new KryoTicketSerializer();
+        }
+        return new JavaTicketSerializer();
+    }
+
+    @Bean
+    public TicketExpirationQueue ticketExpirationQueue() {
+        return new TicketExpirationQueue(TimeUnit.MILLISECONDS.toSeconds(
+                casProperties.getTicket().getRegistry().getCleaner().getRepeatInterval()));
+    }
+
+    @Bean
+    public ExpiredTicketQueue expiredTicketQueue() {
+        return new ExpiredTicketQueue(casProperties.getTicket().getRegistry().getCleaner().getExpiryEventsQueueSize());
+    }
+
     @ConditionalOnMissingBean(name = "defaultTicketRegistrySupport")
     @Bean
     public TicketRegistrySupport defaultTicketRegistrySupport() {
         final DefaultTicketRegistrySupport s = new DefaultTicketRegistrySupport();
-        s.setTicketRegistry(this.ticketRegistry);
+        s.setTicketRegistry(writeBehindOrTicketRegistry());
         return s;
     }
 
@@ -285,13 +335,44 @@ public class CasCoreTicketsConfiguration {
     @ConditionalOnMissingBean(name = "ticketRegistryCleaner")
     @Bean
     public TicketRegistryCleaner ticketRegistryCleaner() {
-        final DefaultTicketRegistryCleaner c = new DefaultTicketRegistryCleaner();
+        final DefaultTicketRegistryCleaner c;
+        if (casProperties.getTicket().getRegistry().getCleaner().isExpiryEvents()) {
+            c = new ExpiryEventTicketRegistryCleaner(expiredTicketQueue(),
+                    casProperties.getTicket().getRegistry().getCleaner().getBatchSize(),
+                    casProperties.getTicket().getRegistry().getCleaner().getExpiryEventsScanInterval());
+        } else if (casProperties.getTicket().getRegistry().getCleaner().isIncremental()) {
+            c = new IncrementalTicketRegistryCleaner(ticketExpirationQueue(),
+                    casProperties.getTicket().getRegistry().getCleaner().getBatchSize());
+        } else {
+            c = new DefaultTicketRegistryCleaner();
+        }
         c.setLockingStrategy(lockingStrategy());
         c.setLogoutManager(logoutManager);
-        c.setTicketRegistry(this.ticketRegistry);
+        c.setTicketRegistry(writeBehindOrTicketRegistry());
         return c;
     }
 
+    @Bean
+    @ConditionalOnProperty(prefix = "cas.ticket.tgt.writeBehind", name = "enabled", havingValue = "true")
+    public WriteBehindTicketRegistry writeBehindTicketRegistry() {
+        final TicketGrantingTicketProperties.WriteBehind writeBehind = casProperties.getTicket().getTgt().getWriteBehind();
+        return new WriteBehindTicketRegistry(this.ticketRegistry, ticketSerializer(),
+                writeBehind.getFlushInterval(), writeBehind.getMaxPendingUpdates());
+    }
+
+    /**
+     * The registry that components reading ticket-granting tickets should use, so that they
+     * see the updates that are still pending when write-behind is enabled.
+     *
+     * @return the write-behind registry, or the ticket registry
+     */
+    private TicketRegistry writeBehindOrTicketRegistry() {
+        if (casProperties.getTicket().getTgt().getWriteBehind().isEnabled()) {
+            return writeBehindTicketRegistry();
+        }
+        return this.ticketRegistry;
+    }
+
     @ConditionalOnMissingBean(name = "ticketTransactionManager")
     @Bean
     public PlatformTransactionManager ticketTransactionManager() {
@@ -7,6 +7,8 @@ import javax.persistence.Column;
 import javax.persistence.Id;
 import javax.persistence.Lob;
 import javax.persistence.MappedSuperclass;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 
@@ -59,6 +61,13 @@ public abstract class AbstractTicket implements Ticket, TicketState {
     @Column(name="NUMBER_OF_TIMES_USED")
     private int countOfUses;
 
+    /**
+     * The time this ticket expires unless used again, as told by its expiration policy.
+     * Kept up to date as the ticket is stored so that expired tickets can be looked up by it.
+     */
+    @Column(name="EXPIRATION_TIME")
+    private ZonedDateTime expirationTime;
+
     /**
      * Instantiates a new abstract ticket.
      */
@@ -102,6 +111,19 @@ public abstract class AbstractTicket implements Ticket, TicketState {
         }
     }
 
+    /**
+     * Recalculate the expiration time of this ticket from its expiration policy.
+     */
+    @PrePersist
+    @PreUpdate
+    protected void updateExpirationTime() {
+        this.expirationTime = this.expirationPolicy.getExpirationTime(this);
+    }
+
+    public ZonedDateTime getExpirationTime() {
+        return this.expirationTime;
+    }
+
     @Override
     public int getCountOfUses() {
         return this.countOfUses;
@@ -11,15 +11,21 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.Assert;
 
+import javax.persistence.CollectionTable;
 import javax.persistence.Column;
 import javax.persistence.DiscriminatorColumn;
 import javax.persistence.DiscriminatorValue;
+import javax.persistence.ElementCollection;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
+import javax.persistence.Index;
+import javax.persistence.JoinColumn;
 import javax.persistence.Lob;
 import javax.persistence.ManyToOne;
+import javax.persistence.MapKeyColumn;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
+import javax.persistence.Version;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -40,7 +46,7 @@ import java.util.Set;
  * @since 3.0.0
  */
 @Entity
-@Table(name="TICKETGRANTINGTICKET")
+@Table(name="TICKETGRANTINGTICKET", indexes = @Index(name="TGT_EXPIRATION_TIME_IDX", columnList="EXPIRATION_TIME"))
 @DiscriminatorColumn(name = "TYPE")
 @DiscriminatorValue(TicketGrantingTicket.PREFIX)
 public class TicketGrantingTicketImpl extends AbstractTicket implements TicketGrantingTicket {
@@ -65,10 +71,21 @@ public class TicketGrantingTicketImpl extends AbstractTicket implements TicketGr
     @Column(name="PROXIED_BY", nullable=true, length = Integer.MAX_VALUE)
     private Service proxiedBy;
 
-    /** The services associated to this ticket. */
+    /**
+     * The services associated to this ticket, keyed by service ticket id.
+     * Each service is kept in its own row, so that granting a service ticket adds a row.
+     */
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name="TICKETGRANTINGTICKET_SERVICES", joinColumns = @JoinColumn(name="TICKET_GRANTING_TICKET_ID"))
+    @MapKeyColumn(name="SERVICE_TICKET_ID")
     @Lob
-    @Column(name="SERVICES_GRANTED_ACCESS_TO", nullable=false, length = Integer.MAX_VALUE)
-    private HashMap<String, Service> services = new HashMap<>();
+    @Column(name="SERVICE", nullable=false, length = Integer.MAX_VALUE)
+    private Map<String, Service> services = new HashMap<>();
+
+    /** Incremented on each update, so that concurrent updates of this ticket are detected. */
+    @Version
+    @Column(name="VERSION")
+    private Long version;
 
     /** The {@link TicketGrantingTicket} this is associated with. */
     @ManyToOne(targetEntity = TicketGrantingTicketImpl.class)
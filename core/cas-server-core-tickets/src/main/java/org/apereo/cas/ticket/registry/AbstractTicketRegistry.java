@@ -1,6 +1,8 @@
 package org.apereo.cas.ticket.registry;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
@@ -13,7 +15,8 @@ import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
 import org.apereo.cas.util.DigestUtils;
-import org.apereo.cas.util.serialization.SerializationUtils;
+import org.apereo.cas.ticket.serialization.JavaTicketSerializer;
+import org.apereo.cas.ticket.serialization.TicketSerializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.Assert;
@@ -35,6 +38,8 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
 
     private CipherExecutor cipherExecutor;
 
+    private TicketSerializer ticketSerializer = new JavaTicketSerializer();
+
     /**
      * Default constructor.
      */
@@ -72,7 +77,7 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
     @Override
     public long sessionCount() {
         try {
-            return getTickets().stream().filter(t -> t instanceof TicketGrantingTicket).count();
+            return stream(TicketQuery.ofType(TicketGrantingTicket.class)).count();
         } catch (final Throwable t) {
             logger.trace("sessionCount() operation is not implemented by the ticket registry instance {}. "
                             + "Message is: {} Returning unknown as {}",
@@ -84,7 +89,7 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
     @Override
     public long serviceTicketCount() {
         try {
-            return getTickets().stream().filter(t -> t instanceof ServiceTicket).count();
+            return stream(TicketQuery.ofType(ServiceTicket.class)).count();
         } catch (final Throwable t) {
             logger.trace("serviceTicketCount() operation is not implemented by the ticket registry instance {}. "
                             + "Message is: {} Returning unknown as {}",
@@ -106,6 +111,8 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
             return count.intValue();
         }
 
+        // the ticket and its service tickets are removed together
+        final List<String> ticketIds = new ArrayList<>();
         if (ticket instanceof TicketGrantingTicket) {
             if (ticket instanceof ProxyGrantingTicket) {
                 logger.debug("Removing proxy-granting ticket [{}]", ticketId);
@@ -113,7 +120,10 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
 
             logger.debug("Removing children of ticket [{}] from the registry.", ticket.getId());
             final TicketGrantingTicket tgt = (TicketGrantingTicket) ticket;
-            count.addAndGet(deleteChildren(tgt));
+            final Map<String, Service> services = tgt.getServices();
+            if (services != null) {
+                ticketIds.addAll(services.keySet());
+            }
 
             final Collection<ProxyGrantingTicket> proxyGrantingTickets = tgt.getProxyGrantingTickets();
             proxyGrantingTickets.stream().map(Ticket::getId).forEach((t) -> {
@@ -121,10 +131,8 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
             });
         }
         logger.debug("Removing ticket [{}] from the registry.", ticket);
-
-        if (deleteSingleTicket(ticketId)) {
-            count.incrementAndGet();
-        }
+        ticketIds.add(ticketId);
+        count.addAndGet(deleteSingleTickets(ticketIds));
 
         return count.intValue();
     }
@@ -137,21 +145,31 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
      * @return the count of tickets that were removed including child tickets and zero if the ticket was not deleted
      */
     public int deleteChildren(final TicketGrantingTicket ticket) {
-        final AtomicInteger count = new AtomicInteger(0);
-
-        // delete service tickets
         final Map<String, Service> services = ticket.getServices();
-        if (services != null && !services.isEmpty()) {
-            services.keySet().stream().forEach(ticketId -> {
-                if (deleteSingleTicket(ticketId)) {
-                    logger.debug("Removed ticket [{}]", ticketId);
-                    count.incrementAndGet();
-                } else {
-                    logger.debug("Unable to remove ticket [{}]", ticketId);
-                }
-            });
+        if (services == null || services.isEmpty()) {
+            return 0;
         }
+        return deleteSingleTickets(services.keySet());
+    }
 
+    /**
+     * Delete ticket instances from the store, without their children.
+     * Registries backed by a remote store should override this to remove
+     * all tickets in one go.
+     *
+     * @param ticketIds the ticket ids
+     * @return the number of tickets that were removed
+     */
+    public int deleteSingleTickets(final Collection<String> ticketIds) {
+        final AtomicInteger count = new AtomicInteger(0);
+        ticketIds.forEach(ticketId -> {
+            if (deleteSingleTicket(ticketId)) {
+                logger.debug("Removed ticket [{}]", ticketId);
+                count.incrementAndGet();
+            } else {
+                logger.debug("Unable to remove ticket [{}]", ticketId);
+            }
+        });
         return count.intValue();
     }
 
@@ -177,6 +195,15 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
         this.cipherExecutor = cipherExecutor;
     }
 
+    /**
+     * Sets the serializer used to turn tickets into bytes before they are encrypted.
+     *
+     * @param ticketSerializer the ticket serializer
+     */
+    public void setTicketSerializer(final TicketSerializer ticketSerializer) {
+        this.ticketSerializer = ticketSerializer;
+    }
+
     /**
      * Encode ticket id into a SHA-512.
      *
@@ -213,8 +240,7 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
         }
 
         logger.info("Encoding [{}]", ticket);
-        final byte[] encodedTicketObject = SerializationUtils.serializeAndEncodeObject(
-                this.cipherExecutor, ticket);
+        final byte[] encodedTicketObject = (byte[]) this.cipherExecutor.encode(this.ticketSerializer.serialize(ticket));
         final String encodedTicketId = encodeTicketId(ticket.getId());
         final Ticket encodedTicket = new EncodedTicket(
                 ByteSource.wrap(encodedTicketObject),
@@ -243,8 +269,7 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
         logger.debug("Attempting to decode {}", result);
         final EncodedTicket encodedTicket = (EncodedTicket) result;
 
-        final Ticket ticket = SerializationUtils.decodeAndSerializeObject(
-                encodedTicket.getEncoded(), this.cipherExecutor, Ticket.class);
+        final Ticket ticket = this.ticketSerializer.deserialize((byte[]) this.cipherExecutor.decode(encodedTicket.getEncoded()));
         logger.info("Decoded {}", ticket);
         return ticket;
     }
@@ -1,15 +1,23 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.springframework.util.Assert;
 
 import javax.annotation.PostConstruct;
 import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the TicketRegistry that is backed by a ConcurrentHashMap.
+ * Tickets are additionally grouped by their concrete type, so that counting
+ * sessions and service tickets, or retrieving tickets of a given type,
+ * does not need to go through every ticket in the registry.
  *
  * @author Scott Battaglia
  * @since 3.0.0
@@ -21,6 +29,13 @@ public class DefaultTicketRegistry extends AbstractTicketRegistry {
      */
     private final Map<String, Ticket> cache;
 
+    /**
+     * Tickets grouped by their concrete type, holding the same entries as {@link #cache}.
+     */
+    private final Map<Class<? extends Ticket>, Map<String, Ticket>> ticketsByType = new ConcurrentHashMap<>();
+
+    private TicketExpirationQueue expirationQueue;
+
     /**
      * Instantiates a new default ticket registry.
      */
@@ -51,8 +66,29 @@ public class DefaultTicketRegistry extends AbstractTicketRegistry {
     public void addTicket(final Ticket ticket) {
         Assert.notNull(ticket, "ticket cannot be null");
         final Ticket encTicket = encodeTicket(ticket);
+        final Map<String, Ticket> tickets = this.ticketsByType.computeIfAbsent(ticket.getClass(), k -> new ConcurrentHashMap<>());
+        this.cache.compute(encTicket.getId(), (id, existing) -> {
+            if (existing != null) {
+                this.ticketsByType.values().forEach(t -> t.remove(id));
+            }
+            tickets.put(id, encTicket);
+            return encTicket;
+        });
+        if (this.expirationQueue != null) {
+            this.expirationQueue.schedule(ticket);
+        }
         logger.debug("Added ticket [{}] to registry.", ticket.getId());
-        this.cache.put(encTicket.getId(), encTicket);
+    }
+
+    /**
+     * Sets the queue that is to be kept informed of when tickets are due
+     * for an expiration check, allowing the cleaner to only look at those tickets.
+     *
+     * @param expirationQueue the expiration queue
+     */
+    public void setExpirationQueue(final TicketExpirationQueue expirationQueue) {
+        this.expirationQueue = expirationQueue;
+        this.expirationQueue.attach();
     }
 
     /**
@@ -85,7 +121,16 @@ public class DefaultTicketRegistry extends AbstractTicketRegistry {
         if (encTicketId == null) {
             return false;
         }
-        return this.cache.remove(encTicketId) != null;
+        final AtomicBoolean removed = new AtomicBoolean();
+        this.cache.computeIfPresent(encTicketId, (id, existing) -> {
+            this.ticketsByType.values().forEach(tickets -> tickets.remove(id));
+            removed.set(true);
+            return null;
+        });
+        if (this.expirationQueue != null) {
+            this.expirationQueue.unschedule(ticketId);
+        }
+        return removed.get();
     }
 
 
@@ -94,8 +139,43 @@ public class DefaultTicketRegistry extends AbstractTicketRegistry {
         return decodeTickets(this.cache.values());
     }
 
+    @Override
+    public <T extends Ticket> Collection<T> getTickets(final Class<T> ticketType) {
+        return this.ticketsByType.entrySet().stream()
+                .filter(entry -> ticketType.isAssignableFrom(entry.getKey()))
+                .flatMap(entry -> decodeTickets(entry.getValue().values()).stream())
+                .map(ticketType::cast)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public Stream<Ticket> stream(final TicketQuery query) {
+        return this.ticketsByType.entrySet().stream()
+                .filter(entry -> query.mayMatch(entry.getKey()))
+                .flatMap(entry -> entry.getValue().values().stream())
+                .map(this::decodeTicket)
+                .filter(query::matches);
+    }
+
     @Override
     public void updateTicket(final Ticket ticket) {
         addTicket(ticket);
     }
+
+    @Override
+    public long sessionCount() {
+        return countTickets(TicketGrantingTicket.class);
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        return countTickets(ServiceTicket.class);
+    }
+
+    private long countTickets(final Class<? extends Ticket> ticketType) {
+        return this.ticketsByType.entrySet().stream()
+                .filter(entry -> ticketType.isAssignableFrom(entry.getKey()))
+                .mapToLong(entry -> entry.getValue().size())
+                .sum();
+    }
 }
@@ -1,5 +1,6 @@
 package org.apereo.cas.ticket.registry;
 
+import com.codahale.metrics.MetricRegistry;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.logout.LogoutManager;
 import org.apereo.cas.ticket.ServiceTicket;
@@ -13,8 +14,8 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.support.SpringBeanAutowiringSupport;
 
-import java.util.Collection;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 /**
  * This is {@link DefaultTicketRegistryCleaner}.
@@ -26,8 +27,16 @@ import java.util.stream.Collectors;
 public class DefaultTicketRegistryCleaner implements TicketRegistryCleaner {
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultTicketRegistryCleaner.class);
 
+    private static final String CLEANED_TICKETS_METER = "ticket.registry.cleaner.removed";
+
     @Autowired
     private CasConfigurationProperties casProperties;
+
+    @Autowired(required = false)
+    private MetricRegistry metricRegistry;
+
+    @Autowired(required = false)
+    private WriteBehindTicketRegistry writeBehindTicketRegistry;
     
     private LogoutManager logoutManager;
 
@@ -59,28 +68,33 @@ public class DefaultTicketRegistryCleaner implements TicketRegistryCleaner {
                 return;
             }
             LOGGER.debug("Acquired lock.  Proceeding with cleanup.");
+
+            if (this.writeBehindTicketRegistry != null) {
+                // expired tickets must be removed, and logged out, with all the services they were used for.
+                this.writeBehindTicketRegistry.flush();
+            }
            
-            final Collection<Ticket> ticketsToRemove = ticketRegistry.getTickets()
-                    .stream()
-                    .filter(Ticket::isExpired)
-                    .collect(Collectors.toSet());
-            LOGGER.debug("{} expired tickets found.", ticketsToRemove.size());
-
-            int count = 0;
-
-            for (final Ticket ticket : ticketsToRemove) {
-                if (ticket instanceof TicketGrantingTicket) {
-                    LOGGER.debug("Cleaning up expired ticket-granting ticket [{}]", ticket.getId());
-                    logoutManager.performLogout((TicketGrantingTicket) ticket);
-                    count += ticketRegistry.deleteTicket(ticket.getId());
-                } else if (ticket instanceof ServiceTicket) {
-                    LOGGER.debug("Cleaning up expired service ticket [{}]", ticket.getId());
-                    count += ticketRegistry.deleteTicket(ticket.getId());
-                } else {
-                    LOGGER.warn("Unknown ticket type [{} found to clean", ticket.getClass().getSimpleName());
-                }
+            final long startTime = System.currentTimeMillis();
+            final AtomicInteger count = new AtomicInteger(removeExpiredTicketsInBulk());
+
+            try (Stream<Ticket> ticketsToRemove = getExpiredTickets()) {
+                ticketsToRemove.forEach(ticket -> {
+                    if (ticket instanceof TicketGrantingTicket) {
+                        LOGGER.debug("Cleaning up expired ticket-granting ticket [{}]", ticket.getId());
+                        logoutManager.performLogout((TicketGrantingTicket) ticket);
+                        count.addAndGet(ticketRegistry.deleteTicket(ticket.getId()));
+                    } else if (ticket instanceof ServiceTicket) {
+                        LOGGER.debug("Cleaning up expired service ticket [{}]", ticket.getId());
+                        count.addAndGet(ticketRegistry.deleteTicket(ticket.getId()));
+                    } else {
+                        LOGGER.warn("Unknown ticket type [{} found to clean", ticket.getClass().getSimpleName());
+                    }
+                });
+            }
+            LOGGER.info("{} expired tickets removed in {} ms.", count, System.currentTimeMillis() - startTime);
+            if (this.metricRegistry != null) {
+                this.metricRegistry.meter(CLEANED_TICKETS_METER).mark(count.get());
             }
-            LOGGER.info("{} expired tickets removed.", count);
 
         } catch (final Exception e) {
             LOGGER.error(e.getMessage(), e);
@@ -91,6 +105,29 @@ public class DefaultTicketRegistryCleaner implements TicketRegistryCleaner {
         }
     }
 
+    /**
+     * Removes expired tickets that need no further processing, such as logout requests,
+     * with as few calls to the registry as it allows, before the tickets of
+     * {@link #getExpiredTickets()} are removed one at a time.
+     * Nothing is removed by default.
+     *
+     * @return the number of tickets removed
+     */
+    protected int removeExpiredTicketsInBulk() {
+        return 0;
+    }
+
+    /**
+     * Gets the tickets that have expired and should be removed by this run.
+     * The default implementation goes through every ticket in the registry,
+     * as the tickets are read; they are removed as they are found.
+     *
+     * @return the expired tickets
+     */
+    protected Stream<Ticket> getExpiredTickets() {
+        return this.ticketRegistry.stream(TicketQuery.all().expired());
+    }
+
     /**
      * Indicates whether the registry supports automatic ticket cleanup.
      * Generally, a registry that is able to return a collection of available
@@ -106,6 +143,10 @@ public class DefaultTicketRegistryCleaner implements TicketRegistryCleaner {
         this.logoutManager = logoutManager;
     }
 
+    public TicketRegistry getTicketRegistry() {
+        return this.ticketRegistry;
+    }
+
     public void setTicketRegistry(final TicketRegistry ticketRegistry) {
         this.ticketRegistry = ticketRegistry;
     }
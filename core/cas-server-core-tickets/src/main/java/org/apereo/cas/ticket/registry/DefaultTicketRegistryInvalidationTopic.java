@@ -0,0 +1,28 @@
+package org.apereo.cas.ticket.registry;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+
+/**
+ * This is {@link DefaultTicketRegistryInvalidationTopic} that delivers notices
+ * to subscribers within the same JVM only. It suits a single node, and stands in
+ * for a distributed topic when the cache is used across a cluster.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class DefaultTicketRegistryInvalidationTopic implements TicketRegistryInvalidationTopic {
+
+    private final List<BiConsumer<String, String>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(final String origin, final String key) {
+        this.listeners.forEach(listener -> listener.accept(origin, key));
+    }
+
+    @Override
+    public void subscribe(final BiConsumer<String, String> listener) {
+        this.listeners.add(listener);
+    }
+}
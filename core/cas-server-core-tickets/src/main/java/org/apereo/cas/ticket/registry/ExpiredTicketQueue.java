@@ -0,0 +1,125 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This is {@link ExpiredTicketQueue} that holds the ticket-granting tickets a ticket registry
+ * has expired or evicted on its own, until the cleaner gets to send out logout requests for them.
+ * Other tickets are not kept, as nothing is left to do for them once the registry has removed them.
+ * The queue is bounded; tickets that do not fit are dropped and counted.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class ExpiredTicketQueue {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExpiredTicketQueue.class);
+
+    private final BlockingQueue<TicketGrantingTicket> queue;
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile boolean attached;
+
+    private volatile Runnable expirer;
+
+    /**
+     * Instantiates a new expired ticket queue.
+     *
+     * @param capacity the maximum number of tickets held
+     */
+    public ExpiredTicketQueue(final int capacity) {
+        this.queue = new LinkedBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Add a ticket that the ticket registry has expired or evicted.
+     *
+     * @param ticket the ticket
+     * @return true if the ticket was added
+     */
+    public boolean offer(final Ticket ticket) {
+        if (!(ticket instanceof TicketGrantingTicket)) {
+            return false;
+        }
+        if (this.queue.offer((TicketGrantingTicket) ticket)) {
+            LOGGER.trace("Queued expired ticket-granting ticket [{}]", ticket.getId());
+            return true;
+        }
+        LOGGER.warn("Expired ticket queue is full; no logout requests will be sent for ticket-granting ticket [{}]. "
+                + "[{}] ticket(s) dropped so far", ticket.getId(), this.dropped.incrementAndGet());
+        return false;
+    }
+
+    /**
+     * Remove and return the queued tickets, oldest first. If the ticket registry
+     * only expires entries as they are accessed, it is asked to expire entries first.
+     *
+     * @param maxTickets the maximum number of tickets to return
+     * @return the tickets
+     */
+    public List<TicketGrantingTicket> drain(final int maxTickets) {
+        final Runnable expire = this.expirer;
+        if (expire != null) {
+            expire.run();
+        }
+        final List<TicketGrantingTicket> tickets = new ArrayList<>();
+        this.queue.drainTo(tickets, maxTickets);
+        LOGGER.debug("Drained [{}] expired ticket-granting ticket(s); [{}] remain queued", tickets.size(), size());
+        return tickets;
+    }
+
+    /**
+     * Number of tickets queued.
+     *
+     * @return the size
+     */
+    public int size() {
+        return this.queue.size();
+    }
+
+    /**
+     * Number of tickets dropped because the queue was full.
+     *
+     * @return the count
+     */
+    public long getDroppedCount() {
+        return this.dropped.get();
+    }
+
+    /**
+     * Whether a ticket registry is feeding this queue.
+     *
+     * @return true/false
+     */
+    public boolean isAttached() {
+        return this.attached;
+    }
+
+    /**
+     * Mark this queue as being fed by a ticket registry that expires entries on its own.
+     */
+    public void attach() {
+        this.attached = true;
+    }
+
+    /**
+     * Mark this queue as being fed by a ticket registry that only expires entries
+     * as they are accessed, unless asked to expire them.
+     *
+     * @param expirer expires the entries of the ticket registry
+     */
+    public void attach(final Runnable expirer) {
+        this.expirer = expirer;
+        attach();
+    }
+}
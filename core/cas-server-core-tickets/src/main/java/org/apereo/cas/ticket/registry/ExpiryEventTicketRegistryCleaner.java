@@ -0,0 +1,74 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.stream.Stream;
+
+/**
+ * This is {@link ExpiryEventTicketRegistryCleaner} for ticket registries that expire
+ * tickets on their own. Rather than going through the registry on every run, it sends out logout
+ * requests for the ticket-granting tickets the registry reports through an {@link ExpiredTicketQueue}.
+ * Each run processes at most a bounded number of tickets; anything left over is picked up by the next run.
+ * If no ticket registry feeds the queue, the cleaner falls back to checking every ticket in the registry.
+ * <p>
+ * Registries expire tickets once their time to live has passed. A ticket-granting ticket that has been idle
+ * for longer than its expiration policy allows is expired by the policy well before that, which the registry
+ * does not know of, as reading a ticket counts as using it for the registry but not for the policy.
+ * Such tickets are found by going through the ticket-granting tickets of the registry once per scan interval.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class ExpiryEventTicketRegistryCleaner extends DefaultTicketRegistryCleaner {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExpiryEventTicketRegistryCleaner.class);
+
+    private final ExpiredTicketQueue expiredTicketQueue;
+
+    private final int batchSize;
+
+    private final long scanInterval;
+
+    private long lastScanTime = System.currentTimeMillis();
+
+    /**
+     * Instantiates a new expiry event ticket registry cleaner.
+     *
+     * @param expiredTicketQueue the expired ticket queue
+     * @param batchSize          the maximum number of tickets to process per run
+     * @param scanInterval       milliseconds between scans for ticket-granting tickets expired by their policy;
+     *                           zero or less to never scan
+     */
+    public ExpiryEventTicketRegistryCleaner(final ExpiredTicketQueue expiredTicketQueue, final int batchSize,
+                                            final long scanInterval) {
+        this.expiredTicketQueue = expiredTicketQueue;
+        this.batchSize = batchSize;
+        this.scanInterval = scanInterval;
+    }
+
+    @Override
+    protected Stream<Ticket> getExpiredTickets() {
+        if (!this.expiredTicketQueue.isAttached()) {
+            LOGGER.debug("Expired ticket queue is not in use by the ticket registry; checking all tickets");
+            return super.getExpiredTickets();
+        }
+        final Stream<Ticket> reported = this.expiredTicketQueue.drain(this.batchSize).stream().map(Ticket.class::cast);
+        if (!isScanDue()) {
+            return reported;
+        }
+        LOGGER.debug("Checking ticket-granting tickets for tickets expired by their expiration policy");
+        final Stream<Ticket> scanned = getTicketRegistry().stream(TicketQuery.ofType(TicketGrantingTicket.class).expired());
+        return Stream.concat(reported, scanned).distinct();
+    }
+
+    private synchronized boolean isScanDue() {
+        final long now = System.currentTimeMillis();
+        if (this.scanInterval <= 0 || now - this.lastScanTime < this.scanInterval) {
+            return false;
+        }
+        this.lastScanTime = now;
+        return true;
+    }
+}
@@ -0,0 +1,65 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * This is {@link IncrementalTicketRegistryCleaner} that only looks at tickets
+ * which a {@link TicketExpirationQueue} reports as due for an expiration check,
+ * rather than every ticket in the registry. Each run processes at most a bounded
+ * number of tickets; anything left over is picked up by the next run.
+ * If no ticket registry feeds the queue, the cleaner falls back to
+ * checking every ticket in the registry.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class IncrementalTicketRegistryCleaner extends DefaultTicketRegistryCleaner {
+    private static final Logger LOGGER = LoggerFactory.getLogger(IncrementalTicketRegistryCleaner.class);
+
+    private final TicketExpirationQueue expirationQueue;
+
+    private final int batchSize;
+
+    /**
+     * Instantiates a new incremental ticket registry cleaner.
+     *
+     * @param expirationQueue the expiration queue
+     * @param batchSize       the maximum number of tickets to check per run
+     */
+    public IncrementalTicketRegistryCleaner(final TicketExpirationQueue expirationQueue, final int batchSize) {
+        this.expirationQueue = expirationQueue;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    protected Stream<Ticket> getExpiredTickets() {
+        if (!this.expirationQueue.isAttached()) {
+            LOGGER.debug("Ticket expiration queue is not in use by the ticket registry; checking all tickets");
+            return super.getExpiredTickets();
+        }
+
+        final List<String> dueTickets = this.expirationQueue.pollDue(this.batchSize);
+        final Collection<Ticket> expiredTickets = new ArrayList<>();
+        for (final String ticketId : dueTickets) {
+            final Ticket ticket = getTicketRegistry().getTicket(ticketId);
+            if (ticket != null) {
+                // scheduled again so that tickets that fail to be removed are retried;
+                // removing the ticket from the registry clears the schedule.
+                this.expirationQueue.schedule(ticket);
+                if (ticket.isExpired()) {
+                    expiredTickets.add(ticket);
+                }
+            }
+        }
+        LOGGER.debug("[{}] of [{}] ticket(s) due for an expiration check have expired; [{}] remain scheduled",
+                expiredTickets.size(), dueTickets.size(), this.expirationQueue.size());
+        return expiredTickets.stream();
+    }
+}
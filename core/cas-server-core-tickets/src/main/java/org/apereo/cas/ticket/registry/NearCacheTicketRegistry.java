@@ -0,0 +1,273 @@
+package org.apereo.cas.ticket.registry;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.serialization.TicketSerializer;
+import org.apereo.cas.util.DigestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * This is {@link NearCacheTicketRegistry} that keeps recently used ticket-granting tickets
+ * on the heap in front of another ticket registry, so that repeated lookups of the same
+ * session do not pay for a remote call and for decrypting and deserializing the ticket each time.
+ * Entries live for a short time only; all other tickets and queries go straight to the registry behind.
+ * Tickets are cached in serialized form and every lookup gets its own copy, as it would from a
+ * distributed registry, so that callers never change a ticket that others are reading.
+ * <p>
+ * Changes made through this registry are announced on a {@link TicketRegistryInvalidationTopic},
+ * and other nodes drop their cached copy of the ticket when they hear of it. Tickets are cached and announced
+ * under the digest of their id, which is also what registries that encrypt tickets store them under,
+ * so that ticket ids are never shared in the clear. A version counter is kept per ticket (in a fixed
+ * number of slots) and bumped on every change, so that a ticket loaded while a change is underway
+ * is never put into the cache.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class NearCacheTicketRegistry implements TicketRegistry, Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(NearCacheTicketRegistry.class);
+
+    private static final int VERSION_SLOTS = 1024;
+
+    private final TicketRegistry delegate;
+
+    private final TicketRegistryInvalidationTopic invalidationTopic;
+
+    private final TicketSerializer ticketSerializer;
+
+    private final Cache<String, byte[]> cache;
+
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_SLOTS);
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * Instantiates a new near cache ticket registry.
+     *
+     * @param delegate           the registry that holds the tickets
+     * @param invalidationTopic  the topic used to share ticket changes with other nodes
+     * @param ticketSerializer   the serializer used to keep cached tickets apart from those handed out
+     * @param timeToLiveSeconds  how long a ticket may stay in the cache
+     * @param maximumSize        the maximum number of cached tickets
+     */
+    public NearCacheTicketRegistry(final TicketRegistry delegate, final TicketRegistryInvalidationTopic invalidationTopic,
+                                   final TicketSerializer ticketSerializer, final long timeToLiveSeconds, final long maximumSize) {
+        this.delegate = delegate;
+        this.invalidationTopic = invalidationTopic;
+        this.ticketSerializer = ticketSerializer;
+        this.cache = CacheBuilder.newBuilder()
+                .expireAfterWrite(timeToLiveSeconds, TimeUnit.SECONDS)
+                .maximumSize(maximumSize)
+                .build();
+        this.invalidationTopic.subscribe((origin, key) -> {
+            if (!this.nodeId.equals(origin)) {
+                LOGGER.trace("Ticket [{}] was changed by [{}]; removing it from the cache", key, origin);
+                invalidate(key);
+            }
+        });
+    }
+
+    @Override
+    public void addTicket(final Ticket ticket) {
+        this.delegate.addTicket(ticket);
+        changed(ticket);
+    }
+
+    @Override
+    public void addTickets(final Collection<? extends Ticket> tickets) {
+        this.delegate.addTickets(tickets);
+        tickets.forEach(this::changed);
+    }
+
+    @Override
+    public void updateTicket(final Ticket ticket) {
+        this.delegate.updateTicket(ticket);
+        changed(ticket);
+    }
+
+    @Override
+    public <T extends Ticket> T getTicket(final String ticketId, final Class<T> clazz) {
+        Assert.notNull(clazz, "clazz cannot be null");
+
+        final Ticket ticket = this.getTicket(ticketId);
+        if (ticket == null) {
+            return null;
+        }
+
+        if (!clazz.isAssignableFrom(ticket.getClass())) {
+            throw new ClassCastException("Ticket [" + ticket.getId()
+                    + " is of type " + ticket.getClass()
+                    + " when we were expecting " + clazz);
+        }
+        return (T) ticket;
+    }
+
+    @Override
+    public Ticket getTicket(final String ticketId) {
+        if (ticketId == null) {
+            return null;
+        }
+        final String key = key(ticketId);
+        final Ticket cached = getCachedTicket(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        final long version = this.versions.get(slot(key));
+        final Ticket ticket = this.delegate.getTicket(ticketId);
+        cache(key, ticket, version);
+        return ticket;
+    }
+
+    @Override
+    public Collection<Ticket> getTickets(final Collection<String> ticketIds) {
+        final List<Ticket> tickets = new ArrayList<>();
+        final Map<String, Long> missing = new HashMap<>();
+        ticketIds.forEach(ticketId -> {
+            final String key = key(ticketId);
+            final Ticket cached = getCachedTicket(key);
+            if (cached != null) {
+                tickets.add(cached);
+            } else {
+                missing.put(ticketId, this.versions.get(slot(key)));
+            }
+        });
+        if (!missing.isEmpty()) {
+            this.delegate.getTickets(missing.keySet()).forEach(ticket -> {
+                cache(key(ticket.getId()), ticket, missing.get(ticket.getId()));
+                tickets.add(ticket);
+            });
+        }
+        return tickets;
+    }
+
+    @Override
+    public int deleteTicket(final String ticketId) {
+        if (ticketId == null) {
+            return 0;
+        }
+        final Ticket cached = getCachedTicket(key(ticketId));
+        if (cached instanceof TicketGrantingTicket) {
+            ((TicketGrantingTicket) cached).getProxyGrantingTickets().forEach(pgt -> changed(pgt.getId()));
+        }
+        final int count = this.delegate.deleteTicket(ticketId);
+        changed(ticketId);
+        return count;
+    }
+
+    @Override
+    public int deleteTickets(final Collection<String> ticketIds) {
+        final List<String> changedTicketIds = new ArrayList<>(ticketIds);
+        ticketIds.forEach(ticketId -> {
+            final Ticket cached = getCachedTicket(key(ticketId));
+            if (cached instanceof TicketGrantingTicket) {
+                ((TicketGrantingTicket) cached).getProxyGrantingTickets().forEach(pgt -> changedTicketIds.add(pgt.getId()));
+            }
+        });
+        final int count = this.delegate.deleteTickets(ticketIds);
+        changedTicketIds.forEach(this::changed);
+        return count;
+    }
+
+    @Override
+    public Collection<Ticket> getTickets() {
+        return this.delegate.getTickets();
+    }
+
+    @Override
+    public <T extends Ticket> Collection<T> getTickets(final Class<T> ticketType) {
+        return this.delegate.getTickets(ticketType);
+    }
+
+    @Override
+    public Stream<Ticket> stream(final TicketQuery query) {
+        return this.delegate.stream(query);
+    }
+
+    @Override
+    public long sessionCount() {
+        return this.delegate.sessionCount();
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        return this.delegate.serviceTicketCount();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.cache.invalidateAll();
+        if (this.delegate instanceof Closeable) {
+            ((Closeable) this.delegate).close();
+        }
+    }
+
+    public TicketRegistry getDelegate() {
+        return this.delegate;
+    }
+
+    private Ticket getCachedTicket(final String key) {
+        final byte[] cached = this.cache.getIfPresent(key);
+        return cached == null ? null : this.ticketSerializer.deserialize(cached);
+    }
+
+    private void cache(final String key, final Ticket ticket, final Long version) {
+        if (ticket instanceof TicketGrantingTicket && version != null) {
+            this.cache.put(key, this.ticketSerializer.serialize(ticket));
+            if (this.versions.get(slot(key)) != version) {
+                LOGGER.trace("Ticket [{}] changed while it was loaded; it will not be cached", key);
+                this.cache.invalidate(key);
+            }
+        }
+    }
+
+    private void changed(final Ticket ticket) {
+        if (ticket instanceof TicketGrantingTicket) {
+            final String key = key(ticket.getId());
+            invalidate(key);
+            this.cache.put(key, this.ticketSerializer.serialize(ticket));
+            this.invalidationTopic.publish(this.nodeId, key);
+
+            // a proxy-granting ticket is added to its parent, which is not updated on its own.
+            final TicketGrantingTicket parent = ticket.getGrantingTicket();
+            if (parent != null) {
+                changed(parent.getId());
+            }
+        }
+    }
+
+    private void changed(final String ticketId) {
+        final String key = key(ticketId);
+        invalidate(key);
+        this.invalidationTopic.publish(this.nodeId, key);
+    }
+
+    private void invalidate(final String key) {
+        this.versions.incrementAndGet(slot(key));
+        this.cache.invalidate(key);
+    }
+
+    private static String key(final String ticketId) {
+        return DigestUtils.sha512(ticketId);
+    }
+
+    private static int slot(final String key) {
+        return (key.hashCode() & Integer.MAX_VALUE) % VERSION_SLOTS;
+    }
+}
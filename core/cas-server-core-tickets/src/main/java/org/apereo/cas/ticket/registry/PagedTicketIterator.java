@@ -0,0 +1,71 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * This is {@link PagedTicketIterator} that goes through tickets a page at a time,
+ * asking for the next page only once the previous one has been consumed.
+ * An empty page marks the end.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class PagedTicketIterator implements Iterator<Ticket> {
+
+    private final Supplier<Collection<? extends Ticket>> pages;
+
+    private Iterator<? extends Ticket> page = Collections.emptyIterator();
+
+    private boolean done;
+
+    /**
+     * Instantiates a new paged ticket iterator.
+     *
+     * @param pages supplies the next page of tickets each time it is called
+     */
+    public PagedTicketIterator(final Supplier<Collection<? extends Ticket>> pages) {
+        this.pages = pages;
+    }
+
+    /**
+     * Stream over the tickets of the given pages.
+     *
+     * @param pages supplies the next page of tickets each time it is called
+     * @return the tickets
+     */
+    public static Stream<Ticket> stream(final Supplier<Collection<? extends Ticket>> pages) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new PagedTicketIterator(pages),
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!this.done && !this.page.hasNext()) {
+            final Collection<? extends Ticket> next = this.pages.get();
+            if (next == null || next.isEmpty()) {
+                this.done = true;
+            } else {
+                this.page = next.iterator();
+            }
+        }
+        return this.page.hasNext();
+    }
+
+    @Override
+    public Ticket next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return this.page.next();
+    }
+}
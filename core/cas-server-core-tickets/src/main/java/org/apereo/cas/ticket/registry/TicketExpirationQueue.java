@@ -0,0 +1,173 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.ExpirationPolicy;
+import org.apereo.cas.ticket.Ticket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This is {@link TicketExpirationQueue} that keeps ticket ids ordered by the
+ * time at which they should next be checked for expiration. The check time
+ * is derived from the ticket's {@link ExpirationPolicy} whenever a ticket is added
+ * or updated, using the shorter of its time-to-live and time-to-idle. That time is
+ * the earliest point at which the ticket could have expired since it was last touched,
+ * so the cleaner can skip over every ticket that is not yet due.
+ * Tickets that turn out not to be expired when due are simply scheduled again.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class TicketExpirationQueue {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TicketExpirationQueue.class);
+
+    private final ConcurrentSkipListSet<Entry> queue = new ConcurrentSkipListSet<>();
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final long defaultCheckDelaySeconds;
+
+    private volatile boolean attached;
+
+    /**
+     * Instantiates a new ticket expiration queue.
+     *
+     * @param defaultCheckDelaySeconds the delay after which tickets whose expiration policy
+     *                                 does not describe a time-to-live or time-to-idle are checked.
+     */
+    public TicketExpirationQueue(final long defaultCheckDelaySeconds) {
+        this.defaultCheckDelaySeconds = defaultCheckDelaySeconds;
+    }
+
+    /**
+     * Schedule the ticket for an expiration check, replacing any previous schedule.
+     *
+     * @param ticket the ticket
+     */
+    public void schedule(final Ticket ticket) {
+        final Entry entry = new Entry(ticket.getId(), getExpirationCheckTime(ticket), this.sequence.incrementAndGet());
+        this.entries.compute(ticket.getId(), (id, existing) -> {
+            if (existing != null) {
+                this.queue.remove(existing);
+            }
+            this.queue.add(entry);
+            return entry;
+        });
+    }
+
+    /**
+     * Remove the ticket from the queue.
+     *
+     * @param ticketId the ticket id
+     */
+    public void unschedule(final String ticketId) {
+        this.entries.computeIfPresent(ticketId, (id, existing) -> {
+            this.queue.remove(existing);
+            return null;
+        });
+    }
+
+    /**
+     * Remove and return the ids of tickets that are due for an expiration check,
+     * earliest first.
+     *
+     * @param maxTickets the maximum number of ticket ids to return
+     * @return the ticket ids
+     */
+    public List<String> pollDue(final int maxTickets) {
+        final long now = System.currentTimeMillis();
+        final List<String> due = new ArrayList<>();
+        final Iterator<Entry> it = this.queue.iterator();
+        while (it.hasNext() && due.size() < maxTickets) {
+            final Entry entry = it.next();
+            if (entry.checkTime > now) {
+                break;
+            }
+            this.entries.computeIfPresent(entry.ticketId, (id, current) -> {
+                if (current != entry) {
+                    return current;
+                }
+                this.queue.remove(entry);
+                due.add(id);
+                return null;
+            });
+        }
+        LOGGER.debug("Found [{}] ticket(s) due for expiration check out of [{}] scheduled", due.size(), size());
+        return due;
+    }
+
+    /**
+     * Number of tickets scheduled.
+     *
+     * @return the size
+     */
+    public int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Whether a ticket registry is feeding this queue.
+     *
+     * @return true/false
+     */
+    public boolean isAttached() {
+        return this.attached;
+    }
+
+    /**
+     * Mark this queue as being fed by a ticket registry.
+     */
+    public void attach() {
+        this.attached = true;
+    }
+
+    private long getExpirationCheckTime(final Ticket ticket) {
+        final ExpirationPolicy policy = ticket.getExpirationPolicy();
+        long delay = Long.MAX_VALUE;
+        if (policy != null) {
+            if (policy.getTimeToLive() != null && policy.getTimeToLive() > 0) {
+                delay = policy.getTimeToLive();
+            }
+            if (policy.getTimeToIdle() != null && policy.getTimeToIdle() > 0) {
+                delay = Math.min(delay, policy.getTimeToIdle());
+            }
+        }
+        if (delay == Long.MAX_VALUE) {
+            delay = this.defaultCheckDelaySeconds;
+        }
+        final long now = System.currentTimeMillis();
+        return now + Math.min(TimeUnit.SECONDS.toMillis(delay), Long.MAX_VALUE - now);
+    }
+
+    /**
+     * A scheduled expiration check. The sequence keeps entries with the same check time distinct.
+     */
+    private static class Entry implements Comparable<Entry> {
+        private final String ticketId;
+        private final long checkTime;
+        private final long sequence;
+
+        Entry(final String ticketId, final long checkTime, final long sequence) {
+            this.ticketId = ticketId;
+            this.checkTime = checkTime;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(final Entry other) {
+            final int result = Long.compare(this.checkTime, other.checkTime);
+            return result != 0 ? result : Long.compare(this.sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package org.apereo.cas.ticket.registry;
+
+import java.util.function.BiConsumer;
+
+/**
+ * This is {@link TicketRegistryInvalidationTopic} that carries notices of ticket changes
+ * between the nodes that cache tickets, so they can drop their copies.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public interface TicketRegistryInvalidationTopic {
+
+    /**
+     * Publish the notice that a ticket has changed.
+     *
+     * @param origin identifies the publisher
+     * @param key    the digest of the ticket id, never the ticket id itself
+     */
+    void publish(String origin, String key);
+
+    /**
+     * Subscribe to notices of ticket changes.
+     *
+     * @param listener receives the publisher and the digest of the ticket id
+     */
+    void subscribe(BiConsumer<String, String> listener);
+}
@@ -0,0 +1,286 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.serialization.TicketSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * This is {@link WriteBehindTicketRegistry} that holds back updates to ticket-granting tickets
+ * and writes them to the registry behind it on a fixed interval. A ticket that is updated many
+ * times within an interval, as happens when a session is used to access several applications,
+ * is written once, in its latest state. Until then, a copy of the pending ticket is what this registry returns.
+ * All other changes, and changes to any other type of ticket, are written right away.
+ * <p>
+ * Pending updates are written before a ticket is deleted, before all tickets are listed,
+ * and when the registry is destroyed. If too many updates are pending, further updates are
+ * written right away. Pending updates of tickets that have since expired are dropped.
+ * A pending update that cannot be written, for instance because the ticket was changed
+ * by another node in the meantime, is dropped so the ticket is read from the registry behind again,
+ * and the next update of that ticket fails with an {@link OptimisticLockingFailureException}
+ * so the caller may repeat its change against the latest state of the ticket.
+ * Other nodes and components that read the registry behind directly see updates only once
+ * they are written.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class WriteBehindTicketRegistry implements TicketRegistry, DisposableBean {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WriteBehindTicketRegistry.class);
+
+    private final TicketRegistry delegate;
+
+    private final TicketSerializer ticketSerializer;
+
+    private final int maxPendingUpdates;
+
+    private final Map<String, PendingUpdate> pendingUpdates = new ConcurrentHashMap<>();
+
+    private final Set<String> failedUpdates = ConcurrentHashMap.newKeySet();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        final Thread thread = new Thread(r, "TicketRegistryWriteBehind");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Instantiates a new write behind ticket registry.
+     *
+     * @param delegate          the registry that holds the tickets
+     * @param ticketSerializer  the serializer used to keep pending tickets apart from those handed out
+     * @param flushInterval     milliseconds between writes of pending updates
+     * @param maxPendingUpdates the number of pending updates beyond which updates are written right away
+     */
+    public WriteBehindTicketRegistry(final TicketRegistry delegate, final TicketSerializer ticketSerializer,
+                                     final long flushInterval, final int maxPendingUpdates) {
+        this.delegate = delegate;
+        this.ticketSerializer = ticketSerializer;
+        this.maxPendingUpdates = maxPendingUpdates;
+        this.scheduler.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void addTicket(final Ticket ticket) {
+        this.pendingUpdates.remove(ticket.getId());
+        this.failedUpdates.remove(ticket.getId());
+        this.delegate.addTicket(ticket);
+    }
+
+    @Override
+    public void addTickets(final Collection<? extends Ticket> tickets) {
+        tickets.forEach(ticket -> {
+            this.pendingUpdates.remove(ticket.getId());
+            this.failedUpdates.remove(ticket.getId());
+        });
+        this.delegate.addTickets(tickets);
+    }
+
+    @Override
+    public void updateTicket(final Ticket ticket) {
+        if (this.failedUpdates.remove(ticket.getId())) {
+            throw new OptimisticLockingFailureException("An earlier update of ticket [" + ticket.getId()
+                    + "] could not be written; the ticket must be read again before it is updated");
+        }
+        if (!(ticket instanceof TicketGrantingTicket) || this.pendingUpdates.size() >= this.maxPendingUpdates) {
+            this.delegate.updateTicket(ticket);
+            return;
+        }
+        final byte[] bytes = this.ticketSerializer.serialize(ticket);
+        final String grantingTicketId = ticket.getGrantingTicket() != null ? ticket.getGrantingTicket().getId() : null;
+        this.pendingUpdates.compute(ticket.getId(), (id, pending) -> pending == null
+                ? new PendingUpdate(bytes, grantingTicketId, 0)
+                : new PendingUpdate(bytes, grantingTicketId, pending.revision + 1));
+    }
+
+    @Override
+    public <T extends Ticket> T getTicket(final String ticketId, final Class<T> clazz) {
+        Assert.notNull(clazz, "clazz cannot be null");
+
+        final Ticket ticket = this.getTicket(ticketId);
+        if (ticket == null) {
+            return null;
+        }
+
+        if (!clazz.isAssignableFrom(ticket.getClass())) {
+            throw new ClassCastException("Ticket [" + ticket.getId()
+                    + " is of type " + ticket.getClass()
+                    + " when we were expecting " + clazz);
+        }
+        return (T) ticket;
+    }
+
+    @Override
+    public Ticket getTicket(final String ticketId) {
+        if (ticketId == null) {
+            return null;
+        }
+        final PendingUpdate pending = this.pendingUpdates.get(ticketId);
+        if (pending != null) {
+            return this.ticketSerializer.deserialize(pending.ticket);
+        }
+        return this.delegate.getTicket(ticketId);
+    }
+
+    @Override
+    public Collection<Ticket> getTickets(final Collection<String> ticketIds) {
+        final List<Ticket> tickets = new ArrayList<>();
+        final List<String> missing = new ArrayList<>();
+        ticketIds.forEach(ticketId -> {
+            final PendingUpdate pending = this.pendingUpdates.get(ticketId);
+            if (pending != null) {
+                tickets.add(this.ticketSerializer.deserialize(pending.ticket));
+            } else {
+                missing.add(ticketId);
+            }
+        });
+        if (!missing.isEmpty()) {
+            tickets.addAll(this.delegate.getTickets(missing));
+        }
+        return tickets;
+    }
+
+    @Override
+    public int deleteTicket(final String ticketId) {
+        if (ticketId == null) {
+            return 0;
+        }
+        return deleteTickets(Collections.singletonList(ticketId));
+    }
+
+    @Override
+    public int deleteTickets(final Collection<String> ticketIds) {
+        // the registry behind must know of all services of the tickets, and of their
+        // proxy-granting tickets, to delete them along with them.
+        final List<String> flushedTicketIds = this.pendingUpdates.entrySet().stream()
+                .filter(entry -> entry.getValue().grantingTicketId != null && ticketIds.contains(entry.getValue().grantingTicketId))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        flushedTicketIds.addAll(ticketIds);
+        flushedTicketIds.forEach(this::flush);
+
+        final int count = this.delegate.deleteTickets(ticketIds);
+        flushedTicketIds.forEach(this.pendingUpdates::remove);
+        ticketIds.forEach(this.failedUpdates::remove);
+        return count;
+    }
+
+    @Override
+    public Collection<Ticket> getTickets() {
+        flush();
+        return this.delegate.getTickets();
+    }
+
+    @Override
+    public <T extends Ticket> Collection<T> getTickets(final Class<T> ticketType) {
+        flush();
+        return this.delegate.getTickets(ticketType);
+    }
+
+    @Override
+    public Stream<Ticket> stream(final TicketQuery query) {
+        flush();
+        return this.delegate.stream(query);
+    }
+
+    @Override
+    public long sessionCount() {
+        return this.delegate.sessionCount();
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        return this.delegate.serviceTicketCount();
+    }
+
+    /**
+     * Write all pending updates to the registry behind.
+     */
+    public void flush() {
+        if (!this.pendingUpdates.isEmpty()) {
+            LOGGER.debug("Writing [{}] pending ticket update(s)", this.pendingUpdates.size());
+            this.pendingUpdates.keySet().forEach(this::flush);
+        }
+    }
+
+    /**
+     * Number of ticket-granting tickets with updates that have not been written yet.
+     *
+     * @return the count
+     */
+    public int getPendingUpdates() {
+        return this.pendingUpdates.size();
+    }
+
+    /**
+     * Number of tickets whose pending update could not be written, and whose next update will be refused.
+     *
+     * @return the count
+     */
+    public int getFailedUpdates() {
+        return this.failedUpdates.size();
+    }
+
+    public TicketRegistry getDelegate() {
+        return this.delegate;
+    }
+
+    @Override
+    public void destroy() {
+        this.scheduler.shutdown();
+        flush();
+    }
+
+    private void flush(final String ticketId) {
+        final PendingUpdate pending = this.pendingUpdates.get(ticketId);
+        if (pending == null) {
+            return;
+        }
+        try {
+            final Ticket ticket = this.ticketSerializer.deserialize(pending.ticket);
+            if (ticket.isExpired()) {
+                LOGGER.trace("Ticket [{}] has expired; its pending update is dropped", ticketId);
+            } else {
+                this.delegate.updateTicket(ticket);
+            }
+        } catch (final Exception e) {
+            // the ticket is read from the registry behind again, and its next update is refused.
+            LOGGER.warn("Unable to write pending update of ticket [{}]; the update is dropped: {}", ticketId, e.getMessage(), e);
+            this.failedUpdates.add(ticketId);
+        }
+        // keep the entry if the ticket was updated again while it was written
+        this.pendingUpdates.computeIfPresent(ticketId, (id, current) -> current.revision == pending.revision ? null : current);
+    }
+
+    /**
+     * The latest state of a ticket, serialized, and the number of times it was updated before.
+     */
+    private static class PendingUpdate {
+        private final byte[] ticket;
+        private final String grantingTicketId;
+        private final long revision;
+
+        PendingUpdate(final byte[] ticket, final String grantingTicketId, final long revision) {
+            this.ticket = ticket;
+            this.grantingTicketId = grantingTicketId;
+            this.revision = revision;
+        }
+    }
+}
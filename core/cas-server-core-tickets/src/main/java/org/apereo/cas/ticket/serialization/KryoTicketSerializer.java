@@ -0,0 +1,257 @@
+package org.apereo.cas.ticket.serialization;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.esotericsoftware.kryo.pool.KryoPool;
+import de.javakaffee.kryoserializers.CollectionsEmptyListSerializer;
+import de.javakaffee.kryoserializers.CollectionsEmptyMapSerializer;
+import de.javakaffee.kryoserializers.CollectionsEmptySetSerializer;
+import de.javakaffee.kryoserializers.KryoReflectionFactorySupport;
+import de.javakaffee.kryoserializers.RegexSerializer;
+import de.javakaffee.kryoserializers.URISerializer;
+import de.javakaffee.kryoserializers.UUIDSerializer;
+import de.javakaffee.kryoserializers.UnmodifiableCollectionsSerializer;
+import de.javakaffee.kryoserializers.guava.ImmutableListSerializer;
+import de.javakaffee.kryoserializers.guava.ImmutableMapSerializer;
+import de.javakaffee.kryoserializers.guava.ImmutableSetSerializer;
+import org.apereo.cas.authentication.BasicCredentialMetaData;
+import org.apereo.cas.authentication.DefaultAuthentication;
+import org.apereo.cas.authentication.DefaultHandlerResult;
+import org.apereo.cas.authentication.principal.SimplePrincipal;
+import org.apereo.cas.ticket.ProxyGrantingTicketImpl;
+import org.apereo.cas.ticket.ProxyTicketImpl;
+import org.apereo.cas.ticket.ServiceTicketImpl;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.AlwaysExpiresExpirationPolicy;
+import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.support.MultiTimeUseOrTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.apereo.cas.ticket.support.RememberMeDelegatingExpirationPolicy;
+import org.apereo.cas.ticket.support.ThrottledUseAndTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.support.TicketGrantingTicketExpirationPolicy;
+import org.apereo.cas.ticket.support.TimeoutExpirationPolicy;
+import org.apereo.cas.util.DateTimeUtils;
+import org.apereo.cas.util.serialization.SerializationUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.ClassUtils;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * This is {@link KryoTicketSerializer} that produces a compact binary form of tickets
+ * using the Kryo serialization framework. Ticket classes and the types commonly found
+ * in a ticket's graph are registered up front so that they are written as small integers
+ * rather than class names; anything else is still handled, at the cost of a few more bytes.
+ * Registrations must be identical on every node that shares tickets. Every type is therefore
+ * registered with a fixed id, and ticket types defined in other modules keep their ids reserved
+ * when they are not present, so that the ids of the others do not depend on the classpath.
+ * <p>
+ * Kryo instances are not thread-safe and are pooled. The output is prefixed by a marker byte;
+ * input without the marker is treated as java serialization, so tickets written before
+ * switching codecs can still be read.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class KryoTicketSerializer implements TicketSerializer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(KryoTicketSerializer.class);
+
+    /**
+     * Marks output of this serializer. Java serialization streams always start with {@code 0xAC}.
+     */
+    private static final byte FORMAT_MARKER = 'K';
+
+    private static final int BUFFER_SIZE = 4096;
+
+    /**
+     * Id of the first type registered here; lower ids are taken by Kryo's default registrations.
+     */
+    private static final int FIRST_REGISTRATION_ID = 10;
+
+    /**
+     * Ticket types defined outside of this module, registered if they are present.
+     * Each has its id reserved whether it is present or not.
+     */
+    private static final List<String> OPTIONAL_TICKET_CLASSES = Arrays.asList(
+            "org.apereo.cas.ticket.code.OAuthCodeImpl",
+            "org.apereo.cas.ticket.accesstoken.AccessTokenImpl",
+            "org.apereo.cas.ticket.refreshtoken.RefreshTokenImpl");
+
+    /**
+     * Id of the first type registered after the collection serializers, well clear of the ids those take.
+     */
+    private static final int LATER_REGISTRATION_ID = 100;
+
+    /**
+     * Ticket types defined outside of this module and added later, registered if they are present
+     * with ids from {@link #LATER_REGISTRATION_ID}. Each has its id reserved whether it is present or not;
+     * append new types to the end of the list.
+     */
+    private static final List<String> LATER_OPTIONAL_TICKET_CLASSES = Arrays.asList(
+            "org.apereo.cas.ticket.accesstoken.AccessTokenRevocationImpl");
+
+    private final KryoPool kryoPool = new KryoPool.Builder(this::newKryo).softReferences().build();
+
+    private final List<String> optionalTicketClasses;
+
+    private final List<String> laterOptionalTicketClasses;
+
+    /**
+     * Instantiates a new serializer.
+     */
+    public KryoTicketSerializer() {
+        this(OPTIONAL_TICKET_CLASSES, LATER_OPTIONAL_TICKET_CLASSES);
+    }
+
+    KryoTicketSerializer(final List<String> optionalTicketClasses, final List<String> laterOptionalTicketClasses) {
+        this.optionalTicketClasses = optionalTicketClasses;
+        this.laterOptionalTicketClasses = laterOptionalTicketClasses;
+    }
+
+    @Override
+    public byte[] serialize(final Ticket ticket) {
+        return this.kryoPool.run(kryo -> {
+            final Output output = new Output(BUFFER_SIZE, -1);
+            output.writeByte(FORMAT_MARKER);
+            kryo.writeClassAndObject(output, ticket);
+            return output.toBytes();
+        });
+    }
+
+    @Override
+    public Ticket deserialize(final byte[] bytes) {
+        if (bytes.length == 0 || bytes[0] != FORMAT_MARKER) {
+            LOGGER.trace("Object is not in kryo format; falling back to java serialization");
+            return SerializationUtils.deserializeAndCheckObject(bytes, Ticket.class);
+        }
+        final Object result = this.kryoPool.run(kryo -> kryo.readClassAndObject(new Input(bytes, 1, bytes.length - 1)));
+        if (!(result instanceof Ticket)) {
+            throw new ClassCastException("Decoded object is of type " + result.getClass()
+                    + " when we were expecting " + Ticket.class);
+        }
+        return (Ticket) result;
+    }
+
+    /**
+     * Creates a Kryo instance. Types take ids in the order they are registered here;
+     * register new types after the existing ones, from {@link #LATER_REGISTRATION_ID} on,
+     * so that ids do not change.
+     */
+    Kryo newKryo() {
+        final Kryo kryo = new KryoReflectionFactorySupport();
+        int id = FIRST_REGISTRATION_ID;
+        kryo.register(TicketGrantingTicketImpl.class, id++);
+        kryo.register(ServiceTicketImpl.class, id++);
+        kryo.register(ProxyGrantingTicketImpl.class, id++);
+        kryo.register(ProxyTicketImpl.class, id++);
+        for (final String name : this.optionalTicketClasses) {
+            registerIfPresent(kryo, name, id++);
+        }
+
+        kryo.register(AlwaysExpiresExpirationPolicy.class, id++);
+        kryo.register(HardTimeoutExpirationPolicy.class, id++);
+        kryo.register(MultiTimeUseOrTimeoutExpirationPolicy.class, id++);
+        kryo.register(NeverExpiresExpirationPolicy.class, id++);
+        kryo.register(RememberMeDelegatingExpirationPolicy.class, id++);
+        kryo.register(ThrottledUseAndTimeoutExpirationPolicy.class, id++);
+        kryo.register(TicketGrantingTicketExpirationPolicy.class, id++);
+        kryo.register(TimeoutExpirationPolicy.class, id++);
+
+        kryo.register(DefaultAuthentication.class, id++);
+        kryo.register(BasicCredentialMetaData.class, id++);
+        kryo.register(DefaultHandlerResult.class, id++);
+        kryo.register(SimplePrincipal.class, id++);
+
+        kryo.register(ArrayList.class, id++);
+        kryo.register(HashMap.class, id++);
+        kryo.register(LinkedHashMap.class, id++);
+        kryo.register(HashSet.class, id++);
+        kryo.register(LinkedHashSet.class, id++);
+        kryo.register(ZonedDateTime.class, new ZonedDateTimeSerializer(), id++);
+        kryo.register(URL.class, new URLSerializer(), id++);
+        kryo.register(URI.class, new URISerializer(), id++);
+        kryo.register(Pattern.class, new RegexSerializer(), id++);
+        kryo.register(UUID.class, new UUIDSerializer(), id++);
+        kryo.register(Collections.EMPTY_LIST.getClass(), new CollectionsEmptyListSerializer(), id++);
+        kryo.register(Collections.EMPTY_MAP.getClass(), new CollectionsEmptyMapSerializer(), id++);
+        kryo.register(Collections.EMPTY_SET.getClass(), new CollectionsEmptySetSerializer(), id++);
+
+        id = LATER_REGISTRATION_ID;
+        for (final String name : this.laterOptionalTicketClasses) {
+            registerIfPresent(kryo, name, id++);
+        }
+
+        // these take the next free ids, which only depend on the fixed registrations above
+        UnmodifiableCollectionsSerializer.registerSerializers(kryo);
+        ImmutableListSerializer.registerSerializers(kryo);
+        ImmutableSetSerializer.registerSerializers(kryo);
+        ImmutableMapSerializer.registerSerializers(kryo);
+
+        // tickets refer back to their parents, and parents to their proxy-granting tickets
+        kryo.setReferences(true);
+        kryo.setRegistrationRequired(false);
+        return kryo;
+    }
+
+    private void registerIfPresent(final Kryo kryo, final String name, final int id) {
+        if (ClassUtils.isPresent(name, getClass().getClassLoader())) {
+            kryo.register(ClassUtils.resolveClassName(name, getClass().getClassLoader()), id);
+        } else {
+            LOGGER.trace("Type [{}] is not present; its registration id [{}] is left unused", name, id);
+        }
+    }
+
+    /**
+     * Writes a date/time as epoch millis plus its zone id.
+     */
+    private static class ZonedDateTimeSerializer extends Serializer<ZonedDateTime> {
+        @Override
+        public void write(final Kryo kryo, final Output output, final ZonedDateTime dateTime) {
+            output.writeLong(dateTime.toInstant().toEpochMilli());
+            output.writeString(dateTime.getZone().getId());
+        }
+
+        @Override
+        public ZonedDateTime read(final Kryo kryo, final Input input, final Class<ZonedDateTime> type) {
+            final long time = input.readLong();
+            return DateTimeUtils.zonedDateTimeOf(time, ZoneId.of(input.readString()));
+        }
+    }
+
+    /**
+     * Writes a url in its external form.
+     */
+    private static class URLSerializer extends Serializer<URL> {
+        @Override
+        public void write(final Kryo kryo, final Output output, final URL url) {
+            output.writeString(url.toExternalForm());
+        }
+
+        @Override
+        public URL read(final Kryo kryo, final Input input, final Class<URL> type) {
+            try {
+                return new URL(input.readString());
+            } catch (final MalformedURLException e) {
+                throw new IllegalArgumentException(e);
+            }
+        }
+    }
+}
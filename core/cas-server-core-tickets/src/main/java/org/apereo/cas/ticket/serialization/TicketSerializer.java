@@ -0,0 +1,29 @@
+package org.apereo.cas.ticket.serialization;
+
+import org.apereo.cas.ticket.Ticket;
+
+/**
+ * This is {@link TicketSerializer} that turns tickets into bytes and back,
+ * for ticket registries that store tickets in encoded form.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public interface TicketSerializer {
+
+    /**
+     * Serialize ticket.
+     *
+     * @param ticket the ticket
+     * @return the bytes
+     */
+    byte[] serialize(Ticket ticket);
+
+    /**
+     * Deserialize ticket.
+     *
+     * @param bytes the bytes
+     * @return the ticket
+     */
+    Ticket deserialize(byte[] bytes);
+}
@@ -0,0 +1,6 @@
+/**
+ * <p>This package includes the serializers that ticket registries use to
+ * store tickets in encoded form.</p>
+ * @since 5.0.0
+ */
+package org.apereo.cas.ticket.serialization;
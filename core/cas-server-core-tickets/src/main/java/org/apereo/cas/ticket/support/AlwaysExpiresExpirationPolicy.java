@@ -2,6 +2,8 @@ package org.apereo.cas.ticket.support;
 
 import org.apereo.cas.ticket.TicketState;
 
+import java.time.ZonedDateTime;
+
 /**
  * AlwaysExpiresExpirationPolicy always answers true when asked if a Ticket is
  * expired.
@@ -24,6 +26,11 @@ public class AlwaysExpiresExpirationPolicy extends AbstractCasExpirationPolicy {
         return true;
     }
 
+    @Override
+    public ZonedDateTime getExpirationTime(final TicketState ticketState) {
+        return ticketState.getCreationTime();
+    }
+
     @Override
     public Long getTimeToLive() {
         return 0L;
@@ -7,6 +7,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.PostConstruct;
+import java.time.ZonedDateTime;
 
 /**
  * Delegates to different expiration policies depending on whether remember me
@@ -65,6 +66,19 @@ public class RememberMeDelegatingExpirationPolicy extends AbstractCasExpirationP
         return false;
     }
 
+    @Override
+    public ZonedDateTime getExpirationTime(final TicketState ticketState) {
+        if (this.rememberMeExpirationPolicy != null && this.sessionExpirationPolicy != null) {
+            final Boolean b = (Boolean) ticketState.getAuthentication().getAttributes().
+                    get(RememberMeCredential.AUTHENTICATION_ATTRIBUTE_REMEMBER_ME);
+            if (b == null || b.equals(Boolean.FALSE)) {
+                return this.sessionExpirationPolicy.getExpirationTime(ticketState);
+            }
+            return this.rememberMeExpirationPolicy.getExpirationTime(ticketState);
+        }
+        return null;
+    }
+
     @Override
     public Long getTimeToLive() {
         if (this.rememberMeExpirationPolicy != null) {
@@ -79,6 +79,13 @@ public class TicketGrantingTicketExpirationPolicy extends AbstractCasExpirationP
         return false;
     }
 
+    @Override
+    public ZonedDateTime getExpirationTime(final TicketState ticketState) {
+        final ZonedDateTime hardExpirationTime = ticketState.getCreationTime().plus(this.maxTimeToLiveInSeconds, ChronoUnit.SECONDS);
+        final ZonedDateTime idleExpirationTime = ticketState.getLastTimeUsed().plus(this.timeToKillInSeconds, ChronoUnit.SECONDS);
+        return hardExpirationTime.isBefore(idleExpirationTime) ? hardExpirationTime : idleExpirationTime;
+    }
+
     @Override
     public Long getTimeToLive() {
         return this.maxTimeToLiveInSeconds;
@@ -50,6 +50,11 @@ public class TimeoutExpirationPolicy extends AbstractCasExpirationPolicy {
         return now.isAfter(expirationTime);
     }
 
+    @Override
+    public ZonedDateTime getExpirationTime(final TicketState ticketState) {
+        return ticketState.getLastTimeUsed().plus(this.timeToKillInSeconds, ChronoUnit.SECONDS);
+    }
+
     @Override
     public Long getTimeToLive() {
         return new Long(Integer.MAX_VALUE);
@@ -8,6 +8,11 @@ import org.apereo.cas.ticket.proxy.support.Cas10ProxyHandlerTests;
 import org.apereo.cas.ticket.proxy.support.Cas20ProxyHandlerTests;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistryTests;
 import org.apereo.cas.ticket.registry.DistributedTicketRegistryTests;
+import org.apereo.cas.ticket.registry.ExpiredTicketQueueTests;
+import org.apereo.cas.ticket.registry.NearCacheTicketRegistryTests;
+import org.apereo.cas.ticket.registry.TicketExpirationQueueTests;
+import org.apereo.cas.ticket.registry.WriteBehindTicketRegistryTests;
+import org.apereo.cas.ticket.serialization.KryoTicketSerializerTests;
 import org.apereo.cas.ticket.support.MultiTimeUseOrTimeoutExpirationPolicyTests;
 import org.apereo.cas.ticket.support.RememberMeDelegatingExpirationPolicyTests;
 import org.apereo.cas.ticket.support.ThrottledUseAndTimeoutExpirationPolicyTests;
@@ -29,6 +34,8 @@ import org.junit.runners.Suite;
         ThrottledUseAndTimeoutExpirationPolicyTests.class, TicketGrantingTicketExpirationPolicyTests.class,
         TimeoutExpirationPolicyTests.class, DefaultTicketRegistryTests.class,
         DistributedTicketRegistryTests.class, Cas10ProxyHandlerTests.class,
-        Cas20ProxyHandlerTests.class})
+        Cas20ProxyHandlerTests.class, TicketExpirationQueueTests.class,
+        KryoTicketSerializerTests.class, NearCacheTicketRegistryTests.class,
+        WriteBehindTicketRegistryTests.class, ExpiredTicketQueueTests.class})
 public class AllTestsSuite {
 }
@@ -6,13 +6,17 @@ import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.AlwaysExpiresExpirationPolicy;
 import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
 
 import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.*;
 
@@ -239,4 +243,43 @@ public abstract class AbstractTicketRegistryTests {
         }
     }
 
+    @Test
+    public void verifyBulkOperations() {
+        final TicketGrantingTicket tgt1 = new TicketGrantingTicketImpl("TGT-BULK-1",
+                TestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        final TicketGrantingTicket tgt2 = new TicketGrantingTicketImpl("TGT-BULK-2",
+                TestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        this.ticketRegistry.addTickets(Arrays.asList(tgt1, tgt2));
+
+        final Service service = org.apereo.cas.services.TestUtils.getService("BULK_TEST");
+        final List<Ticket> serviceTickets = new ArrayList<>();
+        for (int i = 0; i < TICKETS_IN_REGISTRY; i++) {
+            serviceTickets.add(tgt1.grantServiceTicket("ST-BULK-" + i, service, new NeverExpiresExpirationPolicy(), false, false));
+        }
+        this.ticketRegistry.addTickets(serviceTickets);
+        this.ticketRegistry.updateTicket(tgt1);
+
+        assertEquals(2, this.ticketRegistry.getTickets(Arrays.asList("TGT-BULK-1", "TGT-BULK-2", "TGT-UNKNOWN")).size());
+        assertEquals(TICKETS_IN_REGISTRY + 2, this.ticketRegistry.deleteTickets(Arrays.asList("TGT-BULK-1", "TGT-BULK-2")));
+        assertTrue(this.ticketRegistry.getTickets(Arrays.asList("TGT-BULK-1", "TGT-BULK-2", "ST-BULK-0")).isEmpty());
+    }
+
+    @Test
+    public void verifyStreamByQuery() {
+        final TicketGrantingTicket tgt = new TicketGrantingTicketImpl("TGT-STREAM-1",
+                TestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        this.ticketRegistry.addTicket(tgt);
+        this.ticketRegistry.addTicket(new TicketGrantingTicketImpl("TGT-STREAM-2",
+                TestUtils.getAuthentication(), new AlwaysExpiresExpirationPolicy()));
+        this.ticketRegistry.addTicket(tgt.grantServiceTicket("ST-STREAM-1", org.apereo.cas.services.TestUtils.getService(),
+                new NeverExpiresExpirationPolicy(), false, false));
+        this.ticketRegistry.updateTicket(tgt);
+
+        assertEquals(3, this.ticketRegistry.stream(TicketQuery.all().pageSize(1)).count());
+        assertEquals(1, this.ticketRegistry.stream(TicketQuery.ofType(ServiceTicket.class)).count());
+        final List<String> expired = this.ticketRegistry.stream(TicketQuery.ofType(TicketGrantingTicket.class).expired())
+                .map(Ticket::getId)
+                .collect(Collectors.toList());
+        assertEquals(Arrays.asList("TGT-STREAM-2"), expired);
+    }
 }
@@ -1,8 +1,14 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.authentication.TestUtils;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
 import org.junit.Test;
 
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
 
 /**
  * Test case to test the DefaultTicketRegistry based on test cases to test all
@@ -22,4 +28,49 @@ public class DefaultTicketRegistryTests extends AbstractTicketRegistryTests {
     public void verifyOtherConstructor() {
         assertNotNull(new DefaultTicketRegistry(10, 10F, 5));
     }
+
+    @Test
+    public void verifyTicketCountsByType() {
+        final DefaultTicketRegistry registry = new DefaultTicketRegistry();
+        final TicketGrantingTicket tgt = new TicketGrantingTicketImpl("TGT-COUNT",
+                TestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        registry.addTicket(tgt);
+        final ServiceTicket st1 = tgt.grantServiceTicket("ST-COUNT-1", org.apereo.cas.services.TestUtils.getService(),
+                new NeverExpiresExpirationPolicy(), false, true);
+        final ServiceTicket st2 = tgt.grantServiceTicket("ST-COUNT-2", org.apereo.cas.services.TestUtils.getService(),
+                new NeverExpiresExpirationPolicy(), false, true);
+        registry.addTicket(st1);
+        registry.addTicket(st2);
+        registry.updateTicket(tgt);
+
+        assertEquals(1, registry.sessionCount());
+        assertEquals(2, registry.serviceTicketCount());
+        assertEquals(1, registry.getTickets(TicketGrantingTicket.class).size());
+        assertEquals(2, registry.getTickets(ServiceTicket.class).size());
+
+        registry.deleteSingleTicket(st1.getId());
+        assertEquals(1, registry.serviceTicketCount());
+
+        assertEquals(2, registry.deleteTicket(tgt.getId()));
+        assertEquals(0, registry.sessionCount());
+        assertEquals(0, registry.serviceTicketCount());
+        assertTrue(registry.getTickets().isEmpty());
+    }
+
+    @Test
+    public void verifyTicketAndChildrenAreDeletedTogether() {
+        final DefaultTicketRegistry registry = spy(new DefaultTicketRegistry());
+        final TicketGrantingTicket tgt = new TicketGrantingTicketImpl("TGT-CHILDREN",
+                TestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        registry.addTicket(tgt);
+        for (int i = 0; i < 50; i++) {
+            registry.addTicket(tgt.grantServiceTicket("ST-CHILDREN-" + i, org.apereo.cas.services.TestUtils.getService(),
+                    new NeverExpiresExpirationPolicy(), false, false));
+        }
+        registry.updateTicket(tgt);
+
+        assertEquals(51, registry.deleteTicket(tgt.getId()));
+        verify(registry, times(1)).deleteSingleTickets(anyCollection());
+        assertEquals(0, registry.serviceTicketCount());
+    }
 }
@@ -0,0 +1,103 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.TestUtils;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.AlwaysExpiresExpirationPolicy;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link ExpiredTicketQueueTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class ExpiredTicketQueueTests {
+
+    private final ExpiredTicketQueue queue = new ExpiredTicketQueue(2);
+
+    @Test
+    public void verifyOnlyTicketGrantingTicketsAreQueued() {
+        final TicketGrantingTicket tgt = newTicket("TGT-1");
+        assertTrue(this.queue.offer(tgt));
+        assertFalse(this.queue.offer(tgt.grantServiceTicket("ST-1", TestUtils.getService(),
+                new AlwaysExpiresExpirationPolicy(), false, true)));
+        assertEquals(1, this.queue.size());
+    }
+
+    @Test
+    public void verifyQueueIsBounded() {
+        assertTrue(this.queue.offer(newTicket("TGT-1")));
+        assertTrue(this.queue.offer(newTicket("TGT-2")));
+        assertFalse(this.queue.offer(newTicket("TGT-3")));
+        assertEquals(1, this.queue.getDroppedCount());
+
+        assertEquals(1, this.queue.drain(1).size());
+        assertEquals(1, this.queue.drain(10).size());
+        assertEquals(0, this.queue.size());
+    }
+
+    @Test
+    public void verifyCleanerDrainsQueueOnceAttached() {
+        final DefaultTicketRegistry registry = new DefaultTicketRegistry();
+        registry.addTicket(newTicket("TGT-1"));
+
+        final ExpiryEventTicketRegistryCleaner cleaner = new ExpiryEventTicketRegistryCleaner(this.queue, 100, 0);
+        cleaner.setTicketRegistry(registry);
+        assertEquals(1, cleaner.getExpiredTickets().count());
+
+        final AtomicInteger expired = new AtomicInteger();
+        this.queue.attach(() -> this.queue.offer(newTicket("TGT-" + expired.incrementAndGet())));
+        assertEquals(1, cleaner.getExpiredTickets().count());
+        assertEquals(1, expired.get());
+        assertEquals(0, this.queue.size());
+    }
+
+    @Test
+    public void verifyCleanerScansForTicketsExpiredByTheirPolicy() {
+        final DefaultTicketRegistry registry = new DefaultTicketRegistry();
+        registry.addTicket(newTicket("TGT-1"));
+        registry.addTicket(new TicketGrantingTicketImpl("TGT-2", TestUtils.getAuthentication(), new NeverExpiresExpirationPolicy()));
+        this.queue.attach();
+        this.queue.offer(newTicket("TGT-3"));
+
+        final ExpiryEventTicketRegistryCleaner cleaner = new ExpiryEventTicketRegistryCleaner(this.queue, 100, 1);
+        cleaner.setTicketRegistry(registry);
+        sleep(5);
+        final Set<String> expired = cleaner.getExpiredTickets().map(Ticket::getId).collect(Collectors.toSet());
+        assertEquals(new HashSet<>(Arrays.asList("TGT-1", "TGT-3")), expired);
+    }
+
+    @Test
+    public void verifyCleanerDoesNotScanBeforeTheInterval() {
+        final DefaultTicketRegistry registry = new DefaultTicketRegistry();
+        registry.addTicket(newTicket("TGT-1"));
+        this.queue.attach();
+
+        final ExpiryEventTicketRegistryCleaner cleaner = new ExpiryEventTicketRegistryCleaner(this.queue, 100, 60_000);
+        cleaner.setTicketRegistry(registry);
+        assertEquals(0, cleaner.getExpiredTickets().count());
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static TicketGrantingTicket newTicket(final String id) {
+        return new TicketGrantingTicketImpl(id, TestUtils.getAuthentication(), new AlwaysExpiresExpirationPolicy());
+    }
+}
@@ -0,0 +1,90 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.TestUtils;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.serialization.JavaTicketSerializer;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link NearCacheTicketRegistryTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class NearCacheTicketRegistryTests {
+
+    private final TicketRegistry sharedRegistry = spy(new DefaultTicketRegistry());
+
+    private final TicketRegistryInvalidationTopic topic = new DefaultTicketRegistryInvalidationTopic();
+
+    @Test
+    public void verifyTicketIsServedFromCache() {
+        final NearCacheTicketRegistry registry = new NearCacheTicketRegistry(this.sharedRegistry, this.topic, new JavaTicketSerializer(), 60, 100);
+        this.sharedRegistry.addTicket(newTicket("TGT-1"));
+
+        assertNotNull(registry.getTicket("TGT-1", TicketGrantingTicket.class));
+        assertNotNull(registry.getTicket("TGT-1"));
+        verify(this.sharedRegistry, times(1)).getTicket("TGT-1");
+    }
+
+    @Test
+    public void verifyChangesInvalidateOtherNodes() {
+        final NearCacheTicketRegistry node1 = new NearCacheTicketRegistry(this.sharedRegistry, this.topic, new JavaTicketSerializer(), 60, 100);
+        final NearCacheTicketRegistry node2 = new NearCacheTicketRegistry(this.sharedRegistry, this.topic, new JavaTicketSerializer(), 60, 100);
+        final TicketGrantingTicket original = newTicket("TGT-1");
+        node1.addTicket(original);
+        assertTrue(node2.getTicket("TGT-1", TicketGrantingTicket.class).getServices().isEmpty());
+
+        final TicketGrantingTicket updated = newTicket("TGT-1");
+        updated.grantServiceTicket("ST-1", org.apereo.cas.services.TestUtils.getService(), new NeverExpiresExpirationPolicy(), false, true);
+        node1.updateTicket(updated);
+        assertEquals(1, node2.getTicket("TGT-1", TicketGrantingTicket.class).getServices().size());
+        assertEquals(1, node1.getTicket("TGT-1", TicketGrantingTicket.class).getServices().size());
+
+        assertEquals(1, node2.deleteTicket("TGT-1"));
+        assertNull(node1.getTicket("TGT-1"));
+        assertNull(node2.getTicket("TGT-1"));
+    }
+
+    @Test
+    public void verifyEveryLookupGetsItsOwnCopy() {
+        final NearCacheTicketRegistry registry = new NearCacheTicketRegistry(this.sharedRegistry, this.topic, new JavaTicketSerializer(), 60, 100);
+        registry.addTicket(newTicket("TGT-1"));
+
+        final TicketGrantingTicket first = registry.getTicket("TGT-1", TicketGrantingTicket.class);
+        final TicketGrantingTicket second = registry.getTicket("TGT-1", TicketGrantingTicket.class);
+        assertNotSame(first, second);
+        first.grantServiceTicket("ST-1", org.apereo.cas.services.TestUtils.getService(), new NeverExpiresExpirationPolicy(), false, true);
+        assertTrue(second.getServices().isEmpty());
+        assertTrue(registry.getTicket("TGT-1", TicketGrantingTicket.class).getServices().isEmpty());
+    }
+
+    @Test
+    public void verifyTicketIdsAreNotPublished() {
+        final List<String> published = new ArrayList<>();
+        final TicketRegistryInvalidationTopic recording = new DefaultTicketRegistryInvalidationTopic() {
+            @Override
+            public void publish(final String origin, final String key) {
+                published.add(key);
+                super.publish(origin, key);
+            }
+        };
+        final NearCacheTicketRegistry registry = new NearCacheTicketRegistry(this.sharedRegistry, recording, new JavaTicketSerializer(), 60, 100);
+        registry.addTicket(newTicket("TGT-1"));
+        registry.deleteTicket("TGT-1");
+        assertFalse(published.isEmpty());
+        published.forEach(key -> assertFalse(key.contains("TGT-1")));
+    }
+
+    private static TicketGrantingTicket newTicket(final String id) {
+        return new TicketGrantingTicketImpl(id, TestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+    }
+}
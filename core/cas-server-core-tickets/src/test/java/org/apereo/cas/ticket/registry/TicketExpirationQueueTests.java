@@ -0,0 +1,68 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.TestUtils;
+import org.apereo.cas.ticket.ExpirationPolicy;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.AlwaysExpiresExpirationPolicy;
+import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link TicketExpirationQueueTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class TicketExpirationQueueTests {
+
+    private final TicketExpirationQueue queue = new TicketExpirationQueue(0);
+
+    @Test
+    public void verifyOnlyDueTicketsArePolled() {
+        this.queue.schedule(newTicket("TGT-1", new AlwaysExpiresExpirationPolicy()));
+        this.queue.schedule(newTicket("TGT-2", new HardTimeoutExpirationPolicy(1000)));
+        this.queue.schedule(newTicket("TGT-3", new AlwaysExpiresExpirationPolicy()));
+        assertEquals(3, this.queue.size());
+
+        final List<String> due = this.queue.pollDue(10);
+        assertEquals(2, due.size());
+        assertTrue(due.contains("TGT-1"));
+        assertTrue(due.contains("TGT-3"));
+        assertEquals(1, this.queue.size());
+        assertTrue(this.queue.pollDue(10).isEmpty());
+    }
+
+    @Test
+    public void verifyBatchSizeAndReschedule() {
+        this.queue.schedule(newTicket("TGT-1", new AlwaysExpiresExpirationPolicy()));
+        this.queue.schedule(newTicket("TGT-2", new AlwaysExpiresExpirationPolicy()));
+        this.queue.schedule(newTicket("TGT-2", new HardTimeoutExpirationPolicy(1000)));
+        this.queue.unschedule("TGT-1");
+        assertTrue(this.queue.pollDue(1).isEmpty());
+        assertEquals(1, this.queue.size());
+    }
+
+    @Test
+    public void verifyIncrementalCleanerWithRegistry() {
+        final DefaultTicketRegistry registry = new DefaultTicketRegistry();
+        registry.setExpirationQueue(this.queue);
+        registry.addTicket(newTicket("TGT-1", new AlwaysExpiresExpirationPolicy()));
+        registry.addTicket(newTicket("TGT-2", new HardTimeoutExpirationPolicy(1000)));
+
+        final IncrementalTicketRegistryCleaner cleaner = new IncrementalTicketRegistryCleaner(this.queue, 100);
+        cleaner.setTicketRegistry(registry);
+        assertEquals(1, cleaner.getExpiredTickets().count());
+
+        registry.deleteTicket("TGT-1");
+        assertEquals(1, this.queue.size());
+    }
+
+    private static TicketGrantingTicket newTicket(final String id, final ExpirationPolicy policy) {
+        return new TicketGrantingTicketImpl(id, TestUtils.getAuthentication(), policy);
+    }
+}
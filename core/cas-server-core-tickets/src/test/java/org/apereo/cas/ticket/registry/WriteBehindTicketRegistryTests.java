@@ -0,0 +1,115 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.TestUtils;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.serialization.JavaTicketSerializer;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link WriteBehindTicketRegistryTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class WriteBehindTicketRegistryTests {
+
+    private final TicketRegistry sharedRegistry = spy(new DefaultTicketRegistry());
+
+    private final WriteBehindTicketRegistry registry = new WriteBehindTicketRegistry(this.sharedRegistry, new JavaTicketSerializer(), 60_000, 100);
+
+    @After
+    public void tearDown() {
+        this.registry.destroy();
+    }
+
+    @Test
+    public void verifyUpdatesAreCoalesced() {
+        final TicketGrantingTicket ticket = newTicket("TGT-1");
+        this.registry.addTicket(ticket);
+        this.registry.updateTicket(ticket);
+        this.registry.updateTicket(ticket);
+        this.registry.updateTicket(ticket);
+        verify(this.sharedRegistry, never()).updateTicket(any(Ticket.class));
+        assertEquals(1, this.registry.getPendingUpdates());
+        assertEquals(ticket, this.registry.getTicket("TGT-1", TicketGrantingTicket.class));
+
+        this.registry.flush();
+        verify(this.sharedRegistry, times(1)).updateTicket(ticket);
+        assertEquals(0, this.registry.getPendingUpdates());
+    }
+
+    @Test
+    public void verifyEveryLookupGetsItsOwnCopy() {
+        final TicketGrantingTicket ticket = newTicket("TGT-1");
+        this.registry.addTicket(ticket);
+        this.registry.updateTicket(ticket);
+
+        final TicketGrantingTicket first = this.registry.getTicket("TGT-1", TicketGrantingTicket.class);
+        final TicketGrantingTicket second = this.registry.getTicket("TGT-1", TicketGrantingTicket.class);
+        assertNotSame(ticket, first);
+        assertNotSame(first, second);
+
+        first.markTicketExpired();
+        assertFalse(this.registry.getTicket("TGT-1").isExpired());
+    }
+
+    @Test
+    public void verifyFailedUpdateIsDroppedAndRefusedOnce() {
+        final TicketGrantingTicket ticket = newTicket("TGT-1");
+        this.registry.addTicket(ticket);
+        this.registry.updateTicket(ticket);
+        doThrow(new OptimisticLockingFailureException("changed elsewhere")).when(this.sharedRegistry).updateTicket(any(Ticket.class));
+
+        this.registry.flush();
+        assertEquals(0, this.registry.getPendingUpdates());
+        assertEquals(1, this.registry.getFailedUpdates());
+        this.registry.getTicket("TGT-1");
+        verify(this.sharedRegistry).getTicket("TGT-1");
+
+        try {
+            this.registry.updateTicket(ticket);
+            fail("The update of a ticket whose pending update was dropped should be refused");
+        } catch (final OptimisticLockingFailureException e) {
+            assertEquals(0, this.registry.getFailedUpdates());
+        }
+        this.registry.updateTicket(ticket);
+        assertEquals(1, this.registry.getPendingUpdates());
+    }
+
+    @Test
+    public void verifyPendingUpdateIsWrittenBeforeDelete() {
+        final TicketGrantingTicket ticket = newTicket("TGT-1");
+        this.registry.addTicket(ticket);
+        this.registry.updateTicket(ticket);
+
+        assertEquals(1, this.registry.deleteTicket("TGT-1"));
+        verify(this.sharedRegistry, times(1)).updateTicket(ticket);
+        assertEquals(0, this.registry.getPendingUpdates());
+        assertNull(this.registry.getTicket("TGT-1"));
+    }
+
+    @Test
+    public void verifyUpdatesAreWrittenWhenTooManyArePending() {
+        final WriteBehindTicketRegistry small = new WriteBehindTicketRegistry(this.sharedRegistry, new JavaTicketSerializer(), 60_000, 1);
+        final TicketGrantingTicket ticket1 = newTicket("TGT-1");
+        final TicketGrantingTicket ticket2 = newTicket("TGT-2");
+        small.updateTicket(ticket1);
+        small.updateTicket(ticket2);
+        verify(this.sharedRegistry, times(1)).updateTicket(any(Ticket.class));
+        verify(this.sharedRegistry, times(1)).updateTicket(ticket2);
+        small.destroy();
+        verify(this.sharedRegistry, times(1)).updateTicket(ticket1);
+    }
+
+    private static TicketGrantingTicket newTicket(final String id) {
+        return new TicketGrantingTicketImpl(id, TestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+    }
+}
@@ -0,0 +1,115 @@
+package org.apereo.cas.ticket.serialization;
+
+import com.esotericsoftware.kryo.Kryo;
+import org.apereo.cas.authentication.TestUtils;
+import org.apereo.cas.mock.MockService;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.apereo.cas.ticket.support.TimeoutExpirationPolicy;
+import org.junit.Test;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link KryoTicketSerializerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class KryoTicketSerializerTests {
+
+    private static final List<String> PRESENT_TICKET_CLASSES = Arrays.asList(
+            OptionalTicket.class.getName(), "org.apereo.cas.ticket.AbsentTicket", OtherOptionalTicket.class.getName());
+
+    private static final List<String> PRESENT_LATER_TICKET_CLASSES = Collections.singletonList(LaterOptionalTicket.class.getName());
+
+    private final KryoTicketSerializer serializer = new KryoTicketSerializer();
+
+    @Test
+    public void verifyTicketGrantingTicket() {
+        final TicketGrantingTicketImpl tgt = new TicketGrantingTicketImpl("TGT-1", TestUtils.getAuthentication(),
+                new NeverExpiresExpirationPolicy());
+        tgt.grantServiceTicket("ST-1", new MockService("https://www.example.org"), new NeverExpiresExpirationPolicy(), false, true);
+
+        final byte[] bytes = this.serializer.serialize(tgt);
+        final TicketGrantingTicket result = (TicketGrantingTicket) this.serializer.deserialize(bytes);
+        assertEquals(tgt, result);
+        assertEquals(tgt.getAuthentication().getPrincipal(), result.getAuthentication().getPrincipal());
+        assertEquals(tgt.getServices().keySet(), result.getServices().keySet());
+        assertEquals(tgt.getCreationTime().toInstant().toEpochMilli(), result.getCreationTime().toInstant().toEpochMilli());
+        assertTrue(bytes.length < new JavaTicketSerializer().serialize(tgt).length);
+    }
+
+    @Test
+    public void verifyServiceTicketWithParent() {
+        final TicketGrantingTicketImpl tgt = new TicketGrantingTicketImpl("TGT-1", TestUtils.getAuthentication(),
+                new NeverExpiresExpirationPolicy());
+        final ServiceTicket st = tgt.grantServiceTicket("ST-1", new MockService("https://www.example.org"),
+                new TimeoutExpirationPolicy(100), false, true);
+
+        final ServiceTicket result = (ServiceTicket) this.serializer.deserialize(this.serializer.serialize(st));
+        assertEquals(st, result);
+        assertEquals(tgt, result.getGrantingTicket());
+        assertEquals(st.getService(), result.getService());
+    }
+
+    @Test
+    public void verifyFallbackToJavaSerialization() {
+        final Ticket tgt = new TicketGrantingTicketImpl("TGT-1", TestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        final Ticket result = this.serializer.deserialize(new JavaTicketSerializer().serialize(tgt));
+        assertEquals(tgt, result);
+    }
+
+    @Test
+    public void verifyRegistrationIdsDoNotDependOnOptionalTickets() {
+        final Kryo absent = this.serializer.newKryo();
+        final Kryo present = new KryoTicketSerializer(PRESENT_TICKET_CLASSES, PRESENT_LATER_TICKET_CLASSES).newKryo();
+
+        assertEquals(14, present.getRegistration(OptionalTicket.class).getId());
+        assertEquals(16, present.getRegistration(OtherOptionalTicket.class).getId());
+        assertNull(absent.getClassResolver().getRegistration(OptionalTicket.class));
+        assertNull(absent.getRegistration(14));
+        assertNull(present.getRegistration(15));
+        assertEquals(100, present.getRegistration(LaterOptionalTicket.class).getId());
+        assertNull(absent.getRegistration(100));
+
+        Arrays.<Class<?>>asList(TicketGrantingTicketImpl.class, NeverExpiresExpirationPolicy.class, TimeoutExpirationPolicy.class,
+                HashMap.class, ZonedDateTime.class, Collections.emptyList().getClass(),
+                Collections.unmodifiableList(new ArrayList<>()).getClass())
+                .forEach(type -> assertEquals(type.getName(),
+                        absent.getRegistration(type).getId(), present.getRegistration(type).getId()));
+        assertEquals(absent.getNextRegistrationId(), present.getNextRegistrationId());
+    }
+
+    @Test
+    public void verifyTicketsAreReadWhetherOptionalTicketsArePresentOrNot() {
+        final KryoTicketSerializer present = new KryoTicketSerializer(PRESENT_TICKET_CLASSES, PRESENT_LATER_TICKET_CLASSES);
+        final TicketGrantingTicketImpl tgt = new TicketGrantingTicketImpl("TGT-1", TestUtils.getAuthentication(),
+                new NeverExpiresExpirationPolicy());
+        tgt.grantServiceTicket("ST-1", new MockService("https://www.example.org"), new NeverExpiresExpirationPolicy(), false, true);
+
+        final byte[] bytes = this.serializer.serialize(tgt);
+        assertArrayEquals(bytes, present.serialize(tgt));
+        assertEquals(tgt, present.deserialize(bytes));
+        assertEquals(tgt, this.serializer.deserialize(present.serialize(tgt)));
+    }
+
+    private static class OptionalTicket {
+    }
+
+    private static class OtherOptionalTicket {
+    }
+
+    private static class LaterOptionalTicket {
+    }
+}
@@ -1,6 +1,7 @@
 package org.apereo.cas.web.flow;
 
 import com.google.common.collect.ImmutableMap;
+import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.authentication.AuthenticationException;
 import org.apereo.cas.authentication.adaptive.AdaptiveAuthenticationPolicy;
 import org.apereo.cas.authentication.adaptive.UnauthorizedAuthenticationException;
@@ -16,6 +17,10 @@ import org.springframework.webflow.execution.RequestContext;
 
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * This is {@link AbstractAuthenticationAction}.
@@ -38,18 +43,14 @@ public abstract class AbstractAuthenticationAction extends AbstractAction {
         final String agent = WebUtils.getHttpServletRequestUserAgent();
         final GeoLocationRequest geoLocation = WebUtils.getHttpServletRequestGeoLocation();
 
-        if (!adaptiveAuthenticationPolicy.apply(agent, geoLocation)) {
-            final String msg = "Adaptive authentication policy does not allow this request for " + agent + " and " + geoLocation;
-            final Map map = ImmutableMap.of(
-                    UnauthorizedAuthenticationException.class.getSimpleName(),
-                    UnauthorizedAuthenticationException.class);
-            final AuthenticationException error = new AuthenticationException(msg, map, Collections.emptyMap());
-            return new Event(this, CasWebflowConstants.TRANSITION_ID_AUTHENTICATION_FAILURE,
-                    new LocalAttributeMap(CasWebflowConstants.TRANSITION_ID_ERROR, error));
+        final CompletableFuture<Boolean> policy = this.adaptiveAuthenticationPolicy.applyAsync(agent, geoLocation);
 
+        // service tickets may be granted off an existing session, so the policy must allow the request first;
+        // otherwise, the policy is settled while credentials are validated.
+        if ((policy.isDone() || StringUtils.isNotBlank(WebUtils.getTicketGrantingTicketId(requestContext))) && !isAllowed(policy)) {
+            return newAdaptiveAuthenticationPolicyRejectedEvent(agent, geoLocation);
         }
 
-
         final Event serviceTicketEvent = this.serviceTicketRequestWebflowEventResolver.resolveSingle(requestContext);
         if (serviceTicketEvent != null) {
             fireEventHooks(serviceTicketEvent, requestContext);
@@ -57,10 +58,42 @@ public abstract class AbstractAuthenticationAction extends AbstractAction {
         }
         
         final Event finalEvent = this.initialAuthenticationAttemptWebflowEventResolver.resolveSingle(requestContext);
+        if (!isAllowed(policy)) {
+            return newAdaptiveAuthenticationPolicyRejectedEvent(agent, geoLocation);
+        }
         fireEventHooks(finalEvent, requestContext);
         return finalEvent;
     }
 
+    /**
+     * Waits for the outcome of the adaptive authentication policy, for as long as the policy allows.
+     * Requests are denied if the outcome is not known by then or could not be determined.
+     */
+    private boolean isAllowed(final CompletableFuture<Boolean> policy) {
+        final long timeout = this.adaptiveAuthenticationPolicy.getAsyncTimeoutMillis();
+        try {
+            return policy.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (final TimeoutException e) {
+            logger.warn("Adaptive authentication policy did not decide within [{}] ms; the request is denied", timeout);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Interrupted while waiting for the adaptive authentication policy; the request is denied");
+        } catch (final ExecutionException e) {
+            logger.error("Adaptive authentication policy failed; the request is denied", e.getCause());
+        }
+        return false;
+    }
+
+    private Event newAdaptiveAuthenticationPolicyRejectedEvent(final String agent, final GeoLocationRequest geoLocation) {
+        final String msg = "Adaptive authentication policy does not allow this request for " + agent + " and " + geoLocation;
+        final Map map = ImmutableMap.of(
+                UnauthorizedAuthenticationException.class.getSimpleName(),
+                UnauthorizedAuthenticationException.class);
+        final AuthenticationException error = new AuthenticationException(msg, map, Collections.emptyMap());
+        return new Event(this, CasWebflowConstants.TRANSITION_ID_AUTHENTICATION_FAILURE,
+                new LocalAttributeMap(CasWebflowConstants.TRANSITION_ID_ERROR, error));
+    }
+
     public void setServiceTicketRequestWebflowEventResolver(final CasWebflowEventResolver r) {
         this.serviceTicketRequestWebflowEventResolver = r;
     }
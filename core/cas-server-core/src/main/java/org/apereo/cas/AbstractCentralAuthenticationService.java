@@ -22,6 +22,7 @@ import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketFactory;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.UnsatisfiedAuthenticationPolicyException;
+import org.apereo.cas.ticket.registry.TicketQuery;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.validation.ValidationServiceSelectionStrategy;
 import org.slf4j.Logger;
@@ -35,9 +36,9 @@ import org.springframework.util.Assert;
 
 import java.io.Serializable;
 import java.util.Collection;
-import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * An abstract implementation of the {@link CentralAuthenticationService} that provides access to
@@ -200,14 +201,14 @@ public abstract class AbstractCentralAuthenticationService implements CentralAut
     @Counted(name = "GET_TICKETS_COUNTER", monotonic = true)
     @Override
     public Collection<Ticket> getTickets(final Predicate<Ticket> predicate) {
-        final Collection<Ticket> c = new HashSet<>(this.ticketRegistry.getTickets());
-        final Iterator<Ticket> it = c.iterator();
-        while (it.hasNext()) {
-            if (!predicate.apply(it.next())) {
-                it.remove();
-            }
+        try (Stream<Ticket> tickets = this.ticketRegistry.stream(TicketQuery.all().filter(predicate::apply))) {
+            return tickets.collect(Collectors.toSet());
         }
-        return c;
+    }
+
+    @Override
+    public Stream<Ticket> streamTickets(final TicketQuery query) {
+        return this.ticketRegistry.stream(query);
     }
     
     /**
@@ -44,13 +44,19 @@ import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.validation.Assertion;
 import org.apereo.cas.validation.ImmutableAssertion;
 import org.apereo.inspektr.audit.annotation.Audit;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 
 /**
@@ -69,6 +75,10 @@ public class CentralAuthenticationServiceImpl extends AbstractCentralAuthenticat
 
     private static final long serialVersionUID = -8943828074939533986L;
 
+    private transient PlatformTransactionManager transactionManager;
+
+    private int updateConflictRetries;
+
     /**
      * Instantiates a new Central authentication service impl.
      */
@@ -92,6 +102,21 @@ public class CentralAuthenticationServiceImpl extends AbstractCentralAuthenticat
         super(ticketRegistry, ticketFactory, servicesManager, logoutManager);
     }
 
+    /**
+     * Sets the transaction manager of the ticket registry. If set, granting a service ticket
+     * outside of a transaction runs in a transaction of its own and is retried when the ticket registry
+     * reports that the ticket-granting ticket was updated concurrently.
+     *
+     * @param transactionManager the transaction manager
+     */
+    public void setTransactionManager(final PlatformTransactionManager transactionManager) {
+        this.transactionManager = transactionManager;
+    }
+
+    public void setUpdateConflictRetries(final int updateConflictRetries) {
+        this.updateConflictRetries = updateConflictRetries;
+    }
+
     /**
      * {@inheritDoc}
      * Destroy a TicketGrantingTicket and perform back channel logout. This has the effect of invalidating any
@@ -136,12 +161,87 @@ public class CentralAuthenticationServiceImpl extends AbstractCentralAuthenticat
     @Timed(name = "GRANT_SERVICE_TICKET_TIMER")
     @Metered(name = "GRANT_SERVICE_TICKET_METER")
     @Counted(name = "GRANT_SERVICE_TICKET_COUNTER", monotonic = true)
+    @Transactional(propagation = Propagation.SUPPORTS, transactionManager = "ticketTransactionManager")
     @Override
     public ServiceTicket grantServiceTicket(
             final String ticketGrantingTicketId,
             final Service service, final AuthenticationResult authenticationResult)
             throws AuthenticationException, AbstractTicketException {
 
+        final ServiceTicket serviceTicket;
+        if (this.transactionManager == null || TransactionSynchronizationManager.isActualTransactionActive()) {
+            serviceTicket = grantServiceTicketOnce(ticketGrantingTicketId, service, authenticationResult);
+        } else {
+            serviceTicket = grantServiceTicketInTransaction(ticketGrantingTicketId, service, authenticationResult);
+        }
+
+        doPublishEvent(new CasServiceTicketGrantedEvent(this, serviceTicket.getGrantingTicket(), serviceTicket));
+
+        return serviceTicket;
+    }
+
+    /**
+     * Grant a service ticket in a transaction of its own. If the ticket registry reports that the
+     * ticket-granting ticket was updated concurrently, the transaction is rolled back and the service ticket
+     * is granted again against the latest state of the ticket-granting ticket.
+     *
+     * @param ticketGrantingTicketId the ticket-granting ticket id
+     * @param service                the service
+     * @param authenticationResult   the authentication result
+     * @return the service ticket
+     * @throws AuthenticationException the authentication exception
+     * @throws AbstractTicketException the ticket exception
+     */
+    private ServiceTicket grantServiceTicketInTransaction(
+            final String ticketGrantingTicketId,
+            final Service service, final AuthenticationResult authenticationResult)
+            throws AuthenticationException, AbstractTicketException {
+
+        final TransactionTemplate template = new TransactionTemplate(this.transactionManager);
+        int attempt = 0;
+        while (true) {
+            final AtomicReference<Exception> failure = new AtomicReference<>();
+            try {
+                final ServiceTicket serviceTicket = template.execute(status -> {
+                    try {
+                        return grantServiceTicketOnce(ticketGrantingTicketId, service, authenticationResult);
+                    } catch (final AuthenticationException | AbstractTicketException e) {
+                        failure.set(e);
+                        return null;
+                    }
+                });
+                if (failure.get() instanceof AuthenticationException) {
+                    throw (AuthenticationException) failure.get();
+                }
+                if (failure.get() instanceof AbstractTicketException) {
+                    throw (AbstractTicketException) failure.get();
+                }
+                return serviceTicket;
+            } catch (final ConcurrencyFailureException e) {
+                if (attempt++ >= this.updateConflictRetries) {
+                    throw e;
+                }
+                logger.debug("Ticket-granting ticket [{}] was updated concurrently; granting service ticket again (attempt {})",
+                        ticketGrantingTicketId, attempt, e);
+            }
+        }
+    }
+
+    /**
+     * Grant a service ticket, within the transaction of the caller.
+     *
+     * @param ticketGrantingTicketId the ticket-granting ticket id
+     * @param service                the service
+     * @param authenticationResult   the authentication result
+     * @return the service ticket
+     * @throws AuthenticationException the authentication exception
+     * @throws AbstractTicketException the ticket exception
+     */
+    private ServiceTicket grantServiceTicketOnce(
+            final String ticketGrantingTicketId,
+            final Service service, final AuthenticationResult authenticationResult)
+            throws AuthenticationException, AbstractTicketException {
+
         final TicketGrantingTicket ticketGrantingTicket = getTicket(ticketGrantingTicketId, TicketGrantingTicket.class);
         final RegisteredService registeredService = this.servicesManager.findServiceBy(service);
         RegisteredServiceAccessStrategyUtils.ensurePrincipalAccessIsAllowedForService(service, registeredService, ticketGrantingTicket);
@@ -167,8 +267,6 @@ public class CentralAuthenticationServiceImpl extends AbstractCentralAuthenticat
         logger.info("Granted ticket [{}] for service [{}] and principal [{}]",
                 serviceTicket.getId(), service.getId(), principal.getId());
 
-        doPublishEvent(new CasServiceTicketGrantedEvent(this, ticketGrantingTicket, serviceTicket));
-
         return serviceTicket;
     }
 
@@ -12,6 +12,7 @@ import org.apereo.cas.logout.LogoutManager;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.ticket.TicketFactory;
 import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.registry.WriteBehindTicketRegistry;
 import org.apereo.cas.validation.DefaultValidationServiceSelectionStrategy;
 import org.apereo.cas.validation.ValidationServiceSelectionStrategy;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,6 +22,7 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Scope;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 import java.util.ArrayList;
@@ -44,6 +46,10 @@ public class CasCoreConfiguration {
     @Qualifier("ticketRegistry")
     private TicketRegistry ticketRegistry;
 
+    @Autowired(required = false)
+    @Qualifier("writeBehindTicketRegistry")
+    private WriteBehindTicketRegistry writeBehindTicketRegistry;
+
     @Autowired
     @Qualifier("servicesManager")
     private ServicesManager servicesManager;
@@ -56,6 +62,10 @@ public class CasCoreConfiguration {
     @Qualifier("defaultTicketFactory")
     private TicketFactory ticketFactory;
 
+    @Autowired(required = false)
+    @Qualifier("ticketTransactionManager")
+    private PlatformTransactionManager ticketTransactionManager;
+
     @Bean
     @ConditionalOnMissingBean(name = "authenticationPolicyFactory")
     public ContextualAuthenticationPolicyFactory authenticationPolicyFactory() {
@@ -90,7 +100,11 @@ public class CasCoreConfiguration {
                                                                      @Qualifier("protocolTicketCipherExecutor")
                                                                      final CipherExecutor cipherExecutor) {
         final CentralAuthenticationServiceImpl impl = new CentralAuthenticationServiceImpl();
-        impl.setTicketRegistry(this.ticketRegistry);
+        if (this.writeBehindTicketRegistry != null) {
+            impl.setTicketRegistry(this.writeBehindTicketRegistry);
+        } else {
+            impl.setTicketRegistry(this.ticketRegistry);
+        }
         impl.setServicesManager(this.servicesManager);
         impl.setLogoutManager(this.logoutManager);
         impl.setTicketFactory(this.ticketFactory);
@@ -98,6 +112,8 @@ public class CasCoreConfiguration {
         impl.setServiceContextAuthenticationPolicyFactory(authenticationPolicyFactory());
         impl.setPrincipalFactory(principalFactory);
         impl.setCipherExecutor(cipherExecutor);
+        impl.setTransactionManager(this.ticketTransactionManager);
+        impl.setUpdateConflictRetries(casProperties.getTicket().getTgt().getUpdateConflictRetries());
         return impl;
     }
 }
@@ -10,6 +10,7 @@ import org.apereo.cas.ticket.registry.DefaultTicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.NoOpLockingStrategy;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistryCleaner;
+import org.apereo.cas.ticket.serialization.TicketSerializer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -31,6 +32,10 @@ public class CouchbaseTicketRegistryConfiguration {
     @Autowired
     private CasConfigurationProperties casProperties;
 
+    @Autowired(required = false)
+    @Qualifier("ticketSerializer")
+    private TicketSerializer ticketSerializer;
+
     @Autowired
     @Qualifier("logoutManager")
     private LogoutManager logoutManager;
@@ -57,6 +62,9 @@ public class CouchbaseTicketRegistryConfiguration {
         c.setCipherExecutor(Beans.newTicketRegistryCipherExecutor(
                 casProperties.getTicket().getRegistry().getCouchbase().getCrypto()
         ));
+        if (this.ticketSerializer != null) {
+            c.setTicketSerializer(this.ticketSerializer);
+        }
         return c;
     }
 
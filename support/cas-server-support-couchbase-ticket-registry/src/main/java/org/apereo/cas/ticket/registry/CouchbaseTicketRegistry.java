@@ -14,6 +14,7 @@ import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.springframework.beans.factory.annotation.Autowired;
+import rx.Observable;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -22,6 +23,7 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 
 /**
@@ -91,6 +93,50 @@ public class CouchbaseTicketRegistry extends AbstractTicketRegistry {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * Documents are upserted as one batch.
+     */
+    @Override
+    public void addTickets(final Collection<? extends Ticket> ticketsToAdd) {
+        logger.debug("Adding tickets {}", ticketsToAdd);
+        try {
+            final List<SerializableDocument> documents = ticketsToAdd.stream()
+                    .map(ticketToAdd -> {
+                        final Ticket ticket = encodeTicket(ticketToAdd);
+                        return SerializableDocument.create(ticket.getId(), getTimeToLive(ticketToAdd), ticket);
+                    })
+                    .collect(Collectors.toList());
+            Observable.from(documents)
+                    .flatMap(document -> this.couchbase.bucket().async().upsert(document))
+                    .toList()
+                    .toBlocking()
+                    .single();
+        } catch (final Exception e) {
+            logger.error("Failed adding {}: {}", ticketsToAdd, e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Documents are fetched as one batch.
+     */
+    @Override
+    public Collection<Ticket> getTickets(final Collection<String> ticketIds) {
+        try {
+            final List<String> encTicketIds = ticketIds.stream().map(this::encodeTicketId).collect(Collectors.toList());
+            return Observable.from(encTicketIds)
+                    .flatMap(encTicketId -> this.couchbase.bucket().async().get(encTicketId, SerializableDocument.class))
+                    .map(document -> decodeTicket((Ticket) document.content()))
+                    .toList()
+                    .toBlocking()
+                    .single();
+        } catch (final Exception e) {
+            logger.error("Failed fetching {}: {}", ticketIds, e);
+            return new ArrayList<>();
+        }
+    }
+
     @Override
     public Ticket getTicket(final String ticketId) {
         try {
@@ -173,6 +219,26 @@ public class CouchbaseTicketRegistry extends AbstractTicketRegistry {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * Documents are removed as one batch.
+     */
+    @Override
+    public int deleteSingleTickets(final Collection<String> ticketIds) {
+        logger.debug("Deleting tickets {}", ticketIds);
+        return Observable.from(ticketIds)
+                .flatMap(ticketId -> this.couchbase.bucket().async().remove(ticketId)
+                        .map(document -> Boolean.TRUE)
+                        .onErrorReturn(e -> {
+                            logger.error("Failed deleting {}: {}", ticketId, e);
+                            return Boolean.FALSE;
+                        }))
+                .filter(Boolean::booleanValue)
+                .count()
+                .toBlocking()
+                .single();
+    }
+
     private int runQuery(final String prefix) {
         logger.debug("Running query on document {} and view {} with prefix {}",
                 UTIL_DOCUMENT, VIEW_NAME_ALL_TICKETS, prefix);
@@ -9,7 +9,9 @@ import net.sf.ehcache.distribution.RMISynchronousCacheReplicator;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.ticket.registry.EhCacheTicketRegistry;
+import org.apereo.cas.ticket.registry.ExpiredTicketQueue;
 import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.serialization.TicketSerializer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -32,6 +34,14 @@ public class EhcacheTicketRegistryConfiguration {
 
     @Autowired
     private CasConfigurationProperties casProperties;
+
+    @Autowired(required = false)
+    @Qualifier("ticketSerializer")
+    private TicketSerializer ticketSerializer;
+
+    @Autowired(required = false)
+    @Qualifier("expiredTicketQueue")
+    private ExpiredTicketQueue expiredTicketQueue;
     
     @RefreshScope
     @Bean
@@ -99,6 +109,12 @@ public class EhcacheTicketRegistryConfiguration {
         r.setCipherExecutor(Beans.newTicketRegistryCipherExecutor(
                 casProperties.getTicket().getRegistry().getEhcache().getCrypto()
         ));
+        if (this.ticketSerializer != null) {
+            r.setTicketSerializer(this.ticketSerializer);
+        }
+        if (this.expiredTicketQueue != null && casProperties.getTicket().getRegistry().getCleaner().isExpiryEvents()) {
+            r.setExpiredTicketQueue(this.expiredTicketQueue);
+        }
         return r;
     }
 }
@@ -1,8 +1,10 @@
 package org.apereo.cas.ticket.registry;
 
 import net.sf.ehcache.Cache;
+import net.sf.ehcache.Ehcache;
 import net.sf.ehcache.Element;
 import net.sf.ehcache.config.CacheConfiguration;
+import net.sf.ehcache.event.CacheEventListenerAdapter;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apereo.cas.ticket.Ticket;
 import org.springframework.util.Assert;
@@ -177,6 +179,34 @@ public class EhCacheTicketRegistry extends AbstractTicketRegistry {
     public void setEhcacheTicketsCache(final Cache ehcacheTicketsCache) {
         this.ehcacheTicketsCache = ehcacheTicketsCache;
     }
+
+    /**
+     * Report the tickets the cache expires or evicts to the given queue.
+     * Ehcache only expires elements as they are accessed, so expired elements are
+     * evicted each time the queue is drained.
+     *
+     * @param expiredTicketQueue the expired ticket queue
+     */
+    public void setExpiredTicketQueue(final ExpiredTicketQueue expiredTicketQueue) {
+        this.ehcacheTicketsCache.getCacheEventNotificationService().registerListener(new CacheEventListenerAdapter() {
+            @Override
+            public void notifyElementExpired(final Ehcache cache, final Element element) {
+                offer(expiredTicketQueue, element);
+            }
+
+            @Override
+            public void notifyElementEvicted(final Ehcache cache, final Element element) {
+                offer(expiredTicketQueue, element);
+            }
+        });
+        expiredTicketQueue.attach(this.ehcacheTicketsCache::evictExpiredElements);
+    }
+
+    private void offer(final ExpiredTicketQueue expiredTicketQueue, final Element element) {
+        if (element != null && element.getObjectValue() instanceof Ticket) {
+            expiredTicketQueue.offer(decodeTicket((Ticket) element.getObjectValue()));
+        }
+    }
     
     @Override
     public String toString() {
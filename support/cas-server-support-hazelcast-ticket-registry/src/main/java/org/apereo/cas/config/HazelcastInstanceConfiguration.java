@@ -13,12 +13,20 @@ import com.hazelcast.config.XmlConfigBuilder;
 import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.core.ticket.registry.TicketRegistryProperties;
 import org.apereo.cas.configuration.model.support.hazelcast.HazelcastProperties;
 import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.ticket.registry.ExpiredTicketQueue;
 import org.apereo.cas.ticket.registry.HazelcastTicketRegistry;
+import org.apereo.cas.ticket.registry.HazelcastTicketRegistryInvalidationTopic;
+import org.apereo.cas.ticket.registry.NearCacheTicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistryInvalidationTopic;
+import org.apereo.cas.ticket.serialization.JavaTicketSerializer;
+import org.apereo.cas.ticket.serialization.TicketSerializer;
 import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -49,9 +57,19 @@ import java.util.Set;
 @EnableAspectJAutoProxy(proxyTargetClass = true)
 public class HazelcastInstanceConfiguration {
 
+    private static final String INVALIDATION_TOPIC_SUFFIX = "-invalidations";
+
     @Autowired
     private CasConfigurationProperties casProperties;
 
+    @Autowired(required = false)
+    @Qualifier("ticketSerializer")
+    private TicketSerializer ticketSerializer;
+
+    @Autowired(required = false)
+    @Qualifier("expiredTicketQueue")
+    private ExpiredTicketQueue expiredTicketQueue;
+
     /**
      * Ticket registry ticket registry.
      *
@@ -63,6 +81,21 @@ public class HazelcastInstanceConfiguration {
         final HazelcastTicketRegistry r = new HazelcastTicketRegistry(hazelcast(),
                 hazelcast.getMapName(), hazelcast.getPageSize());
         r.setCipherExecutor(Beans.newTicketRegistryCipherExecutor(hazelcast.getCrypto()));
+        if (this.ticketSerializer != null) {
+            r.setTicketSerializer(this.ticketSerializer);
+        }
+        if (this.expiredTicketQueue != null && casProperties.getTicket().getRegistry().getCleaner().isExpiryEvents()) {
+            r.setExpiredTicketQueue(this.expiredTicketQueue);
+        }
+
+        final TicketRegistryProperties.NearCache nearCache = casProperties.getTicket().getRegistry().getNearCache();
+        if (nearCache.isEnabled()) {
+            final TicketRegistryInvalidationTopic topic = new HazelcastTicketRegistryInvalidationTopic(hazelcast(),
+                    hazelcast.getMapName() + INVALIDATION_TOPIC_SUFFIX);
+            return new NearCacheTicketRegistry(r, topic,
+                    this.ticketSerializer != null ? this.ticketSerializer : new JavaTicketSerializer(),
+                    nearCache.getTimeToLiveSeconds(), nearCache.getMaximumSize());
+        }
         return r;
     }
 
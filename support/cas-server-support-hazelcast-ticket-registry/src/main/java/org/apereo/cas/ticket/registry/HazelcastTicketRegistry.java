@@ -1,8 +1,13 @@
 package org.apereo.cas.ticket.registry;
 
+import com.google.common.util.concurrent.Futures;
+import com.hazelcast.core.EntryEvent;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.IMap;
+import com.hazelcast.map.listener.EntryEvictedListener;
+import com.hazelcast.map.listener.EntryExpiredListener;
 import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.Predicates;
 import org.apereo.cas.ticket.Ticket;
 
 import javax.annotation.PostConstruct;
@@ -11,9 +16,15 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Lock;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Hazelcast-based implementation of a {@link TicketRegistry}.
@@ -79,6 +90,23 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements C
     }
 
 
+    /**
+     * {@inheritDoc}
+     * All tickets are sent before waiting for any of the responses.
+     */
+    @Override
+    public void addTickets(final Collection<? extends Ticket> tickets) {
+        final List<Future<Void>> results = tickets.stream()
+                .map(ticket -> {
+                    logger.debug("Adding ticket [{}] with ttl [{}s]", ticket.getId(), ticket.getExpirationPolicy().getTimeToLive());
+                    final Ticket encTicket = encodeTicket(ticket);
+                    return this.registry.setAsync(encTicket.getId(), encTicket,
+                            ticket.getExpirationPolicy().getTimeToLive(), TimeUnit.SECONDS);
+                })
+                .collect(Collectors.toList());
+        results.forEach(Futures::getUnchecked);
+    }
+
     @Override
     public Ticket getTicket(final String ticketId) {
         final String encTicketId = encodeTicketId(ticketId);
@@ -91,6 +119,30 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements C
         return this.registry.remove(encTicketId) != null;
     }
 
+    /**
+     * {@inheritDoc}
+     * All ticket ids are sent before waiting for any of the responses.
+     */
+    @Override
+    public int deleteSingleTickets(final Collection<String> ticketIds) {
+        final List<Future<Ticket>> results = ticketIds.stream()
+                .map(ticketId -> this.registry.removeAsync(encodeTicketId(ticketId)))
+                .collect(Collectors.toList());
+        return (int) results.stream().map(Futures::getUnchecked).filter(Objects::nonNull).count();
+    }
+
+    /**
+     * {@inheritDoc}
+     * All tickets are fetched with a single call.
+     */
+    @Override
+    public Collection<Ticket> getTickets(final Collection<String> ticketIds) {
+        final Set<String> encTicketIds = ticketIds.stream().map(this::encodeTicketId).collect(Collectors.toSet());
+        return this.registry.getAll(encTicketIds).values().stream()
+                .map(this::decodeTicket)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public Collection<Ticket> getTickets() {
         final Collection<Ticket> collection = new HashSet<>();
@@ -110,6 +162,38 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements C
         return collection;
     }
     
+    /**
+     * {@inheritDoc}
+     * Tickets are read a page at a time, without taking the lock {@link #getTickets()} holds.
+     * Unless tickets are encrypted, only tickets of the requested type are read.
+     */
+    @Override
+    public Stream<Ticket> stream(final TicketQuery query) {
+        final PagingPredicate pagingPredicate = query.getType() == Ticket.class || isCipherExecutorEnabled()
+                ? new PagingPredicate(query.getPageSize())
+                : new PagingPredicate(Predicates.instanceOf(query.getType()), query.getPageSize());
+        final AtomicBoolean started = new AtomicBoolean();
+        return PagedTicketIterator.stream(() -> {
+            if (started.getAndSet(true)) {
+                pagingPredicate.nextPage();
+            }
+            return this.registry.values(pagingPredicate);
+        })
+                .map(this::decodeTicket)
+                .filter(query::matches);
+    }
+
+    /**
+     * Report the tickets this member expires or evicts to the given queue.
+     * Only entries owned by this member are reported, so each ticket is reported once across the cluster.
+     *
+     * @param expiredTicketQueue the expired ticket queue
+     */
+    public void setExpiredTicketQueue(final ExpiredTicketQueue expiredTicketQueue) {
+        this.registry.addLocalEntryListener(new ExpiredTicketListener(expiredTicketQueue));
+        expiredTicketQueue.attach();
+    }
+
     /**
      * Make sure we shutdown HazelCast when the context is destroyed.
      */
@@ -135,4 +219,32 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements C
     public void close() throws IOException {
         shutdown();
     }
+
+    /**
+     * Passes on expired and evicted tickets to the expired ticket queue.
+     */
+    private class ExpiredTicketListener implements EntryExpiredListener<String, Ticket>, EntryEvictedListener<String, Ticket> {
+        private final ExpiredTicketQueue expiredTicketQueue;
+
+        ExpiredTicketListener(final ExpiredTicketQueue expiredTicketQueue) {
+            this.expiredTicketQueue = expiredTicketQueue;
+        }
+
+        @Override
+        public void entryExpired(final EntryEvent<String, Ticket> event) {
+            offer(event);
+        }
+
+        @Override
+        public void entryEvicted(final EntryEvent<String, Ticket> event) {
+            offer(event);
+        }
+
+        private void offer(final EntryEvent<String, Ticket> event) {
+            final Ticket ticket = event.getOldValue() != null ? event.getOldValue() : event.getValue();
+            if (ticket != null) {
+                this.expiredTicketQueue.offer(decodeTicket(ticket));
+            }
+        }
+    }
 }
@@ -0,0 +1,44 @@
+package org.apereo.cas.ticket.registry;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ITopic;
+
+import java.util.function.BiConsumer;
+
+/**
+ * This is {@link HazelcastTicketRegistryInvalidationTopic} that shares notices of ticket changes
+ * with every member of the Hazelcast cluster.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class HazelcastTicketRegistryInvalidationTopic implements TicketRegistryInvalidationTopic {
+
+    private static final String SEPARATOR = "|";
+
+    private final ITopic<String> topic;
+
+    /**
+     * Instantiates a new hazelcast ticket registry invalidation topic.
+     *
+     * @param hazelcastInstance the hazelcast instance
+     * @param topicName         the topic name
+     */
+    public HazelcastTicketRegistryInvalidationTopic(final HazelcastInstance hazelcastInstance, final String topicName) {
+        this.topic = hazelcastInstance.getTopic(topicName);
+    }
+
+    @Override
+    public void publish(final String origin, final String key) {
+        this.topic.publish(origin + SEPARATOR + key);
+    }
+
+    @Override
+    public void subscribe(final BiConsumer<String, String> listener) {
+        this.topic.addMessageListener(message -> {
+            final String notice = message.getMessageObject();
+            final int index = notice.indexOf(SEPARATOR);
+            listener.accept(notice.substring(0, index), notice.substring(index + 1));
+        });
+    }
+}
@@ -10,9 +10,12 @@ import org.apache.ignite.spi.discovery.tcp.ipfinder.vm.TcpDiscoveryVmIpFinder;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.model.support.ignite.IgniteProperties;
 import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.ticket.registry.ExpiredTicketQueue;
 import org.apereo.cas.ticket.registry.IgniteTicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.serialization.TicketSerializer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
@@ -38,6 +41,14 @@ public class IgniteTicketRegistryConfiguration {
     @Autowired
     private CasConfigurationProperties casProperties;
 
+    @Autowired(required = false)
+    @Qualifier("ticketSerializer")
+    private TicketSerializer ticketSerializer;
+
+    @Autowired(required = false)
+    @Qualifier("expiredTicketQueue")
+    private ExpiredTicketQueue expiredTicketQueue;
+
     /**
      * Ignite configuration ignite configuration.
      *
@@ -101,6 +112,12 @@ public class IgniteTicketRegistryConfiguration {
         r.setIgniteConfiguration(igniteConfiguration());
         r.setCipherExecutor(Beans.newTicketRegistryCipherExecutor(
                 casProperties.getTicket().getRegistry().getIgnite().getCrypto()));
+        if (this.ticketSerializer != null) {
+            r.setTicketSerializer(this.ticketSerializer);
+        }
+        if (this.expiredTicketQueue != null && casProperties.getTicket().getRegistry().getCleaner().isExpiryEvents()) {
+            r.setExpiredTicketQueue(this.expiredTicketQueue);
+        }
         return r;
     }
 }
@@ -9,6 +9,8 @@ import org.apache.ignite.Ignition;
 import org.apache.ignite.cache.query.QueryCursor;
 import org.apache.ignite.cache.query.ScanQuery;
 import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.events.CacheEvent;
+import org.apache.ignite.events.EventType;
 import org.apache.ignite.ssl.SslContextFactory;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.ticket.Ticket;
@@ -19,6 +21,7 @@ import javax.annotation.PreDestroy;
 import javax.cache.Cache;
 import javax.cache.expiry.Duration;
 import javax.cache.expiry.ExpiryPolicy;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.concurrent.TimeUnit;
 
@@ -50,6 +53,8 @@ public class IgniteTicketRegistry extends AbstractTicketRegistry {
 
     private Ignite ignite;
 
+    private ExpiredTicketQueue expiredTicketQueue;
+
     /**
      * @see #setSupportRegistryState(boolean)
      **/
@@ -129,6 +134,16 @@ public class IgniteTicketRegistry extends AbstractTicketRegistry {
         return this.igniteConfiguration;
     }
 
+    /**
+     * Report the tickets this node expires to the given queue, once the registry is initialized.
+     * Only entries for which this node is primary are reported, so each ticket is reported once across the cluster.
+     *
+     * @param expiredTicketQueue the expired ticket queue
+     */
+    public void setExpiredTicketQueue(final ExpiredTicketQueue expiredTicketQueue) {
+        this.expiredTicketQueue = expiredTicketQueue;
+    }
+
 
     @Override
     public void updateTicket(final Ticket ticket) {
@@ -203,6 +218,16 @@ public class IgniteTicketRegistry extends AbstractTicketRegistry {
             logger.debug("igniteConfiguration.getSslContextFactory={}", this.igniteConfiguration.getSslContextFactory());
         }
 
+        if (this.expiredTicketQueue != null) {
+            final int[] eventTypes = this.igniteConfiguration.getIncludeEventTypes() == null
+                    ? new int[0] : this.igniteConfiguration.getIncludeEventTypes();
+            if (Arrays.stream(eventTypes).noneMatch(type -> type == EventType.EVT_CACHE_OBJECT_EXPIRED)) {
+                final int[] types = Arrays.copyOf(eventTypes, eventTypes.length + 1);
+                types[eventTypes.length] = EventType.EVT_CACHE_OBJECT_EXPIRED;
+                this.igniteConfiguration.setIncludeEventTypes(types);
+            }
+        }
+
         if (Ignition.state() == IgniteState.STOPPED) {
             this.ignite = Ignition.start(this.igniteConfiguration);
         } else if (Ignition.state() == IgniteState.STARTED) {
@@ -211,6 +236,19 @@ public class IgniteTicketRegistry extends AbstractTicketRegistry {
 
         this.ticketIgniteCache = this.ignite.getOrCreateCache(casProperties.getTicket().getRegistry().getIgnite().getTicketsCache().getCacheName());
 
+        if (this.expiredTicketQueue != null) {
+            this.ignite.events().localListen(this::offerExpiredTicket, EventType.EVT_CACHE_OBJECT_EXPIRED);
+            this.expiredTicketQueue.attach();
+        }
+
+    }
+
+    private boolean offerExpiredTicket(final CacheEvent event) {
+        if (this.ticketIgniteCache.getName().equals(event.cacheName()) && event.oldValue() instanceof Ticket
+                && this.ignite.affinity(event.cacheName()).isPrimary(this.ignite.cluster().localNode(), event.key())) {
+            this.expiredTicketQueue.offer(decodeTicket((Ticket) event.oldValue()));
+        }
+        return true;
     }
 
     /**
@@ -4,8 +4,12 @@ import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.model.support.jpa.JpaConfigDataHolder;
 import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.logout.LogoutManager;
 import org.apereo.cas.ticket.registry.JpaTicketRegistry;
+import org.apereo.cas.ticket.registry.JpaTicketRegistryCleaner;
+import org.apereo.cas.ticket.registry.TicketQuery;
 import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.support.JpaLockingStrategy;
 import org.apereo.cas.ticket.registry.support.LockingStrategy;
 import org.apereo.cas.util.InetAddressUtils;
@@ -37,6 +41,10 @@ public class JpaTicketRegistryConfiguration {
 
     @Autowired
     private CasConfigurationProperties casProperties;
+
+    @Autowired(required = false)
+    @Qualifier("logoutManager")
+    private LogoutManager logoutManager;
         
     /**
      * Jpa packages to scan string [].
@@ -107,6 +115,15 @@ public class JpaTicketRegistryConfiguration {
         return bean;
     }
 
+    @Bean
+    public TicketRegistryCleaner ticketRegistryCleaner() {
+        final JpaTicketRegistryCleaner c = new JpaTicketRegistryCleaner(TicketQuery.DEFAULT_PAGE_SIZE);
+        c.setLockingStrategy(lockingStrategy());
+        c.setLogoutManager(this.logoutManager);
+        c.setTicketRegistry(ticketRegistry());
+        return c;
+    }
+
     @Bean
     public LockingStrategy lockingStrategy() {
         final JpaLockingStrategy bean = new JpaLockingStrategy();
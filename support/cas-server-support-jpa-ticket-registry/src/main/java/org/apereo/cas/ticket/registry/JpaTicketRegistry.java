@@ -2,6 +2,8 @@ package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.ticket.OAuthToken;
 import org.apereo.cas.ticket.accesstoken.AccessToken;
+import org.apereo.cas.ticket.accesstoken.AccessTokenRevocation;
+import org.apereo.cas.ticket.accesstoken.AccessTokenRevocationImpl;
 import org.apereo.cas.ticket.code.OAuthCode;
 import org.apereo.cas.ticket.code.OAuthCodeImpl;
 import org.apereo.cas.ticket.refreshtoken.RefreshToken;
@@ -11,8 +13,10 @@ import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.TicketGrantingTicketImpl;
 import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
+import org.apereo.cas.ticket.proxy.ProxyTicket;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import javax.persistence.EntityManager;
 import javax.persistence.LockModeType;
@@ -21,6 +25,9 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * JPA implementation of a CAS {@link TicketRegistry}. This implementation of
@@ -35,10 +42,11 @@ import java.util.List;
 public class JpaTicketRegistry extends AbstractTicketRegistry {
 
     private static final String TABLE_OAUTH_TICKETS = OAuthCodeImpl.class.getSimpleName();
+    private static final String TABLE_OAUTH_REVOCATIONS = AccessTokenRevocationImpl.class.getSimpleName();
     private static final String TABLE_SERVICE_TICKETS = ServiceTicketImpl.class.getSimpleName();
     private static final String TABLE_TICKET_GRANTING_TICKETS = TicketGrantingTicketImpl.class.getSimpleName();
 
-    private boolean lockTgt = true;
+    private boolean lockTgt;
 
     @PersistenceContext(unitName = "ticketEntityManagerFactory")
     private EntityManager entityManager;
@@ -102,6 +110,10 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
                 return this.entityManager.find(OAuthCodeImpl.class, ticketId);
             }
 
+            if (ticketId.startsWith(AccessTokenRevocation.PREFIX)) {
+                return this.entityManager.find(AccessTokenRevocationImpl.class, ticketId);
+            }
+
             return this.entityManager.find(ServiceTicketImpl.class, ticketId);
         } catch (final Exception e) {
             logger.error("Error getting ticket {} from registry.", ticketId, e);
@@ -121,14 +133,61 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
         final List<OAuthCodeImpl> ots = this.entityManager
                 .createQuery("select s from " + TABLE_OAUTH_TICKETS + " s", OAuthCodeImpl.class)
                 .getResultList();
+        final List<AccessTokenRevocationImpl> rts = this.entityManager
+                .createQuery("select s from " + TABLE_OAUTH_REVOCATIONS + " s", AccessTokenRevocationImpl.class)
+                .getResultList();
 
         final List<Ticket> tickets = new ArrayList<>(tgts);
         tickets.addAll(sts);
         tickets.addAll(ots);
+        tickets.addAll(rts);
 
         return tickets;
     }
 
+    /**
+     * {@inheritDoc}
+     * Each table that may hold tickets of the requested type is read a page at a time,
+     * in order of ticket ids, so that tickets removed while the stream is consumed do not
+     * cause others to be skipped. Tickets of a page are detached from the persistence
+     * context once the next page is read.
+     */
+    @Override
+    public Stream<Ticket> stream(final TicketQuery query) {
+        return Stream.<Class<? extends Ticket>>of(TicketGrantingTicketImpl.class, ServiceTicketImpl.class, OAuthCodeImpl.class,
+                AccessTokenRevocationImpl.class)
+                .filter(query::mayMatch)
+                .flatMap(type -> streamTable(type, query.getPageSize()))
+                .filter(query::matches);
+    }
+
+    private Stream<Ticket> streamTable(final Class<? extends Ticket> type, final int pageSize) {
+        final AtomicReference<List<? extends Ticket>> page = new AtomicReference<>();
+        return PagedTicketIterator.stream(() -> {
+            final List<? extends Ticket> previous = page.get();
+            final List<? extends Ticket> next;
+            if (previous == null) {
+                next = this.entityManager
+                        .createQuery("select t from " + type.getSimpleName() + " t order by t.id", type)
+                        .setMaxResults(pageSize)
+                        .getResultList();
+            } else {
+                next = this.entityManager
+                        .createQuery("select t from " + type.getSimpleName() + " t where t.id > :id order by t.id", type)
+                        .setParameter("id", previous.get(previous.size() - 1).getId())
+                        .setMaxResults(pageSize)
+                        .getResultList();
+                if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                    // changes made to tickets of the previous page must not be lost on detaching them
+                    this.entityManager.flush();
+                    previous.forEach(this.entityManager::detach);
+                }
+            }
+            page.set(next);
+            return next;
+        });
+    }
+
     @Override
     public long sessionCount() {
         return countToLong(this.entityManager.createQuery(
@@ -150,10 +209,8 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
 
         final int failureCount;
 
-        if (ticket instanceof OAuthToken) {
-            failureCount = deleteOAuthTokens(ticketId);
-        } else if (ticket instanceof ServiceTicket) {
-            failureCount = deleteServiceTickets(ticketId);
+        if (ticket instanceof OAuthToken || ticket instanceof ServiceTicket || ticket instanceof AccessTokenRevocation) {
+            failureCount = removeTicket(ticket) ? 0 : 1;
         } else if (ticket instanceof TicketGrantingTicket) {
             failureCount = deleteTicketGrantingTickets(ticketId);
         } else {
@@ -162,6 +219,32 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
         return failureCount == 0;
     }
 
+    /**
+     * {@inheritDoc}
+     * Service and proxy tickets are removed with a single bulk delete;
+     * other tickets are removed one at a time, along with what depends on them.
+     */
+    @Override
+    public int deleteSingleTickets(final Collection<String> ticketIds) {
+        final List<String> serviceTicketIds = ticketIds.stream()
+                .filter(JpaTicketRegistry::isServiceTicketId)
+                .collect(Collectors.toList());
+
+        int count = 0;
+        if (!serviceTicketIds.isEmpty()) {
+            count += this.entityManager.createQuery("delete from " + TABLE_SERVICE_TICKETS + " s where s.id in :ids")
+                    .setParameter("ids", serviceTicketIds)
+                    .executeUpdate();
+            logger.debug("Removed [{}] of service tickets {}", count, serviceTicketIds);
+        }
+
+        final List<String> otherTicketIds = ticketIds.stream()
+                .filter(ticketId -> !isServiceTicketId(ticketId))
+                .collect(Collectors.toList());
+        count += super.deleteSingleTickets(otherTicketIds);
+        return count;
+    }
+
     /**
      * Gets ticket query result list.
      *
@@ -227,11 +310,9 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
     public int deleteTicketGrantingTickets(final String ticketId) {
         int failureCount = 0;
 
-        final List<ServiceTicketImpl> serviceTicketImpls = getTicketQueryResultList(ticketId,
-                "select s from "
-                        + TABLE_SERVICE_TICKETS
-                        + " s where s.ticketGrantingTicket.id = :id", ServiceTicketImpl.class);
-        failureCount += deleteTicketsFromResultList(serviceTicketImpls);
+        this.entityManager.createQuery("delete from " + TABLE_SERVICE_TICKETS + " s where s.ticketGrantingTicket.id = :id")
+                .setParameter("id", ticketId)
+                .executeUpdate();
 
         List<TicketGrantingTicketImpl> ticketGrantingTicketImpls = getTicketQueryResultList(ticketId,
                 "select t from " + TABLE_TICKET_GRANTING_TICKETS
@@ -246,6 +327,10 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
         return failureCount;
     }
 
+    private static boolean isServiceTicketId(final String ticketId) {
+        return ticketId.startsWith(ServiceTicket.PREFIX) || ticketId.startsWith(ProxyTicket.PROXY_TICKET_PREFIX);
+    }
+
     /**
      * Count the result into a numeric value.
      *
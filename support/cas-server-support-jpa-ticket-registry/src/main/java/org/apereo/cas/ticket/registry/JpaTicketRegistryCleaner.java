@@ -0,0 +1,126 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.AbstractTicket;
+import org.apereo.cas.ticket.ServiceTicketImpl;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.accesstoken.AccessTokenRevocationImpl;
+import org.apereo.cas.ticket.code.OAuthCodeImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * This is {@link JpaTicketRegistryCleaner} that looks up expired tickets by the
+ * expiration time tickets are stored with, rather than loading every ticket.
+ * Service tickets, OAuth tokens and access token revocations are removed with a single bulk delete per table.
+ * Ticket-granting tickets that are due are read a page at a time, ordered by their
+ * expiration time, so that logout requests can be sent for each of them before they are removed.
+ * Tickets stored without an expiration time, such as those whose expiration policy cannot tell
+ * it in advance, are checked one at a time.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class JpaTicketRegistryCleaner extends DefaultTicketRegistryCleaner {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JpaTicketRegistryCleaner.class);
+
+    private static final String TABLE_OAUTH_TICKETS = OAuthCodeImpl.class.getSimpleName();
+    private static final String TABLE_OAUTH_REVOCATIONS = AccessTokenRevocationImpl.class.getSimpleName();
+    private static final String TABLE_SERVICE_TICKETS = ServiceTicketImpl.class.getSimpleName();
+    private static final String TABLE_TICKET_GRANTING_TICKETS = TicketGrantingTicketImpl.class.getSimpleName();
+
+    @PersistenceContext(unitName = "ticketEntityManagerFactory")
+    private EntityManager entityManager;
+
+    private final int pageSize;
+
+    /**
+     * Instantiates a new JPA ticket registry cleaner.
+     *
+     * @param pageSize the number of tickets read at a time
+     */
+    public JpaTicketRegistryCleaner(final int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    protected int removeExpiredTicketsInBulk() {
+        final ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+        int count = 0;
+        for (final String table : new String[]{TABLE_SERVICE_TICKETS, TABLE_OAUTH_TICKETS, TABLE_OAUTH_REVOCATIONS}) {
+            final int removed = this.entityManager
+                    .createQuery("delete from " + table + " t where t.expirationTime <= :now")
+                    .setParameter("now", now)
+                    .executeUpdate();
+            LOGGER.debug("Removed [{}] expired ticket(s) from [{}]", removed, table);
+            count += removed;
+        }
+        return count;
+    }
+
+    @Override
+    protected Stream<Ticket> getExpiredTickets() {
+        final ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+        final Stream<Ticket> dueTickets = streamPages(TicketGrantingTicketImpl.class, last -> {
+            final TypedQuery<TicketGrantingTicketImpl> query;
+            if (last == null) {
+                query = this.entityManager.createQuery("select t from " + TABLE_TICKET_GRANTING_TICKETS
+                        + " t where t.expirationTime <= :now order by t.expirationTime, t.id", TicketGrantingTicketImpl.class);
+            } else {
+                query = this.entityManager.createQuery("select t from " + TABLE_TICKET_GRANTING_TICKETS
+                        + " t where t.expirationTime <= :now and (t.expirationTime > :time or (t.expirationTime = :time and t.id > :id))"
+                        + " order by t.expirationTime, t.id", TicketGrantingTicketImpl.class)
+                        .setParameter("time", last.getExpirationTime())
+                        .setParameter("id", last.getId());
+            }
+            return query.setParameter("now", now);
+        });
+
+        final Stream<Ticket> unscheduledTickets = Stream.<Class<? extends AbstractTicket>>of(
+                TicketGrantingTicketImpl.class, ServiceTicketImpl.class, OAuthCodeImpl.class, AccessTokenRevocationImpl.class)
+                .flatMap(type -> streamPages(type, last -> {
+                    if (last == null) {
+                        return this.entityManager.createQuery("select t from " + type.getSimpleName()
+                                + " t where t.expirationTime is null order by t.id", type);
+                    }
+                    return this.entityManager.createQuery("select t from " + type.getSimpleName()
+                            + " t where t.expirationTime is null and t.id > :id order by t.id", type)
+                            .setParameter("id", last.getId());
+                }));
+
+        return Stream.concat(dueTickets, unscheduledTickets).filter(Ticket::isExpired);
+    }
+
+    /**
+     * Read tickets a page at a time, building the query for each page from the last ticket of the previous one.
+     * Tickets of a page are detached from the persistence context once the next page is read.
+     */
+    private <T extends AbstractTicket> Stream<Ticket> streamPages(final Class<T> type,
+                                                                  final Function<T, TypedQuery<T>> queryAfter) {
+        final AtomicReference<List<T>> page = new AtomicReference<>();
+        return PagedTicketIterator.stream(() -> {
+            final List<T> previous = page.get();
+            final List<T> next = queryAfter.apply(previous == null ? null : previous.get(previous.size() - 1))
+                    .setMaxResults(this.pageSize)
+                    .getResultList();
+            if (previous != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                // changes made to tickets of the previous page must not be lost on detaching them
+                this.entityManager.flush();
+                previous.stream().filter(this.entityManager::contains).forEach(this.entityManager::detach);
+            }
+            page.set(next);
+            return next;
+        });
+    }
+}
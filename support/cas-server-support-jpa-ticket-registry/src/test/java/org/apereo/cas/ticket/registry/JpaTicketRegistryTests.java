@@ -1,12 +1,23 @@
 package org.apereo.cas.ticket.registry;
 
 import com.google.common.base.Throwables;
+import org.apereo.cas.CentralAuthenticationService;
+import org.apereo.cas.CentralAuthenticationServiceImpl;
 import org.apereo.cas.authentication.TestUtils;
 import org.apereo.cas.authentication.principal.DefaultPrincipalFactory;
 import org.apereo.cas.authentication.principal.Principal;
+import org.apereo.cas.authentication.principal.Service;
 import org.apereo.cas.config.JpaTicketRegistryConfiguration;
+import org.apereo.cas.logout.LogoutManager;
 import org.apereo.cas.mock.MockService;
+import org.apereo.cas.services.RegexRegisteredService;
+import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.ticket.AbstractTicketException;
+import org.apereo.cas.ticket.DefaultProxyGrantingTicketFactory;
+import org.apereo.cas.ticket.DefaultProxyTicketFactory;
+import org.apereo.cas.ticket.DefaultServiceTicketFactory;
+import org.apereo.cas.ticket.DefaultTicketFactory;
+import org.apereo.cas.ticket.DefaultTicketGrantingTicketFactory;
 import org.apereo.cas.ticket.ExpirationPolicy;
 import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
@@ -15,6 +26,7 @@ import org.apereo.cas.ticket.TicketGrantingTicketImpl;
 import org.apereo.cas.ticket.UniqueTicketIdGenerator;
 import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
 import org.apereo.cas.ticket.proxy.ProxyTicket;
+import org.apereo.cas.ticket.support.AlwaysExpiresExpirationPolicy;
 import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
 import org.apereo.cas.ticket.support.MultiTimeUseOrTimeoutExpirationPolicy;
 import org.apereo.cas.util.DefaultUniqueTicketIdGenerator;
@@ -26,6 +38,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.support.TransactionCallback;
@@ -33,13 +48,17 @@ import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
 
 
 /**
@@ -50,6 +69,7 @@ import static org.junit.Assert.*;
  */
 @RunWith(SpringRunner.class)
 @SpringBootTest(classes = {RefreshAutoConfiguration.class, JpaTicketRegistryConfiguration.class})
+@TestPropertySource(properties = "cas.ticket.registry.jpa.jpaLockingTgtEnabled=true")
 public class JpaTicketRegistryTests {
     /** Number of clients contending for operations in concurrent test. */
     private static final int CONCURRENT_SIZE = 20;
@@ -75,6 +95,9 @@ public class JpaTicketRegistryTests {
     @Qualifier("ticketRegistry")
     private TicketRegistry jpaTicketRegistry;
 
+    @Autowired
+    private ApplicationContext applicationContext;
+
     @Test
     public void verifyTicketCreationAndDeletion() throws Exception {
         // TGT
@@ -164,6 +187,88 @@ public class JpaTicketRegistryTests {
         assertEquals(CONCURRENT_SIZE, tgtFromDb.getCountOfUses());
     }
 
+    @Test
+    public void verifyConcurrentServiceTicketGenerationWithOptimisticLocking() throws Exception {
+        final TicketGrantingTicket newTgt = newTGT();
+        addTicketInTransaction(newTgt);
+        final CentralAuthenticationService cas = newCentralAuthenticationService();
+        ((JpaTicketRegistry) this.jpaTicketRegistry).setLockTgt(false);
+        final ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_SIZE);
+        final List<String> serviceTicketIds = new ArrayList<>(CONCURRENT_SIZE);
+        try {
+            final List<Callable<String>> grants = IntStream.range(0, CONCURRENT_SIZE)
+                    .mapToObj(i -> (Callable<String>) () -> cas.grantServiceTicket(newTgt.getId(),
+                            new MockService("https://service" + i + ".example.com"), null).getId())
+                    .collect(Collectors.toList());
+            for (final Future<String> result : executor.invokeAll(grants)) {
+                serviceTicketIds.add(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+            ((JpaTicketRegistry) this.jpaTicketRegistry).setLockTgt(true);
+        }
+
+        final TicketGrantingTicket tgtFromDb = (TicketGrantingTicket) getTicketInTransaction(newTgt.getId());
+        assertEquals(CONCURRENT_SIZE, tgtFromDb.getCountOfUses());
+        assertEquals(new HashSet<>(serviceTicketIds), tgtFromDb.getServices().keySet());
+        serviceTicketIds.forEach(id -> assertNotNull(getTicketInTransaction(id)));
+    }
+
+    @Test
+    public void verifyExpiredTicketsAreFoundByExpirationTime() {
+        final TicketGrantingTicket tgt = newTGT();
+        addTicketInTransaction(tgt);
+        final ServiceTicket expiredSt = tgt.grantServiceTicket(ID_GENERATOR.getNewTicketId(ServiceTicket.PREFIX),
+                new MockService("https://service.example.com"), new AlwaysExpiresExpirationPolicy(), false, true);
+        addTicketInTransaction(expiredSt);
+        final ServiceTicket st = grantServiceTicketInTransaction(tgt);
+
+        final List<String> expiredTgtIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            final TicketGrantingTicket expiredTgt = new TicketGrantingTicketImpl(ID_GENERATOR.getNewTicketId(TicketGrantingTicket.PREFIX),
+                    TestUtils.getAuthentication(), new AlwaysExpiresExpirationPolicy());
+            addTicketInTransaction(expiredTgt);
+            expiredTgtIds.add(expiredTgt.getId());
+        }
+
+        final JpaTicketRegistryCleaner cleaner = new JpaTicketRegistryCleaner(2);
+        this.applicationContext.getAutowireCapableBeanFactory().autowireBean(cleaner);
+        cleaner.setTicketRegistry(this.jpaTicketRegistry);
+
+        assertEquals(1, new TransactionTemplate(txManager).execute(status -> cleaner.removeExpiredTicketsInBulk()).intValue());
+        assertNull(getTicketInTransaction(expiredSt.getId()));
+        assertNotNull(getTicketInTransaction(st.getId()));
+
+        final List<String> expiredTicketIds = new TransactionTemplate(txManager).execute(status ->
+                cleaner.getExpiredTickets().map(Ticket::getId).collect(Collectors.toList()));
+        assertEquals(expiredTgtIds.size(), expiredTicketIds.size());
+        assertTrue(expiredTicketIds.containsAll(expiredTgtIds));
+    }
+
+    private CentralAuthenticationService newCentralAuthenticationService() {
+        final DefaultServiceTicketFactory serviceTicketFactory = new DefaultServiceTicketFactory();
+        serviceTicketFactory.setServiceTicketExpirationPolicy(EXP_POLICY_ST);
+        final DefaultTicketFactory ticketFactory = new DefaultTicketFactory();
+        ticketFactory.setTicketGrantingTicketFactory(new DefaultTicketGrantingTicketFactory());
+        ticketFactory.setProxyGrantingTicketFactory(new DefaultProxyGrantingTicketFactory());
+        ticketFactory.setServiceTicketFactory(serviceTicketFactory);
+        ticketFactory.setProxyTicketFactory(new DefaultProxyTicketFactory());
+        ticketFactory.initialize();
+
+        final RegexRegisteredService registeredService = new RegexRegisteredService();
+        registeredService.setId(1);
+        registeredService.setName("services");
+        registeredService.setServiceId("https://.+");
+        final ServicesManager servicesManager = mock(ServicesManager.class);
+        when(servicesManager.findServiceBy(any(Service.class))).thenReturn(registeredService);
+
+        final CentralAuthenticationServiceImpl cas = new CentralAuthenticationServiceImpl(this.jpaTicketRegistry,
+                ticketFactory, servicesManager, mock(LogoutManager.class));
+        cas.setApplicationEventPublisher(mock(ApplicationEventPublisher.class));
+        cas.setTransactionManager(this.txManager);
+        cas.setUpdateConflictRetries(CONCURRENT_SIZE);
+        return cas;
+    }
 
     static TicketGrantingTicket newTGT() {
         final Principal principal = new DefaultPrincipalFactory().createPrincipal(
@@ -15,6 +15,7 @@ import org.apereo.cas.ticket.registry.NoOpLockingStrategy;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.support.kryo.KryoTranscoder;
+import org.apereo.cas.ticket.serialization.TicketSerializer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -35,6 +36,10 @@ public class MemcachedTicketRegistryConfiguration {
     @Autowired
     private CasConfigurationProperties casProperties;
 
+    @Autowired(required = false)
+    @Qualifier("ticketSerializer")
+    private TicketSerializer ticketSerializer;
+
     @Autowired
     @Qualifier("logoutManager")
     private LogoutManager logoutManager;
@@ -59,7 +64,10 @@ public class MemcachedTicketRegistryConfiguration {
 
     @Bean
     public KryoTranscoder kryoTranscoder() {
-        return new KryoTranscoder();
+        final KryoTranscoder transcoder = new KryoTranscoder();
+        transcoder.setRegistrationRequired(casProperties.getTicket().getRegistry().getMemcached().isKryoRegistrationRequired());
+        transcoder.setPoolSize(casProperties.getTicket().getRegistry().getMemcached().getKryoPoolSize());
+        return transcoder;
     }
 
     @Autowired
@@ -68,6 +76,9 @@ public class MemcachedTicketRegistryConfiguration {
         final MemCacheTicketRegistry registry = new MemCacheTicketRegistry(memcachedClientIF);
         registry.setCipherExecutor(Beans.newTicketRegistryCipherExecutor(
                 casProperties.getTicket().getRegistry().getMemcached().getCrypto()));
+        if (this.ticketSerializer != null) {
+            registry.setTicketSerializer(this.ticketSerializer);
+        }
         return registry;
     }
 
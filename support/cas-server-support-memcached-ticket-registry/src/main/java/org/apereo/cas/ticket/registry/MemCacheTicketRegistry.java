@@ -6,6 +6,12 @@ import org.springframework.util.Assert;
 
 import javax.annotation.PreDestroy;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
 /**
  * Key-value ticket registry implementation that stores tickets in memcached keyed on the ticket ID.
@@ -79,6 +85,60 @@ public class MemCacheTicketRegistry extends AbstractTicketRegistry {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * All tickets are sent to memcached before waiting for any of the responses.
+     */
+    @Override
+    public void addTickets(final Collection<? extends Ticket> ticketsToAdd) {
+        if (this.client == null) {
+            logger.debug("No memcached client is found in the configuration.");
+            return;
+        }
+
+        final Map<Ticket, Future<Boolean>> results = new LinkedHashMap<>();
+        ticketsToAdd.forEach(ticketToAdd -> {
+            final Ticket ticket = encodeTicket(ticketToAdd);
+            logger.debug("Adding ticket {}", ticket);
+            results.put(ticket, this.client.add(ticket.getId(), getTimeout(ticketToAdd), ticket));
+        });
+        results.forEach((ticket, result) -> {
+            try {
+                if (!result.get()) {
+                    logger.error("Failed to add {}", ticket);
+                }
+            } catch (final InterruptedException e) {
+                logger.warn("Interrupted while waiting for response to async add operation for ticket {}."
+                        + "Cannot determine whether add was successful.", ticket);
+            } catch (final Exception e) {
+                logger.error("Failed adding {}", ticket, e);
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     * All ticket ids are sent to memcached before waiting for any of the responses.
+     */
+    @Override
+    public int deleteSingleTickets(final Collection<String> ticketIds) {
+        Assert.notNull(this.client, "No memcached client is defined.");
+        final Map<String, Future<Boolean>> results = new LinkedHashMap<>();
+        ticketIds.forEach(ticketId -> results.put(ticketId, this.client.delete(ticketId)));
+        results.forEach((ticketId, result) -> {
+            try {
+                if (result.get()) {
+                    logger.debug("Removed ticket {} from the cache", ticketId);
+                } else {
+                    logger.info("Ticket {} not found or is already removed.", ticketId);
+                }
+            } catch (final Exception e) {
+                logger.error("Ticket not found or is already removed. Failed deleting {}", ticketId, e);
+            }
+        });
+        return results.size();
+    }
+
     @Override
     public boolean deleteSingleTicket(final String ticketId) {
         try {
@@ -113,6 +173,28 @@ public class MemCacheTicketRegistry extends AbstractTicketRegistry {
         return null;
     }
 
+    /**
+     * {@inheritDoc}
+     * All tickets are fetched with a single bulk get.
+     */
+    @Override
+    public Collection<Ticket> getTickets(final Collection<String> ticketIds) {
+        if (this.client == null) {
+            logger.debug("No memcached client is configured.");
+            return Collections.emptyList();
+        }
+
+        final List<String> encodedTicketIds = ticketIds.stream().map(this::encodeTicketId).collect(Collectors.toList());
+        try {
+            return this.client.getBulk(encodedTicketIds).values().stream()
+                    .map(t -> decodeTicket((Ticket) t))
+                    .collect(Collectors.toList());
+        } catch (final Exception e) {
+            logger.error("Failed fetching {} ", encodedTicketIds, e);
+        }
+        return Collections.emptyList();
+    }
+
     /**
      * {@inheritDoc}
      * This operation is not supported.
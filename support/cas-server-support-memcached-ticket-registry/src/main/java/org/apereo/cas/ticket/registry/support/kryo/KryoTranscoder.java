@@ -1,5 +1,6 @@
 package org.apereo.cas.ticket.registry.support.kryo;
 
+import com.codahale.metrics.MetricRegistry;
 import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.Serializer;
 import com.esotericsoftware.kryo.io.Input;
@@ -27,12 +28,15 @@ import org.apereo.cas.authentication.UsernamePasswordCredential;
 import org.apereo.cas.authentication.principal.SimplePrincipal;
 import org.apereo.cas.authentication.principal.SimpleWebApplicationServiceImpl;
 import org.apereo.cas.services.RegexRegisteredService;
+import org.apereo.cas.ticket.ProxyGrantingTicketImpl;
+import org.apereo.cas.ticket.ProxyTicketImpl;
 import org.apereo.cas.ticket.ServiceTicketImpl;
 import org.apereo.cas.ticket.TicketGrantingTicketImpl;
 import org.apereo.cas.ticket.registry.support.kryo.serial.RegisteredServiceSerializer;
 import org.apereo.cas.ticket.registry.support.kryo.serial.SimpleWebApplicationServiceSerializer;
 import org.apereo.cas.ticket.registry.support.kryo.serial.URLSerializer;
 import org.apereo.cas.ticket.registry.support.kryo.serial.ZonedDateTimeTranscoder;
+import org.apereo.cas.ticket.support.AlwaysExpiresExpirationPolicy;
 import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
 import org.apereo.cas.ticket.support.MultiTimeUseOrTimeoutExpirationPolicy;
 import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
@@ -41,44 +45,83 @@ import org.apereo.cas.ticket.support.ThrottledUseAndTimeoutExpirationPolicy;
 import org.apereo.cas.ticket.support.TicketGrantingTicketExpirationPolicy;
 import org.apereo.cas.ticket.support.TimeoutExpirationPolicy;
 import org.apereo.cas.authentication.DefaultAuthentication;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 
 import javax.annotation.PostConstruct;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.net.URI;
 import java.net.URL;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
 /**
  * {@link net.spy.memcached.MemcachedClient} transcoder implementation based on Kryo fast serialization framework
  * suited for efficient serialization of tickets.
+ * <p>
+ * Kryo instances are not thread-safe. Each encode or decode operation borrows an engine,
+ * made of a Kryo instance and an output buffer, from a pool and returns it when done; engines
+ * are created as needed and up to {@link #setPoolSize(int)} idle engines are kept for reuse.
+ * Output buffers are reused unless they grew too large.
+ * <p>
+ * Known types are registered in a fixed order, which determines their ids; the order is the one
+ * of earlier versions so that their payloads can still be read. Additional types of
+ * {@link #setSerializerMap(Map)} follow, in the order of their names. When registration is required,
+ * writing an unregistered type fails rather than writing its class name, which keeps payloads
+ * small and makes them identical on every node using the same configuration.
  *
  * @author Marvin S. Addison
  * @since 3.0.0
  */
 @SuppressWarnings("rawtypes")
 public class KryoTranscoder implements Transcoder<Object> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(KryoTranscoder.class);
+
+    private static final String ENCODE_TIMER = "memcached.transcoder.encode";
+    private static final String DECODE_TIMER = "memcached.transcoder.decode";
+    private static final String PAYLOAD_SIZE_HISTOGRAM = "memcached.transcoder.payloadSize";
+
+    private static final int BUFFER_SIZE = 4096;
 
     /**
-     * Kryo serializer.
+     * Output buffers that grew beyond this size are not kept for reuse.
      */
-    private Kryo kryo = new KryoReflectionFactorySupport();
+    private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
 
     /**
      * Map of class to serializer that handles it.
      */
     private Map<Class<?>, Serializer> serializerMap;
 
+    private boolean registrationRequired;
+
+    private int poolSize = 16;
+
+    private BlockingQueue<KryoEngine> pool;
+
+    /**
+     * Kryo instance handed out by {@link #getKryo()}.
+     */
+    private Kryo kryo;
+
+    @Autowired(required = false)
+    private MetricRegistry metricRegistry;
+
     /**
      * Creates a Kryo-based transcoder.
      */
@@ -88,6 +131,8 @@ public class KryoTranscoder implements Transcoder<Object> {
     /**
      * Sets a map of additional types that should be regisetered with Kryo,
      * for example GoogleAccountsService and OpenIdService.
+     * The given serializers are registered with every Kryo instance of the pool,
+     * and so must be safe for use by several threads at once.
      *
      * @param map Map of class to the serializer instance that handles it.
      */
@@ -96,65 +141,31 @@ public class KryoTranscoder implements Transcoder<Object> {
     }
 
     /**
-     * Initialize and register classes with kryo.
+     * Whether writing a type that is not registered should fail,
+     * rather than write the name of the type along with the object.
+     *
+     * @param registrationRequired the registration required
      */
-    @PostConstruct
-    public void initialize() {
-        // Register types we know about and do not require external configuration
-        this.kryo.register(ArrayList.class);
-        this.kryo.register(BasicCredentialMetaData.class);
-        this.kryo.register(Class.class, new DefaultSerializers.ClassSerializer());
-        this.kryo.register(ZonedDateTime.class, new ZonedDateTimeTranscoder());
-        this.kryo.register(HardTimeoutExpirationPolicy.class);
-        this.kryo.register(HashMap.class);
-        this.kryo.register(LinkedHashMap.class);
-        this.kryo.register(HashSet.class);
-        this.kryo.register(DefaultHandlerResult.class);
-        this.kryo.register(DefaultAuthentication.class);
-        this.kryo.register(MultiTimeUseOrTimeoutExpirationPolicy.class);
-        this.kryo.register(NeverExpiresExpirationPolicy.class);
-        this.kryo.register(RememberMeDelegatingExpirationPolicy.class);
-        this.kryo.register(ServiceTicketImpl.class);
-        this.kryo.register(SimpleWebApplicationServiceImpl.class, new SimpleWebApplicationServiceSerializer());
-        this.kryo.register(ThrottledUseAndTimeoutExpirationPolicy.class);
-        this.kryo.register(TicketGrantingTicketExpirationPolicy.class);
-        this.kryo.register(TicketGrantingTicketImpl.class);
-        this.kryo.register(TimeoutExpirationPolicy.class);
-        this.kryo.register(UsernamePasswordCredential.class);
-        this.kryo.register(SimplePrincipal.class);
-        this.kryo.register(URL.class, new URLSerializer());
-        this.kryo.register(URI.class, new URISerializer());
-        this.kryo.register(Pattern.class, new RegexSerializer());
-        this.kryo.register(UUID.class, new UUIDSerializer());
-        this.kryo.register(EnumMap.class, new EnumMapSerializer());
-        this.kryo.register(EnumSet.class, new EnumSetSerializer());
-
-        // we add these ones for tests only
-        this.kryo.register(RegexRegisteredService.class, new RegisteredServiceSerializer());
-
-
-        // from the kryo-serializers library (https://github.com/magro/kryo-serializers)
-        UnmodifiableCollectionsSerializer.registerSerializers(this.kryo);
-        ImmutableListSerializer.registerSerializers(this.kryo);
-        ImmutableSetSerializer.registerSerializers(this.kryo);
-        ImmutableMapSerializer.registerSerializers(this.kryo);
-        ImmutableMultimapSerializer.registerSerializers(this.kryo);
-
-        this.kryo.register(Collections.EMPTY_LIST.getClass(), new CollectionsEmptyListSerializer());
-        this.kryo.register(Collections.EMPTY_MAP.getClass(), new CollectionsEmptyMapSerializer());
-        this.kryo.register(Collections.EMPTY_SET.getClass(), new CollectionsEmptySetSerializer());
+    public void setRegistrationRequired(final boolean registrationRequired) {
+        this.registrationRequired = registrationRequired;
+    }
 
-        // Register other types
-        if (this.serializerMap != null) {
-            this.serializerMap.forEach(this.kryo::register);
-        }
+    /**
+     * Sets the maximum number of idle Kryo instances kept for reuse.
+     *
+     * @param poolSize the pool size
+     */
+    public void setPoolSize(final int poolSize) {
+        this.poolSize = poolSize;
+    }
 
-        // don't reinit the registered classes after every write or read
-        this.kryo.setAutoReset(false);
-        // don't replace objects by references
-        this.kryo.setReferences(false);
-        // Catchall for any classes not explicitly registered
-        this.kryo.setRegistrationRequired(false);
+    /**
+     * Initialize the pool of Kryo instances.
+     */
+    @PostConstruct
+    public void initialize() {
+        this.pool = new LinkedBlockingQueue<>(this.poolSize);
+        getKryo();
     }
 
     /**
@@ -170,21 +181,36 @@ public class KryoTranscoder implements Transcoder<Object> {
 
     @Override
     public CachedData encode(final Object obj) {
-        final ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
-        try (Output output = new Output(byteStream)) {
-            this.kryo.writeClassAndObject(output, obj);
-            output.flush();
-            final byte[] bytes = byteStream.toByteArray();
+        final long startTime = System.nanoTime();
+        final KryoEngine engine = borrow();
+        try {
+            engine.output.clear();
+            engine.kryo.writeClassAndObject(engine.output, obj);
+            final byte[] bytes = engine.output.toBytes();
+            if (this.metricRegistry != null) {
+                this.metricRegistry.timer(ENCODE_TIMER).update(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+                this.metricRegistry.histogram(PAYLOAD_SIZE_HISTOGRAM).update(bytes.length);
+            }
             return new CachedData(0, bytes, bytes.length);
+        } finally {
+            release(engine);
         }
     }
 
     @Override
     public Object decode(final CachedData d) {
-        final byte[] bytes = d.getData();
-        try (Input input = new Input(new ByteArrayInputStream(bytes))) {
-            final Object obj = this.kryo.readClassAndObject(input);
+        final long startTime = System.nanoTime();
+        final KryoEngine engine = borrow();
+        try {
+            engine.input.setBuffer(d.getData());
+            final Object obj = engine.kryo.readClassAndObject(engine.input);
+            if (this.metricRegistry != null) {
+                this.metricRegistry.timer(DECODE_TIMER).update(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            }
             return obj;
+        } finally {
+            engine.input.setBuffer(new byte[0]);
+            release(engine);
         }
     }
 
@@ -199,11 +225,117 @@ public class KryoTranscoder implements Transcoder<Object> {
     }
 
     /**
-     * Gets the kryo object that provides encoding and decoding services for this instance.
+     * Gets a kryo object, configured like the ones that provide encoding and decoding services for this instance.
+     * It may be used to construct serializers; it is not used for encoding or decoding and is not thread-safe.
      *
-     * @return Underlying Kryo instance.
+     * @return Kryo instance.
      */
     public Kryo getKryo() {
+        if (this.kryo == null) {
+            this.kryo = newKryo();
+        }
         return this.kryo;
     }
+
+    private KryoEngine borrow() {
+        final KryoEngine engine = this.pool == null ? null : this.pool.poll();
+        if (engine != null) {
+            return engine;
+        }
+        LOGGER.trace("Creating a new kryo instance");
+        return new KryoEngine(newKryo());
+    }
+
+    private void release(final KryoEngine engine) {
+        if (this.pool == null) {
+            return;
+        }
+        if (engine.output.getBuffer().length > MAX_RETAINED_BUFFER_SIZE) {
+            engine.output.setBuffer(new byte[BUFFER_SIZE], CachedData.MAX_SIZE);
+        }
+        this.pool.offer(engine);
+    }
+
+    private Kryo newKryo() {
+        final Kryo k = new KryoReflectionFactorySupport();
+
+        // Register types we know about and do not require external configuration.
+        // Types take the next free id as they are registered; keep the order and
+        // register new types after the existing ones, so that ids do not change.
+        k.register(ArrayList.class);
+        k.register(BasicCredentialMetaData.class);
+        k.register(Class.class, new DefaultSerializers.ClassSerializer());
+        k.register(ZonedDateTime.class, new ZonedDateTimeTranscoder());
+        k.register(HardTimeoutExpirationPolicy.class);
+        k.register(HashMap.class);
+        k.register(LinkedHashMap.class);
+        k.register(HashSet.class);
+        k.register(DefaultHandlerResult.class);
+        k.register(DefaultAuthentication.class);
+        k.register(MultiTimeUseOrTimeoutExpirationPolicy.class);
+        k.register(NeverExpiresExpirationPolicy.class);
+        k.register(RememberMeDelegatingExpirationPolicy.class);
+        k.register(ServiceTicketImpl.class);
+        k.register(SimpleWebApplicationServiceImpl.class, new SimpleWebApplicationServiceSerializer());
+        k.register(ThrottledUseAndTimeoutExpirationPolicy.class);
+        k.register(TicketGrantingTicketExpirationPolicy.class);
+        k.register(TicketGrantingTicketImpl.class);
+        k.register(TimeoutExpirationPolicy.class);
+        k.register(UsernamePasswordCredential.class);
+        k.register(SimplePrincipal.class);
+        k.register(URL.class, new URLSerializer());
+        k.register(URI.class, new URISerializer());
+        k.register(Pattern.class, new RegexSerializer());
+        k.register(UUID.class, new UUIDSerializer());
+        k.register(EnumMap.class, new EnumMapSerializer());
+        k.register(EnumSet.class, new EnumSetSerializer());
+
+        // we add these ones for tests only
+        k.register(RegexRegisteredService.class, new RegisteredServiceSerializer());
+
+        // from the kryo-serializers library (https://github.com/magro/kryo-serializers)
+        UnmodifiableCollectionsSerializer.registerSerializers(k);
+        ImmutableListSerializer.registerSerializers(k);
+        ImmutableSetSerializer.registerSerializers(k);
+        ImmutableMapSerializer.registerSerializers(k);
+        ImmutableMultimapSerializer.registerSerializers(k);
+
+        k.register(Collections.EMPTY_LIST.getClass(), new CollectionsEmptyListSerializer());
+        k.register(Collections.EMPTY_MAP.getClass(), new CollectionsEmptyMapSerializer());
+        k.register(Collections.EMPTY_SET.getClass(), new CollectionsEmptySetSerializer());
+
+        // Register other types, in a stable order
+        if (this.serializerMap != null) {
+            final List<Class<?>> types = new ArrayList<>(this.serializerMap.keySet());
+            types.sort(Comparator.comparing(Class::getName));
+            types.forEach(type -> k.register(type, this.serializerMap.get(type)));
+        }
+
+        // types registered since; these follow all of the above to leave their ids unchanged
+        k.register(ProxyGrantingTicketImpl.class);
+        k.register(ProxyTicketImpl.class);
+        k.register(AlwaysExpiresExpirationPolicy.class);
+        k.register(LinkedHashSet.class);
+
+        // the class resolver must be reset after each operation; instances are shared
+        // by many operations and payloads must not depend on what was written before.
+        k.setAutoReset(true);
+        // don't replace objects by references
+        k.setReferences(false);
+        k.setRegistrationRequired(this.registrationRequired);
+        return k;
+    }
+
+    /**
+     * A Kryo instance along with the buffers it reads from and writes to.
+     */
+    private static class KryoEngine {
+        private final Kryo kryo;
+        private final Output output = new Output(BUFFER_SIZE, CachedData.MAX_SIZE);
+        private final Input input = new Input();
+
+        KryoEngine(final Kryo kryo) {
+            this.kryo = kryo;
+        }
+    }
 }
@@ -1,6 +1,9 @@
 package org.apereo.cas.ticket.registry.support.kryo;
 
+import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
 import com.esotericsoftware.kryo.serializers.FieldSerializer;
 import net.spy.memcached.CachedData;
 import org.apereo.cas.authentication.AcceptUsersAuthenticationHandler;
@@ -12,6 +15,7 @@ import org.apereo.cas.mock.MockTicketGrantingTicket;
 import org.apereo.cas.services.RegisteredService;
 import org.apereo.cas.services.TestUtils;
 import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.ServiceTicketImpl;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.authentication.AuthenticationBuilder;
 import org.apereo.cas.authentication.Credential;
@@ -37,6 +41,12 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.Assert.*;
 
@@ -209,6 +219,95 @@ public class KryoTranscoderTests {
         assertEquals(service, transcoder.decode(transcoder.encode(service)));
     }
 
+    @Test
+    public void verifyEncodeDecodeConcurrently() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Callable<Boolean>> tasks = IntStream.range(0, 100)
+                    .mapToObj(i -> (Callable<Boolean>) () -> {
+                        final Map<String, Object> attributes = Collections.singletonMap(NICKNAME_KEY, NICKNAME_VALUE + i);
+                        final TicketGrantingTicket expectedTGT = new MockTicketGrantingTicket(TGT_ID + i,
+                                new UsernamePasswordCredential(USERNAME, PASSWORD), attributes);
+                        return expectedTGT.equals(transcoder.decode(transcoder.encode(expectedTGT)));
+                    })
+                    .collect(Collectors.toList());
+            for (final Future<Boolean> result : executor.invokeAll(tasks)) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void verifyDecodeByAnotherTranscoderWithRegistrationRequired() throws Exception {
+        final KryoTranscoder strict = new KryoTranscoder();
+        strict.setRegistrationRequired(true);
+        strict.initialize();
+        final KryoTranscoder other = new KryoTranscoder();
+        other.setRegistrationRequired(true);
+        other.initialize();
+
+        final TicketGrantingTicket expectedTGT = new TicketGrantingTicketImpl(TGT_ID,
+                new DefaultAuthenticationBuilder(new DefaultPrincipalFactory().createPrincipal(USERNAME))
+                        .addCredential(new BasicCredentialMetaData(new UsernamePasswordCredential(USERNAME, PASSWORD)))
+                        .build(),
+                new NeverExpiresExpirationPolicy());
+        assertEquals(expectedTGT, other.decode(strict.encode(expectedTGT)));
+    }
+
+    @Test
+    public void verifyConfiguredSerializerIsRegistered() {
+        final KryoTranscoder greetings = new KryoTranscoder();
+        greetings.setSerializerMap(Collections.singletonMap(Greeting.class, new GreetingSerializer("Hello, ")));
+        greetings.setRegistrationRequired(true);
+        greetings.initialize();
+
+        final Greeting greeting = (Greeting) greetings.decode(greetings.encode(new Greeting("Hello, bob")));
+        assertEquals("Hello, bob", greeting.getText());
+    }
+
+    @Test
+    public void verifyRegistrationIdsAreUnchanged() {
+        // ids of earlier versions, which took the ids that follow those of Kryo's default registrations
+        assertEquals(10, transcoder.getKryo().getRegistration(ArrayList.class).getId());
+        assertEquals(23, transcoder.getKryo().getRegistration(ServiceTicketImpl.class).getId());
+        assertEquals(27, transcoder.getKryo().getRegistration(TicketGrantingTicketImpl.class).getId());
+    }
+
+    private static class Greeting {
+        private final String text;
+
+        Greeting(final String text) {
+            this.text = text;
+        }
+
+        String getText() {
+            return this.text;
+        }
+    }
+
+    /**
+     * Writes the name of a greeting only; the serializer cannot be created without its salutation.
+     */
+    private static class GreetingSerializer extends Serializer<Greeting> {
+        private final String salutation;
+
+        GreetingSerializer(final String salutation) {
+            this.salutation = salutation;
+        }
+
+        @Override
+        public void write(final Kryo kryo, final Output output, final Greeting greeting) {
+            output.writeString(greeting.getText().substring(this.salutation.length()));
+        }
+
+        @Override
+        public Greeting read(final Kryo kryo, final Input input, final Class<Greeting> type) {
+            return new Greeting(this.salutation + input.readString());
+        }
+    }
+
     private static class MockAuthenticationHandler implements AuthenticationHandler {
 
         @Override
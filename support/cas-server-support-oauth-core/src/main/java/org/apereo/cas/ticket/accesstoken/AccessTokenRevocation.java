@@ -0,0 +1,27 @@
+package org.apereo.cas.ticket.accesstoken;
+
+import org.apereo.cas.ticket.Ticket;
+
+/**
+ * An access token revocation records that access tokens issued to a principal
+ * up to the time the revocation was created may no longer be used.
+ * Self-contained access tokens are not kept in the ticket registry and cannot be removed from it;
+ * this is how they are ended before they expire, for instance when the principal logs out.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public interface AccessTokenRevocation extends Ticket {
+
+    /**
+     * The prefix for access token revocations.
+     */
+    String PREFIX = "RAT";
+
+    /**
+     * Gets the id of the principal whose access tokens are revoked.
+     *
+     * @return the principal id
+     */
+    String getPrincipalId();
+}
@@ -0,0 +1,87 @@
+package org.apereo.cas.ticket.accesstoken;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apereo.cas.authentication.Authentication;
+import org.apereo.cas.ticket.AbstractTicket;
+import org.apereo.cas.ticket.ExpirationPolicy;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.springframework.util.Assert;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+/**
+ * An access token revocation implementation.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+@Entity
+@Table(name="OAUTH_REVOCATIONS", indexes = @Index(name="OAUTH_REVOCATION_EXPIRATION_TIME_IDX", columnList="EXPIRATION_TIME"))
+public class AccessTokenRevocationImpl extends AbstractTicket implements AccessTokenRevocation {
+
+    private static final long serialVersionUID = -5302916632414765316L;
+
+    /** The principal whose access tokens are revoked. */
+    @Column(name="PRINCIPAL_ID", nullable=false)
+    private String principalId;
+
+    /**
+     * Instantiates a new access token revocation.
+     */
+    public AccessTokenRevocationImpl() {
+        // exists for JPA purposes
+    }
+
+    /**
+     * Constructs a new access token revocation for a principal.
+     *
+     * @param id the unique identifier for the ticket.
+     * @param principalId the principal whose access tokens are revoked.
+     * @param expirationPolicy the expiration policy; revocations must be kept for as long as access tokens last.
+     * @throws IllegalArgumentException if the principal id is null.
+     */
+    public AccessTokenRevocationImpl(final String id, final String principalId, final ExpirationPolicy expirationPolicy) {
+        super(id, expirationPolicy);
+
+        Assert.notNull(principalId, "principal id cannot be null");
+        this.principalId = principalId;
+    }
+
+    @Override
+    public String getPrincipalId() {
+        return this.principalId;
+    }
+
+    @Override
+    public Authentication getAuthentication() {
+        return null;
+    }
+
+    @Override
+    public TicketGrantingTicket getGrantingTicket() {
+        return null;
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+        if (object == null) {
+            return false;
+        }
+        if (object == this) {
+            return true;
+        }
+        if (!(object instanceof AccessTokenRevocation)) {
+            return false;
+        }
+
+        final Ticket ticket = (Ticket) object;
+
+        return new EqualsBuilder()
+                .append(ticket.getId(), this.getId())
+                .isEquals();
+    }
+}
@@ -14,6 +14,7 @@ import javax.persistence.Column;
 import javax.persistence.DiscriminatorColumn;
 import javax.persistence.DiscriminatorValue;
 import javax.persistence.Entity;
+import javax.persistence.Index;
 import javax.persistence.Lob;
 import javax.persistence.Table;
 
@@ -24,7 +25,7 @@ import javax.persistence.Table;
  * @since 5.0.0
  */
 @Entity
-@Table(name="OAUTH_TOKENS")
+@Table(name="OAUTH_TOKENS", indexes = @Index(name="OAUTH_EXPIRATION_TIME_IDX", columnList="EXPIRATION_TIME"))
 @DiscriminatorColumn(name="TYPE")
 @DiscriminatorValue(OAuthCode.PREFIX)
 public class OAuthCodeImpl extends AbstractTicket implements OAuthCode {
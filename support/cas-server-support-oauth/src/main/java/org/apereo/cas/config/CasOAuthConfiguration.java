@@ -6,6 +6,7 @@ import org.apereo.cas.authentication.principal.PrincipalFactory;
 import org.apereo.cas.authentication.principal.Service;
 import org.apereo.cas.authentication.principal.ServiceFactory;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.support.oauth.OAuthProperties;
 import org.apereo.cas.services.RegisteredService;
 import org.apereo.cas.services.ReturnAllAttributeReleasePolicy;
 import org.apereo.cas.services.ServicesManager;
@@ -17,6 +18,7 @@ import org.apereo.cas.support.oauth.authenticator.OAuthUserAuthenticator;
 import org.apereo.cas.support.oauth.services.OAuthCallbackAuthorizeService;
 import org.apereo.cas.support.oauth.validator.OAuth20ValidationServiceSelectionStrategy;
 import org.apereo.cas.support.oauth.validator.OAuthValidator;
+import org.apereo.cas.support.oauth.util.OAuthUtils;
 import org.apereo.cas.support.oauth.web.AccessTokenResponseGenerator;
 import org.apereo.cas.support.oauth.web.ConsentApprovalViewResolver;
 import org.apereo.cas.support.oauth.web.OAuth20AccessTokenController;
@@ -29,7 +31,10 @@ import org.apereo.cas.support.oauth.web.OAuth20ProfileController;
 import org.apereo.cas.ticket.ExpirationPolicy;
 import org.apereo.cas.ticket.UniqueTicketIdGenerator;
 import org.apereo.cas.ticket.accesstoken.AccessTokenFactory;
+import org.apereo.cas.ticket.accesstoken.AccessTokenRevocationList;
 import org.apereo.cas.ticket.accesstoken.DefaultAccessTokenFactory;
+import org.apereo.cas.ticket.accesstoken.JwtAccessTokenCipherExecutor;
+import org.apereo.cas.ticket.accesstoken.JwtAccessTokenFactory;
 import org.apereo.cas.ticket.accesstoken.OAuthAccessTokenExpirationPolicy;
 import org.apereo.cas.ticket.code.DefaultOAuthCodeFactory;
 import org.apereo.cas.ticket.code.OAuthCodeExpirationPolicy;
@@ -56,6 +61,7 @@ import org.springframework.beans.factory.annotation.Autowire;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
@@ -69,6 +75,7 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 
 import static org.apereo.cas.support.oauth.OAuthConstants.BASE_OAUTH20_URL;
@@ -271,12 +278,35 @@ public class CasOAuthConfiguration extends WebMvcConfigurerAdapter {
     @RefreshScope
     @ConditionalOnMissingBean(name = "defaultAccessTokenFactory")
     public AccessTokenFactory defaultAccessTokenFactory() {
-        final DefaultAccessTokenFactory f = new DefaultAccessTokenFactory();
+        final OAuthProperties.Jwt jwt = casProperties.getAuthn().getOauth().getAccessToken().getJwt();
+        final DefaultAccessTokenFactory f;
+        if (jwt.isEnabled()) {
+            final JwtAccessTokenFactory jwtFactory = new JwtAccessTokenFactory(
+                    new JwtAccessTokenCipherExecutor(jwt.getCrypto().getEncryption().getKey(),
+                            jwt.getCrypto().getSigning().getKey(), jwt.isEncryptionEnabled()),
+                    accessTokenRevocationList());
+            jwtFactory.setIssuer(casProperties.getServer().getPrefix());
+            jwtFactory.setTimeToLiveInSeconds(casProperties.getAuthn().getOauth().getAccessToken().getTimeToKillInSeconds());
+            jwtFactory.setPrincipalFactory(oauthPrincipalFactory());
+            jwtFactory.setServiceFactory(webApplicationServiceFactory);
+            f = jwtFactory;
+        } else {
+            f = new DefaultAccessTokenFactory();
+        }
         f.setAccessTokenIdGenerator(accessTokenIdGenerator());
         f.setExpirationPolicy(accessTokenExpirationPolicy());
         return f;
     }
 
+    @Bean
+    @ConditionalOnProperty(prefix = "cas.authn.oauth.accessToken.jwt", name = "enabled", havingValue = "true")
+    public AccessTokenRevocationList accessTokenRevocationList() {
+        final OAuthProperties.Jwt jwt = casProperties.getAuthn().getOauth().getAccessToken().getJwt();
+        return new AccessTokenRevocationList(ticketRegistry,
+                casProperties.getAuthn().getOauth().getAccessToken().getTimeToKillInSeconds(),
+                jwt.getRevocationCacheTimeToLiveInSeconds(), jwt.getRevocationCacheSize());
+    }
+
     private ExpirationPolicy accessTokenExpirationPolicy() {
         return new OAuthAccessTokenExpirationPolicy(
                 casProperties.getAuthn().getOauth().getAccessToken().getMaxTimeToLiveInSeconds(),
@@ -400,6 +430,17 @@ public class CasOAuthConfiguration extends WebMvcConfigurerAdapter {
         return new DefaultUniqueTicketIdGenerator();
     }
 
+    /**
+     * Lets the services manager index OAuth services by client id.
+     * The method is static so that the services manager does not depend on this configuration.
+     *
+     * @return the client id resolver
+     */
+    @Bean
+    public static Function<RegisteredService, String> oauthClientIdKeyResolver() {
+        return OAuthUtils.CLIENT_ID_RESOLVER;
+    }
+
     @PostConstruct
     public void initializeServletApplicationContext() {
         final String oAuthCallbackUrl = casProperties.getServer().getPrefix() + BASE_OAUTH20_URL + '/'
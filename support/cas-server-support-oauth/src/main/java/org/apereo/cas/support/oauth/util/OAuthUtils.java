@@ -16,6 +16,7 @@ import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.util.Map;
+import java.util.function.Function;
 
 /**
  * This class has some usefull methods to output data in plain text,
@@ -28,6 +29,12 @@ public final class OAuthUtils {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(OAuthUtils.class);
 
+    /**
+     * Resolves the client id of OAuth services, by which the services manager indexes them.
+     */
+    public static final Function<RegisteredService, String> CLIENT_ID_RESOLVER =
+            s -> s instanceof OAuthRegisteredService ? ((OAuthRegisteredService) s).getClientId() : null;
+
     private OAuthUtils() {}
 
     /**
@@ -76,15 +83,7 @@ public final class OAuthUtils {
      * @return null, or the located {@link OAuthRegisteredService} instance in the service registry.
      */
     public static OAuthRegisteredService getRegisteredOAuthService(final ServicesManager servicesManager, final String clientId) {
-        for (final RegisteredService aService : servicesManager.getAllServices()) {
-            if (aService instanceof OAuthRegisteredService) {
-                final OAuthRegisteredService service = (OAuthRegisteredService) aService;
-                if (service.getClientId().equals(clientId)) {
-                    return service;
-                }
-            }
-        }
-        return null;
+        return (OAuthRegisteredService) servicesManager.findServiceBy(clientId, CLIENT_ID_RESOLVER);
     }
 
     /**
@@ -72,7 +72,9 @@ public abstract class BaseOAuthWrapperController {
                                               final Authentication authentication,
                                               final J2EContext context) {
         final AccessToken accessToken = this.accessTokenFactory.create(service, authentication);
-        this.ticketRegistry.addTicket(accessToken);
+        if (!this.accessTokenFactory.isSelfContained()) {
+            this.ticketRegistry.addTicket(accessToken);
+        }
         return accessToken;
     }
 
@@ -62,7 +62,8 @@ public class OAuth20ProfileController extends BaseOAuthWrapperController {
             return new ResponseEntity<>(value, HttpStatus.UNAUTHORIZED);
         }
 
-        final AccessToken accessTokenTicket = this.ticketRegistry.getTicket(accessToken, AccessToken.class);
+        final AccessToken accessTokenTicket = getAccessTokenFactory().isSelfContained(accessToken)
+                ? getAccessTokenFactory().read(accessToken) : this.ticketRegistry.getTicket(accessToken, AccessToken.class);
         if (accessTokenTicket == null || accessTokenTicket.isExpired()) {
             logger.error("Expired access token: {}", OAuthConstants.ACCESS_TOKEN);
             final LinkedMultiValueMap<String, String> map = new LinkedMultiValueMap<>(1);
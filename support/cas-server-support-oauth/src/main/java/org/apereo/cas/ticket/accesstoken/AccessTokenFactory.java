@@ -20,4 +20,35 @@ public interface AccessTokenFactory extends TicketFactory {
      * @return the access token
      */
     AccessToken create(Service service, Authentication authentication);
+
+    /**
+     * Whether access tokens created by this factory carry everything needed
+     * to read them back, and so need not be kept in the ticket registry.
+     *
+     * @return true if access tokens are self-contained
+     */
+    default boolean isSelfContained() {
+        return false;
+    }
+
+    /**
+     * Whether the given id is that of a self-contained access token of this factory, going by its form alone.
+     * Such ids are only ever read back, and are never looked up in the ticket registry.
+     *
+     * @param accessTokenId the access token id
+     * @return true if the id is that of a self-contained access token
+     */
+    default boolean isSelfContained(final String accessTokenId) {
+        return false;
+    }
+
+    /**
+     * Read back a self-contained access token.
+     *
+     * @param accessTokenId the access token id
+     * @return the access token, or null if it is not valid or was not created by this factory
+     */
+    default AccessToken read(final String accessTokenId) {
+        return null;
+    }
 }
@@ -0,0 +1,121 @@
+package org.apereo.cas.ticket.accesstoken;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apereo.cas.support.events.CasTicketGrantingTicketDestroyedEvent;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
+import org.apereo.cas.util.DigestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link AccessTokenRevocationList} that keeps {@link AccessTokenRevocation}s in the ticket registry,
+ * one per principal, so that self-contained access tokens can be revoked on every CAS node.
+ * Revocations are kept for as long as access tokens last. Lookups are cached for a short period of time,
+ * so that checking access tokens does not read the registry on every request; revocations made on
+ * another node may therefore take that long to be seen. Self-contained access tokens are not tied to
+ * a single session, so logging out revokes all access tokens issued to the principal up to then.
+ * Access tokens only carry the second they were issued at, so revocations are kept to the second as well;
+ * access tokens issued in the second of a revocation are not revoked by it.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class AccessTokenRevocationList {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AccessTokenRevocationList.class);
+
+    private final TicketRegistry ticketRegistry;
+
+    private final long timeToLiveInSeconds;
+
+    private final Cache<String, Optional<ZonedDateTime>> revocations;
+
+    /**
+     * Instantiates a new access token revocation list.
+     *
+     * @param ticketRegistry           the ticket registry
+     * @param timeToLiveInSeconds      how long revocations are kept; at least as long as access tokens last
+     * @param cacheTimeToLiveInSeconds how long lookups of revocations are cached
+     * @param cacheSize                the maximum number of principals whose revocations are cached
+     */
+    public AccessTokenRevocationList(final TicketRegistry ticketRegistry, final long timeToLiveInSeconds,
+                                     final long cacheTimeToLiveInSeconds, final long cacheSize) {
+        this.ticketRegistry = ticketRegistry;
+        this.timeToLiveInSeconds = timeToLiveInSeconds;
+        this.revocations = CacheBuilder.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(cacheTimeToLiveInSeconds, TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * Revoke the access tokens issued to the principal until now.
+     *
+     * @param principalId the principal id
+     */
+    public void revoke(final String principalId) {
+        final String id = getRevocationId(principalId);
+        final AccessTokenRevocation revocation = new AccessTokenRevocationImpl(id, principalId,
+                new HardTimeoutExpirationPolicy(this.timeToLiveInSeconds));
+        if (this.ticketRegistry.getTicket(id) == null) {
+            this.ticketRegistry.addTicket(revocation);
+        } else {
+            this.ticketRegistry.updateTicket(revocation);
+        }
+        final ZonedDateTime revokedAt = getRevocationTime(revocation);
+        this.revocations.put(principalId, Optional.of(revokedAt));
+        LOGGER.debug("Revoked access tokens issued to [{}] before [{}]", principalId, revokedAt);
+    }
+
+    /**
+     * Whether an access token issued to the principal at the given time is revoked,
+     * that is, whether it was issued before the second its principal's access tokens were last revoked.
+     *
+     * @param principalId the principal id
+     * @param issuedAt    when the access token was issued
+     * @return true if the access token is revoked
+     */
+    public boolean isRevoked(final String principalId, final ZonedDateTime issuedAt) {
+        try {
+            final Optional<ZonedDateTime> revokedAt = this.revocations.get(principalId, () -> {
+                final Ticket ticket = this.ticketRegistry.getTicket(getRevocationId(principalId));
+                return ticket == null || ticket.isExpired() ? Optional.empty() : Optional.of(getRevocationTime(ticket));
+            });
+            return revokedAt.isPresent() && issuedAt.isBefore(revokedAt.get());
+        } catch (final ExecutionException e) {
+            throw Throwables.propagate(e.getCause());
+        }
+    }
+
+    /**
+     * Revoke the access tokens of the principal when the principal logs out.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleCasTicketGrantingTicketDestroyedEvent(final CasTicketGrantingTicketDestroyedEvent event) {
+        final TicketGrantingTicket ticket = event.getTicketGrantingTicket();
+        if (ticket != null && ticket.getAuthentication() != null) {
+            revoke(ticket.getAuthentication().getPrincipal().getId());
+        }
+    }
+
+    private static ZonedDateTime getRevocationTime(final Ticket revocation) {
+        return revocation.getCreationTime().truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    private static String getRevocationId(final String principalId) {
+        return AccessTokenRevocation.PREFIX + '-' + DigestUtils.sha(principalId);
+    }
+}
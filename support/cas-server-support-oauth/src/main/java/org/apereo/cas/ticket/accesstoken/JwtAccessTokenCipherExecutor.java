@@ -0,0 +1,156 @@
+package org.apereo.cas.ticket.accesstoken;
+
+import com.google.common.base.Throwables;
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.CipherExecutor;
+import org.jose4j.jwa.AlgorithmConstraints;
+import org.jose4j.jwe.ContentEncryptionAlgorithmIdentifiers;
+import org.jose4j.jwe.JsonWebEncryption;
+import org.jose4j.jwe.KeyManagementAlgorithmIdentifiers;
+import org.jose4j.jwk.JsonWebKey;
+import org.jose4j.jwk.OctJwkGenerator;
+import org.jose4j.jws.AlgorithmIdentifiers;
+import org.jose4j.jws.JsonWebSignature;
+import org.jose4j.keys.AesKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This is {@link JwtAccessTokenCipherExecutor} that turns the claims of an access token into a JWT
+ * signed with HMAC SHA-512, and, if encryption is enabled, nests the signed JWT in one encrypted with
+ * AES 128 CBC HMAC SHA-256 using the key directly. Unlike the other cipher executors, values are
+ * written as standard compact JWTs so that resource servers holding the keys can validate them.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class JwtAccessTokenCipherExecutor implements CipherExecutor<String, String> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JwtAccessTokenCipherExecutor.class);
+
+    private static final String JSON_WEB_KEY = "k";
+
+    private static final int ENCRYPTION_KEY_SIZE = 256;
+
+    private static final int SIGNING_KEY_SIZE = 512;
+
+    private final Key signingKey;
+
+    private final Key encryptionKey;
+
+    /**
+     * Instantiates a new cipher.
+     *
+     * @param secretKeyEncryption the secret key encryption; must be represented as a octet sequence JSON Web Key (JWK)
+     * @param secretKeySigning    the secret key signing
+     * @param encryptionEnabled   whether signed tokens are also encrypted
+     */
+    public JwtAccessTokenCipherExecutor(final String secretKeyEncryption, final String secretKeySigning,
+                                        final boolean encryptionEnabled) {
+        String signingKeyToUse = secretKeySigning;
+        if (StringUtils.isBlank(signingKeyToUse)) {
+            LOGGER.warn("Secret key for signing access tokens is not defined. CAS will attempt to auto-generate the signing key");
+            signingKeyToUse = generateOctetJsonWebKeyOfSize(SIGNING_KEY_SIZE);
+            LOGGER.warn("Generated signing key {} of size {}. The generated key MUST be added to CAS settings.",
+                    signingKeyToUse, SIGNING_KEY_SIZE);
+        }
+        this.signingKey = new AesKey(signingKeyToUse.getBytes(StandardCharsets.UTF_8));
+
+        if (encryptionEnabled) {
+            String encryptionKeyToUse = secretKeyEncryption;
+            if (StringUtils.isBlank(encryptionKeyToUse)) {
+                LOGGER.warn("Secret key for encrypting access tokens is not defined. CAS will attempt to auto-generate the encryption key");
+                encryptionKeyToUse = generateOctetJsonWebKeyOfSize(ENCRYPTION_KEY_SIZE);
+                LOGGER.warn("Generated encryption key {} of size {}. The generated key MUST be added to CAS settings.",
+                        encryptionKeyToUse, ENCRYPTION_KEY_SIZE);
+            }
+            this.encryptionKey = prepareJsonWebTokenKey(encryptionKeyToUse);
+        } else {
+            this.encryptionKey = null;
+        }
+    }
+
+    @Override
+    public String encode(final String value) {
+        try {
+            final JsonWebSignature jws = new JsonWebSignature();
+            jws.setPayload(value);
+            jws.setAlgorithmHeaderValue(AlgorithmIdentifiers.HMAC_SHA512);
+            jws.setKey(this.signingKey);
+            final String signed = jws.getCompactSerialization();
+            if (this.encryptionKey == null) {
+                return signed;
+            }
+
+            final JsonWebEncryption jwe = new JsonWebEncryption();
+            jwe.setPayload(signed);
+            jwe.setContentTypeHeaderValue("JWT");
+            jwe.setAlgorithmHeaderValue(KeyManagementAlgorithmIdentifiers.DIRECT);
+            jwe.setEncryptionMethodHeaderParameter(ContentEncryptionAlgorithmIdentifiers.AES_128_CBC_HMAC_SHA_256);
+            jwe.setKey(this.encryptionKey);
+            return jwe.getCompactSerialization();
+        } catch (final Exception e) {
+            throw Throwables.propagate(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * @return the claims of the token, or null if the token cannot be decrypted or its signature does not verify
+     */
+    @Override
+    public String decode(final String value) {
+        try {
+            String signed = value;
+            if (this.encryptionKey != null) {
+                final JsonWebEncryption jwe = new JsonWebEncryption();
+                jwe.setAlgorithmConstraints(new AlgorithmConstraints(AlgorithmConstraints.ConstraintType.WHITELIST,
+                        KeyManagementAlgorithmIdentifiers.DIRECT));
+                jwe.setContentEncryptionAlgorithmConstraints(new AlgorithmConstraints(AlgorithmConstraints.ConstraintType.WHITELIST,
+                        ContentEncryptionAlgorithmIdentifiers.AES_128_CBC_HMAC_SHA_256));
+                jwe.setKey(this.encryptionKey);
+                jwe.setCompactSerialization(value);
+                signed = jwe.getPayload();
+            }
+
+            final JsonWebSignature jws = new JsonWebSignature();
+            jws.setAlgorithmConstraints(new AlgorithmConstraints(AlgorithmConstraints.ConstraintType.WHITELIST,
+                    AlgorithmIdentifiers.HMAC_SHA512));
+            jws.setCompactSerialization(signed);
+            jws.setKey(this.signingKey);
+            if (jws.verifySignature()) {
+                return jws.getPayload();
+            }
+            LOGGER.debug("Signature of access token does not verify");
+        } catch (final Exception e) {
+            LOGGER.debug("Access token could not be decoded", e);
+        }
+        return null;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    private static Key prepareJsonWebTokenKey(final String secret) {
+        try {
+            final Map<String, Object> keys = new HashMap<>(2);
+            keys.put("kty", "oct");
+            keys.put(JSON_WEB_KEY, secret);
+            return JsonWebKey.Factory.newJwk(keys).getKey();
+        } catch (final Exception e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    private static String generateOctetJsonWebKeyOfSize(final int size) {
+        return OctJwkGenerator.generateJwk(size)
+                .toParams(JsonWebKey.OutputControlLevel.INCLUDE_SYMMETRIC)
+                .get(JSON_WEB_KEY).toString();
+    }
+}
@@ -0,0 +1,195 @@
+package org.apereo.cas.ticket.accesstoken;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.authentication.Authentication;
+import org.apereo.cas.authentication.AuthenticationBuilder;
+import org.apereo.cas.authentication.BasicCredentialMetaData;
+import org.apereo.cas.authentication.BasicIdentifiableCredential;
+import org.apereo.cas.authentication.CredentialMetaData;
+import org.apereo.cas.authentication.DefaultAuthenticationBuilder;
+import org.apereo.cas.authentication.DefaultHandlerResult;
+import org.apereo.cas.authentication.principal.DefaultPrincipalFactory;
+import org.apereo.cas.authentication.principal.Principal;
+import org.apereo.cas.authentication.principal.PrincipalFactory;
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.authentication.principal.ServiceFactory;
+import org.apereo.cas.authentication.principal.WebApplicationService;
+import org.jose4j.jwt.JwtClaims;
+import org.jose4j.jwt.NumericDate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link JwtAccessTokenFactory} that issues self-contained access tokens. The id of each access token is
+ * a JWT that carries the principal, its attributes, the attributes of the authentication, such as roles and permissions,
+ * and when the token expires; access tokens are therefore not kept in the ticket registry, and can be read back
+ * with only the keys of the {@link CipherExecutor}. Access tokens may be revoked before they expire
+ * through an {@link AccessTokenRevocationList}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class JwtAccessTokenFactory extends DefaultAccessTokenFactory {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JwtAccessTokenFactory.class);
+
+    private static final String CLAIM_ATTRIBUTES = "attributes";
+
+    private static final String CLAIM_AUTHENTICATION_ATTRIBUTES = "authn_attributes";
+
+    private static final String CLAIM_AUTHENTICATION_HANDLERS = "authn_handlers";
+
+    private static final String CLAIM_AUTHENTICATION_TIME = "auth_time";
+
+    private final CipherExecutor<String, String> cipherExecutor;
+
+    private final AccessTokenRevocationList revocationList;
+
+    private String issuer;
+
+    private long timeToLiveInSeconds;
+
+    private PrincipalFactory principalFactory = new DefaultPrincipalFactory();
+
+    private ServiceFactory<WebApplicationService> serviceFactory;
+
+    /**
+     * Instantiates a new JWT access token factory.
+     *
+     * @param cipherExecutor the cipher executor that signs, and optionally encrypts, access tokens
+     * @param revocationList the revocation list; may be null if access tokens cannot be revoked
+     */
+    public JwtAccessTokenFactory(final CipherExecutor<String, String> cipherExecutor,
+                                 final AccessTokenRevocationList revocationList) {
+        this.cipherExecutor = cipherExecutor;
+        this.revocationList = revocationList;
+    }
+
+    @Override
+    public AccessToken create(final Service service, final Authentication authentication) {
+        final Principal principal = authentication.getPrincipal();
+
+        final JwtClaims claims = new JwtClaims();
+        claims.setJwtId(this.accessTokenIdGenerator.getNewTicketId(AccessToken.PREFIX));
+        claims.setIssuer(this.issuer);
+        claims.setAudience(service.getId());
+        claims.setSubject(principal.getId());
+        claims.setIssuedAtToNow();
+        final NumericDate expirationTime = NumericDate.now();
+        expirationTime.addSeconds(this.timeToLiveInSeconds);
+        claims.setExpirationTime(expirationTime);
+        claims.setClaim(CLAIM_AUTHENTICATION_TIME, authentication.getAuthenticationDate().toEpochSecond());
+        claims.setClaim(CLAIM_ATTRIBUTES, toClaim(principal.getAttributes()));
+        claims.setClaim(CLAIM_AUTHENTICATION_ATTRIBUTES, toClaim(authentication.getAttributes()));
+        claims.setStringListClaim(CLAIM_AUTHENTICATION_HANDLERS, new ArrayList<>(authentication.getSuccesses().keySet()));
+
+        final String id = this.cipherExecutor.encode(claims.toJson());
+        return new AccessTokenImpl(id, service, authentication, this.expirationPolicy);
+    }
+
+    @Override
+    public boolean isSelfContained() {
+        return true;
+    }
+
+    @Override
+    public boolean isSelfContained(final String accessTokenId) {
+        return StringUtils.countMatches(accessTokenId, '.') >= 2;
+    }
+
+    @Override
+    public AccessToken read(final String accessTokenId) {
+        if (!isSelfContained(accessTokenId)) {
+            return null;
+        }
+        try {
+            final String json = this.cipherExecutor.decode(accessTokenId);
+            if (json == null) {
+                return null;
+            }
+            final JwtClaims claims = JwtClaims.parse(json);
+            if (!StringUtils.equals(this.issuer, claims.getIssuer())) {
+                LOGGER.debug("Access token [{}] was not issued by [{}]", claims.getJwtId(), this.issuer);
+                return null;
+            }
+            if (claims.getExpirationTime() == null || !claims.getExpirationTime().isAfter(NumericDate.now())) {
+                LOGGER.debug("Access token [{}] has expired", claims.getJwtId());
+                return null;
+            }
+            final ZonedDateTime issuedAt = toDateTime(claims.getIssuedAt().getValue());
+            if (this.revocationList != null && this.revocationList.isRevoked(claims.getSubject(), issuedAt)) {
+                LOGGER.debug("Access token [{}] has been revoked", claims.getJwtId());
+                return null;
+            }
+
+            final Service service = this.serviceFactory.createService(claims.getAudience().get(0));
+            return new AccessTokenImpl(accessTokenId, service, toAuthentication(claims), this.expirationPolicy);
+        } catch (final Exception e) {
+            LOGGER.debug("Access token could not be read", e);
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Authentication toAuthentication(final JwtClaims claims) throws Exception {
+        final Map<String, Object> attributes = claims.getClaimValue(CLAIM_ATTRIBUTES, Map.class);
+        final Principal principal = this.principalFactory.createPrincipal(claims.getSubject(), attributes);
+        final CredentialMetaData metadata = new BasicCredentialMetaData(new BasicIdentifiableCredential(principal.getId()));
+
+        final AuthenticationBuilder builder = DefaultAuthenticationBuilder.newInstance()
+                .setPrincipal(principal)
+                .setAuthenticationDate(toDateTime(claims.getClaimValue(CLAIM_AUTHENTICATION_TIME, Number.class).longValue()))
+                .addCredential(metadata);
+        claims.getClaimValue(CLAIM_AUTHENTICATION_ATTRIBUTES, Map.class).forEach((k, v) -> builder.addAttribute(k.toString(), v));
+        claims.getStringListClaimValue(CLAIM_AUTHENTICATION_HANDLERS).forEach(name ->
+                builder.addSuccess(name, new DefaultHandlerResult(name, metadata, principal, new ArrayList<>())));
+        return builder.build();
+    }
+
+    /**
+     * Turn attributes into values a JWT can carry: multi-valued attributes as lists of strings, others as strings.
+     */
+    private static Map<String, Object> toClaim(final Map<String, Object> attributes) {
+        final Map<String, Object> claim = new HashMap<>(attributes.size());
+        attributes.forEach((k, v) -> {
+            if (v instanceof Collection) {
+                claim.put(k, ((Collection<?>) v).stream().map(String::valueOf).collect(Collectors.toList()));
+            } else if (v instanceof Object[]) {
+                claim.put(k, Arrays.stream((Object[]) v).map(String::valueOf).collect(Collectors.toList()));
+            } else if (v != null) {
+                claim.put(k, v.toString());
+            }
+        });
+        return claim;
+    }
+
+    private static ZonedDateTime toDateTime(final long epochSecond) {
+        return ZonedDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneOffset.UTC);
+    }
+
+    public void setIssuer(final String issuer) {
+        this.issuer = issuer;
+    }
+
+    public void setTimeToLiveInSeconds(final long timeToLiveInSeconds) {
+        this.timeToLiveInSeconds = timeToLiveInSeconds;
+    }
+
+    public void setPrincipalFactory(final PrincipalFactory principalFactory) {
+        this.principalFactory = principalFactory;
+    }
+
+    public void setServiceFactory(final ServiceFactory<WebApplicationService> serviceFactory) {
+        this.serviceFactory = serviceFactory;
+    }
+}
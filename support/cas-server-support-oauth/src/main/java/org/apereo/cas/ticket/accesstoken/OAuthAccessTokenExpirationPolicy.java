@@ -61,6 +61,15 @@ public class OAuthAccessTokenExpirationPolicy extends AbstractCasExpirationPolic
         return false;
     }
 
+    @Override
+    public ZonedDateTime getExpirationTime(final TicketState ticketState) {
+        final ZonedDateTime creationTime = ticketState.getCreationTime();
+        if (ticketState.getLastTimeUsed().isAfter(creationTime.plus(this.timeToKillInSeconds, ChronoUnit.SECONDS))) {
+            return ticketState.getLastTimeUsed();
+        }
+        return creationTime.plus(this.maxTimeToLiveInSeconds, ChronoUnit.SECONDS);
+    }
+
     @Override
     public Long getTimeToLive() {
         return this.maxTimeToLiveInSeconds;
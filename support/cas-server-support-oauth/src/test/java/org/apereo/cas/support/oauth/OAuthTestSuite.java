@@ -1,14 +1,17 @@
 package org.apereo.cas.support.oauth;
 
+import org.apereo.cas.support.oauth.util.OAuthUtilsTests;
 import org.apereo.cas.support.oauth.web.OAuth20ProfileControllerTests;
 import org.apereo.cas.support.oauth.web.OAuth20AccessTokenControllerTests;
 import org.apereo.cas.support.oauth.web.OAuth20AuthorizeControllerTests;
+import org.apereo.cas.ticket.accesstoken.JwtAccessTokenFactoryTests;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
 @Suite.SuiteClasses({OAuth20AccessTokenControllerTests.class, OAuth20AuthorizeControllerTests.class,
-                     OAuth20ProfileControllerTests.class})
+                     OAuth20ProfileControllerTests.class, OAuthUtilsTests.class,
+                     JwtAccessTokenFactoryTests.class})
 /**
  * OAuth test suite that runs all test in a batch.
  * @author Misagh Moayyed
@@ -0,0 +1,104 @@
+package org.apereo.cas.support.oauth.util;
+
+import org.apereo.cas.services.DefaultServicesManagerImpl;
+import org.apereo.cas.services.InMemoryServiceRegistryDaoImpl;
+import org.apereo.cas.services.RegexRegisteredService;
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.services.ServicesManager;
+import org.apereo.cas.support.oauth.services.OAuthRegisteredService;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link OAuthUtilsTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class OAuthUtilsTests {
+
+    private static final int SERVICE_COUNT = 100;
+
+    private DefaultServicesManagerImpl servicesManager;
+
+    @Before
+    public void setUp() {
+        final List<RegisteredService> services = new ArrayList<>();
+        for (int i = 0; i < SERVICE_COUNT; i++) {
+            final RegexRegisteredService regex = new RegexRegisteredService();
+            regex.setId(i);
+            regex.setName("regex" + i);
+            regex.setServiceId("https://app" + i + ".example.org/.*");
+            services.add(regex);
+
+            final OAuthRegisteredService oauth = new OAuthRegisteredService();
+            oauth.setId(SERVICE_COUNT + i);
+            oauth.setName("oauth" + i);
+            oauth.setServiceId("https://oauth" + i + ".example.org/.*");
+            oauth.setClientId("client" + i);
+            oauth.setClientSecret("secret");
+            services.add(oauth);
+        }
+        final InMemoryServiceRegistryDaoImpl dao = new InMemoryServiceRegistryDaoImpl();
+        dao.setRegisteredServices(services);
+        this.servicesManager = new DefaultServicesManagerImpl(dao);
+        this.servicesManager.setKeyResolvers(Collections.singletonMap("oauthClientIdKeyResolver", OAuthUtils.CLIENT_ID_RESOLVER));
+        this.servicesManager.load();
+    }
+
+    @Test
+    public void verifyServiceIsFoundByClientId() {
+        final OAuthRegisteredService service = OAuthUtils.getRegisteredOAuthService(this.servicesManager, "client42");
+        assertNotNull(service);
+        assertEquals("oauth42", service.getName());
+        assertNull(OAuthUtils.getRegisteredOAuthService(this.servicesManager, "unknown"));
+        assertNull(OAuthUtils.getRegisteredOAuthService(this.servicesManager, null));
+    }
+
+    @Test
+    public void verifyIndexFollowsSavedAndDeletedServices() {
+        final OAuthRegisteredService service = new OAuthRegisteredService();
+        service.setId(3 * SERVICE_COUNT);
+        service.setName("added");
+        service.setServiceId("https://added.example.org/.*");
+        service.setClientId("added");
+        assertNull(OAuthUtils.getRegisteredOAuthService(this.servicesManager, "added"));
+
+        this.servicesManager.save(service);
+        assertEquals("added", OAuthUtils.getRegisteredOAuthService(this.servicesManager, "added").getName());
+
+        this.servicesManager.delete(service.getId());
+        assertNull(OAuthUtils.getRegisteredOAuthService(this.servicesManager, "added"));
+    }
+
+    @Test
+    public void verifyLookupDoesNotScanServices() {
+        final ServicesManager spy = spy(this.servicesManager);
+        for (int i = 0; i < SERVICE_COUNT; i++) {
+            assertEquals("oauth" + i, OAuthUtils.getRegisteredOAuthService(spy, "client" + i).getName());
+        }
+        verify(spy, never()).getAllServices();
+    }
+
+    @Test
+    public void verifyServicesAreScannedWithoutIndex() {
+        final DefaultServicesManagerImpl unindexed = new DefaultServicesManagerImpl(new InMemoryServiceRegistryDaoImpl());
+        final OAuthRegisteredService service = new OAuthRegisteredService();
+        service.setId(1);
+        service.setName("scanned");
+        service.setServiceId("https://scanned.example.org/.*");
+        service.setClientId("scanned");
+        unindexed.save(service);
+
+        final ServicesManager spy = spy(unindexed);
+        assertEquals("scanned", OAuthUtils.getRegisteredOAuthService(spy, "scanned").getName());
+        verify(spy).getAllServices();
+    }
+}
@@ -16,6 +16,7 @@ import org.apereo.cas.support.oauth.OAuthConstants;
 import org.apereo.cas.ticket.accesstoken.AccessTokenImpl;
 import org.apereo.cas.ticket.accesstoken.AccessTokenFactory;
 import org.apereo.cas.ticket.accesstoken.DefaultAccessTokenFactory;
+import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.support.AlwaysExpiresExpirationPolicy;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,6 +32,7 @@ import java.util.List;
 import java.util.Map;
 
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
 
 /**
  * This class tests the {@link OAuth20ProfileController} class.
@@ -86,6 +88,29 @@ public class OAuth20ProfileControllerTests extends AbstractOAuth20Tests {
         assertTrue(entity.getBody().contains(OAuthConstants.EXPIRED_ACCESS_TOKEN));
     }
 
+    @Test
+    public void verifyRejectedSelfContainedAccessTokenIsNotLookedUp() throws Exception {
+        final String jwt = "header.claims.signature";
+        final AccessTokenFactory factory = mock(AccessTokenFactory.class);
+        when(factory.isSelfContained(jwt)).thenReturn(true);
+        final TicketRegistry registry = mock(TicketRegistry.class);
+
+        final OAuth20ProfileController controller = new OAuth20ProfileController();
+        controller.setAccessTokenFactory(factory);
+        controller.setTicketRegistry(registry);
+
+        final MockHttpServletRequest mockRequest = new MockHttpServletRequest("GET", CONTEXT
+                + OAuthConstants.PROFILE_URL);
+        mockRequest.setParameter(OAuthConstants.ACCESS_TOKEN, jwt);
+        final MockHttpServletResponse mockResponse = new MockHttpServletResponse();
+
+        final ResponseEntity<String> entity = controller.handleRequestInternal(mockRequest, mockResponse);
+        assertEquals(HttpStatus.UNAUTHORIZED, entity.getStatusCode());
+        assertTrue(entity.getBody().contains(OAuthConstants.EXPIRED_ACCESS_TOKEN));
+        verify(factory).read(jwt);
+        verifyZeroInteractions(registry);
+    }
+
     @Test
     public void verifyExpiredAccessToken() throws Exception {
         final Principal principal = org.apereo.cas.authentication.TestUtils.getPrincipal(ID, new HashMap<>());
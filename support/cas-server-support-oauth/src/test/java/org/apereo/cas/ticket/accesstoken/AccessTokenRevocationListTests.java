@@ -0,0 +1,63 @@
+package org.apereo.cas.ticket.accesstoken;
+
+import org.apereo.cas.ticket.registry.DefaultTicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.junit.Test;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link AccessTokenRevocationListTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class AccessTokenRevocationListTests {
+
+    private static final String PRINCIPAL = "casuser";
+
+    private final TicketRegistry ticketRegistry = new DefaultTicketRegistry();
+
+    private final AccessTokenRevocationList revocationList = new AccessTokenRevocationList(this.ticketRegistry, 60, 10, 100);
+
+    @Test
+    public void verifyAccessTokensAreNotRevokedWithoutRevocation() {
+        assertFalse(this.revocationList.isRevoked(PRINCIPAL, now()));
+    }
+
+    @Test
+    public void verifyAccessTokenIssuedBeforeRevocationIsRevoked() {
+        final ZonedDateTime issuedAt = now().minusSeconds(1);
+        this.revocationList.revoke(PRINCIPAL);
+        assertTrue(this.revocationList.isRevoked(PRINCIPAL, issuedAt));
+        assertFalse(this.revocationList.isRevoked("other", issuedAt));
+    }
+
+    @Test
+    public void verifyAccessTokenIssuedRightAfterRevocationIsNotRevoked() {
+        this.revocationList.revoke(PRINCIPAL);
+        assertFalse(this.revocationList.isRevoked(PRINCIPAL, now()));
+    }
+
+    @Test
+    public void verifyRevocationIsReadFromTicketRegistry() {
+        final ZonedDateTime issuedBefore = now().minusSeconds(1);
+        this.revocationList.revoke(PRINCIPAL);
+        final ZonedDateTime issuedAfter = now();
+
+        final AccessTokenRevocationList otherNode = new AccessTokenRevocationList(this.ticketRegistry, 60, 10, 100);
+        assertTrue(otherNode.isRevoked(PRINCIPAL, issuedBefore));
+        assertFalse(otherNode.isRevoked(PRINCIPAL, issuedAfter));
+    }
+
+    /**
+     * The current time, to the second, as carried by access tokens.
+     */
+    private static ZonedDateTime now() {
+        return ZonedDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.SECONDS);
+    }
+}
@@ -0,0 +1,127 @@
+package org.apereo.cas.ticket.accesstoken;
+
+import org.apereo.cas.authentication.Authentication;
+import org.apereo.cas.authentication.TestUtils;
+import org.apereo.cas.authentication.principal.Principal;
+import org.apereo.cas.authentication.principal.WebApplicationServiceFactory;
+import org.apereo.cas.ticket.registry.DefaultTicketRegistry;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link JwtAccessTokenFactoryTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class JwtAccessTokenFactoryTests {
+
+    private static final String ISSUER = "https://sso.example.org/cas";
+
+    private final AccessTokenRevocationList revocationList =
+            new AccessTokenRevocationList(new DefaultTicketRegistry(), 60, 10, 100);
+
+    @Test
+    public void verifyAccessTokenIsReadBack() {
+        verifyAccessTokenIsReadBack(false);
+    }
+
+    @Test
+    public void verifyEncryptedAccessTokenIsReadBack() {
+        verifyAccessTokenIsReadBack(true);
+    }
+
+    @Test
+    public void verifyAccessTokenSignedWithAnotherKeyIsRejected() {
+        final AccessToken accessToken = newFactory(false).create(TestUtils.getService(), getAuthentication());
+        assertTrue(newFactory(false).isSelfContained());
+        assertNull(newFactory(false).read(accessToken.getId()));
+    }
+
+    @Test
+    public void verifyTamperedAccessTokenIsRejected() {
+        final JwtAccessTokenFactory factory = newFactory(false);
+        final String id = factory.create(TestUtils.getService(), getAuthentication()).getId();
+        final int index = id.indexOf('.') + 2;
+        final char replacement = id.charAt(index) == 'A' ? 'B' : 'A';
+        final String tampered = id.substring(0, index) + replacement + id.substring(index + 1);
+        assertTrue(factory.isSelfContained(tampered));
+        assertNull(factory.read(tampered));
+        assertFalse(factory.isSelfContained("AT-1-notajwt"));
+        assertNull(factory.read("AT-1-notajwt"));
+    }
+
+    @Test
+    public void verifyRevokedAccessTokenIsRejected() {
+        final JwtAccessTokenFactory factory = newFactory(false);
+        final AccessToken accessToken = factory.create(TestUtils.getService(), getAuthentication());
+        assertNotNull(factory.read(accessToken.getId()));
+
+        awaitNextSecond();
+        this.revocationList.revoke(TestUtils.CONST_USERNAME);
+        assertNull(factory.read(accessToken.getId()));
+    }
+
+    @Test
+    public void verifyAccessTokenIssuedRightAfterRevocationIsAccepted() {
+        this.revocationList.revoke(TestUtils.CONST_USERNAME);
+        final JwtAccessTokenFactory factory = newFactory(false);
+        final AccessToken accessToken = factory.create(TestUtils.getService(), getAuthentication());
+        assertNotNull(factory.read(accessToken.getId()));
+    }
+
+    /**
+     * Access tokens carry the second they were issued at; waits for the next one,
+     * so that a revocation made afterwards falls in a later second.
+     */
+    private static void awaitNextSecond() {
+        try {
+            Thread.sleep(1000 - System.currentTimeMillis() % 1000 + 1);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void verifyAccessTokenIsReadBack(final boolean encryptionEnabled) {
+        final JwtAccessTokenFactory factory = newFactory(encryptionEnabled);
+        final Authentication authentication = getAuthentication();
+        final AccessToken accessToken = factory.create(TestUtils.getService(), authentication);
+        assertEquals(encryptionEnabled ? 4 : 2, accessToken.getId().chars().filter(c -> c == '.').count());
+
+        final AccessToken read = factory.read(accessToken.getId());
+        assertNotNull(read);
+        assertEquals(accessToken.getId(), read.getId());
+        assertEquals(TestUtils.CONST_TEST_URL, read.getService().getId());
+
+        final Principal principal = read.getAuthentication().getPrincipal();
+        assertEquals(TestUtils.CONST_USERNAME, principal.getId());
+        assertEquals("casuser@example.org", principal.getAttributes().get("mail"));
+        assertEquals(Arrays.asList("admin", "staff"), principal.getAttributes().get("memberOf"));
+        assertEquals("read", read.getAuthentication().getAttributes().get("permission"));
+        assertEquals(authentication.getSuccesses().keySet(), read.getAuthentication().getSuccesses().keySet());
+    }
+
+    private JwtAccessTokenFactory newFactory(final boolean encryptionEnabled) {
+        final JwtAccessTokenFactory factory = new JwtAccessTokenFactory(
+                new JwtAccessTokenCipherExecutor(null, null, encryptionEnabled), this.revocationList);
+        factory.setIssuer(ISSUER);
+        factory.setTimeToLiveInSeconds(60);
+        factory.setExpirationPolicy(new OAuthAccessTokenExpirationPolicy(60, 60));
+        factory.setServiceFactory(new WebApplicationServiceFactory());
+        return factory;
+    }
+
+    private static Authentication getAuthentication() {
+        final Map<String, Object> attributes = new HashMap<>();
+        attributes.put("mail", "casuser@example.org");
+        attributes.put("memberOf", Arrays.asList("admin", "staff"));
+        final Map<String, Object> authnAttributes = new HashMap<>();
+        authnAttributes.put("permission", "read");
+        return TestUtils.getAuthentication(TestUtils.getPrincipal(TestUtils.CONST_USERNAME, attributes), authnAttributes);
+    }
+}
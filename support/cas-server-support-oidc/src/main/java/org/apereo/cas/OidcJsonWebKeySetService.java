@@ -0,0 +1,245 @@
+package org.apereo.cas;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.services.OidcRegisteredService;
+import org.apereo.cas.services.ServicesManager;
+import org.apereo.cas.util.DigestUtils;
+import org.jose4j.jwk.JsonWebKey;
+import org.jose4j.jwk.JsonWebKeySet;
+import org.jose4j.jwk.RsaJsonWebKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link OidcJsonWebKeySetService} that parses JSON web key sets once and keeps them,
+ * so that signing ID tokens does not read and parse keys again. Key sets are checked for changes
+ * once their time to live has passed, and are only parsed again if they did change; if a changed key set
+ * cannot be parsed, the previous one is kept. The public key set published by CAS is rendered
+ * ahead of time along with an entity tag, so that clients can ask for it conditionally.
+ * The key set of CAS is required: if it is not defined or cannot be loaded, asking for it fails
+ * rather than falling back to publishing no keys or issuing unsigned ID tokens.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class OidcJsonWebKeySetService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(OidcJsonWebKeySetService.class);
+
+    private final ResourceLoader resourceLoader;
+
+    private final Resource jwksFile;
+
+    private final ServicesManager servicesManager;
+
+    private final long timeToLiveInSeconds;
+
+    private final Cache<String, CachedJsonWebKeySet> keySets;
+
+    private volatile PublicJsonWebKeySet publicKeySet;
+
+    /**
+     * Instantiates a new key set service.
+     *
+     * @param resourceLoader      the resource loader for key sets of services
+     * @param jwksFile            the key set of CAS
+     * @param servicesManager     the services manager
+     * @param timeToLiveInSeconds how long key sets are used before checking them for changes
+     * @param cacheSize           the maximum number of key sets kept
+     */
+    public OidcJsonWebKeySetService(final ResourceLoader resourceLoader, final Resource jwksFile,
+                                    final ServicesManager servicesManager, final long timeToLiveInSeconds,
+                                    final long cacheSize) {
+        this.resourceLoader = resourceLoader;
+        this.jwksFile = jwksFile;
+        this.servicesManager = servicesManager;
+        this.timeToLiveInSeconds = timeToLiveInSeconds;
+        this.keySets = CacheBuilder.newBuilder().maximumSize(cacheSize).build();
+    }
+
+    /**
+     * Gets the key set of the service, or that of CAS if the service has none that can be loaded.
+     *
+     * @param service the service
+     * @return the key set
+     * @throws IllegalArgumentException if the key set of CAS is needed but is not defined or cannot be loaded
+     */
+    public JsonWebKeySet getJsonWebKeySet(final OidcRegisteredService service) {
+        if (StringUtils.isNotBlank(service.getJwks())) {
+            final Optional<JsonWebKeySet> keySet = getJsonWebKeySet(this.resourceLoader.getResource(service.getJwks()));
+            if (keySet.isPresent()) {
+                return keySet.get();
+            }
+        }
+        LOGGER.debug("Using default JWKS from [{}] for [{}]", this.jwksFile, service.getServiceId());
+        return getJsonWebKeySet();
+    }
+
+    /**
+     * Gets the key set of CAS.
+     *
+     * @return the key set
+     * @throws IllegalArgumentException if the key set is not defined or cannot be loaded
+     */
+    public JsonWebKeySet getJsonWebKeySet() {
+        if (this.jwksFile == null) {
+            throw new IllegalArgumentException("JWKS file cannot be undefined or null.");
+        }
+        return getJsonWebKeySet(this.jwksFile)
+                .orElseThrow(() -> new IllegalArgumentException("JWKS could not be loaded from " + this.jwksFile));
+    }
+
+    /**
+     * Gets the key to sign ID tokens of the service with: the first key of its key set,
+     * if that is an RSA key with a private key.
+     *
+     * @param service the service
+     * @return the signing key
+     * @throws IllegalArgumentException if the key set of CAS is needed but is not defined or cannot be loaded
+     */
+    public Optional<RsaJsonWebKey> getSigningKey(final OidcRegisteredService service) {
+        return getJsonWebKeySet(service).getJsonWebKeys().stream().findFirst()
+                .filter(RsaJsonWebKey.class::isInstance)
+                .map(RsaJsonWebKey.class::cast)
+                .filter(key -> key.getPrivateKey() != null);
+    }
+
+    /**
+     * Gets the public key set of CAS and of all services, rendered as JSON.
+     *
+     * @return the public key set
+     * @throws IllegalArgumentException if the key set of CAS is not defined or cannot be loaded
+     */
+    public PublicJsonWebKeySet getPublicJsonWebKeySet() {
+        final PublicJsonWebKeySet current = this.publicKeySet;
+        if (current != null && !current.isExpired()) {
+            return current;
+        }
+        synchronized (this) {
+            if (this.publicKeySet == null || this.publicKeySet.isExpired()) {
+                this.publicKeySet = renderPublicJsonWebKeySet();
+            }
+            return this.publicKeySet;
+        }
+    }
+
+    private PublicJsonWebKeySet renderPublicJsonWebKeySet() {
+        final JsonWebKeySet keySet = new JsonWebKeySet();
+        getJsonWebKeySet().getJsonWebKeys().forEach(keySet::addJsonWebKey);
+        this.servicesManager.getAllServices()
+                .stream()
+                .filter(s -> s instanceof OidcRegisteredService && StringUtils.isNotBlank(((OidcRegisteredService) s).getJwks()))
+                .forEach(s -> getJsonWebKeySet(this.resourceLoader.getResource(((OidcRegisteredService) s).getJwks()))
+                        .ifPresent(set -> set.getJsonWebKeys().forEach(keySet::addJsonWebKey)));
+        final String body = keySet.toJson(JsonWebKey.OutputControlLevel.PUBLIC_ONLY);
+        return new PublicJsonWebKeySet(body, '"' + DigestUtils.sha(body) + '"', this.timeToLiveInSeconds);
+    }
+
+    private Optional<JsonWebKeySet> getJsonWebKeySet(final Resource resource) {
+        if (resource == null) {
+            return Optional.empty();
+        }
+        final String location = resource.getDescription();
+        final CachedJsonWebKeySet cached = this.keySets.getIfPresent(location);
+        if (cached != null && !cached.isExpired()) {
+            return Optional.of(cached.keySet);
+        }
+        final CachedJsonWebKeySet loaded = load(resource, cached);
+        if (loaded == null) {
+            return Optional.empty();
+        }
+        this.keySets.put(location, loaded);
+        return Optional.of(loaded.keySet);
+    }
+
+    /**
+     * Load the key set unless it has not changed since it was cached.
+     */
+    private CachedJsonWebKeySet load(final Resource resource, final CachedJsonWebKeySet cached) {
+        final long lastModified = lastModified(resource);
+        if (cached != null && lastModified > 0 && lastModified == cached.lastModified) {
+            LOGGER.trace("JWKS [{}] has not been modified", resource);
+            return new CachedJsonWebKeySet(cached.keySet, cached.json, lastModified, this.timeToLiveInSeconds);
+        }
+        try {
+            final String json = IOUtils.toString(resource.getInputStream(), StandardCharsets.UTF_8);
+            if (cached != null && Objects.equals(json, cached.json)) {
+                return new CachedJsonWebKeySet(cached.keySet, json, lastModified, this.timeToLiveInSeconds);
+            }
+            LOGGER.debug("Loading JWKS from [{}]", resource);
+            return new CachedJsonWebKeySet(new JsonWebKeySet(json), json, lastModified, this.timeToLiveInSeconds);
+        } catch (final Exception e) {
+            if (cached != null) {
+                LOGGER.warn("Could not reload JWKS from [{}]; keeping the current keys", resource, e);
+                return new CachedJsonWebKeySet(cached.keySet, cached.json, cached.lastModified, this.timeToLiveInSeconds);
+            }
+            LOGGER.debug("Could not load JWKS from [{}]", resource, e);
+            return null;
+        }
+    }
+
+    private static long lastModified(final Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (final Exception e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Public key set rendered as JSON, along with its entity tag.
+     */
+    public static class PublicJsonWebKeySet {
+        private final String json;
+        private final String entityTag;
+        private final long expiresAt;
+
+        PublicJsonWebKeySet(final String json, final String entityTag, final long timeToLiveInSeconds) {
+            this.json = json;
+            this.entityTag = entityTag;
+            this.expiresAt = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(timeToLiveInSeconds);
+        }
+
+        public String getJson() {
+            return this.json;
+        }
+
+        public String getEntityTag() {
+            return this.entityTag;
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() >= this.expiresAt;
+        }
+    }
+
+    /**
+     * Key set parsed from a resource, until it is due to be checked for changes.
+     */
+    private static class CachedJsonWebKeySet {
+        private final JsonWebKeySet keySet;
+        private final String json;
+        private final long lastModified;
+        private final long expiresAt;
+
+        CachedJsonWebKeySet(final JsonWebKeySet keySet, final String json, final long lastModified, final long timeToLiveInSeconds) {
+            this.keySet = keySet;
+            this.json = json;
+            this.lastModified = lastModified;
+            this.expiresAt = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(timeToLiveInSeconds);
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() >= this.expiresAt;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package org.apereo.cas.config;
 
 import org.apereo.cas.OidcCasClientRedirectActionBuilder;
 import org.apereo.cas.OidcConstants;
+import org.apereo.cas.OidcJsonWebKeySetService;
 import org.apereo.cas.authentication.principal.DefaultPrincipalFactory;
 import org.apereo.cas.authentication.principal.PrincipalFactory;
 import org.apereo.cas.configuration.CasConfigurationProperties;
@@ -42,6 +43,7 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ResourceLoader;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.ModelAndView;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -102,6 +104,9 @@ public class OidcConfiguration extends WebMvcConfigurerAdapter {
     @Qualifier("servicesManager")
     private ServicesManager servicesManager;
 
+    @Autowired
+    private ResourceLoader resourceLoader;
+
     @Autowired
     @Qualifier("ticketRegistry")
     private TicketRegistry ticketRegistry;
@@ -234,12 +239,19 @@ public class OidcConfiguration extends WebMvcConfigurerAdapter {
         final OidcAccessTokenResponseGenerator gen = new OidcAccessTokenResponseGenerator();
 
         gen.setIssuer(casProperties.getAuthn().getOidc().getIssuer());
-        gen.setJwksFile(casProperties.getAuthn().getOidc().getJwksFile());
+        gen.setJsonWebKeySetService(oidcJsonWebKeySetService());
         gen.setSkew(casProperties.getAuthn().getOidc().getSkew());
 
         return gen;
     }
 
+    @Bean
+    @RefreshScope
+    public OidcJsonWebKeySetService oidcJsonWebKeySetService() {
+        return new OidcJsonWebKeySetService(resourceLoader, casProperties.getAuthn().getOidc().getJwksFile(), servicesManager,
+                casProperties.getAuthn().getOidc().getJwksCacheInSeconds(), casProperties.getAuthn().getOidc().getJwksCacheSize());
+    }
+
     @Bean
     public OidcAuthorizationRequestSupport oidcAuthorizationRequestSupport() {
         final OidcAuthorizationRequestSupport s = new OidcAuthorizationRequestSupport();
@@ -271,7 +283,7 @@ public class OidcConfiguration extends WebMvcConfigurerAdapter {
     @Bean
     public OidcJwksEndpointController oidcJwksController() {
         final OidcJwksEndpointController c = new OidcJwksEndpointController();
-        c.setJwksFile(casProperties.getAuthn().getOidc().getJwksFile());
+        c.setJsonWebKeySetService(oidcJsonWebKeySetService());
         c.setPrincipalFactory(oidcPrincipalFactory());
         c.setAccessTokenFactory(defaultAccessTokenFactory);
         c.setServicesManager(servicesManager);
@@ -2,9 +2,9 @@ package org.apereo.cas.web;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.google.common.collect.Sets;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.OidcConstants;
+import org.apereo.cas.OidcJsonWebKeySetService;
 import org.apereo.cas.authentication.Authentication;
 import org.apereo.cas.authentication.AuthenticationHandler;
 import org.apereo.cas.authentication.principal.Principal;
@@ -17,7 +17,6 @@ import org.apereo.cas.ticket.accesstoken.AccessToken;
 import org.apereo.cas.ticket.refreshtoken.RefreshToken;
 import org.apereo.cas.util.CollectionUtils;
 import org.jose4j.jwa.AlgorithmConstraints;
-import org.jose4j.jwk.JsonWebKeySet;
 import org.jose4j.jwk.RsaJsonWebKey;
 import org.jose4j.jws.AlgorithmIdentifiers;
 import org.jose4j.jws.JsonWebSignature;
@@ -27,11 +26,9 @@ import org.jose4j.lang.JoseException;
 import org.pac4j.core.context.J2EContext;
 import org.pac4j.core.profile.ProfileManager;
 import org.pac4j.core.profile.UserProfile;
-import org.springframework.core.io.Resource;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.Optional;
 import java.util.UUID;
@@ -48,7 +45,7 @@ public class OidcAccessTokenResponseGenerator extends OAuth20AccessTokenResponse
 
     private int skew;
 
-    private Resource jwksFile;
+    private OidcJsonWebKeySetService jsonWebKeySetService;
 
     @Override
     protected void generateJsonInternal(final HttpServletRequest request,
@@ -70,8 +67,9 @@ public class OidcAccessTokenResponseGenerator extends OAuth20AccessTokenResponse
 
         final JwtClaims claims = produceIdTokenClaims(request, accessTokenId, timeout,
                 oidcRegisteredService, profile.get(), context);
-        final Optional<JsonWebKeySet> jwks = buildJsonWebKeySet(oidcRegisteredService);
-        final String idToken = signIdTokenClaim(oidcRegisteredService, jwks, claims);
+        final Optional<RsaJsonWebKey> signingKey = oidcRegisteredService.isSignIdToken()
+                ? this.jsonWebKeySetService.getSigningKey(oidcRegisteredService) : Optional.empty();
+        final String idToken = signIdTokenClaim(oidcRegisteredService, signingKey, claims);
         jsonGenerator.writeStringField(OidcConstants.ID_TOKEN, idToken);
     }
 
@@ -131,16 +129,17 @@ public class OidcAccessTokenResponseGenerator extends OAuth20AccessTokenResponse
     }
 
     /**
-     * Sign id token claim string.
+     * Sign id token claim string. ID tokens of services that do not ask for them to be signed are left unsigned.
      *
-     * @param svc    the service
-     * @param jwks   the jwks
-     * @param claims the claims
+     * @param svc        the service
+     * @param signingKey the signing key
+     * @param claims     the claims
      * @return the string
      * @throws JoseException the jose exception
+     * @throws IllegalArgumentException if the service asks for signed ID tokens but there is no key to sign them with
      */
     protected String signIdTokenClaim(final OidcRegisteredService svc,
-                                      final Optional<JsonWebKeySet> jwks,
+                                      final Optional<RsaJsonWebKey> signingKey,
                                       final JwtClaims claims) throws JoseException {
         final JsonWebSignature jws = new JsonWebSignature();
 
@@ -151,8 +150,9 @@ public class OidcAccessTokenResponseGenerator extends OAuth20AccessTokenResponse
         jws.setAlgorithmHeaderValue(AlgorithmIdentifiers.NONE);
         jws.setAlgorithmConstraints(AlgorithmConstraints.NO_CONSTRAINTS);
 
-        if (svc.isSignIdToken() && jwks.isPresent() && !jwks.get().getJsonWebKeys().isEmpty()) {
-            final RsaJsonWebKey jsonWebKey = (RsaJsonWebKey) jwks.get().getJsonWebKeys().get(0);
+        if (svc.isSignIdToken()) {
+            final RsaJsonWebKey jsonWebKey = signingKey.orElseThrow(() -> new IllegalArgumentException(
+                    "No RSA private key is available to sign ID tokens for " + svc.getServiceId()));
             jws.setKey(jsonWebKey.getPrivateKey());
             jws.setAlgorithmConstraints(AlgorithmConstraints.DISALLOW_NONE);
             if (StringUtils.isBlank(jsonWebKey.getKeyId())) {
@@ -167,36 +167,6 @@ public class OidcAccessTokenResponseGenerator extends OAuth20AccessTokenResponse
         return jws.getCompactSerialization();
     }
 
-    /**
-     * Build json web key set.
-     *
-     * @param service the service
-     * @return the json web key set
-     * @throws Exception the exception
-     */
-    protected Optional<JsonWebKeySet> buildJsonWebKeySet(final OidcRegisteredService service) throws Exception {
-        JsonWebKeySet jsonWebKeySet = null;
-        try {
-            if (StringUtils.isNotBlank(service.getJwks())) {
-                logger.debug("Loading JWKS from {}", service.getJwks());
-                final Resource resource = this.resourceLoader.getResource(service.getJwks());
-                jsonWebKeySet = new JsonWebKeySet(IOUtils.toString(resource.getInputStream(), StandardCharsets.UTF_8));
-            }
-        } catch (final Exception e) {
-            logger.debug(e.getMessage(), e);
-        } finally {
-            if (jsonWebKeySet == null) {
-                logger.debug("Loading default JWKS from {}", this.jwksFile);
-
-                if (this.jwksFile != null) {
-                    final String jsonJwks = IOUtils.toString(this.jwksFile.getInputStream(), StandardCharsets.UTF_8);
-                    jsonWebKeySet = new JsonWebKeySet(jsonJwks);
-                }
-            }
-        }
-        return jsonWebKeySet != null ? Optional.of(jsonWebKeySet) : Optional.empty();
-    }
-
     public void setIssuer(final String issuer) {
         this.issuer = issuer;
     }
@@ -205,8 +175,8 @@ public class OidcAccessTokenResponseGenerator extends OAuth20AccessTokenResponse
         this.skew = skew;
     }
 
-    public void setJwksFile(final Resource jwksFile) {
-        this.jwksFile = jwksFile;
+    public void setJsonWebKeySetService(final OidcJsonWebKeySetService jsonWebKeySetService) {
+        this.jsonWebKeySetService = jsonWebKeySetService;
     }
 }
 
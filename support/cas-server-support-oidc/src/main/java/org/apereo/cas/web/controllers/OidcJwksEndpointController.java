@@ -1,20 +1,11 @@
 package org.apereo.cas.web.controllers;
 
 
-import com.stormpath.sdk.lang.Assert;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.OidcConstants;
-import org.apereo.cas.services.OidcRegisteredService;
-import org.apereo.cas.services.ServicesManager;
+import org.apereo.cas.OidcJsonWebKeySetService;
 import org.apereo.cas.support.oauth.web.BaseOAuthWrapperController;
-import org.jooq.lambda.Unchecked;
-import org.jose4j.jwk.JsonWebKey;
-import org.jose4j.jwk.JsonWebKeySet;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.ResourceLoader;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -24,27 +15,23 @@ import org.springframework.web.bind.annotation.RequestMethod;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 /**
  * This is {@link OidcJwksEndpointController}.
+ * The key set is rendered ahead of time by the {@link OidcJsonWebKeySetService}, and is sent
+ * with an entity tag; requests whose {@code If-None-Match} header matches it get no body.
+ * Entity tags are compared weakly, as they are for {@code If-None-Match}: the header may list
+ * several tags, weak or strong, or be {@code *}.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
  */
 public class OidcJwksEndpointController extends BaseOAuthWrapperController {
 
-    /**
-     * The Resource loader.
-     */
-    @Autowired
-    protected ResourceLoader resourceLoader;
-    
-    private Resource jwksFile;
+    private static final String WEAK_ENTITY_TAG_PREFIX = "W/";
 
-    @Autowired
-    @Qualifier("servicesManager")
-    private ServicesManager servicesManager;
+    private OidcJsonWebKeySetService jsonWebKeySetService;
 
     /**
      * Handle request for jwk set.
@@ -60,33 +47,43 @@ public class OidcJwksEndpointController extends BaseOAuthWrapperController {
     public ResponseEntity<String> handleRequestInternal(final HttpServletRequest request,
                                                         final HttpServletResponse response,
                                                         final Model model) throws Exception {
-
-        Assert.notNull(this.jwksFile, "JWKS file cannot be undefined or null.");
-        
         try {
-            final String jsonJwks = IOUtils.toString(this.jwksFile.getInputStream(), StandardCharsets.UTF_8);
-            final JsonWebKeySet jsonWebKeySet = new JsonWebKeySet(jsonJwks);
-
-            this.servicesManager.getAllServices()
-                    .stream()
-                    .filter(s -> s instanceof OidcRegisteredService && StringUtils.isNotBlank(((OidcRegisteredService) s).getJwks()))
-                    .forEach(
-                            Unchecked.consumer(s -> {
-                                final OidcRegisteredService service = (OidcRegisteredService) s;
-                                final Resource resource = this.resourceLoader.getResource(service.getJwks());
-                                final JsonWebKeySet set = new JsonWebKeySet(IOUtils.toString(resource.getInputStream(), StandardCharsets.UTF_8));
-                                set.getJsonWebKeys().forEach(jsonWebKeySet::addJsonWebKey);
-                            }));
-            final String body = jsonWebKeySet.toJson(JsonWebKey.OutputControlLevel.PUBLIC_ONLY);
-            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-            return new ResponseEntity<>(body, HttpStatus.OK);
+            final OidcJsonWebKeySetService.PublicJsonWebKeySet keySet = this.jsonWebKeySetService.getPublicJsonWebKeySet();
+            final HttpHeaders headers = new HttpHeaders();
+            headers.setETag(keySet.getEntityTag());
+            if (isNotModified(keySet.getEntityTag(), request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+                return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+            }
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            return new ResponseEntity<>(keySet.getJson(), headers, HttpStatus.OK);
         } catch (final Exception e) {
             logger.error(e.getMessage(), e);
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
         }
     }
 
-    public void setJwksFile(final Resource jwksFile) {
-        this.jwksFile = jwksFile;
+    /**
+     * Whether the If-None-Match header matches the entity tag of the key set.
+     *
+     * @param entityTag   the entity tag of the key set
+     * @param ifNoneMatch the If-None-Match header, if any
+     * @return true if the client has the key set already
+     */
+    protected boolean isNotModified(final String entityTag, final String ifNoneMatch) {
+        if (StringUtils.isBlank(ifNoneMatch)) {
+            return false;
+        }
+        if ("*".equals(ifNoneMatch.trim())) {
+            return true;
+        }
+        final String opaqueTag = StringUtils.removeStart(entityTag, WEAK_ENTITY_TAG_PREFIX);
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> StringUtils.removeStart(tag, WEAK_ENTITY_TAG_PREFIX))
+                .anyMatch(opaqueTag::equals);
+    }
+
+    public void setJsonWebKeySetService(final OidcJsonWebKeySetService jsonWebKeySetService) {
+        this.jsonWebKeySetService = jsonWebKeySetService;
     }
 }
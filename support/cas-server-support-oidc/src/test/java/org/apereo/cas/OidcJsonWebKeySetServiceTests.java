@@ -0,0 +1,163 @@
+package org.apereo.cas;
+
+import org.apereo.cas.services.OidcRegisteredService;
+import org.apereo.cas.services.ServicesManager;
+import org.jose4j.jwk.JsonWebKey;
+import org.jose4j.jwk.JsonWebKeySet;
+import org.jose4j.jwk.RsaJsonWebKey;
+import org.jose4j.jwk.RsaJwkGenerator;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link OidcJsonWebKeySetServiceTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class OidcJsonWebKeySetServiceTests {
+
+    private static final int KEY_SIZE = 2048;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final ServicesManager servicesManager = mock(ServicesManager.class);
+
+    private File jwksFile;
+
+    @Before
+    public void setUp() throws Exception {
+        this.jwksFile = this.folder.newFile("keystore.jwks");
+        when(this.servicesManager.getAllServices()).thenReturn(Collections.emptyList());
+    }
+
+    @Test
+    public void verifyKeySetIsParsedOnce() throws Exception {
+        writeKeySet(this.jwksFile, "cas");
+        final OidcJsonWebKeySetService service = newService(60);
+
+        final JsonWebKeySet keySet = service.getJsonWebKeySet();
+        assertSame(keySet, service.getJsonWebKeySet());
+        assertEquals("cas", service.getSigningKey(newRegisteredService(true)).get().getKeyId());
+    }
+
+    @Test
+    public void verifyUnchangedKeySetIsNotParsedAgain() throws Exception {
+        writeKeySet(this.jwksFile, "cas");
+        final OidcJsonWebKeySetService service = newService(0);
+
+        final JsonWebKeySet keySet = service.getJsonWebKeySet();
+        assertSame(keySet, service.getJsonWebKeySet());
+
+        final byte[] json = Files.readAllBytes(this.jwksFile.toPath());
+        Files.write(this.jwksFile.toPath(), json);
+        touch(this.jwksFile);
+        assertSame(keySet, service.getJsonWebKeySet());
+    }
+
+    @Test
+    public void verifyChangedKeySetIsParsedAgain() throws Exception {
+        writeKeySet(this.jwksFile, "cas");
+        final OidcJsonWebKeySetService service = newService(0);
+        final JsonWebKeySet keySet = service.getJsonWebKeySet();
+
+        writeKeySet(this.jwksFile, "rolled-over");
+        touch(this.jwksFile);
+        final JsonWebKeySet changed = service.getJsonWebKeySet();
+        assertNotSame(keySet, changed);
+        assertEquals("rolled-over", changed.getJsonWebKeys().get(0).getKeyId());
+    }
+
+    @Test
+    public void verifyUnparseableChangeKeepsKeys() throws Exception {
+        writeKeySet(this.jwksFile, "cas");
+        final OidcJsonWebKeySetService service = newService(0);
+        final JsonWebKeySet keySet = service.getJsonWebKeySet();
+
+        Files.write(this.jwksFile.toPath(), "{ not json".getBytes(StandardCharsets.UTF_8));
+        touch(this.jwksFile);
+        assertSame(keySet, service.getJsonWebKeySet());
+    }
+
+    @Test
+    public void verifyServiceKeySetIsPreferred() throws Exception {
+        writeKeySet(this.jwksFile, "cas");
+        final File serviceJwksFile = this.folder.newFile("service.jwks");
+        writeKeySet(serviceJwksFile, "service");
+        final OidcRegisteredService registeredService = newRegisteredService(true);
+        registeredService.setJwks("file:" + serviceJwksFile.getAbsolutePath());
+
+        final Optional<RsaJsonWebKey> signingKey = newService(60).getSigningKey(registeredService);
+        assertEquals("service", signingKey.get().getKeyId());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void verifyMissingKeySetFailsSigningKeyLookup() throws Exception {
+        assertTrue(this.jwksFile.delete());
+        newService(60).getSigningKey(newRegisteredService(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void verifyMissingKeySetFailsPublicKeySet() throws Exception {
+        assertTrue(this.jwksFile.delete());
+        newService(60).getPublicJsonWebKeySet();
+    }
+
+    @Test
+    public void verifyPublicKeySetCarriesEntityTag() throws Exception {
+        writeKeySet(this.jwksFile, "cas");
+        final OidcJsonWebKeySetService service = newService(0);
+
+        final OidcJsonWebKeySetService.PublicJsonWebKeySet keySet = service.getPublicJsonWebKeySet();
+        assertTrue(keySet.getJson().contains("\"kid\":\"cas\""));
+        assertFalse(keySet.getJson().contains("\"d\""));
+        assertTrue(keySet.getEntityTag().startsWith("\"") && keySet.getEntityTag().endsWith("\""));
+        assertEquals(keySet.getEntityTag(), service.getPublicJsonWebKeySet().getEntityTag());
+
+        writeKeySet(this.jwksFile, "rolled-over");
+        touch(this.jwksFile);
+        assertNotEquals(keySet.getEntityTag(), service.getPublicJsonWebKeySet().getEntityTag());
+    }
+
+    private OidcJsonWebKeySetService newService(final long timeToLiveInSeconds) {
+        return new OidcJsonWebKeySetService(new DefaultResourceLoader(), new FileSystemResource(this.jwksFile),
+                this.servicesManager, timeToLiveInSeconds, 10);
+    }
+
+    private static OidcRegisteredService newRegisteredService(final boolean signIdToken) {
+        final OidcRegisteredService service = new OidcRegisteredService();
+        service.setServiceId("https://oidc.example.org/.*");
+        service.setClientId("client");
+        service.setSignIdToken(signIdToken);
+        return service;
+    }
+
+    private static void writeKeySet(final File file, final String keyId) throws Exception {
+        final RsaJsonWebKey key = RsaJwkGenerator.generateJwk(KEY_SIZE);
+        key.setKeyId(keyId);
+        final String json = new JsonWebKeySet(key).toJson(JsonWebKey.OutputControlLevel.INCLUDE_PRIVATE);
+        Files.write(file.toPath(), json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Moves the last-modified time of the file forward, so that the change is seen
+     * even on file systems that keep it to the second.
+     */
+    private static void touch(final File file) {
+        assertTrue(file.setLastModified(file.lastModified() + 2000));
+    }
+}
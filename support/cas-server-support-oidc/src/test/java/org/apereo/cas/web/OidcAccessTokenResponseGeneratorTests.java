@@ -0,0 +1,66 @@
+package org.apereo.cas.web;
+
+import org.apereo.cas.services.OidcRegisteredService;
+import org.jose4j.jwk.RsaJsonWebKey;
+import org.jose4j.jwk.RsaJwkGenerator;
+import org.jose4j.jws.AlgorithmIdentifiers;
+import org.jose4j.jws.JsonWebSignature;
+import org.jose4j.jwt.JwtClaims;
+import org.junit.Test;
+
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link OidcAccessTokenResponseGeneratorTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class OidcAccessTokenResponseGeneratorTests {
+
+    private static final int KEY_SIZE = 2048;
+
+    private final OidcAccessTokenResponseGenerator generator = new OidcAccessTokenResponseGenerator();
+
+    @Test
+    public void verifyIdTokenIsSignedWithKey() throws Exception {
+        final RsaJsonWebKey key = RsaJwkGenerator.generateJwk(KEY_SIZE);
+        key.setKeyId("cas");
+
+        final String idToken = this.generator.signIdTokenClaim(newRegisteredService(true), Optional.of(key), newClaims());
+        final JsonWebSignature jws = (JsonWebSignature) JsonWebSignature.fromCompactSerialization(idToken);
+        assertEquals(AlgorithmIdentifiers.RSA_USING_SHA256, jws.getAlgorithmHeaderValue());
+        assertEquals("cas", jws.getKeyIdHeaderValue());
+        jws.setKey(key.getPublicKey());
+        assertTrue(jws.verifySignature());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void verifyIdTokenIsNotLeftUnsignedWithoutKey() throws Exception {
+        this.generator.signIdTokenClaim(newRegisteredService(true), Optional.empty(), newClaims());
+    }
+
+    @Test
+    public void verifyIdTokenIsUnsignedIfNotAskedFor() throws Exception {
+        final String idToken = this.generator.signIdTokenClaim(newRegisteredService(false), Optional.empty(), newClaims());
+        final JsonWebSignature jws = (JsonWebSignature) JsonWebSignature.fromCompactSerialization(idToken);
+        assertEquals(AlgorithmIdentifiers.NONE, jws.getAlgorithmHeaderValue());
+    }
+
+    private static JwtClaims newClaims() {
+        final JwtClaims claims = new JwtClaims();
+        claims.setSubject("casuser");
+        claims.setIssuer("https://sso.example.org/cas/oidc");
+        return claims;
+    }
+
+    private static OidcRegisteredService newRegisteredService(final boolean signIdToken) {
+        final OidcRegisteredService service = new OidcRegisteredService();
+        service.setServiceId("https://oidc.example.org/.*");
+        service.setClientId("client");
+        service.setSignIdToken(signIdToken);
+        return service;
+    }
+}
@@ -0,0 +1,121 @@
+package org.apereo.cas.web.controllers;
+
+import org.apereo.cas.OidcConstants;
+import org.apereo.cas.OidcJsonWebKeySetService;
+import org.apereo.cas.services.ServicesManager;
+import org.jose4j.jwk.JsonWebKey;
+import org.jose4j.jwk.JsonWebKeySet;
+import org.jose4j.jwk.RsaJsonWebKey;
+import org.jose4j.jwk.RsaJwkGenerator;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link OidcJwksEndpointControllerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class OidcJwksEndpointControllerTests {
+
+    private static final int KEY_SIZE = 2048;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File jwksFile;
+
+    private OidcJwksEndpointController controller;
+
+    @Before
+    public void setUp() throws Exception {
+        this.jwksFile = this.folder.newFile("keystore.jwks");
+        final RsaJsonWebKey key = RsaJwkGenerator.generateJwk(KEY_SIZE);
+        key.setKeyId("cas");
+        Files.write(this.jwksFile.toPath(),
+                new JsonWebKeySet(key).toJson(JsonWebKey.OutputControlLevel.INCLUDE_PRIVATE).getBytes(StandardCharsets.UTF_8));
+
+        final ServicesManager servicesManager = mock(ServicesManager.class);
+        when(servicesManager.getAllServices()).thenReturn(Collections.emptyList());
+        this.controller = new OidcJwksEndpointController();
+        this.controller.setJsonWebKeySetService(new OidcJsonWebKeySetService(new DefaultResourceLoader(),
+                new FileSystemResource(this.jwksFile), servicesManager, 60, 10));
+    }
+
+    @Test
+    public void verifyKeySetIsSentWithEntityTag() throws Exception {
+        final ResponseEntity<String> entity = handle(null);
+        assertEquals(HttpStatus.OK, entity.getStatusCode());
+        assertNotNull(entity.getHeaders().getETag());
+        assertTrue(entity.getBody().contains("\"kid\":\"cas\""));
+    }
+
+    @Test
+    public void verifyMatchingEntityTagIsNotModified() throws Exception {
+        final String entityTag = handle(null).getHeaders().getETag();
+
+        final ResponseEntity<String> entity = handle(entityTag);
+        assertEquals(HttpStatus.NOT_MODIFIED, entity.getStatusCode());
+        assertEquals(entityTag, entity.getHeaders().getETag());
+        assertNull(entity.getBody());
+    }
+
+    @Test
+    public void verifyEntityTagInListIsNotModified() throws Exception {
+        final String entityTag = handle(null).getHeaders().getETag();
+        assertEquals(HttpStatus.NOT_MODIFIED, handle("\"other\", " + entityTag).getStatusCode());
+        assertEquals(HttpStatus.NOT_MODIFIED, handle(entityTag + ",\"other\"").getStatusCode());
+    }
+
+    @Test
+    public void verifyWeakEntityTagIsNotModified() throws Exception {
+        final String entityTag = handle(null).getHeaders().getETag();
+        assertEquals(HttpStatus.NOT_MODIFIED, handle("W/" + entityTag).getStatusCode());
+    }
+
+    @Test
+    public void verifyAnyEntityTagIsNotModified() throws Exception {
+        assertEquals(HttpStatus.NOT_MODIFIED, handle("*").getStatusCode());
+    }
+
+    @Test
+    public void verifyOtherEntityTagIsSentKeySet() throws Exception {
+        final ResponseEntity<String> entity = handle("\"other\", W/\"another\"");
+        assertEquals(HttpStatus.OK, entity.getStatusCode());
+        assertNotNull(entity.getBody());
+    }
+
+    @Test
+    public void verifyMissingKeySetIsAnError() throws Exception {
+        assertTrue(this.jwksFile.delete());
+        final ResponseEntity<String> entity = handle(null);
+        assertEquals(HttpStatus.BAD_REQUEST, entity.getStatusCode());
+        assertNull(entity.getHeaders().getETag());
+    }
+
+    private ResponseEntity<String> handle(final String ifNoneMatch) throws Exception {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET",
+                '/' + OidcConstants.BASE_OIDC_URL + '/' + OidcConstants.JWKS_URL);
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return this.controller.handleRequestInternal(request, new MockHttpServletResponse(), null);
+    }
+}
@@ -0,0 +1,48 @@
+package org.apereo.cas.web.report;
+
+import org.apereo.cas.logout.BackChannelLogoutRetryQueue;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This is {@link SingleLogoutReportController} that reports on back-channel logout
+ * messages waiting for delivery and those that could not be delivered.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+@Controller("singleLogoutReportController")
+@RequestMapping("/status/slo")
+public class SingleLogoutReportController {
+
+    private final BackChannelLogoutRetryQueue backChannelLogoutRetryQueue;
+
+    public SingleLogoutReportController(final BackChannelLogoutRetryQueue backChannelLogoutRetryQueue) {
+        this.backChannelLogoutRetryQueue = backChannelLogoutRetryQueue;
+    }
+
+    /**
+     * Gets the report.
+     *
+     * @param request  the request
+     * @param response the response
+     * @return the report
+     * @throws Exception the exception
+     */
+    @RequestMapping(method = RequestMethod.GET)
+    @ResponseBody
+    public Map<String, Object> getReport(final HttpServletRequest request, final HttpServletResponse response) throws Exception {
+        final Map<String, Object> report = new LinkedHashMap<>();
+        report.put("pending", this.backChannelLogoutRetryQueue.getPendingCount());
+        report.put("openCircuits", this.backChannelLogoutRetryQueue.getOpenCircuits());
+        report.put("deadLetters", this.backChannelLogoutRetryQueue.getDeadLetters());
+        return report;
+    }
+}
@@ -4,11 +4,11 @@ import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.health.HealthCheckRegistry;
 import com.codahale.metrics.servlets.HealthCheckServlet;
 import com.codahale.metrics.servlets.MetricsServlet;
-import com.google.common.base.Predicates;
 import org.apereo.cas.CentralAuthenticationService;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.registry.TicketQuery;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -23,9 +23,9 @@ import javax.servlet.http.HttpServletResponse;
 import java.time.Duration;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * @author Scott Battaglia
@@ -103,21 +103,20 @@ public class StatisticsController implements ServletContextAware {
         int expiredTgts = 0;
         int expiredSts = 0;
 
-        final Collection<Ticket> tickets =
-                this.centralAuthenticationService.getTickets(Predicates.<Ticket>alwaysTrue());
-
-        for (final Ticket ticket : tickets) {
-            if (ticket instanceof ServiceTicket) {
-                if (ticket.isExpired()) {
-                    expiredSts++;
-                } else {
-                    unexpiredSts++;
-                }
-            } else {
-                if (ticket.isExpired()) {
-                    expiredTgts++;
+        try (Stream<Ticket> tickets = this.centralAuthenticationService.streamTickets(TicketQuery.all())) {
+            for (final Ticket ticket : (Iterable<Ticket>) tickets::iterator) {
+                if (ticket instanceof ServiceTicket) {
+                    if (ticket.isExpired()) {
+                        expiredSts++;
+                    } else {
+                        unexpiredSts++;
+                    }
                 } else {
-                    unexpiredTgts++;
+                    if (ticket.isExpired()) {
+                        expiredTgts++;
+                    } else {
+                        unexpiredTgts++;
+                    }
                 }
             }
         }
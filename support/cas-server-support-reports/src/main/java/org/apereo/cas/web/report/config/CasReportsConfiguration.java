@@ -7,6 +7,7 @@ import org.apereo.cas.CentralAuthenticationService;
 import org.apereo.cas.audit.spi.DelegatingAuditTrailManager;
 import org.apereo.cas.authentication.AuthenticationSystemSupport;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.logout.BackChannelLogoutRetryQueue;
 import org.apereo.cas.monitor.HealthStatus;
 import org.apereo.cas.monitor.Monitor;
 import org.apereo.cas.support.events.dao.CasEventRepository;
@@ -16,6 +17,7 @@ import org.apereo.cas.web.report.DashboardController;
 import org.apereo.cas.web.report.HealthCheckController;
 import org.apereo.cas.web.report.InternalConfigStateController;
 import org.apereo.cas.web.report.LoggingConfigController;
+import org.apereo.cas.web.report.SingleLogoutReportController;
 import org.apereo.cas.web.report.SingleSignOnSessionsReportController;
 import org.apereo.cas.web.report.StatisticsController;
 import org.apereo.cas.web.report.TrustedDevicesController;
@@ -159,4 +161,19 @@ public class CasReportsConfiguration extends AbstractWebSocketMessageBrokerConfi
             return new AuthenticationEventsController(eventRepository);
         }
     }
+
+    /**
+     * The single logout report configuration.
+     */
+    @ConditionalOnBean(name = "backChannelLogoutRetryQueue")
+    @Configuration("singleLogoutReportConfiguration")
+    public static class SingleLogoutReportConfiguration {
+
+        @Autowired
+        @Bean
+        public SingleLogoutReportController singleLogoutReportController(@Qualifier("backChannelLogoutRetryQueue")
+                                                                         final BackChannelLogoutRetryQueue backChannelLogoutRetryQueue) {
+            return new SingleLogoutReportController(backChannelLogoutRetryQueue);
+        }
+    }
 }
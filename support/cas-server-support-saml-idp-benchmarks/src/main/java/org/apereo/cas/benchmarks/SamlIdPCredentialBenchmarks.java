@@ -0,0 +1,135 @@
+package org.apereo.cas.benchmarks;
+
+import org.apache.commons.io.FileUtils;
+import org.apereo.cas.support.saml.SamlUtils;
+import org.apereo.cas.support.saml.web.idp.profile.builders.enc.SamlIdPCredentialHolder;
+import org.apereo.cas.util.crypto.PrivateKeyFactoryBean;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.openssl.jcajce.JcaPEMWriter;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opensaml.security.x509.BasicX509Credential;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link SamlIdPCredentialBenchmarks} that measures the cost of signing a SAML response,
+ * with the signing credential either read from disk for every response, as it used to be,
+ * or handed out by a {@link SamlIdPCredentialHolder}. The response is stood in for by a fixed payload,
+ * so that only obtaining the credential and computing the signature are measured.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SamlIdPCredentialBenchmarks {
+
+    private static final int KEY_SIZE = 2048;
+
+    private static final int PAYLOAD_SIZE = 4096;
+
+    @Param({"file", "cached"})
+    private String source;
+
+    private final byte[] payload = new byte[PAYLOAD_SIZE];
+
+    private File directory;
+
+    private File certificateFile;
+
+    private File privateKeyFile;
+
+    private SamlIdPCredentialHolder holder;
+
+    /**
+     * Write a self-signed certificate and its private key.
+     *
+     * @throws Exception the exception
+     */
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        this.directory = Files.createTempDirectory("saml-idp").toFile();
+        this.certificateFile = new File(this.directory, "idp-signing.crt");
+        this.privateKeyFile = new File(this.directory, "idp-signing.key");
+
+        final KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(KEY_SIZE);
+        final KeyPair keyPair = generator.generateKeyPair();
+        final X500Name name = new X500Name("CN=cas.example.org");
+        final Date now = new Date();
+        final JcaX509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(name, BigInteger.ONE, now,
+                new Date(now.getTime() + TimeUnit.DAYS.toMillis(1)), name, keyPair.getPublic());
+        try (JcaPEMWriter writer = new JcaPEMWriter(new FileWriter(this.certificateFile))) {
+            writer.writeObject(builder.build(new JcaContentSignerBuilder("SHA256withRSA").build(keyPair.getPrivate())));
+        }
+        try (JcaPEMWriter writer = new JcaPEMWriter(new FileWriter(this.privateKeyFile))) {
+            writer.writeObject(keyPair.getPrivate());
+        }
+
+        Arrays.fill(this.payload, (byte) 'x');
+        this.holder = new SamlIdPCredentialHolder(this.certificateFile, this.privateKeyFile, "RSA");
+    }
+
+    /**
+     * Remove the certificate and private key.
+     *
+     * @throws Exception the exception
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        this.holder.close();
+        FileUtils.deleteDirectory(this.directory);
+    }
+
+    /**
+     * Obtain the signing credential and sign a response.
+     *
+     * @return the signature
+     * @throws Exception the exception
+     */
+    @Benchmark
+    public byte[] signResponse() throws Exception {
+        final BasicX509Credential credential = "file".equals(this.source) ? readCredential() : this.holder.getCredential();
+        final Signature signature = Signature.getInstance("SHA256withRSA");
+        signature.initSign(credential.getPrivateKey());
+        signature.update(this.payload);
+        return signature.sign();
+    }
+
+    private BasicX509Credential readCredential() throws Exception {
+        final PrivateKeyFactoryBean privateKeyFactoryBean = new PrivateKeyFactoryBean();
+        privateKeyFactoryBean.setLocation(new FileSystemResource(this.privateKeyFile));
+        privateKeyFactoryBean.setAlgorithm("RSA");
+        privateKeyFactoryBean.setSingleton(false);
+        return new BasicX509Credential(SamlUtils.readCertificate(new FileSystemResource(this.certificateFile)),
+                privateKeyFactoryBean.getObject());
+    }
+}
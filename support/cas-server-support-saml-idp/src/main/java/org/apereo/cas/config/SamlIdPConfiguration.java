@@ -29,6 +29,7 @@ import org.apereo.cas.support.saml.web.idp.profile.builders.SamlProfileSamlNameI
 import org.apereo.cas.support.saml.web.idp.profile.builders.SamlProfileSamlResponseBuilder;
 import org.apereo.cas.support.saml.web.idp.profile.builders.SamlProfileSamlSubjectBuilder;
 import org.apereo.cas.support.saml.web.idp.profile.builders.enc.SamlAttributeEncoder;
+import org.apereo.cas.support.saml.web.idp.profile.builders.enc.SamlIdPCredentialHolder;
 import org.apereo.cas.support.saml.web.idp.profile.builders.enc.SamlObjectEncrypter;
 import org.apereo.cas.support.saml.web.idp.profile.builders.enc.SamlObjectSigner;
 import org.apereo.cas.util.http.HttpClient;
@@ -167,6 +168,9 @@ public class SamlIdPConfiguration {
         c.setBasicAuthnUsername(md.getBasicAuthnUsername());
         c.setBasicAuthnPassword(md.getBasicAuthnPassword());
         c.setSupportedContentTypes(md.getSupportedContentTypes());
+        if (md.isBackupEnabled()) {
+            c.setMetadataBackupDirectory(md.getBackupLocation());
+        }
         return c;
     }
 
@@ -177,7 +181,7 @@ public class SamlIdPConfiguration {
                 new DefaultSamlRegisteredServiceCachingMetadataResolver();
         r.setChainingMetadataResolverCacheLoader(chainingMetadataResolverCacheLoader());
         r.setMetadataCacheExpirationMinutes(casProperties.getAuthn().getSamlIdp().getMetadata().getCacheExpirationMinutes());
-        r.setChainingMetadataResolverCacheLoader(chainingMetadataResolverCacheLoader());
+        r.setMetadataCacheSize(casProperties.getAuthn().getSamlIdp().getMetadata().getCacheMaximumSize());
         return r;
     }
 
@@ -212,9 +216,24 @@ public class SamlIdPConfiguration {
         e.setOverrideDataEncryptionAlgorithms(overrideDataEncryptionAlgorithms);
         e.setOverrideKeyEncryptionAlgorithms(overrideKeyEncryptionAlgorithms);
         e.setOverrideWhiteListedAlgorithms(overrideWhiteListedAlgorithms);
+        e.setEncryptionCredentialHolder(samlIdPEncryptionCredentialHolder());
         return e;
     }
 
+    @Bean
+    @RefreshScope
+    public SamlIdPCredentialHolder samlIdPEncryptionCredentialHolder() {
+        final SamlIdPProperties.Metadata md = casProperties.getAuthn().getSamlIdp().getMetadata();
+        return new SamlIdPCredentialHolder(md.getEncryptionCertFile(), md.getEncryptionKeyFile(), md.getPrivateKeyAlgName());
+    }
+
+    @Bean
+    @RefreshScope
+    public SamlIdPCredentialHolder samlIdPSigningCredentialHolder() {
+        final SamlIdPProperties.Metadata md = casProperties.getAuthn().getSamlIdp().getMetadata();
+        return new SamlIdPCredentialHolder(md.getSigningCertFile(), md.getSigningKeyFile(), md.getPrivateKeyAlgName());
+    }
+
     @Bean
     @RefreshScope
     public SamlObjectSigner samlObjectSigner() {
@@ -223,6 +242,7 @@ public class SamlIdPConfiguration {
         s.setOverrideSignatureAlgorithms(overrideSignatureAlgorithms);
         s.setOverrideSignatureReferenceDigestMethods(overrideSignatureReferenceDigestMethods);
         s.setOverrideWhiteListedAlgorithms(overrideWhiteListedSignatureSigningAlgorithms);
+        s.setSigningCredentialHolder(samlIdPSigningCredentialHolder());
         return s;
     }
 
@@ -10,6 +10,7 @@ import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apereo.cas.support.saml.OpenSamlConfigBean;
 import org.apereo.cas.support.saml.SamlException;
 import org.apereo.cas.support.saml.services.SamlRegisteredService;
+import org.apereo.cas.util.DigestUtils;
 import org.apereo.cas.util.EncodingUtils;
 import org.apereo.cas.util.RegexUtils;
 import org.apereo.cas.util.ResourceUtils;
@@ -39,13 +40,18 @@ import org.opensaml.xmlsec.signature.support.impl.ExplicitKeySignatureTrustEngin
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.io.AbstractResource;
+import org.springframework.util.StreamUtils;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
 import javax.annotation.Nullable;
 import javax.xml.namespace.QName;
+import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
@@ -56,6 +62,9 @@ import java.util.concurrent.TimeUnit;
  * to keep track of metadata resources and resolvers. The cache loader here supports loading
  * metadata resources from SAML services, supports dynamic metadata queries and is able
  * to run various validation filters on the metadata before finally caching the resolver.
+ * Metadata fetched from remote locations may be backed up to a local directory. The backup is used
+ * in place of fetching metadata while it is younger than the cache expiration period, such as right
+ * after a restart, and whenever the remote location cannot be reached.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -75,7 +84,7 @@ public class ChainingMetadataResolverCacheLoader extends CacheLoader<SamlRegiste
 
     private long metadataCacheExpirationMinutes;
 
-    private transient Object lock = new Object();
+    private File metadataBackupDirectory;
 
     private boolean failFastInitialization = true;
 
@@ -109,11 +118,9 @@ public class ChainingMetadataResolverCacheLoader extends CacheLoader<SamlRegiste
                         + " with metadata location " + service.getMetadataLocation());
             }
 
-            synchronized (this.lock) {
-                metadataResolver.setId(ChainingMetadataResolver.class.getCanonicalName());
-                metadataResolver.setResolvers(metadataResolvers);
-                metadataResolver.initialize();
-            }
+            metadataResolver.setId(ChainingMetadataResolver.class.getCanonicalName());
+            metadataResolver.setResolvers(metadataResolvers);
+            metadataResolver.initialize();
             return metadataResolver;
         } catch (final Exception e) {
             throw new SamlException(e.getMessage(), e);
@@ -174,8 +181,7 @@ public class ChainingMetadataResolverCacheLoader extends CacheLoader<SamlRegiste
             throws IOException {
         final String metadataLocation = service.getMetadataLocation();
         logger.info("Loading SAML metadata from [{}]", metadataLocation);
-        final AbstractResource metadataResource = ResourceUtils.getResourceFrom(metadataLocation);
-        try (InputStream in = metadataResource.getInputStream()) {
+        try (InputStream in = new ByteArrayInputStream(readMetadata(service))) {
             logger.debug("Parsing metadata from [{}]", metadataLocation);
             final Document document = this.configBean.getParserPool().parse(in);
 
@@ -188,6 +194,68 @@ public class ChainingMetadataResolverCacheLoader extends CacheLoader<SamlRegiste
         }
     }
 
+    /**
+     * Read metadata of the service, from its backup if the backup is recent enough
+     * or if the metadata location cannot be read. Metadata read from remote locations is backed up.
+     *
+     * @param service the service
+     * @return the metadata
+     * @throws IOException the io exception
+     */
+    protected byte[] readMetadata(final SamlRegisteredService service) throws IOException {
+        final String metadataLocation = service.getMetadataLocation();
+        final File backup = getMetadataBackupFile(service);
+        if (backup == null) {
+            try (InputStream in = ResourceUtils.getResourceFrom(metadataLocation).getInputStream()) {
+                return StreamUtils.copyToByteArray(in);
+            }
+        }
+
+        final long age = System.currentTimeMillis() - backup.lastModified();
+        if (backup.exists() && age < TimeUnit.MINUTES.toMillis(this.metadataCacheExpirationMinutes)) {
+            logger.debug("Reading metadata for [{}] from backup [{}]", metadataLocation, backup);
+            return Files.readAllBytes(backup.toPath());
+        }
+
+        final byte[] metadata;
+        try (InputStream in = ResourceUtils.getResourceFrom(metadataLocation).getInputStream()) {
+            metadata = StreamUtils.copyToByteArray(in);
+        } catch (final IOException e) {
+            if (!backup.exists()) {
+                throw e;
+            }
+            logger.warn("Could not read metadata from [{}]; using backup [{}] instead", metadataLocation, backup, e);
+            return Files.readAllBytes(backup.toPath());
+        }
+
+        try {
+            final File temp = File.createTempFile(backup.getName(), ".tmp", backup.getParentFile());
+            Files.write(temp.toPath(), metadata);
+            Files.move(temp.toPath(), backup.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.debug("Backed up metadata from [{}] to [{}]", metadataLocation, backup);
+        } catch (final IOException e) {
+            logger.warn("Could not back up metadata from [{}] to [{}]", metadataLocation, backup, e);
+        }
+        return metadata;
+    }
+
+    /**
+     * Gets the file metadata of the service is backed up to.
+     *
+     * @param service the service
+     * @return the file, or null if metadata of the service is not backed up
+     */
+    protected File getMetadataBackupFile(final SamlRegisteredService service) {
+        if (this.metadataBackupDirectory == null || !service.getMetadataLocation().toLowerCase().startsWith("http")) {
+            return null;
+        }
+        if (!this.metadataBackupDirectory.exists() && !this.metadataBackupDirectory.mkdirs()) {
+            logger.warn("Could not create metadata backup directory [{}]", this.metadataBackupDirectory);
+            return null;
+        }
+        return new File(this.metadataBackupDirectory, DigestUtils.sha(service.getMetadataLocation()) + ".xml");
+    }
+
     /**
      * Is dynamic metadata query configured ?
      *
@@ -353,6 +421,10 @@ public class ChainingMetadataResolverCacheLoader extends CacheLoader<SamlRegiste
         this.metadataCacheExpirationMinutes = metadataCacheExpirationMinutes;
     }
 
+    public void setMetadataBackupDirectory(final File metadataBackupDirectory) {
+        this.metadataBackupDirectory = metadataBackupDirectory;
+    }
+
     public void setFailFastInitialization(final boolean failFastInitialization) {
         this.failFastInitialization = failFastInitialization;
     }
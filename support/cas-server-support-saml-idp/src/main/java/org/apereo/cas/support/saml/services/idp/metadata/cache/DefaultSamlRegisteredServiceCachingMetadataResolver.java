@@ -1,6 +1,8 @@
 package org.apereo.cas.support.saml.services.idp.metadata.cache;
 
+import com.google.common.base.Ticker;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import org.apereo.cas.support.saml.services.SamlRegisteredService;
 import org.opensaml.saml.metadata.resolver.ChainingMetadataResolver;
@@ -8,12 +10,19 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * An adaptation of metadata resolver which handles the resolution of metadata resources
  * inside a Guava cache. It basically is a fancy wrapper around Guava, and constructs the cache
  * semantics before processing the resolution of metadata for a SAML service.
+ * Metadata is cached for each service, up to a maximum number of services. Once cached metadata
+ * is older than the expiration period, it is reloaded in the background on the next request
+ * while the cached copy continues to be served; if the reload fails, the cached copy is kept.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -22,7 +31,19 @@ public class DefaultSamlRegisteredServiceCachingMetadataResolver
         implements SamlRegisteredServiceCachingMetadataResolver {
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultSamlRegisteredServiceCachingMetadataResolver.class);
     
+    private static final int DEFAULT_METADATA_CACHE_SIZE = 500;
+
+    private static final int DEFAULT_METADATA_REFRESH_THREADS = 4;
+
     private long metadataCacheExpirationMinutes;
+
+    private long metadataCacheSize = DEFAULT_METADATA_CACHE_SIZE;
+
+    private int metadataRefreshThreads = DEFAULT_METADATA_REFRESH_THREADS;
+
+    private ExecutorService metadataRefreshExecutor;
+
+    private Ticker ticker = Ticker.systemTicker();
     
     private ChainingMetadataResolverCacheLoader chainingMetadataResolverCacheLoader;
 
@@ -36,8 +57,21 @@ public class DefaultSamlRegisteredServiceCachingMetadataResolver
 
     @PostConstruct
     private void init() {
-        this.cache = CacheBuilder.newBuilder().maximumSize(1)
-                .expireAfterWrite(this.metadataCacheExpirationMinutes, TimeUnit.MINUTES).build(this.chainingMetadataResolverCacheLoader);
+        final AtomicInteger count = new AtomicInteger();
+        this.metadataRefreshExecutor = Executors.newFixedThreadPool(this.metadataRefreshThreads, r -> {
+            final Thread thread = new Thread(r, "SamlMetadataRefresher-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.cache = CacheBuilder.newBuilder().maximumSize(this.metadataCacheSize)
+                .refreshAfterWrite(this.metadataCacheExpirationMinutes, TimeUnit.MINUTES)
+                .ticker(this.ticker)
+                .build(CacheLoader.asyncReloading(this.chainingMetadataResolverCacheLoader, this.metadataRefreshExecutor));
+    }
+
+    @PreDestroy
+    private void destroy() {
+        this.metadataRefreshExecutor.shutdownNow();
     }
 
     @Override
@@ -67,4 +101,16 @@ public class DefaultSamlRegisteredServiceCachingMetadataResolver
     public void setMetadataCacheExpirationMinutes(final long metadataCacheExpirationMinutes) {
         this.metadataCacheExpirationMinutes = metadataCacheExpirationMinutes;
     }
+
+    public void setMetadataCacheSize(final long metadataCacheSize) {
+        this.metadataCacheSize = metadataCacheSize;
+    }
+
+    public void setMetadataRefreshThreads(final int metadataRefreshThreads) {
+        this.metadataRefreshThreads = metadataRefreshThreads;
+    }
+
+    void setTicker(final Ticker ticker) {
+        this.ticker = ticker;
+    }
 }
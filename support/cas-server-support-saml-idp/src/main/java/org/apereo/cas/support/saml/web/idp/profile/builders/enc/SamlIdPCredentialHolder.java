@@ -0,0 +1,162 @@
+package org.apereo.cas.support.saml.web.idp.profile.builders.enc;
+
+import org.apereo.cas.support.saml.SamlUtils;
+import org.apereo.cas.util.crypto.PrivateKeyFactoryBean;
+import org.opensaml.security.x509.BasicX509Credential;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.PrivateKey;
+import java.security.cert.X509Certificate;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+/**
+ * This is {@link SamlIdPCredentialHolder} that loads the certificate and private key of the identity provider
+ * once, on first use, and hands out the same credential from then on. The directories of the certificate and of the
+ * private key are watched afterwards; when either file changes, both are loaded again and the credential is replaced as a whole.
+ * If they cannot be loaded, for instance while only one of them has been replaced, the previous credential is kept.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class SamlIdPCredentialHolder implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SamlIdPCredentialHolder.class);
+
+    private final File certificateFile;
+
+    private final File privateKeyFile;
+
+    private final String privateKeyAlgName;
+
+    private volatile BasicX509Credential credential;
+
+    private WatchService watcher;
+
+    /**
+     * Instantiates a new credential holder.
+     *
+     * @param certificateFile   the certificate file
+     * @param privateKeyFile    the private key file
+     * @param privateKeyAlgName the private key algorithm name
+     */
+    public SamlIdPCredentialHolder(final File certificateFile, final File privateKeyFile, final String privateKeyAlgName) {
+        this.certificateFile = certificateFile;
+        this.privateKeyFile = privateKeyFile;
+        this.privateKeyAlgName = privateKeyAlgName;
+    }
+
+    /**
+     * Gets the credential, loading it if this is the first use.
+     *
+     * @return the credential
+     * @throws Exception if the credential cannot be loaded
+     */
+    public BasicX509Credential getCredential() throws Exception {
+        final BasicX509Credential current = this.credential;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (this.credential == null) {
+                this.credential = load();
+                watch();
+            }
+            return this.credential;
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (this.watcher != null) {
+            this.watcher.close();
+        }
+    }
+
+    private BasicX509Credential load() throws Exception {
+        LOGGER.debug("Loading credential from certificate [{}] and private key [{}]", this.certificateFile, this.privateKeyFile);
+        final X509Certificate certificate = SamlUtils.readCertificate(new FileSystemResource(this.certificateFile));
+
+        final PrivateKeyFactoryBean privateKeyFactoryBean = new PrivateKeyFactoryBean();
+        privateKeyFactoryBean.setLocation(new FileSystemResource(this.privateKeyFile));
+        privateKeyFactoryBean.setAlgorithm(this.privateKeyAlgName);
+        privateKeyFactoryBean.setSingleton(false);
+        final PrivateKey privateKey = privateKeyFactoryBean.getObject();
+        if (privateKey == null) {
+            throw new IllegalStateException("Private key could not be read from " + this.privateKeyFile);
+        }
+
+        if (certificate.getPublicKey() instanceof RSAPublicKey && privateKey instanceof RSAPrivateKey
+                && !((RSAPublicKey) certificate.getPublicKey()).getModulus().equals(((RSAPrivateKey) privateKey).getModulus())) {
+            throw new IllegalStateException("Certificate " + this.certificateFile + " does not match private key " + this.privateKeyFile);
+        }
+        return new BasicX509Credential(certificate, privateKey);
+    }
+
+    private void watch() {
+        final Set<Path> directories = new LinkedHashSet<>();
+        directories.add(this.certificateFile.getAbsoluteFile().getParentFile().toPath());
+        directories.add(this.privateKeyFile.getAbsoluteFile().getParentFile().toPath());
+        try {
+            this.watcher = FileSystems.getDefault().newWatchService();
+            for (final Path directory : directories) {
+                directory.register(this.watcher, ENTRY_CREATE, ENTRY_MODIFY);
+            }
+            final Thread thread = new Thread(() -> run(directories.size()), "SamlIdPCredentialWatcher");
+            thread.setDaemon(true);
+            thread.start();
+            LOGGER.debug("Watching [{}] for changes to credential files", directories);
+        } catch (final IOException e) {
+            LOGGER.warn("Could not watch credential files [{}] and [{}] for changes", this.certificateFile, this.privateKeyFile, e);
+        }
+    }
+
+    private void run(final int watchedDirectories) {
+        final Path certificatePath = this.certificateFile.getAbsoluteFile().toPath();
+        final Path privateKeyPath = this.privateKeyFile.getAbsoluteFile().toPath();
+        int directories = watchedDirectories;
+        while (directories > 0) {
+            final WatchKey key;
+            try {
+                key = this.watcher.take();
+            } catch (final InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            final Path directory = (Path) key.watchable();
+            final boolean changed = key.pollEvents().stream()
+                    .map(event -> directory.resolve((Path) event.context()))
+                    .anyMatch(path -> path.equals(certificatePath) || path.equals(privateKeyPath));
+            if (changed) {
+                reload();
+            }
+            if (!key.reset()) {
+                LOGGER.warn("Credential directory [{}] is no longer accessible; changes to files in it will not be picked up", directory);
+                directories--;
+            }
+        }
+    }
+
+    private void reload() {
+        try {
+            this.credential = load();
+            LOGGER.info("Reloaded credential from certificate [{}] and private key [{}]", this.certificateFile, this.privateKeyFile);
+        } catch (final Exception e) {
+            LOGGER.warn("Could not reload credential from certificate [{}] and private key [{}]; keeping the current credential",
+                    this.certificateFile, this.privateKeyFile, e);
+        }
+    }
+}
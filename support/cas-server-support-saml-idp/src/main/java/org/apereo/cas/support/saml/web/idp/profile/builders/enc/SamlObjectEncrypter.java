@@ -1,13 +1,12 @@
 package org.apereo.cas.support.saml.web.idp.profile.builders.enc;
 
+import com.google.common.base.Throwables;
 import net.shibboleth.utilities.java.support.resolver.CriteriaSet;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.support.saml.SamlException;
-import org.apereo.cas.support.saml.SamlUtils;
 import org.apereo.cas.support.saml.services.SamlRegisteredService;
 import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceServiceProviderMetadataFacade;
 import org.apereo.cas.util.EncodingUtils;
-import org.apereo.cas.util.crypto.PrivateKeyFactoryBean;
 import org.opensaml.core.criterion.EntityIdCriterion;
 import org.opensaml.saml.criterion.EntityRoleCriterion;
 import org.opensaml.saml.metadata.resolver.impl.BasicRoleDescriptorResolver;
@@ -19,6 +18,7 @@ import org.opensaml.saml.security.impl.MetadataCredentialResolver;
 import org.opensaml.security.credential.Credential;
 import org.opensaml.security.credential.UsageType;
 import org.opensaml.security.criteria.UsageCriterion;
+import org.opensaml.security.x509.BasicX509Credential;
 import org.opensaml.xmlsec.config.DefaultSecurityConfigurationBootstrap;
 import org.opensaml.xmlsec.criterion.EncryptionConfigurationCriterion;
 import org.opensaml.xmlsec.encryption.support.DataEncryptionParameters;
@@ -35,7 +35,6 @@ import org.opensaml.xmlsec.keyinfo.impl.provider.RSAKeyValueProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.FileSystemResource;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -76,6 +75,8 @@ public class SamlObjectEncrypter {
     @Autowired
     private CasConfigurationProperties casProperties;
 
+    private SamlIdPCredentialHolder encryptionCredentialHolder;
+
     /**
      * Encode a given saml object by invoking a number of outbound security handlers on the context.
      *
@@ -230,16 +231,28 @@ public class SamlObjectEncrypter {
         return kekCredentialResolver.resolveSingle(criteriaSet);
     }
 
+    /**
+     * Gets encryption credential.
+     *
+     * @return the encryption credential
+     * @throws Exception the exception
+     */
+    protected BasicX509Credential getEncryptionCredential() throws Exception {
+        logger.debug("Locating encryption credential from [{}]", casProperties.getAuthn().getSamlIdp().getMetadata().getEncryptionCertFile());
+        return this.encryptionCredentialHolder.getCredential();
+    }
+
     /**
      * Gets encryption certificate.
      *
      * @return the encryption certificate
      */
     protected X509Certificate getEncryptionCertificate() {
-        logger.debug("Locating encryption certificate file from [{}]",
-                casProperties.getAuthn().getSamlIdp().getMetadata().getEncryptionCertFile());
-        return SamlUtils.readCertificate(new FileSystemResource(
-                casProperties.getAuthn().getSamlIdp().getMetadata().getEncryptionCertFile()));
+        try {
+            return getEncryptionCredential().getEntityCertificate();
+        } catch (final Exception e) {
+            throw Throwables.propagate(e);
+        }
     }
 
     /**
@@ -249,12 +262,11 @@ public class SamlObjectEncrypter {
      * @throws Exception the exception
      */
     protected PrivateKey getEncryptionPrivateKey() throws Exception {
-        final PrivateKeyFactoryBean privateKeyFactoryBean = new PrivateKeyFactoryBean();
-        privateKeyFactoryBean.setLocation(new FileSystemResource(casProperties.getAuthn().getSamlIdp().getMetadata().getEncryptionKeyFile()));
-        privateKeyFactoryBean.setAlgorithm(casProperties.getAuthn().getSamlIdp().getMetadata().getPrivateKeyAlgName());
-        privateKeyFactoryBean.setSingleton(false);
-        logger.debug("Locating encryption key file from [{}]", casProperties.getAuthn().getSamlIdp().getMetadata().getEncryptionKeyFile());
-        return privateKeyFactoryBean.getObject();
+        return getEncryptionCredential().getPrivateKey();
+    }
+
+    public void setEncryptionCredentialHolder(final SamlIdPCredentialHolder encryptionCredentialHolder) {
+        this.encryptionCredentialHolder = encryptionCredentialHolder;
     }
 
     public void setOverrideDataEncryptionAlgorithms(final List overrideDataEncryptionAlgorithms) {
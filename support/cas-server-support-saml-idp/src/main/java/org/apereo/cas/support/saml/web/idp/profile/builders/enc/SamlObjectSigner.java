@@ -7,10 +7,8 @@ import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.model.support.saml.idp.SamlIdPProperties;
 import org.apereo.cas.support.saml.SamlException;
 import org.apereo.cas.support.saml.SamlIdPUtils;
-import org.apereo.cas.support.saml.SamlUtils;
 import org.apereo.cas.support.saml.services.SamlRegisteredService;
 import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceServiceProviderMetadataFacade;
-import org.apereo.cas.util.crypto.PrivateKeyFactoryBean;
 import org.opensaml.core.criterion.EntityIdCriterion;
 import org.opensaml.messaging.context.MessageContext;
 import org.opensaml.saml.common.SAMLException;
@@ -58,7 +56,6 @@ import org.opensaml.xmlsec.signature.support.impl.ExplicitKeySignatureTrustEngin
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.FileSystemResource;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -100,6 +97,8 @@ public class SamlObjectSigner {
     @Autowired
     private CasConfigurationProperties casProperties;
 
+    private SamlIdPCredentialHolder signingCredentialHolder;
+
     /**
      * Encode a given saml object by invoking a number of outbound security handlers on the context.
      *
@@ -309,26 +308,36 @@ public class SamlObjectSigner {
         logger.debug("Signature signing whitelisted algorithms: {}", config.getWhitelistedAlgorithms());
         logger.debug("Signature signing reference digest methods: [{}]", config.getSignatureReferenceDigestMethods());
 
-        final PrivateKey privateKey = getSigningPrivateKey();
-        final X509Certificate certificate = getSigningCertificate();
-
         final List<Credential> creds = new ArrayList<>();
-        creds.add(new BasicX509Credential(certificate, privateKey));
+        creds.add(getSigningCredential());
         config.setSigningCredentials(creds);
         logger.debug("Signature signing credentials configured");
 
         return config;
     }
 
+    /**
+     * Gets signing credential.
+     *
+     * @return the signing credential
+     * @throws Exception the exception
+     */
+    protected BasicX509Credential getSigningCredential() throws Exception {
+        logger.debug("Locating signature signing credential from [{}]", casProperties.getAuthn().getSamlIdp().getMetadata().getSigningCertFile());
+        return this.signingCredentialHolder.getCredential();
+    }
+
     /**
      * Gets signing certificate.
      *
      * @return the signing certificate
      */
     protected X509Certificate getSigningCertificate() {
-        final SamlIdPProperties samlIdp = casProperties.getAuthn().getSamlIdp();
-        logger.debug("Locating signature signing certificate file from [{}]", samlIdp.getMetadata().getSigningCertFile());
-        return SamlUtils.readCertificate(new FileSystemResource(samlIdp.getMetadata().getSigningCertFile()));
+        try {
+            return getSigningCredential().getEntityCertificate();
+        } catch (final Exception e) {
+            throw Throwables.propagate(e);
+        }
     }
 
     /**
@@ -338,13 +347,7 @@ public class SamlObjectSigner {
      * @throws Exception the exception
      */
     protected PrivateKey getSigningPrivateKey() throws Exception {
-        final SamlIdPProperties samlIdp = casProperties.getAuthn().getSamlIdp();
-        final PrivateKeyFactoryBean privateKeyFactoryBean = new PrivateKeyFactoryBean();
-        privateKeyFactoryBean.setLocation(new FileSystemResource(samlIdp.getMetadata().getSigningKeyFile()));
-        privateKeyFactoryBean.setAlgorithm(samlIdp.getMetadata().getPrivateKeyAlgName());
-        privateKeyFactoryBean.setSingleton(false);
-        logger.debug("Locating signature signing key file from [{}]", samlIdp.getMetadata().getSigningKeyFile());
-        return privateKeyFactoryBean.getObject();
+        return getSigningCredential().getPrivateKey();
     }
 
     /**
@@ -434,6 +437,10 @@ public class SamlObjectSigner {
         }
     }
 
+    public void setSigningCredentialHolder(final SamlIdPCredentialHolder signingCredentialHolder) {
+        this.signingCredentialHolder = signingCredentialHolder;
+    }
+
     public void setOverrideSignatureReferenceDigestMethods(final List overrideSignatureReferenceDigestMethods) {
         this.overrideSignatureReferenceDigestMethods = overrideSignatureReferenceDigestMethods;
     }
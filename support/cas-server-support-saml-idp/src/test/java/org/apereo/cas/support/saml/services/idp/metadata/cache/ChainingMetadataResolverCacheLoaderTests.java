@@ -0,0 +1,165 @@
+package org.apereo.cas.support.saml.services.idp.metadata.cache;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apereo.cas.support.saml.services.SamlRegisteredService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.util.StreamUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link ChainingMetadataResolverCacheLoaderTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class ChainingMetadataResolverCacheLoaderTests {
+
+    private static final long EXPIRATION_MINUTES = 30;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final AtomicInteger fetches = new AtomicInteger();
+
+    private byte[] metadata;
+
+    private HttpServer server;
+
+    private File backupDirectory;
+
+    private ChainingMetadataResolverCacheLoader loader;
+
+    @Before
+    public void setUp() throws Exception {
+        try (InputStream in = new ClassPathResource("sample-idp-metadata.xml").getInputStream()) {
+            this.metadata = StreamUtils.copyToByteArray(in);
+        }
+
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.createContext("/metadata", exchange -> {
+            final boolean head = "HEAD".equals(exchange.getRequestMethod());
+            if (!head) {
+                this.fetches.incrementAndGet();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/xml");
+            exchange.sendResponseHeaders(200, head ? -1 : this.metadata.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                if (!head) {
+                    out.write(this.metadata);
+                }
+            }
+        });
+        this.server.start();
+
+        this.backupDirectory = new File(this.folder.getRoot(), "metadata-backups");
+        this.loader = new ChainingMetadataResolverCacheLoader();
+        this.loader.setMetadataCacheExpirationMinutes(EXPIRATION_MINUTES);
+        this.loader.setMetadataBackupDirectory(this.backupDirectory);
+    }
+
+    @After
+    public void tearDown() {
+        stopServer();
+    }
+
+    @Test
+    public void verifyRemoteMetadataIsBackedUp() throws Exception {
+        final SamlRegisteredService service = newService("/metadata");
+        assertArrayEquals(this.metadata, this.loader.readMetadata(service));
+        assertEquals(1, this.fetches.get());
+
+        final File backup = this.loader.getMetadataBackupFile(service);
+        assertTrue(backup.exists());
+        assertArrayEquals(this.metadata, Files.readAllBytes(backup.toPath()));
+    }
+
+    @Test
+    public void verifyRecentBackupIsReadInsteadOfRemoteMetadata() throws Exception {
+        final SamlRegisteredService service = newService("/metadata");
+        this.loader.readMetadata(service);
+
+        final File backup = this.loader.getMetadataBackupFile(service);
+        final byte[] backedUp = "backed up".getBytes(StandardCharsets.UTF_8);
+        Files.write(backup.toPath(), backedUp);
+
+        assertArrayEquals(backedUp, this.loader.readMetadata(service));
+        assertEquals(1, this.fetches.get());
+    }
+
+    @Test
+    public void verifyExpiredBackupIsReplacedByRemoteMetadata() throws Exception {
+        final SamlRegisteredService service = newService("/metadata");
+        final File backup = this.loader.getMetadataBackupFile(service);
+        Files.write(backup.toPath(), "backed up".getBytes(StandardCharsets.UTF_8));
+        age(backup);
+
+        assertArrayEquals(this.metadata, this.loader.readMetadata(service));
+        assertEquals(1, this.fetches.get());
+        assertArrayEquals(this.metadata, Files.readAllBytes(backup.toPath()));
+    }
+
+    @Test
+    public void verifyBackupIsReadWhenRemoteMetadataCannotBe() throws Exception {
+        final SamlRegisteredService service = newService("/metadata");
+        this.loader.readMetadata(service);
+        final File backup = this.loader.getMetadataBackupFile(service);
+        age(backup);
+
+        stopServer();
+        assertArrayEquals(this.metadata, this.loader.readMetadata(service));
+    }
+
+    @Test(expected = IOException.class)
+    public void verifyUnreadableRemoteMetadataWithoutBackup() throws Exception {
+        final SamlRegisteredService service = newService("/metadata");
+        stopServer();
+        this.loader.readMetadata(service);
+    }
+
+    @Test
+    public void verifyLocalMetadataIsNotBackedUp() throws Exception {
+        final SamlRegisteredService service = new SamlRegisteredService();
+        service.setName("local");
+        service.setServiceId("https://local.example.org");
+        service.setMetadataLocation("classpath:/sample-idp-metadata.xml");
+
+        assertNull(this.loader.getMetadataBackupFile(service));
+        assertArrayEquals(this.metadata, this.loader.readMetadata(service));
+        assertFalse(this.backupDirectory.exists());
+    }
+
+    private void stopServer() {
+        if (this.server != null) {
+            this.server.stop(0);
+            this.server = null;
+        }
+    }
+
+    private SamlRegisteredService newService(final String path) {
+        final SamlRegisteredService service = new SamlRegisteredService();
+        service.setName("remote");
+        service.setServiceId("https://remote.example.org");
+        service.setMetadataLocation("http://localhost:" + this.server.getAddress().getPort() + path);
+        return service;
+    }
+
+    private static void age(final File backup) {
+        assertTrue(backup.setLastModified(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(EXPIRATION_MINUTES + 1)));
+    }
+}
@@ -0,0 +1,177 @@
+package org.apereo.cas.support.saml.services.idp.metadata.cache;
+
+import com.google.common.base.Ticker;
+import org.apereo.cas.support.saml.SamlException;
+import org.apereo.cas.support.saml.services.SamlRegisteredService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opensaml.saml.metadata.resolver.ChainingMetadataResolver;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link DefaultSamlRegisteredServiceCachingMetadataResolverTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class DefaultSamlRegisteredServiceCachingMetadataResolverTests {
+
+    private static final long EXPIRATION_MINUTES = 30;
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private CountingCacheLoader loader;
+
+    private DefaultSamlRegisteredServiceCachingMetadataResolver resolver;
+
+    @Before
+    public void setUp() {
+        this.loader = new CountingCacheLoader();
+        this.resolver = new DefaultSamlRegisteredServiceCachingMetadataResolver();
+        this.resolver.setChainingMetadataResolverCacheLoader(this.loader);
+        this.resolver.setMetadataCacheExpirationMinutes(EXPIRATION_MINUTES);
+        this.resolver.setTicker(new Ticker() {
+            @Override
+            public long read() {
+                return nanos.get();
+            }
+        });
+        ReflectionTestUtils.invokeMethod(this.resolver, "init");
+    }
+
+    @After
+    public void tearDown() {
+        this.loader.release();
+        ReflectionTestUtils.invokeMethod(this.resolver, "destroy");
+    }
+
+    @Test
+    public void verifyMetadataIsCachedPerService() {
+        final SamlRegisteredService service1 = newService("sp1");
+        final SamlRegisteredService service2 = newService("sp2");
+
+        final ChainingMetadataResolver resolver1 = this.resolver.resolve(service1);
+        final ChainingMetadataResolver resolver2 = this.resolver.resolve(service2);
+        assertNotSame(resolver1, resolver2);
+
+        assertSame(resolver1, this.resolver.resolve(service1));
+        assertSame(resolver2, this.resolver.resolve(service2));
+        assertEquals(2, this.loader.getLoads());
+    }
+
+    @Test
+    public void verifyStaleMetadataIsServedWhileRefreshing() throws Exception {
+        final SamlRegisteredService service = newService("sp1");
+        final ChainingMetadataResolver stale = this.resolver.resolve(service);
+
+        this.loader.hold();
+        expire();
+        assertSame(stale, this.resolver.resolve(service));
+        assertSame(stale, this.resolver.resolve(service));
+
+        this.loader.release();
+        final ChainingMetadataResolver fresh = awaitRefresh(service, stale);
+        assertNotSame(stale, fresh);
+        assertEquals(2, this.loader.getLoads());
+    }
+
+    @Test
+    public void verifyStaleMetadataIsKeptWhenRefreshFails() throws Exception {
+        final SamlRegisteredService service = newService("sp1");
+        final ChainingMetadataResolver stale = this.resolver.resolve(service);
+
+        this.loader.fail();
+        expire();
+        assertSame(stale, this.resolver.resolve(service));
+        this.loader.awaitLoads(2);
+        assertSame(stale, this.resolver.resolve(service));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void verifyFailedInitialLoad() {
+        this.loader.fail();
+        this.resolver.resolve(newService("sp1"));
+    }
+
+    private void expire() {
+        this.nanos.addAndGet(TimeUnit.MINUTES.toNanos(EXPIRATION_MINUTES + 1));
+    }
+
+    private ChainingMetadataResolver awaitRefresh(final SamlRegisteredService service,
+                                                  final ChainingMetadataResolver stale) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        ChainingMetadataResolver current = this.resolver.resolve(service);
+        while (current == stale && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            current = this.resolver.resolve(service);
+        }
+        return current;
+    }
+
+    private static SamlRegisteredService newService(final String name) {
+        final SamlRegisteredService service = new SamlRegisteredService();
+        service.setName(name);
+        service.setServiceId("https://" + name + ".example.org");
+        service.setMetadataLocation("https://" + name + ".example.org/metadata");
+        return service;
+    }
+
+    private static class CountingCacheLoader extends ChainingMetadataResolverCacheLoader {
+        private final AtomicInteger loads = new AtomicInteger();
+
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+
+        private volatile boolean failing;
+
+        @Override
+        public ChainingMetadataResolver load(final SamlRegisteredService service) throws Exception {
+            try {
+                this.gate.await();
+                if (this.failing) {
+                    throw new SamlException("Metadata for " + service.getName() + " cannot be loaded");
+                }
+                final ChainingMetadataResolver resolver = new ChainingMetadataResolver();
+                resolver.setId(service.getName());
+                return resolver;
+            } finally {
+                synchronized (this.loads) {
+                    this.loads.incrementAndGet();
+                    this.loads.notifyAll();
+                }
+            }
+        }
+
+        void hold() {
+            this.gate = new CountDownLatch(1);
+        }
+
+        void release() {
+            this.gate.countDown();
+        }
+
+        void fail() {
+            this.failing = true;
+        }
+
+        int getLoads() {
+            return this.loads.get();
+        }
+
+        void awaitLoads(final int count) throws InterruptedException {
+            final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+            synchronized (this.loads) {
+                while (this.loads.get() < count && System.currentTimeMillis() < deadline) {
+                    this.loads.wait(100);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package org.apereo.cas.support.saml.web.idp.profile.builders.enc;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.openssl.jcajce.JcaPEMWriter;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.opensaml.security.x509.BasicX509Credential;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link SamlIdPCredentialHolderTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class SamlIdPCredentialHolderTests {
+
+    private static final int KEY_SIZE = 1024;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File certificateFile;
+
+    private File privateKeyFile;
+
+    private SamlIdPCredentialHolder holder;
+
+    @Before
+    public void setUp() throws Exception {
+        this.certificateFile = new File(this.folder.newFolder("certificates"), "idp-signing.crt");
+        this.privateKeyFile = new File(this.folder.newFolder("keys"), "idp-signing.key");
+        this.holder = new SamlIdPCredentialHolder(this.certificateFile, this.privateKeyFile, "RSA");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.holder.close();
+    }
+
+    @Test
+    public void verifyCredentialIsLoadedOnce() throws Exception {
+        final KeyPair keyPair = newKeyPair();
+        writeCertificate(keyPair);
+        writePrivateKey(keyPair);
+
+        final BasicX509Credential credential = this.holder.getCredential();
+        assertEquals(keyPair.getPublic(), credential.getEntityCertificate().getPublicKey());
+        assertEquals(keyPair.getPrivate(), credential.getPrivateKey());
+        assertSame(credential, this.holder.getCredential());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void verifyMismatchedFilesAreRejected() throws Exception {
+        writeCertificate(newKeyPair());
+        writePrivateKey(newKeyPair());
+        this.holder.getCredential();
+    }
+
+    @Test
+    public void verifyCredentialIsReloadedWhenBothFilesChange() throws Exception {
+        final KeyPair keyPair = newKeyPair();
+        writeCertificate(keyPair);
+        writePrivateKey(keyPair);
+        final BasicX509Credential credential = this.holder.getCredential();
+
+        final KeyPair rolledOver = newKeyPair();
+        writeCertificate(rolledOver);
+        assertSame(credential, this.holder.getCredential());
+
+        writePrivateKey(rolledOver);
+        final BasicX509Credential reloaded = awaitReload(credential);
+        assertEquals(rolledOver.getPublic(), reloaded.getEntityCertificate().getPublicKey());
+        assertEquals(rolledOver.getPrivate(), reloaded.getPrivateKey());
+    }
+
+    @Test
+    public void verifyCredentialIsReloadedWhenPrivateKeyChangesLast() throws Exception {
+        final KeyPair keyPair = newKeyPair();
+        writeCertificate(keyPair);
+        writePrivateKey(keyPair);
+        final BasicX509Credential credential = this.holder.getCredential();
+
+        final KeyPair rolledOver = newKeyPair();
+        writePrivateKey(rolledOver);
+        assertSame(credential, this.holder.getCredential());
+
+        writeCertificate(rolledOver);
+        final BasicX509Credential reloaded = awaitReload(credential);
+        assertEquals(rolledOver.getPrivate(), reloaded.getPrivateKey());
+    }
+
+    private BasicX509Credential awaitReload(final BasicX509Credential credential) throws Exception {
+        final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(30);
+        BasicX509Credential current = this.holder.getCredential();
+        while (current == credential && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            current = this.holder.getCredential();
+        }
+        assertNotSame("Credential was not reloaded", credential, current);
+        return current;
+    }
+
+    private static KeyPair newKeyPair() throws Exception {
+        final KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(KEY_SIZE);
+        return generator.generateKeyPair();
+    }
+
+    private void writeCertificate(final KeyPair keyPair) throws Exception {
+        final X500Name name = new X500Name("CN=cas.example.org");
+        final Date now = new Date();
+        final JcaX509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(name, BigInteger.ONE, now,
+                new Date(now.getTime() + TimeUnit.DAYS.toMillis(1)), name, keyPair.getPublic());
+        write(this.certificateFile, builder.build(new JcaContentSignerBuilder("SHA256withRSA").build(keyPair.getPrivate())));
+    }
+
+    private void writePrivateKey(final KeyPair keyPair) throws Exception {
+        write(this.privateKeyFile, keyPair.getPrivate());
+    }
+
+    /**
+     * Files are written elsewhere and moved in place,
+     * so that the holder never sees a partially written file.
+     */
+    private void write(final File file, final Object pem) throws Exception {
+        final File temp = this.folder.newFile();
+        try (JcaPEMWriter writer = new JcaPEMWriter(new FileWriter(temp))) {
+            writer.writeObject(pem);
+        }
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
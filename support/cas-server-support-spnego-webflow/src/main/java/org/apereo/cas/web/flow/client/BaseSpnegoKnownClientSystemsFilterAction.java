@@ -2,7 +2,7 @@ package org.apereo.cas.web.flow.client;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.builder.ToStringBuilder;
-import org.apereo.cas.support.spnego.util.ReverseDNSRunnable;
+import org.apereo.cas.support.spnego.util.ReverseDNSResolver;
 import org.apereo.cas.web.support.WebUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,6 +37,9 @@ public class BaseSpnegoKnownClientSystemsFilterAction extends AbstractAction {
 
     /** Timeout for DNS Requests. **/
     private long timeout;
+
+    /** Resolver for reverse DNS lookups. **/
+    private ReverseDNSResolver reverseDnsResolver;
     
     /**
      * Instantiates a new Base.
@@ -196,25 +199,23 @@ public class BaseSpnegoKnownClientSystemsFilterAction extends AbstractAction {
     }
 
     /**
-     * Convenience method to perform a reverse DNS lookup. Threads the request
-     * through a custom Runnable class in order to prevent inordinately long
-     * user waits while performing reverse lookup.
+     * Sets the resolver used for reverse DNS lookups. It is required by actions
+     * that look up the host name of the client, and its lifecycle is left to the caller.
+     * @param reverseDnsResolver the resolver
+     */
+    public void setReverseDnsResolver(final ReverseDNSResolver reverseDnsResolver) {
+        this.reverseDnsResolver = reverseDnsResolver;
+    }
+
+    /**
+     * Convenience method to perform a reverse DNS lookup. Lookups are run by the
+     * reverse DNS resolver in order to prevent inordinately long user waits;
+     * the remote ip is used if the lookup does not complete in time.
      * @param remoteIp the remote ip
      * @return the remote host name
      */
     protected String getRemoteHostName(final String remoteIp) {
-        final ReverseDNSRunnable revDNS = new ReverseDNSRunnable(remoteIp);
-
-        final Thread t = new Thread(revDNS);
-        t.start();
-
-        try {
-            t.join(this.timeout);
-        } catch (final InterruptedException e) {
-            logger.debug("Threaded lookup failed.  Defaulting to IP {}.", remoteIp, e);
-        }
-
-        final String remoteHostName = revDNS.get();
+        final String remoteHostName = this.reverseDnsResolver.resolve(remoteIp, this.timeout);
         logger.debug("Found remote host name {}.", remoteHostName);
 
         return StringUtils.isNotEmpty(remoteHostName) ? remoteHostName : remoteIp;
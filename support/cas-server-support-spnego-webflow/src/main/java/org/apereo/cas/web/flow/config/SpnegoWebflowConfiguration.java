@@ -1,9 +1,13 @@
 package org.apereo.cas.web.flow.config;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
 import com.google.common.collect.Lists;
 import org.apereo.cas.authentication.adaptive.AdaptiveAuthenticationPolicy;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.support.spnego.SpnegoProperties;
 import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.support.spnego.util.ReverseDNSResolver;
 import org.apereo.cas.web.flow.CasWebflowConfigurer;
 import org.apereo.cas.web.flow.SpengoWebflowConfigurer;
 import org.apereo.cas.web.flow.SpnegoCredentialsAction;
@@ -60,6 +64,9 @@ public class SpnegoWebflowConfiguration {
     @Autowired
     private CasConfigurationProperties casProperties;
 
+    @Autowired(required = false)
+    private MetricRegistry metricRegistry;
+
     @ConditionalOnMissingBean(name = "spnegoWebflowConfigurer")
     @Bean
     public CasWebflowConfigurer spnegoWebflowConfigurer() {
@@ -94,6 +101,25 @@ public class SpnegoWebflowConfiguration {
         return a;
     }
 
+    @Bean
+    public ReverseDNSResolver reverseDnsResolver() {
+        final SpnegoProperties spnego = casProperties.getAuthn().getSpnego();
+        final ReverseDNSResolver r = new ReverseDNSResolver(spnego.getDnsResolverThreads(), spnego.getDnsResolverQueueSize(),
+                spnego.getDnsCacheSize(), spnego.getDnsCacheTimeToLiveSeconds(), spnego.getDnsCacheNegativeTimeToLiveSeconds());
+        if (this.metricRegistry != null) {
+            registerReverseDnsResolverMetrics(r);
+        }
+        return r;
+    }
+
+    private void registerReverseDnsResolverMetrics(final ReverseDNSResolver r) {
+        this.metricRegistry.register("spnego.dns.hits", (Gauge<Long>) r::getHitCount);
+        this.metricRegistry.register("spnego.dns.misses", (Gauge<Long>) r::getMissCount);
+        this.metricRegistry.register("spnego.dns.timeouts", (Gauge<Long>) r::getTimeoutCount);
+        this.metricRegistry.register("spnego.dns.rejected", (Gauge<Long>) r::getRejectedCount);
+        this.metricRegistry.register("spnego.dns.pending", (Gauge<Integer>) r::getPendingCount);
+    }
+
     @Bean
     @RefreshScope
     public Action baseSpnegoClientAction() {
@@ -103,6 +129,7 @@ public class SpnegoWebflowConfiguration {
         a.setIpsToCheckPattern(casProperties.getAuthn().getSpnego().getIpsToCheckPattern());
         a.setAlternativeRemoteHostAttribute(casProperties.getAuthn().getSpnego().getAlternativeRemoteHostAttribute());
         a.setTimeout(casProperties.getAuthn().getSpnego().getDnsTimeout());
+        a.setReverseDnsResolver(reverseDnsResolver());
         return a;
     }
 
@@ -114,6 +141,7 @@ public class SpnegoWebflowConfiguration {
         a.setIpsToCheckPattern(casProperties.getAuthn().getSpnego().getIpsToCheckPattern());
         a.setAlternativeRemoteHostAttribute(casProperties.getAuthn().getSpnego().getAlternativeRemoteHostAttribute());
         a.setTimeout(casProperties.getAuthn().getSpnego().getDnsTimeout());
+        a.setReverseDnsResolver(reverseDnsResolver());
         return a;
     }
 
@@ -135,6 +163,7 @@ public class SpnegoWebflowConfiguration {
         l.setIpsToCheckPattern(casProperties.getAuthn().getSpnego().getIpsToCheckPattern());
         l.setAlternativeRemoteHostAttribute(casProperties.getAuthn().getSpnego().getAlternativeRemoteHostAttribute());
         l.setTimeout(casProperties.getAuthn().getSpnego().getDnsTimeout());
+        l.setReverseDnsResolver(reverseDnsResolver());
         return l;
     }
 }
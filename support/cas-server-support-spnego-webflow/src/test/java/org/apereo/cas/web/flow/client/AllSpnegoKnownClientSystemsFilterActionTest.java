@@ -1,5 +1,7 @@
 package org.apereo.cas.web.flow.client;
 
+import org.apereo.cas.support.spnego.util.ReverseDNSResolver;
+import org.junit.After;
 import org.junit.Test;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
@@ -20,6 +22,13 @@ import static org.junit.Assert.*;
  */
 public class AllSpnegoKnownClientSystemsFilterActionTest {
 
+    private final ReverseDNSResolver reverseDnsResolver = new ReverseDNSResolver(2, 10, 100, 300, 30);
+
+    @After
+    public void shutdown() {
+        this.reverseDnsResolver.shutdown();
+    }
+
     @Test
     public void ensureRemoteIpShouldBeChecked() {
         final BaseSpnegoKnownClientSystemsFilterAction action =
@@ -76,6 +85,7 @@ public class AllSpnegoKnownClientSystemsFilterActionTest {
     public void ensureHostnameShouldDoSpnego() {
         final HostNameSpnegoKnownClientSystemsFilterAction action =
                 new HostNameSpnegoKnownClientSystemsFilterAction("\\w+\\.\\w+\\.\\w+");
+        action.setReverseDnsResolver(this.reverseDnsResolver);
 
         final MockRequestContext ctx = new MockRequestContext();
         final MockHttpServletRequest req = new MockHttpServletRequest();
@@ -94,6 +104,7 @@ public class AllSpnegoKnownClientSystemsFilterActionTest {
     public void ensureHostnameAndIpShouldDoSpnego() {
         final HostNameSpnegoKnownClientSystemsFilterAction action =
                 new HostNameSpnegoKnownClientSystemsFilterAction("\\w+\\.\\w+\\.\\w+");
+        action.setReverseDnsResolver(this.reverseDnsResolver);
         action.setIpsToCheckPattern("74\\..+");
 
         final MockRequestContext ctx = new MockRequestContext();
@@ -113,6 +124,7 @@ public class AllSpnegoKnownClientSystemsFilterActionTest {
     public void verifyIpMismatchWhenCheckingHostnameForSpnego() {
         final HostNameSpnegoKnownClientSystemsFilterAction action =
                 new HostNameSpnegoKnownClientSystemsFilterAction("\\w+\\.\\w+\\.\\w+");
+        action.setReverseDnsResolver(this.reverseDnsResolver);
         action.setIpsToCheckPattern("14\\..+");
 
         final MockRequestContext ctx = new MockRequestContext();
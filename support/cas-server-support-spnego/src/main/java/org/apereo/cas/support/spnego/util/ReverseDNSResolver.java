@@ -0,0 +1,198 @@
+package org.apereo.cas.support.spnego.util;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Performs reverse DNS lookups on a bounded pool of threads, so that callers can wait
+ * for a limited amount of time without leaving threads behind. Results are cached in memory;
+ * addresses that cannot be resolved are cached for a shorter period of time. Concurrent lookups
+ * of the same address share a single query. Lookups that cannot be queued, or that take longer
+ * than callers are willing to wait, fall back to the address itself.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class ReverseDNSResolver {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReverseDNSResolver.class);
+
+    private final ThreadPoolExecutor executor;
+
+    private final Cache<String, CachedHostName> cache;
+
+    private final Map<String, CompletableFuture<String>> lookups = new ConcurrentHashMap<>();
+
+    private final long timeToLiveSeconds;
+
+    private final long negativeTimeToLiveSeconds;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong timeouts = new AtomicLong();
+
+    private final AtomicLong rejections = new AtomicLong();
+
+    /**
+     * Instantiates a new reverse DNS resolver.
+     *
+     * @param threads                   the maximum number of lookups run at a time
+     * @param queueSize                 the maximum number of lookups waiting to run
+     * @param cacheSize                 the maximum number of addresses cached
+     * @param timeToLiveSeconds         how long resolved host names are cached
+     * @param negativeTimeToLiveSeconds how long addresses that could not be resolved are cached
+     */
+    public ReverseDNSResolver(final int threads, final int queueSize, final long cacheSize,
+                              final long timeToLiveSeconds, final long negativeTimeToLiveSeconds) {
+        final AtomicInteger count = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 1, TimeUnit.MINUTES,
+                new LinkedBlockingQueue<>(queueSize), r -> {
+            final Thread thread = new Thread(r, "ReverseDNS-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.allowCoreThreadTimeOut(true);
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Math.max(timeToLiveSeconds, negativeTimeToLiveSeconds), TimeUnit.SECONDS)
+                .build();
+        this.timeToLiveSeconds = timeToLiveSeconds;
+        this.negativeTimeToLiveSeconds = negativeTimeToLiveSeconds;
+    }
+
+    /**
+     * Resolve the host name of the given address.
+     *
+     * @param ipAddress the ip address
+     * @param timeout   milliseconds to wait for the lookup; zero or less to wait until it completes
+     * @return the host name, or the ip address if it could not be resolved in time
+     */
+    public String resolve(final String ipAddress, final long timeout) {
+        final CachedHostName cached = this.cache.getIfPresent(ipAddress);
+        if (cached != null && !cached.isExpired()) {
+            this.hits.incrementAndGet();
+            LOGGER.trace("Found cached host name [{}] for [{}]", cached.hostName, ipAddress);
+            return cached.hostName;
+        }
+        this.misses.incrementAndGet();
+
+        final CompletableFuture<String> lookup = this.lookups.computeIfAbsent(ipAddress, this::lookup);
+        try {
+            if (timeout > 0) {
+                return lookup.get(timeout, TimeUnit.MILLISECONDS);
+            }
+            return lookup.get();
+        } catch (final TimeoutException e) {
+            this.timeouts.incrementAndGet();
+            LOGGER.debug("Reverse DNS lookup of [{}] did not complete within [{}] ms", ipAddress, timeout);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.debug("Interrupted while waiting for reverse DNS lookup of [{}]", ipAddress);
+        } catch (final ExecutionException e) {
+            LOGGER.debug("Reverse DNS lookup of [{}] failed", ipAddress, e);
+        } finally {
+            if (lookup.isDone()) {
+                this.lookups.remove(ipAddress, lookup);
+            }
+        }
+        return ipAddress;
+    }
+
+    private CompletableFuture<String> lookup(final String ipAddress) {
+        final CompletableFuture<String> lookup = new CompletableFuture<>();
+        try {
+            this.executor.execute(() -> {
+                String hostName = null;
+                try {
+                    final ReverseDNSRunnable runnable = new ReverseDNSRunnable(ipAddress);
+                    runnable.run();
+                    hostName = runnable.get();
+                } finally {
+                    final boolean resolved = hostName != null && !hostName.equals(ipAddress);
+                    this.cache.put(ipAddress, new CachedHostName(resolved ? hostName : ipAddress,
+                            resolved ? this.timeToLiveSeconds : this.negativeTimeToLiveSeconds));
+                    this.lookups.remove(ipAddress, lookup);
+                    lookup.complete(resolved ? hostName : ipAddress);
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            this.rejections.incrementAndGet();
+            LOGGER.warn("Too many reverse DNS lookups are pending; not resolving [{}]", ipAddress);
+            lookup.complete(ipAddress);
+        }
+        return lookup;
+    }
+
+    /**
+     * Stop running lookups.
+     */
+    public void shutdown() {
+        this.executor.shutdownNow();
+    }
+
+    public long getHitCount() {
+        return this.hits.get();
+    }
+
+    public long getMissCount() {
+        return this.misses.get();
+    }
+
+    public long getTimeoutCount() {
+        return this.timeouts.get();
+    }
+
+    public long getRejectedCount() {
+        return this.rejections.get();
+    }
+
+    public int getPendingCount() {
+        return this.lookups.size();
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("hits", getHitCount())
+                .append("misses", getMissCount())
+                .append("timeouts", getTimeoutCount())
+                .append("rejected", getRejectedCount())
+                .append("pending", getPendingCount())
+                .append("cached", this.cache.size())
+                .toString();
+    }
+
+    /**
+     * Host name cached for an address, until it expires.
+     */
+    private static class CachedHostName {
+        private final String hostName;
+        private final long expiresAt;
+
+        CachedHostName(final String hostName, final long timeToLiveSeconds) {
+            this.hostName = hostName;
+            this.expiresAt = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(timeToLiveSeconds);
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() >= this.expiresAt;
+        }
+    }
+}
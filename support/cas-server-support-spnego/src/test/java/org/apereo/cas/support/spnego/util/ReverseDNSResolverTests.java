@@ -0,0 +1,35 @@
+package org.apereo.cas.support.spnego.util;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test for {@link ReverseDNSResolver} class.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class ReverseDNSResolverTests {
+
+    private final ReverseDNSResolver resolver = new ReverseDNSResolver(2, 10, 100, 300, 30);
+
+    @After
+    public void shutdown() {
+        this.resolver.shutdown();
+    }
+
+    @Test
+    public void verifyResolvedHostNamesAreCached() {
+        final String hostName = this.resolver.resolve("127.0.0.1", 0);
+        assertNotNull(hostName);
+        assertEquals(1, this.resolver.getMissCount());
+        assertEquals(0, this.resolver.getHitCount());
+
+        assertEquals(hostName, this.resolver.resolve("127.0.0.1", 0));
+        assertEquals(1, this.resolver.getMissCount());
+        assertEquals(1, this.resolver.getHitCount());
+        assertEquals(0, this.resolver.getPendingCount());
+    }
+}
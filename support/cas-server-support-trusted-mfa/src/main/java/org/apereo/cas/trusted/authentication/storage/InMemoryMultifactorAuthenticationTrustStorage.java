@@ -1,44 +1,79 @@
 package org.apereo.cas.trusted.authentication.storage;
 
-import com.google.common.cache.LoadingCache;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import com.google.common.cache.RemovalNotification;
 import org.apereo.cas.trusted.authentication.api.MultifactorAuthenticationTrustRecord;
 
 import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.stream.Collectors;
 
 /**
  * This is {@link InMemoryMultifactorAuthenticationTrustStorage}.
+ * Records are indexed by principal, ignoring case, and ordered by date, so that looking up the records
+ * of a principal and expiring records do not go through every record in storage.
+ * Records that storage evicts, for being too old or too many, are dropped from the indexes
+ * when storage is built by this class; otherwise, indexes may still refer to them until they are found.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
  */
 public class InMemoryMultifactorAuthenticationTrustStorage extends BaseMultifactorAuthenticationTrustStorage {
 
-    private LoadingCache<String, MultifactorAuthenticationTrustRecord> storage;
+    private final Cache<String, MultifactorAuthenticationTrustRecord> storage;
 
-    public InMemoryMultifactorAuthenticationTrustStorage(final LoadingCache<String, MultifactorAuthenticationTrustRecord> st) {
+    private final Map<String, Set<String>> principals = new ConcurrentHashMap<>();
+
+    private final NavigableMap<LocalDate, Set<String>> dates = new ConcurrentSkipListMap<>();
+
+    public InMemoryMultifactorAuthenticationTrustStorage(final Cache<String, MultifactorAuthenticationTrustRecord> st) {
         this.storage = st;
     }
 
+    /**
+     * Instantiates a new in-memory trust storage, building storage from the given builder
+     * so that records it evicts are dropped from the indexes right away.
+     *
+     * @param builder the builder of storage, with its size and time limits
+     */
+    public InMemoryMultifactorAuthenticationTrustStorage(final CacheBuilder<Object, Object> builder) {
+        this.storage = builder
+                .removalListener((RemovalListener<String, MultifactorAuthenticationTrustRecord>) this::onRemoval)
+                .build();
+    }
+
     @Override
     public void expire(final String key) {
-        storage.asMap().keySet().removeIf(k -> k.equalsIgnoreCase(key));
+        final MultifactorAuthenticationTrustRecord record = storage.getIfPresent(key);
+        if (record != null) {
+            invalidate(record);
+        } else {
+            storage.asMap().values().stream()
+                    .filter(entry -> entry.getKey().equalsIgnoreCase(key))
+                    .collect(Collectors.toList())
+                    .forEach(this::invalidate);
+        }
     }
 
     @Override
     public void expire(final LocalDate onOrBefore) {
-        final Set<MultifactorAuthenticationTrustRecord> results = storage.asMap()
-                .values()
+        final Set<MultifactorAuthenticationTrustRecord> results = this.dates.headMap(onOrBefore, true)
+                .entrySet()
                 .stream()
-                .filter(entry -> entry.getDate().isEqual(onOrBefore) || entry.getDate().isBefore(onOrBefore))
-                .sorted()
-                .distinct()
+                .flatMap(entry -> lookup(entry.getValue(), this.dates, entry.getKey()).stream())
+                .filter(entry -> !entry.getDate().isAfter(onOrBefore))
                 .collect(Collectors.toSet());
 
         logger.info("Found {} expired records", results.size());
         if (!results.isEmpty()) {
-            results.forEach(entry -> storage.invalidate(entry.getKey()));
+            results.forEach(this::invalidate);
             logger.info("Invalidated and removed {} expired records", results.size());
         }
     }
@@ -46,30 +81,98 @@ public class InMemoryMultifactorAuthenticationTrustStorage extends BaseMultifact
     @Override
     public Set<MultifactorAuthenticationTrustRecord> get(final LocalDate onOrAfterDate) {
         expire(onOrAfterDate);
-        return storage.asMap()
-                .values()
+        return this.dates.tailMap(onOrAfterDate, true)
+                .entrySet()
                 .stream()
-                .filter(entry -> entry.getDate().isEqual(onOrAfterDate) || entry.getDate().isAfter(onOrAfterDate))
-                .sorted()
-                .distinct()
+                .flatMap(entry -> lookup(entry.getValue(), this.dates, entry.getKey()).stream())
+                .filter(entry -> !entry.getDate().isBefore(onOrAfterDate))
                 .collect(Collectors.toSet());
     }
 
     @Override
     public Set<MultifactorAuthenticationTrustRecord> get(final String principal) {
-        return storage.asMap()
-                .values()
+        final String indexKey = principal.toLowerCase();
+        final Set<String> keys = this.principals.get(indexKey);
+        if (keys == null) {
+            return new HashSet<>();
+        }
+        return lookup(keys, this.principals, indexKey)
                 .stream()
                 .filter(entry -> entry.getPrincipal().equalsIgnoreCase(principal))
-                .sorted()
-                .distinct()
                 .collect(Collectors.toSet());
     }
 
 
     @Override
     public MultifactorAuthenticationTrustRecord setInternal(final MultifactorAuthenticationTrustRecord record) {
+        final MultifactorAuthenticationTrustRecord previous = this.storage.getIfPresent(record.getKey());
+        if (previous != null) {
+            unindex(previous);
+        }
         this.storage.put(record.getKey(), record);
+        index(this.principals, record.getPrincipal().toLowerCase(), record.getKey());
+        index(this.dates, record.getDate(), record.getKey());
         return record;
     }
+
+    /**
+     * Number of records the principal index refers to.
+     *
+     * @return the count
+     */
+    int getIndexedRecordCount() {
+        return this.principals.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private void onRemoval(final RemovalNotification<String, MultifactorAuthenticationTrustRecord> notification) {
+        // replaced and invalidated records are dropped from the indexes as they are replaced or invalidated;
+        // the key may have been stored again since the record was evicted.
+        if (notification.wasEvicted() && notification.getValue() != null
+                && this.storage.getIfPresent(notification.getKey()) == null) {
+            unindex(notification.getValue());
+        }
+    }
+
+    private void invalidate(final MultifactorAuthenticationTrustRecord record) {
+        this.storage.invalidate(record.getKey());
+        unindex(record);
+    }
+
+    private void unindex(final MultifactorAuthenticationTrustRecord record) {
+        unindex(this.principals, record.getPrincipal().toLowerCase(), record.getKey());
+        unindex(this.dates, record.getDate(), record.getKey());
+    }
+
+    /**
+     * Find the records for the given keys of an index entry,
+     * dropping keys of records that are no longer in storage from the index.
+     */
+    private <K> Set<MultifactorAuthenticationTrustRecord> lookup(final Set<String> keys, final Map<K, Set<String>> index,
+                                                                 final K indexKey) {
+        final Set<MultifactorAuthenticationTrustRecord> results = new HashSet<>();
+        keys.forEach(key -> {
+            final MultifactorAuthenticationTrustRecord record = this.storage.getIfPresent(key);
+            if (record == null) {
+                unindex(index, indexKey, key);
+            } else {
+                results.add(record);
+            }
+        });
+        return results;
+    }
+
+    private static <K> void index(final Map<K, Set<String>> index, final K indexKey, final String key) {
+        index.compute(indexKey, (k, keys) -> {
+            final Set<String> results = keys == null ? ConcurrentHashMap.newKeySet() : keys;
+            results.add(key);
+            return results;
+        });
+    }
+
+    private static <K> void unindex(final Map<K, Set<String>> index, final K indexKey, final String key) {
+        index.computeIfPresent(indexKey, (k, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
 }
@@ -0,0 +1,116 @@
+package org.apereo.cas.trusted.authentication.storage;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.CacheBuilder;
+import org.apereo.cas.trusted.authentication.api.MultifactorAuthenticationTrustRecord;
+import org.apereo.cas.util.cipher.NoOpCipherExecutor;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link InMemoryMultifactorAuthenticationTrustStorageTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class InMemoryMultifactorAuthenticationTrustStorageTests {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private final InMemoryMultifactorAuthenticationTrustStorage storage = newStorage(CacheBuilder.newBuilder());
+
+    @Test
+    public void verifyRecordsAreFoundByPrincipal() {
+        this.storage.set(newRecord("casuser", "home", LocalDate.now()));
+        this.storage.set(newRecord("casuser", "work", LocalDate.now()));
+        this.storage.set(newRecord("someone", "home", LocalDate.now()));
+
+        final Set<MultifactorAuthenticationTrustRecord> records = this.storage.get("CASUSER");
+        assertEquals(2, records.size());
+        assertTrue(records.stream().allMatch(r -> r.getPrincipal().equals("casuser")));
+        assertTrue(this.storage.get("nobody").isEmpty());
+    }
+
+    @Test
+    public void verifyRecordsAreFoundByDate() {
+        this.storage.set(newRecord("casuser", "home", LocalDate.now()));
+        this.storage.set(newRecord("casuser", "work", LocalDate.now().minusDays(10)));
+
+        final Set<MultifactorAuthenticationTrustRecord> records = this.storage.get(LocalDate.now().minusDays(5));
+        assertEquals(1, records.size());
+        assertEquals("home", records.iterator().next().getGeography());
+        assertEquals(1, this.storage.get("casuser").size());
+        assertEquals(1, this.storage.getIndexedRecordCount());
+    }
+
+    @Test
+    public void verifyRecordsExpireByKey() {
+        final MultifactorAuthenticationTrustRecord record = this.storage.set(newRecord("casuser", "home", LocalDate.now()));
+        this.storage.set(newRecord("casuser", "work", LocalDate.now()));
+
+        this.storage.expire(record.getKey());
+        final Set<MultifactorAuthenticationTrustRecord> records = this.storage.get("casuser");
+        assertEquals(1, records.size());
+        assertEquals("work", records.iterator().next().getGeography());
+        assertEquals(1, this.storage.getIndexedRecordCount());
+    }
+
+    @Test
+    public void verifyRecordsExpireByDate() {
+        this.storage.set(newRecord("casuser", "home", LocalDate.now()));
+        this.storage.set(newRecord("casuser", "work", LocalDate.now().minusDays(10)));
+
+        this.storage.expire(LocalDate.now().minusDays(1));
+        assertEquals(1, this.storage.get("casuser").size());
+        assertEquals(1, this.storage.getIndexedRecordCount());
+    }
+
+    @Test
+    public void verifyRecordsEvictedForSizeAreUnindexed() {
+        final InMemoryMultifactorAuthenticationTrustStorage small = newStorage(CacheBuilder.newBuilder().maximumSize(1));
+        small.set(newRecord("casuser", "home", LocalDate.now()));
+        small.set(newRecord("someone", "home", LocalDate.now()));
+
+        assertEquals(1, small.getIndexedRecordCount());
+        assertTrue(small.get("casuser").isEmpty());
+        assertEquals(1, small.get("someone").size());
+    }
+
+    @Test
+    public void verifyRecordsEvictedForAgeAreUnindexed() {
+        final InMemoryMultifactorAuthenticationTrustStorage expiring = newStorage(CacheBuilder.newBuilder()
+                .concurrencyLevel(1)
+                .ticker(new Ticker() {
+                    @Override
+                    public long read() {
+                        return nanos.get();
+                    }
+                })
+                .expireAfterWrite(1, TimeUnit.MINUTES));
+        expiring.set(newRecord("casuser", "home", LocalDate.now()));
+        this.nanos.addAndGet(TimeUnit.MINUTES.toNanos(2));
+        expiring.set(newRecord("someone", "home", LocalDate.now()));
+
+        assertEquals(1, expiring.getIndexedRecordCount());
+        assertTrue(expiring.get("casuser").isEmpty());
+    }
+
+    private static InMemoryMultifactorAuthenticationTrustStorage newStorage(final CacheBuilder<Object, Object> builder) {
+        final InMemoryMultifactorAuthenticationTrustStorage storage = new InMemoryMultifactorAuthenticationTrustStorage(builder);
+        storage.setCipherExecutor(new NoOpCipherExecutor());
+        return storage;
+    }
+
+    private static MultifactorAuthenticationTrustRecord newRecord(final String principal, final String geography,
+                                                                  final LocalDate date) {
+        final MultifactorAuthenticationTrustRecord record = MultifactorAuthenticationTrustRecord.newInstance(principal, geography);
+        record.setDate(date);
+        return record;
+    }
+}
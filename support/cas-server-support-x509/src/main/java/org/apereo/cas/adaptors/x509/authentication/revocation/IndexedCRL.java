@@ -0,0 +1,82 @@
+package org.apereo.cas.adaptors.x509.authentication.revocation;
+
+import org.apereo.cas.adaptors.x509.util.CertUtils;
+
+import java.math.BigInteger;
+import java.security.cert.X509CRL;
+import java.security.cert.X509CRLEntry;
+import java.security.cert.X509Certificate;
+import java.util.Collections;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link IndexedCRL} that holds a parsed CRL along with the serial numbers
+ * of the certificates it revokes. Certificates that are not revoked, which is the common case,
+ * are then looked up in constant time rather than by going through the entries of the CRL.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class IndexedCRL {
+
+    private final X509CRL crl;
+
+    private final Set<BigInteger> revokedSerialNumbers;
+
+    /**
+     * Instantiates a new indexed CRL.
+     *
+     * @param crl the crl
+     */
+    public IndexedCRL(final X509CRL crl) {
+        this.crl = crl;
+        final Set<? extends X509CRLEntry> entries = crl.getRevokedCertificates();
+        if (entries == null) {
+            this.revokedSerialNumbers = Collections.emptySet();
+        } else {
+            this.revokedSerialNumbers = entries.stream().map(X509CRLEntry::getSerialNumber).collect(Collectors.toSet());
+        }
+    }
+
+    /**
+     * Gets the CRL entry for the given certificate.
+     *
+     * @param cert the certificate
+     * @return the entry, or null if the certificate is not revoked by this CRL
+     */
+    public X509CRLEntry getRevokedCertificate(final X509Certificate cert) {
+        if (!this.revokedSerialNumbers.contains(cert.getSerialNumber())) {
+            return null;
+        }
+        return this.crl.getRevokedCertificate(cert);
+    }
+
+    /**
+     * Whether the CRL is past its next update.
+     *
+     * @return true/false
+     */
+    public boolean isExpired() {
+        return CertUtils.isExpired(this.crl);
+    }
+
+    /**
+     * Number of certificates revoked by this CRL.
+     *
+     * @return the count
+     */
+    public int size() {
+        return this.revokedSerialNumbers.size();
+    }
+
+    public X509CRL getCRL() {
+        return this.crl;
+    }
+
+    @Override
+    public String toString() {
+        return "IndexedCRL[issuer=" + this.crl.getIssuerX500Principal() + ", size=" + size()
+                + ", nextUpdate=" + this.crl.getNextUpdate() + ']';
+    }
+}
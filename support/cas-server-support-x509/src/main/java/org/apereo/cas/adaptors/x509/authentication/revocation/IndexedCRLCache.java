@@ -0,0 +1,152 @@
+package org.apereo.cas.adaptors.x509.authentication.revocation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.cert.X509CRL;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link IndexedCRLCache} that keeps CRLs parsed and indexed, keyed by where they came from,
+ * so that revocation checks do not parse CRLs again. CRLs may be given a refresher that fetches them again;
+ * it is run in the background ahead of the next update of the CRL, and is expected to put the fetched
+ * CRL back into the cache. Refreshers that fail are retried periodically.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class IndexedCRLCache {
+
+    /** Default number of seconds ahead of the next update of a CRL to refresh it. */
+    public static final long DEFAULT_REFRESH_AHEAD_SECONDS = 300;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IndexedCRLCache.class);
+
+    private static final long RETRY_INTERVAL_SECONDS = 60;
+
+    private final Map<Object, IndexedCRL> crls = new ConcurrentHashMap<>();
+
+    private final Map<Object, ScheduledFuture<?>> refreshes = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        final Thread thread = new Thread(r, "CRLRefresher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final long refreshAheadSeconds;
+
+    /**
+     * Instantiates a new indexed CRL cache.
+     */
+    public IndexedCRLCache() {
+        this(DEFAULT_REFRESH_AHEAD_SECONDS);
+    }
+
+    /**
+     * Instantiates a new indexed CRL cache.
+     *
+     * @param refreshAheadSeconds the number of seconds ahead of the next update of a CRL to refresh it
+     */
+    public IndexedCRLCache(final long refreshAheadSeconds) {
+        this.refreshAheadSeconds = refreshAheadSeconds;
+    }
+
+    /**
+     * Gets the CRL kept for the given key.
+     *
+     * @param key the key
+     * @return the CRL, or null
+     */
+    public IndexedCRL get(final Object key) {
+        return this.crls.get(key);
+    }
+
+    /**
+     * Index the CRL and keep it for the given key, replacing what was kept before.
+     *
+     * @param key       the key
+     * @param crl       the crl
+     * @param refresher fetches the CRL again and puts it back into this cache; may be null
+     * @return the indexed CRL
+     */
+    public IndexedCRL put(final Object key, final X509CRL crl, final Runnable refresher) {
+        final IndexedCRL indexed = new IndexedCRL(crl);
+        this.crls.put(key, indexed);
+        LOGGER.debug("Indexed CRL [{}] for [{}]", indexed, key);
+        if (refresher != null && crl.getNextUpdate() != null) {
+            refreshAhead(key, crl.getNextUpdate(), refresher);
+        } else {
+            cancelRefresh(key);
+        }
+        return indexed;
+    }
+
+    /**
+     * Run the refresher in the background ahead of the given time, in place of
+     * the refresher scheduled before for the given key. This allows CRLs that are fetched
+     * together to be refreshed together, once, rather than once for each of them.
+     *
+     * @param key        the key the refresher is scheduled for
+     * @param nextUpdate the time by which CRLs should be refreshed
+     * @param refresher  fetches the CRLs again and puts them back into this cache
+     */
+    public void refreshAhead(final Object key, final Date nextUpdate, final Runnable refresher) {
+        scheduleRefresh(key, refresher, refreshDelay(nextUpdate));
+    }
+
+    /**
+     * Remove the CRL kept for the given key, and stop refreshing it.
+     *
+     * @param key the key
+     * @return the CRL that was removed, or null
+     */
+    public IndexedCRL remove(final Object key) {
+        cancelRefresh(key);
+        return this.crls.remove(key);
+    }
+
+    /**
+     * Stop refreshing CRLs.
+     */
+    public void shutdown() {
+        this.scheduler.shutdownNow();
+    }
+
+    private long refreshDelay(final Date nextUpdate) {
+        final long delay = nextUpdate.getTime() - System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(this.refreshAheadSeconds);
+        return Math.max(delay, TimeUnit.SECONDS.toMillis(RETRY_INTERVAL_SECONDS));
+    }
+
+    private void scheduleRefresh(final Object key, final Runnable refresher, final long delay) {
+        LOGGER.debug("Refreshing CRL for [{}] in [{}] ms", key, delay);
+        final ScheduledFuture<?> previous = this.refreshes.put(key,
+                this.scheduler.schedule(() -> refresh(key, refresher), delay, TimeUnit.MILLISECONDS));
+        if (previous != null) {
+            previous.cancel(false);
+        }
+    }
+
+    private void cancelRefresh(final Object key) {
+        final ScheduledFuture<?> previous = this.refreshes.remove(key);
+        if (previous != null) {
+            previous.cancel(false);
+        }
+    }
+
+    private void refresh(final Object key, final Runnable refresher) {
+        try {
+            LOGGER.debug("Refreshing CRL for [{}]", key);
+            refresher.run();
+        } catch (final Exception e) {
+            LOGGER.warn("Failed to refresh CRL for [{}]; retrying in [{}] seconds", key, RETRY_INTERVAL_SECONDS, e);
+            scheduleRefresh(key, refresher, TimeUnit.SECONDS.toMillis(RETRY_INTERVAL_SECONDS));
+        }
+    }
+}
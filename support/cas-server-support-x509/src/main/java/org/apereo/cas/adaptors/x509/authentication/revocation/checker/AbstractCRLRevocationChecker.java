@@ -1,5 +1,6 @@
 package org.apereo.cas.adaptors.x509.authentication.revocation.checker;
 
+import org.apereo.cas.adaptors.x509.authentication.revocation.IndexedCRL;
 import org.apereo.cas.adaptors.x509.authentication.revocation.RevokedCertificateException;
 import org.apereo.cas.adaptors.x509.authentication.revocation.policy.DenyRevocationPolicy;
 import org.apereo.cas.adaptors.x509.authentication.revocation.policy.RevocationPolicy;
@@ -17,6 +18,7 @@ import java.security.cert.X509Certificate;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Base class for all CRL-based revocation checkers.
@@ -62,7 +64,7 @@ public abstract class AbstractCRLRevocationChecker implements RevocationChecker
             throw new IllegalArgumentException("Certificate cannot be null.");
         }
         logger.debug("Evaluating certificate revocation status for {}", CertUtils.toString(cert));
-        final Collection<X509CRL> crls = getCRLs(cert);
+        final Collection<IndexedCRL> crls = getIndexedCRLs(cert);
 
         if (crls == null || crls.isEmpty()) {
             logger.warn("CRL data is not available for {}", CertUtils.toString(cert));
@@ -71,30 +73,34 @@ public abstract class AbstractCRLRevocationChecker implements RevocationChecker
         }
 
         final List<X509CRL> expiredCrls = new ArrayList<>();
+        final List<IndexedCRL> validCrls = new ArrayList<>();
         final List<X509CRLEntry> revokedCrls = new ArrayList<>();
 
-        crls.stream().filter(CertUtils::isExpired).forEach(crl -> {
-            logger.warn("CRL data expired on {}", crl.getNextUpdate());
-            expiredCrls.add(crl);
+        crls.forEach(crl -> {
+            if (crl.isExpired()) {
+                logger.warn("CRL data expired on {}", crl.getCRL().getNextUpdate());
+                expiredCrls.add(crl.getCRL());
+            } else {
+                validCrls.add(crl);
+            }
         });
 
-        if (crls.size() == expiredCrls.size()) {
+        if (validCrls.isEmpty()) {
             logger.warn("All CRLs retrieved have expired. Applying CRL expiration policy...");
             for (final X509CRL crl : expiredCrls) {
                 this.expiredCRLPolicy.apply(crl);
             }
         } else {
-            crls.removeAll(expiredCrls);
-            logger.debug("Valid CRLs [{}] found that are not expired yet", crls);
+            logger.debug("Valid CRLs [{}] found that are not expired yet", validCrls);
 
-            for (final X509CRL crl : crls) {
+            for (final IndexedCRL crl : validCrls) {
                 final X509CRLEntry entry = crl.getRevokedCertificate(cert);
                 if (entry != null) {
                     revokedCrls.add(entry);
                 }
             }
 
-            if (revokedCrls.size() == crls.size()) {
+            if (revokedCrls.size() == validCrls.size()) {
                 final X509CRLEntry entry = revokedCrls.get(0);
                 logger.warn("All CRL entries have been revoked. Rejecting the first entry [{}]", entry);
                 throw new RevokedCertificateException(entry);
@@ -172,4 +178,20 @@ public abstract class AbstractCRLRevocationChecker implements RevocationChecker
      * @return CRLs for given cert.
      */
     protected abstract Collection<X509CRL> getCRLs(X509Certificate cert);
+
+    /**
+     * Gets the collection of CRLs for the given certificate, indexed for revocation lookups.
+     * Checkers that keep CRLs around should keep them indexed and override this method,
+     * so that CRLs are not indexed again on every check.
+     *
+     * @param cert Certificate for which the CRL of the issuing CA should be retrieved.
+     * @return CRLs for given cert.
+     */
+    protected Collection<IndexedCRL> getIndexedCRLs(final X509Certificate cert) {
+        final Collection<X509CRL> crls = getCRLs(cert);
+        if (crls == null) {
+            return null;
+        }
+        return crls.stream().map(IndexedCRL::new).collect(Collectors.toList());
+    }
 }
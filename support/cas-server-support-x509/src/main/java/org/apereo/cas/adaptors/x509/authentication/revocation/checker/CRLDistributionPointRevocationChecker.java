@@ -7,6 +7,8 @@ import net.sf.ehcache.Cache;
 import net.sf.ehcache.Element;
 import org.apereo.cas.adaptors.x509.authentication.CRLFetcher;
 import org.apereo.cas.adaptors.x509.authentication.ResourceCRLFetcher;
+import org.apereo.cas.adaptors.x509.authentication.revocation.IndexedCRL;
+import org.apereo.cas.adaptors.x509.authentication.revocation.IndexedCRLCache;
 import org.apereo.cas.adaptors.x509.util.CertUtils;
 import org.bouncycastle.asn1.ASN1Sequence;
 import org.bouncycastle.asn1.DERIA5String;
@@ -25,6 +27,7 @@ import java.security.cert.X509CRL;
 import java.security.cert.X509Certificate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Performs CRL-based revocation checking by consulting resources defined in
@@ -46,6 +49,8 @@ public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocation
 
     private boolean throwOnFetchFailure;
 
+    private IndexedCRLCache indexedCrlCache = new IndexedCRLCache();
+
     /**
      * Used for serialization and auto wiring.
      */
@@ -96,6 +101,10 @@ public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocation
         this.throwOnFetchFailure = throwOnFetchFailure;
     }
 
+    public void setIndexedCrlCache(final IndexedCRLCache indexedCrlCache) {
+        this.indexedCrlCache = indexedCrlCache;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -103,6 +112,16 @@ public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocation
      */
     @Override
     protected List<X509CRL> getCRLs(final X509Certificate cert) {
+        return getIndexedCRLs(cert).stream().map(IndexedCRL::getCRL).collect(Collectors.toList());
+    }
+
+    /**
+     * {@inheritDoc}
+     * CRLs are parsed and indexed once, when they are fetched; the cache of CRL data
+     * decides for how long they are used before they are fetched again.
+     */
+    @Override
+    protected List<IndexedCRL> getIndexedCRLs(final X509Certificate cert) {
 
         if (this.crlCache == null) {
             throw new IllegalArgumentException("CRL cache is not defined");
@@ -119,7 +138,7 @@ public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocation
 
         final URI[] urls = getDistributionPoints(cert);
         logger.debug("Distribution points for {}: {}.", CertUtils.toString(cert), Lists.newArrayList(urls));
-        final List<X509CRL> listOfLocations = new ArrayList<>(urls.length);
+        final List<IndexedCRL> listOfLocations = new ArrayList<>(urls.length);
         boolean stopFetching = false;
 
         try {
@@ -129,8 +148,12 @@ public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocation
 
                 if (item != null) {
                     logger.debug("Found CRL in cache for {}", CertUtils.toString(cert));
-                    final byte[] encodedCrl = (byte[]) item.getObjectValue();
-                    final X509CRL crlFetched = this.fetcher.fetch(new ByteArrayResource(encodedCrl));
+                    IndexedCRL crlFetched = this.indexedCrlCache.get(url);
+                    if (crlFetched == null) {
+                        final byte[] encodedCrl = (byte[]) item.getObjectValue();
+                        final X509CRL crl = this.fetcher.fetch(new ByteArrayResource(encodedCrl));
+                        crlFetched = crl != null ? this.indexedCrlCache.put(url, crl, () -> refreshCRL(url)) : null;
+                    }
 
                     if (crlFetched != null) {
                         listOfLocations.add(crlFetched);
@@ -144,7 +167,7 @@ public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocation
                         if (crl != null) {
                             logger.info("Success. Caching fetched CRL at {}.", url);
                             addCRL(url, crl);
-                            listOfLocations.add(crl);
+                            listOfLocations.add(this.indexedCrlCache.get(url));
                         }
                     } catch (final Exception e) {
                         logger.error("Error fetching CRL at {}", url, e);
@@ -172,10 +195,12 @@ public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocation
         try {
             if (crl == null) {
                 logger.debug("No CRL was passed. Removing {} from cache...", id);
+                this.indexedCrlCache.remove(id);
                 return this.crlCache.remove(id);
             }
 
             this.crlCache.put(new Element(id, crl.getEncoded()));
+            this.indexedCrlCache.put(id, crl, () -> refreshCRL((URI) id));
             return this.crlCache.get(id) != null;
 
         } catch (final Exception e) {
@@ -184,6 +209,29 @@ public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocation
         }
     }
 
+    /**
+     * Fetch the CRL at the given location again, ahead of its next update,
+     * unless it has since dropped out of the cache of CRL data.
+     *
+     * @param url the url
+     */
+    private void refreshCRL(final URI url) {
+        if (this.crlCache.getQuiet(url) == null) {
+            logger.debug("CRL at {} is no longer cached; not refreshing it", url);
+            this.indexedCrlCache.remove(url);
+            return;
+        }
+        try {
+            final X509CRL crl = this.fetcher.fetch(url);
+            if (crl != null) {
+                logger.info("Refreshed CRL at {}.", url);
+                addCRL(url, crl);
+            }
+        } catch (final Exception e) {
+            throw Throwables.propagate(e);
+        }
+    }
+
 
     /**
      * Gets the distribution points.
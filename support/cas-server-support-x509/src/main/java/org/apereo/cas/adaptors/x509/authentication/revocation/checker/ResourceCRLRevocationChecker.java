@@ -5,6 +5,8 @@ import com.google.common.collect.ImmutableSet;
 import org.apereo.cas.adaptors.x509.authentication.CRLFetcher;
 import org.apereo.cas.adaptors.x509.authentication.ResourceCRLFetcher;
 import org.apereo.cas.adaptors.x509.authentication.handler.support.X509CredentialsAuthenticationHandler;
+import org.apereo.cas.adaptors.x509.authentication.revocation.IndexedCRL;
+import org.apereo.cas.adaptors.x509.authentication.revocation.IndexedCRLCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.io.Resource;
@@ -16,12 +18,13 @@ import java.security.cert.X509CRL;
 import java.security.cert.X509Certificate;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Date;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * CRL-based revocation checker that uses one or more CRL resources to fetch
@@ -47,10 +50,9 @@ public class ResourceCRLRevocationChecker extends AbstractCRLRevocationChecker {
     private CRLFetcher fetcher;
 
     /**
-     * Map of CRL issuer to CRL.
+     * CRLs, indexed and keyed by their issuer.
      */
-    private Map<X500Principal, X509CRL> crlIssuerMap =
-            Collections.synchronizedMap(new HashMap<>());
+    private IndexedCRLCache indexedCrlCache = new IndexedCRLCache();
 
     /**
      * Resource CRLs.
@@ -109,6 +111,10 @@ public class ResourceCRLRevocationChecker extends AbstractCRLRevocationChecker {
         this.resources = resources;
     }
 
+    public void setIndexedCrlCache(final IndexedCRLCache indexedCrlCache) {
+        this.indexedCrlCache = indexedCrlCache;
+    }
+
     /**
      * Initializes the process that periodically fetches CRL data.
      */
@@ -136,9 +142,7 @@ public class ResourceCRLRevocationChecker extends AbstractCRLRevocationChecker {
             @Override
             public void run() {
                 try {
-                    final Set<Resource> resources = getResources();
-                    final Set<X509CRL> results = getFetcher().fetch(resources);
-                    ResourceCRLRevocationChecker.this.addCrls(results);
+                    refreshCrls();
                 } catch (final Exception e) {
                     logger.debug(e.getMessage(), e);
                 }
@@ -181,7 +185,7 @@ public class ResourceCRLRevocationChecker extends AbstractCRLRevocationChecker {
     }
 
     /**
-     * Add fetched crls to the map.
+     * Add fetched crls to the map, and refresh all of them, once, ahead of the earliest next update.
      *
      * @param results the results
      */
@@ -189,6 +193,24 @@ public class ResourceCRLRevocationChecker extends AbstractCRLRevocationChecker {
         for (final X509CRL entry : results) {
             addCRL(entry.getIssuerX500Principal(), entry);
         }
+        results.stream()
+                .map(X509CRL::getNextUpdate)
+                .filter(Objects::nonNull)
+                .min(Date::compareTo)
+                .ifPresent(nextUpdate -> this.indexedCrlCache.refreshAhead(this, nextUpdate, this::refreshCrls));
+    }
+
+    /**
+     * Fetch CRL data from all resources again.
+     * This is also done ahead of the earliest next update of the CRLs.
+     */
+    private void refreshCrls() {
+        try {
+            final Set<X509CRL> results = getFetcher().fetch(getResources());
+            addCrls(results);
+        } catch (final Exception e) {
+            throw Throwables.propagate(e);
+        }
     }
 
     /**
@@ -205,16 +227,22 @@ public class ResourceCRLRevocationChecker extends AbstractCRLRevocationChecker {
     @Override
     protected boolean addCRL(final Object issuer, final X509CRL crl) {
         logger.debug("Adding CRL for issuer {}", issuer);
-        this.crlIssuerMap.put((X500Principal) issuer, crl);
-        return this.crlIssuerMap.containsKey(issuer);
+        this.indexedCrlCache.put(issuer, crl, null);
+        return this.indexedCrlCache.get(issuer) != null;
     }
 
     @Override
     protected Collection<X509CRL> getCRLs(final X509Certificate cert) {
+        return getIndexedCRLs(cert).stream().map(IndexedCRL::getCRL).collect(Collectors.toList());
+    }
+
+    @Override
+    protected Collection<IndexedCRL> getIndexedCRLs(final X509Certificate cert) {
         final X500Principal principal = cert.getIssuerX500Principal();
+        final IndexedCRL crl = this.indexedCrlCache.get(principal);
 
-        if (this.crlIssuerMap.containsKey(principal)) {
-            return Collections.singleton(this.crlIssuerMap.get(principal));
+        if (crl != null) {
+            return Collections.singleton(crl);
         }
         logger.warn("Could not locate CRL for issuer principal {}", principal);
         return Collections.emptyList();
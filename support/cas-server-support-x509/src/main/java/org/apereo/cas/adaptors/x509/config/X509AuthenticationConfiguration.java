@@ -12,6 +12,7 @@ import org.apereo.cas.adaptors.x509.authentication.principal.X509SerialNumberPri
 import org.apereo.cas.adaptors.x509.authentication.principal.X509SubjectAlternativeNameUPNPrincipalResolver;
 import org.apereo.cas.adaptors.x509.authentication.principal.X509SubjectDNPrincipalResolver;
 import org.apereo.cas.adaptors.x509.authentication.principal.X509SubjectPrincipalResolver;
+import org.apereo.cas.adaptors.x509.authentication.revocation.IndexedCRLCache;
 import org.apereo.cas.adaptors.x509.authentication.revocation.checker.CRLDistributionPointRevocationChecker;
 import org.apereo.cas.adaptors.x509.authentication.revocation.checker.NoOpRevocationChecker;
 import org.apereo.cas.adaptors.x509.authentication.revocation.checker.ResourceCRLRevocationChecker;
@@ -101,6 +102,7 @@ public class X509AuthenticationConfiguration {
                 x509.isCacheEternal(), x509.getCacheTimeToLiveSeconds(), x509.getCacheTimeToIdleSeconds());
 
         final CRLDistributionPointRevocationChecker c = new CRLDistributionPointRevocationChecker(cache, getCrlFetcher());
+        c.setIndexedCrlCache(indexedCrlCache());
         c.setCheckAll(casProperties.getAuthn().getX509().isCheckAll());
         c.setThrowOnFetchFailure(casProperties.getAuthn().getX509().isThrowOnFetchFailure());
         c.setExpiredCRLPolicy(getRevocationPolicy(x509.getCrlExpiredPolicy()));
@@ -108,6 +110,11 @@ public class X509AuthenticationConfiguration {
         return c;
     }
 
+    @Bean
+    public IndexedCRLCache indexedCrlCache() {
+        return new IndexedCRLCache(casProperties.getAuthn().getX509().getCrlRefreshAheadSeconds());
+    }
+
     @Bean
     public RevocationChecker noOpRevocationChecker() {
         return new NoOpRevocationChecker();
@@ -136,6 +143,7 @@ public class X509AuthenticationConfiguration {
         c.setResources(x509CrlResources);
 
         c.setFetcher(getCrlFetcher());
+        c.setIndexedCrlCache(indexedCrlCache());
 
         return c;
     }
@@ -0,0 +1,53 @@
+package org.apereo.cas.adaptors.x509.authentication.handler.support;
+
+import org.apereo.cas.adaptors.x509.authentication.ResourceCRLFetcher;
+import org.apereo.cas.adaptors.x509.authentication.revocation.IndexedCRL;
+import org.apereo.cas.adaptors.x509.authentication.revocation.IndexedCRLCache;
+import org.apereo.cas.adaptors.x509.util.CertUtils;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.security.cert.X509CRL;
+import java.security.cert.X509Certificate;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test for {@link IndexedCRLCache} class.
+ *
+ * @author Misagh Moayyed
+ * @since 5.0.0
+ */
+public class IndexedCRLCacheTests {
+
+    private final IndexedCRLCache cache = new IndexedCRLCache();
+
+    @After
+    public void shutdown() {
+        this.cache.shutdown();
+    }
+
+    @Test
+    public void verifyRevokedCertificatesAreFoundByIndex() throws Exception {
+        final X509CRL crl = new ResourceCRLFetcher().fetch(new ClassPathResource("userCA-valid.crl"));
+        final IndexedCRL indexed = this.cache.put(crl.getIssuerX500Principal(), crl, null);
+        assertSame(indexed, this.cache.get(crl.getIssuerX500Principal()));
+        assertEquals(crl.getRevokedCertificates().size(), indexed.size());
+
+        final X509Certificate revoked = CertUtils.readCertificate(new ClassPathResource("user-revoked-distcrl.crt"));
+        assertNotNull(indexed.getRevokedCertificate(revoked));
+
+        final X509Certificate valid = CertUtils.readCertificate(new ClassPathResource("user-valid-distcrl.crt"));
+        assertNull(indexed.getRevokedCertificate(valid));
+    }
+
+    @Test
+    public void verifyRemovedCrlsAreNoLongerFound() throws Exception {
+        final X509CRL crl = new ResourceCRLFetcher().fetch(new ClassPathResource("userCA-expired.crl"));
+        this.cache.put("userCA", crl, () -> { });
+        assertTrue(this.cache.get("userCA").isExpired());
+        assertNotNull(this.cache.remove("userCA"));
+        assertNull(this.cache.get("userCA"));
+    }
+}
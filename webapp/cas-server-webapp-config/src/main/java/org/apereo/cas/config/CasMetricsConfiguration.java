@@ -1,5 +1,6 @@
 package org.apereo.cas.config;
 
+import com.codahale.metrics.Gauge;
 import com.codahale.metrics.JmxReporter;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Slf4jReporter;
@@ -9,6 +10,7 @@ import com.codahale.metrics.jvm.GarbageCollectorMetricSet;
 import com.codahale.metrics.jvm.MemoryUsageGaugeSet;
 import com.codahale.metrics.jvm.ThreadStatesGaugeSet;
 import com.codahale.metrics.servlets.MetricsServlet;
+import com.google.common.cache.Cache;
 import com.ryantenney.metrics.spring.config.annotation.EnableMetrics;
 import com.ryantenney.metrics.spring.config.annotation.MetricsConfigurerAdapter;
 import org.apereo.cas.configuration.CasConfigurationProperties;
@@ -46,6 +48,10 @@ public class CasMetricsConfiguration extends MetricsConfigurerAdapter {
     @Autowired
     private CasConfigurationProperties casProperties;
 
+    @Autowired(required = false)
+    @Qualifier("registeredServicesCache")
+    private Cache<?, ?> registeredServicesCache;
+
     /**
      * Metric registry metric registry.
      *
@@ -58,9 +64,19 @@ public class CasMetricsConfiguration extends MetricsConfigurerAdapter {
         metrics.register("jvm.memory", new MemoryUsageGaugeSet());
         metrics.register("thread-states", new ThreadStatesGaugeSet());
         metrics.register("jvm.fd.usage", new FileDescriptorRatioGauge());
+        if (this.registeredServicesCache != null) {
+            registerServicesCacheMetrics(metrics);
+        }
         return metrics;
     }
 
+    private void registerServicesCacheMetrics(final MetricRegistry metrics) {
+        metrics.register("services.cache.hits", (Gauge<Long>) () -> this.registeredServicesCache.stats().hitCount());
+        metrics.register("services.cache.misses", (Gauge<Long>) () -> this.registeredServicesCache.stats().missCount());
+        metrics.register("services.cache.hitRate", (Gauge<Double>) () -> this.registeredServicesCache.stats().hitRate());
+        metrics.register("services.cache.size", (Gauge<Long>) this.registeredServicesCache::size);
+    }
+
     /**
      * Health check metrics health check registry.
      *